@@ -0,0 +1,84 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link RowKey}, in particular that generated keys behave like keys created from their string.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public class RowKeyTest {
+
+    /** Generated keys equal string keys with the same string and have the same hash code. */
+    @Test
+    public void testGeneratedKeyEqualsStringKey() {
+        for (long index : new long[]{0, 1, 9, 10, 99, 100, 12345, Integer.MAX_VALUE, Long.MAX_VALUE, -1, -42}) {
+            final RowKey generated = RowKey.createRowKey(index);
+            final RowKey string = new RowKey("Row" + index);
+            assertEquals("String of key " + index, "Row" + index, generated.getString());
+            assertEquals("Key " + index, string, generated);
+            assertEquals("Key " + index, generated, string);
+            assertEquals("Hash code of key " + index, string.hashCode(), generated.hashCode());
+        }
+        assertNotEquals(RowKey.createRowKey(1L), RowKey.createRowKey(10L));
+        assertNotEquals(RowKey.createRowKey(1L), new RowKey("Row01"));
+    }
+
+    /** Only keys created from a non-negative index report it. */
+    @Test
+    public void testGeneratedIndex() {
+        assertEquals(17L, RowKey.createRowKey(17L).getGeneratedIndex());
+        assertEquals(-1L, RowKey.createRowKey(-17L).getGeneratedIndex());
+        assertEquals(-1L, new RowKey("Row17").getGeneratedIndex());
+    }
+}
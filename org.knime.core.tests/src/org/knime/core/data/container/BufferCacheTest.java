@@ -169,6 +169,81 @@ public void testSoftRefCache() throws InterruptedException {
         }
     }
 
+    /**
+     * Tests that the least recently used tables are only weakly referenced once the estimated size of the tables in
+     * the LRU cache exceeds the memory budget, and that the estimated sizes of collected tables are forgotten.
+     *
+     * @throws InterruptedException thrown when the thread is unexpectedly interrupted during sleep.
+     */
+    @Test
+    public void testLRUCacheMemoryBudget() throws InterruptedException {
+        List<Pair<Buffer, List<BlobSupportDataRow>>> tables = generateKTables(4, true);
+        final long budget = BufferCache.estimateHeapSize(tables.get(2).getSecond())
+            + BufferCache.estimateHeapSize(tables.get(3).getSecond());
+        final BufferCache cache = new BufferCache();
+        cache.setLRUCacheBytes(budget);
+        addTablesToCache(tables, cache, true);
+        Assert.assertEquals("Estimated size of LRU cache", budget, cache.getLRUCacheUsedBytes());
+
+        final List<Pair<Buffer, WeakReference<List<BlobSupportDataRow>>>> weakenedTables = weaken(tables);
+        tables = null;
+        MemoryAlertSystemTest.forceGC();
+        for (int i = 0; i < weakenedTables.size(); i++) {
+            final Optional<List<BlobSupportDataRow>> listFromCache = cache.get(weakenedTables.get(i).getFirst());
+            Assert.assertEquals("Table " + i + " in cache", i >= 2, listFromCache.isPresent());
+        }
+
+        // the estimates of collected tables are dropped once their references are enqueued
+        for (int i = 0; i < 100 && cache.getEstimatedTableCount() > 2; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals("Tables with estimated size", 2, cache.getEstimatedTableCount());
+        Assert.assertEquals("Estimated size of LRU cache", budget, cache.getLRUCacheUsedBytes());
+    }
+
+    /**
+     * Tests that on low memory, tables are released from the LRU cache until at most half of the memory is used.
+     */
+    @Test
+    public void testReleaseOnLowMemory() {
+        final List<Pair<Buffer, List<BlobSupportDataRow>>> tables = generateKTables(8, true);
+        final BufferCache cache = new BufferCache();
+        addTablesToCache(tables, cache, true);
+        final long usedBytes = cache.getLRUCacheUsedBytes();
+        Assert.assertTrue("Estimated size of LRU cache is positive", usedBytes > 0);
+        cache.releaseLargestLeastRecentlyUsed();
+        Assert.assertTrue("Estimated size of LRU cache after release",
+            cache.getLRUCacheUsedBytes() <= usedBytes / 2);
+    }
+
+    /**
+     * Tests that tables held in primitive arrays are estimated by their arrays, not by the rows created on access, and
+     * that the LRU cache size can be set to zero.
+     */
+    @Test
+    public void testPrimitiveListSizeEstimate() {
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("double", DoubleCell.TYPE).createSpec());
+        final int rowCount = 10000;
+        final PrimitiveRowList primitiveList = new PrimitiveRowList(spec, rowCount);
+        final List<BlobSupportDataRow> rowList = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            final BlobSupportDataRow row = new BlobSupportDataRow(RowKey.createRowKey((long)i),
+                new DataCell[]{new IntCell(i), new DoubleCell(i + .5)});
+            primitiveList.add(row);
+            rowList.add(row);
+        }
+        Assert.assertTrue("List is primitive", primitiveList.isPrimitive());
+        final long primitiveBytes = BufferCache.estimateHeapSize(primitiveList);
+        final long rowBytes = BufferCache.estimateHeapSize(rowList);
+        Assert.assertTrue("Estimate smaller than values", primitiveBytes > rowCount * (4L + 8L));
+        Assert.assertTrue("Estimate of primitive list (" + primitiveBytes + ") not smaller than of rows (" + rowBytes
+            + ")", 2 * primitiveBytes < rowBytes);
+
+        final BufferCache cache = new BufferCache();
+        cache.setLRUCacheSize(0);
+    }
+
     private static List<Pair<Buffer, List<BlobSupportDataRow>>> generateKTables(final int k,
         final boolean flushToDisk) {
 
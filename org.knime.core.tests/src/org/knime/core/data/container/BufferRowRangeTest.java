@@ -0,0 +1,206 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.knime.core.data.container.BufferTestUtil.ROW_COUNT;
+import static org.knime.core.data.container.BufferTestUtil.assertRange;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.FilteredRowIterator;
+import org.knime.core.data.RowIteratorBuilder;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests row ranges and predicates of {@link RowIteratorBuilder}s returned by {@link Buffer}, both when reading from
+ * disc and when reading from memory.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public final class BufferRowRangeTest extends TestCase {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("double", DoubleCell.TYPE).createSpec());
+
+    private static DataRow[] createRows() {
+        return BufferTestUtil.createRows(ROW_COUNT, i -> new DataCell[]{new StringCell("Row " + i), new DoubleCell(i)});
+    }
+
+    private static Buffer createBuffer(final DataRow[] rows, final int maxCellsInMemory) {
+        return BufferTestUtil.createBuffer(SPEC, rows,
+            BufferTestUtil.createOnDiscSettings(BufferSettings.getDefault()).withMaxCellsInMemory(maxCellsInMemory));
+    }
+
+    private static void assertPredicate(final Buffer b, final DataRow[] rows) {
+        try (CloseableRowIterator it = b.iteratorBuilder().fromRow(100).filterRows("double", DoubleValue.class,
+            v -> v.getDoubleValue() >= 500 && v.getDoubleValue() < 510).build()) {
+            for (int i = 500; i < 510; i++) {
+                Assert.assertThat("Iterator has row " + i, it.hasNext(), is(true));
+                Assert.assertThat("Row key", it.next().getKey(), equalTo(rows[i].getKey()));
+            }
+            Assert.assertThat("Iterator returns rows not matching predicate", it.hasNext(), is(false));
+        }
+    }
+
+    /** Ranges and predicates on a table read from disc. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testRangeOnDisc() {
+        final DataRow[] rows = createRows();
+        final Buffer b = createBuffer(rows, 0);
+        assertRange(b, rows, 0, Long.MAX_VALUE);
+        assertRange(b, rows, 421, 421);
+        assertRange(b, rows, 990, 2000);
+        assertRange(b, rows, 2000, 3000);
+        assertPredicate(b, rows);
+    }
+
+    /** Ranges and predicates on a table kept in memory. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testRangeInMemory() {
+        final DataRow[] rows = createRows();
+        final Buffer b = createBuffer(rows, Integer.MAX_VALUE);
+        assertRange(b, rows, 0, Long.MAX_VALUE);
+        assertRange(b, rows, 421, 421);
+        assertRange(b, rows, 990, 2000);
+        assertRange(b, rows, 2000, 3000);
+        assertPredicate(b, rows);
+    }
+
+    /** The delegate iterator must be closed as soon as the range is exhausted, even if close is not called. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testDelegateClosedAtEnd() {
+        final DataRow[] rows = createRows();
+        final boolean[] isClosed = new boolean[1];
+        final CloseableRowIterator delegate = new CloseableRowIterator() {
+            private int m_index;
+
+            @Override
+            public boolean hasNext() {
+                return !isClosed[0] && m_index < rows.length;
+            }
+
+            @Override
+            public DataRow next() {
+                return rows[m_index++];
+            }
+
+            @Override
+            public void close() {
+                isClosed[0] = true;
+            }
+        };
+        final FilteredRowIterator it = new FilteredRowIterator(delegate, 10, 11, null);
+        Assert.assertThat("Row 10", it.next().getKey(), equalTo(rows[10].getKey()));
+        Assert.assertThat("Row 11", it.next().getKey(), equalTo(rows[11].getKey()));
+        Assert.assertThat("Delegate closed before end of range", isClosed[0], is(false));
+        Assert.assertThat("Iterator returns rows after range", it.hasNext(), is(false));
+        Assert.assertThat("Delegate closed at end of range", isClosed[0], is(true));
+        Assert.assertThat("Iterator returns rows after close", it.hasNext(), is(false));
+    }
+
+    /** Builders that only implement the column filter get row ranges and predicates via the default methods. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testDefaultRangeAndPredicate() {
+        final DataRow[] rows = createRows();
+        final RowIteratorBuilder<CloseableRowIterator> builder = new RowIteratorBuilder<CloseableRowIterator>() {
+            @Override
+            public RowIteratorBuilder<CloseableRowIterator> filterColumns(final int... indices) {
+                return this;
+            }
+
+            @Override
+            public RowIteratorBuilder<CloseableRowIterator> filterColumns(final String... columns) {
+                return this;
+            }
+
+            @Override
+            public CloseableRowIterator build() {
+                return new CloseableRowIterator() {
+                    private int m_index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return m_index < rows.length;
+                    }
+
+                    @Override
+                    public DataRow next() {
+                        return rows[m_index++];
+                    }
+
+                    @Override
+                    public void close() {
+                    }
+                };
+            }
+        };
+        try (CloseableRowIterator it = builder.fromRow(10).toRow(20)
+            .filterRows(1, DoubleValue.class, v -> v.getDoubleValue() % 5 == 0).build()) {
+            Assert.assertThat("Row 10", it.next().getKey(), equalTo(rows[10].getKey()));
+            Assert.assertThat("Row 15", it.next().getKey(), equalTo(rows[15].getKey()));
+            Assert.assertThat("Row 20", it.next().getKey(), equalTo(rows[20].getKey()));
+            Assert.assertThat("Iterator returns rows after range", it.hasNext(), is(false));
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.lang.management.ManagementFactory;
+import java.util.stream.IntStream;
+
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the {@link BufferStatistics} snapshot and the {@link BufferStatisticsMXBean}.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public final class BufferStatisticsTest extends TestCase {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    /**
+     * Writing, reading and clearing a table on disc is counted, process-wide and for the buffer.
+     *
+     * @throws Exception if the MBean can't be accessed
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testFileCounters() throws Exception {
+        final BufferStatistics before = BufferStatistics.getSnapshot();
+
+        final DataContainerSettings settings = DataContainerSettings.getDefault().withMaxCellsInMemory(0)
+            .withInitializedDomain(false).withBufferSettings(BufferSettings.getDefault().withLRU(false));
+        final DataContainer cont = new DataContainer(SPEC, settings);
+        IntStream.range(0, 1000)
+            .forEach(i -> cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i))));
+        final Buffer b = cont.getBuffer();
+        cont.close();
+        final long fileSize = b.getBufferFileSize();
+        try (CloseableRowIterator it = b.iterator()) {
+            while (it.hasNext()) {
+                it.next();
+            }
+        }
+        final BufferStatistics.FileStatistics fileStatistics = b.getFileStatistics();
+        Assert.assertThat("Bytes written by buffer", fileStatistics.getBytesWritten(), is(fileSize));
+        Assert.assertThat("Files read by buffer", fileStatistics.getFilesRead(), is(1L));
+        b.clear();
+
+        final BufferStatistics after = BufferStatistics.getSnapshot();
+        Assert.assertThat("Files written", after.getFilesWritten() - before.getFilesWritten() >= 1, is(true));
+        Assert.assertThat("Bytes written", after.getBytesWritten() - before.getBytesWritten() >= fileSize, is(true));
+        Assert.assertThat("Files read", after.getFilesRead() - before.getFilesRead() >= 1, is(true));
+        Assert.assertThat("Bytes read", after.getBytesRead() - before.getBytesRead() > 0, is(true));
+        Assert.assertThat("Files deleted", after.getFilesDeleted() - before.getFilesDeleted() >= 1, is(true));
+
+        final Object filesWritten = ManagementFactory.getPlatformMBeanServer()
+            .getAttribute(new ObjectName(BufferStatistics.MBEAN_NAME), "FilesWritten");
+        Assert.assertThat("Files written via MBean", ((Long)filesWritten) >= after.getFilesWritten(), is(true));
+        final Object distinctTables = ManagementFactory.getPlatformMBeanServer()
+            .getAttribute(new ObjectName(BufferStatistics.MBEAN_NAME), "DistinctTables");
+        Assert.assertThat("Distinct tables via MBean", ((Long)distinctTables) >= after.getDistinctTables(), is(true));
+    }
+
+}
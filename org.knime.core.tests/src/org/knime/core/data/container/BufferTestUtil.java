@@ -0,0 +1,139 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+
+/**
+ * Fixtures shared by the tests writing tables into a {@link Buffer} and reading row ranges from it.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+final class BufferTestUtil {
+
+    /** Default number of rows in the test tables. */
+    static final int ROW_COUNT = 1000;
+
+    private BufferTestUtil() {
+    }
+
+    /**
+     * @param rowCount number of rows
+     * @param cellFactory creates the cells of the row with the given index
+     * @return rows with keys "Row0", "Row1", ...
+     */
+    static DataRow[] createRows(final int rowCount, final IntFunction<DataCell[]> cellFactory) {
+        return IntStream.range(0, rowCount)
+            .mapToObj(i -> new DefaultRow(RowKey.createRowKey((long)i), cellFactory.apply(i)))
+            .toArray(DataRow[]::new);
+    }
+
+    /**
+     * Settings for a table that is written to disc right away (no cells in memory, no LRU cache).
+     *
+     * @param bufferSettings the buffer settings, LRU caching will be disabled
+     * @return the container settings
+     */
+    static DataContainerSettings createOnDiscSettings(final BufferSettings bufferSettings) {
+        return DataContainerSettings.getDefault().withMaxCellsInMemory(0).withInitializedDomain(false)
+            .withBufferSettings(bufferSettings.withLRU(false));
+    }
+
+    /**
+     * Writes the rows into a closed container and returns its buffer.
+     *
+     * @param spec the table spec
+     * @param rows the rows to write
+     * @param settings the container settings
+     * @return the buffer of the closed container
+     */
+    static Buffer createBuffer(final DataTableSpec spec, final DataRow[] rows, final DataContainerSettings settings) {
+        final DataContainer cont = new DataContainer(spec, settings);
+        for (DataRow r : rows) {
+            cont.addRowToTable(r);
+        }
+        final Buffer b = cont.getBuffer();
+        cont.close();
+        return b;
+    }
+
+    /**
+     * Asserts that the iterator on the given (inclusive) row range returns exactly the corresponding rows.
+     *
+     * @param b the buffer to read from
+     * @param rows the rows that were written into the buffer
+     * @param from first row index
+     * @param to last row index, may be beyond the end of the table
+     */
+    static void assertRange(final Buffer b, final DataRow[] rows, final long from, final long to) {
+        try (CloseableRowIterator it = b.iteratorBuilder().fromRow(from).toRow(to).build()) {
+            for (long i = from; i <= Math.min(to, rows.length - 1); i++) {
+                Assert.assertThat("Iterator has row " + i, it.hasNext(), is(true));
+                final DataRow row = it.next();
+                final DataRow expected = rows[(int)i];
+                Assert.assertThat("Row key", row.getKey(), equalTo(expected.getKey()));
+                for (int c = 0; c < expected.getNumCells(); c++) {
+                    Assert.assertThat("Cell " + c + " in row " + i, row.getCell(c), equalTo(expected.getCell(c)));
+                }
+            }
+            Assert.assertThat("Iterator returns rows after range", it.hasNext(), is(false));
+        }
+    }
+
+}
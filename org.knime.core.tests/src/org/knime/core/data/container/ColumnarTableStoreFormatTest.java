@@ -0,0 +1,222 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.UnmaterializedCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests writing and reading tables using the {@link ColumnarTableStoreFormat}, including column projection.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public final class ColumnarTableStoreFormatTest extends TestCase {
+
+    /** Number of generated rows, chosen so that the last chunk is not full. */
+    private static final int ROW_COUNT = 1000;
+
+    /** Small chunks so that the table spans multiple chunks. */
+    private static final int ROWS_PER_CHUNK = 64;
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("double", DoubleCell.TYPE).createSpec());
+
+    private static DataRow[] createRows(final int rowCount) {
+        return IntStream.range(0, rowCount)
+            .mapToObj(i -> new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i),
+                i % 7 == 0 ? DataType.getMissingCell() : new StringCell("Value " + i), new DoubleCell(i + .5)))
+            .toArray(DataRow[]::new);
+    }
+
+    /** Writes the rows into a buffer that is backed by a columnar file (not kept in memory). */
+    private static Buffer writeBuffer(final DataRow[] rows) {
+        return writeBuffer(SPEC, rows, new ColumnarTableStoreFormat(ROWS_PER_CHUNK, Integer.MAX_VALUE));
+    }
+
+    private static Buffer writeBuffer(final DataTableSpec spec, final DataRow[] rows,
+        final ColumnarTableStoreFormat format) {
+        return BufferTestUtil.createBuffer(spec, rows,
+            BufferTestUtil.createOnDiscSettings(BufferSettings.getDefault().withOutputFormat(format)));
+    }
+
+    /** Writes and reads a table spanning multiple chunks and compares all cells and row keys. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testWriteRead() {
+        final DataRow[] rows = createRows(ROW_COUNT);
+        final Buffer b = writeBuffer(rows);
+        Assert.assertThat("File extension", b.getBinFile().getName().endsWith(".col.snappy"), is(true));
+        try (CloseableRowIterator it = b.iteratorBuilder().build()) {
+            for (int i = 0; i < rows.length; i++) {
+                Assert.assertThat("Iterator has rows", it.hasNext(), is(true));
+                final DataRow row = it.next();
+                Assert.assertThat("Row key in row " + i, row.getKey(), equalTo(rows[i].getKey()));
+                for (int c = 0; c < SPEC.getNumColumns(); c++) {
+                    Assert.assertThat("Cell " + c + " in row " + i, row.getCell(c), equalTo(rows[i].getCell(c)));
+                }
+            }
+            Assert.assertThat("Iterator with more than " + rows.length + " rows", it.hasNext(), is(false));
+        }
+    }
+
+    /** Only selected columns are materialized, all others are returned as {@link UnmaterializedCell}. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testColumnProjection() {
+        final DataRow[] rows = createRows(ROW_COUNT);
+        final Buffer b = writeBuffer(rows);
+        try (CloseableRowIterator it = b.iteratorBuilder().filterColumns("string").build()) {
+            for (int i = 0; i < rows.length; i++) {
+                final DataRow row = it.next();
+                Assert.assertThat("Row key in row " + i, row.getKey(), equalTo(rows[i].getKey()));
+                Assert.assertThat("Cell 0 in row " + i, row.getCell(0), instanceOf(UnmaterializedCell.class));
+                Assert.assertThat("Cell 1 in row " + i, row.getCell(1), equalTo(rows[i].getCell(1)));
+                Assert.assertThat("Cell 2 in row " + i, row.getCell(2), instanceOf(UnmaterializedCell.class));
+            }
+            Assert.assertThat("Iterator with more than " + rows.length + " rows", it.hasNext(), is(false));
+        }
+    }
+
+    /** Row ranges skip whole chunks, predicates are evaluated before the other columns are read. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testRowRangeAndPredicate() {
+        final DataRow[] rows = createRows(ROW_COUNT);
+        final Buffer b = writeBuffer(rows);
+        final long from = 3 * ROWS_PER_CHUNK + 5;
+        final long to = 9 * ROWS_PER_CHUNK + 17;
+        try (CloseableRowIterator it = b.iteratorBuilder().filterColumns("string").fromRow(from).toRow(to)
+            .filterRows("int", IntValue.class, v -> v.getIntValue() % 3 == 0).build()) {
+            for (int i = (int)from; i <= to; i++) {
+                if (i % 3 != 0) {
+                    continue;
+                }
+                Assert.assertThat("Iterator has rows", it.hasNext(), is(true));
+                final DataRow row = it.next();
+                Assert.assertThat("Row key", row.getKey(), equalTo(rows[i].getKey()));
+                Assert.assertThat("Predicate column", row.getCell(0), equalTo(rows[i].getCell(0)));
+                Assert.assertThat("Selected column", row.getCell(1), equalTo(rows[i].getCell(1)));
+                Assert.assertThat("Unselected column", row.getCell(2), instanceOf(UnmaterializedCell.class));
+            }
+            Assert.assertThat("Iterator returns rows after range", it.hasNext(), is(false));
+        }
+    }
+
+    /**
+     * String columns with few distinct values per chunk are dictionary encoded and read as shared cells, chunks with
+     * too many distinct values are written plain.
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testDictionaryEncoding() {
+        final DataTableSpec spec =
+            new DataTableSpec(new DataColumnSpecCreator("category", StringCell.TYPE).createSpec(),
+                new DataColumnSpecCreator("mixed", StringCell.TYPE).createSpec());
+        // "mixed" has few distinct values in the first half and only distinct values in the second half
+        final DataRow[] rows = IntStream.range(0, ROW_COUNT)
+            .mapToObj(i -> new DefaultRow(RowKey.createRowKey((long)i),
+                i % 11 == 0 ? DataType.getMissingCell() : new StringCell("Category " + (i % 5)),
+                new StringCell(i < ROW_COUNT / 2 ? "Low " + (i % 3) : "High " + i)))
+            .toArray(DataRow[]::new);
+        final Buffer b = writeBuffer(spec, rows, new ColumnarTableStoreFormat(ROWS_PER_CHUNK, Integer.MAX_VALUE, 8));
+        try (CloseableRowIterator it = b.iteratorBuilder().build()) {
+            final DataCell[] firstInChunk = new DataCell[5];
+            for (int i = 0; i < rows.length; i++) {
+                final DataRow row = it.next();
+                Assert.assertThat("Row key in row " + i, row.getKey(), equalTo(rows[i].getKey()));
+                Assert.assertThat("Cell 0 in row " + i, row.getCell(0), equalTo(rows[i].getCell(0)));
+                Assert.assertThat("Cell 1 in row " + i, row.getCell(1), equalTo(rows[i].getCell(1)));
+                if (i % ROWS_PER_CHUNK == 0) {
+                    Arrays.fill(firstInChunk, null);
+                }
+                if (i % 11 != 0) {
+                    if (firstInChunk[i % 5] == null) {
+                        firstInChunk[i % 5] = row.getCell(0);
+                    }
+                    Assert.assertThat("Shared cell in row " + i, row.getCell(0), sameInstance(firstInChunk[i % 5]));
+                }
+            }
+            Assert.assertThat("Iterator with more than " + rows.length + " rows", it.hasNext(), is(false));
+        }
+    }
+
+    /** An empty table is written (footer only) and read back. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testEmptyTable() {
+        final Buffer b = writeBuffer(new DataRow[0]);
+        try (CloseableRowIterator it = b.iteratorBuilder().build()) {
+            Assert.assertThat("Iterator on empty table has rows", it.hasNext(), is(false));
+        }
+    }
+
+}
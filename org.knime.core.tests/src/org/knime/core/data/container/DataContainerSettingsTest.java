@@ -64,8 +64,8 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataTableSpecCreator;
 import org.knime.core.data.IDataTableDomainCreator;
-import org.knime.core.util.DuplicateChecker;
 import org.knime.core.util.DuplicateKeyException;
+import org.knime.core.util.HashDuplicateChecker;
 import org.knime.core.util.IDuplicateChecker;
 
 import junit.framework.TestCase;
@@ -95,7 +95,8 @@ public void testDefault() {
             settings.getMaxAsyncWriteThreads());
         assertTrue("Wrong default (domain creator)",
             settings.createDomainCreator(spec) instanceof DataTableDomainCreator);
-        assertTrue("Wrong default (duplicate checker)", settings.createDuplicateChecker() instanceof DuplicateChecker);
+        assertTrue("Wrong default (duplicate checker)",
+            settings.createDuplicateChecker() instanceof HashDuplicateChecker);
         assertNotNull("Wrong default (BufferSettings are null)", settings.getBufferSettings());
         assertTrue("Wrong default (Default BufferSettings are different to those provided by the DataContainerSettings",
             settings.getBufferSettings().equals(BufferSettings.getDefault()));
@@ -54,6 +54,7 @@
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -105,6 +106,9 @@ public class DataContainerTest extends TestCase {
 
     private static final DataTableSpec EMPTY_SPEC = new DataTableSpec(
             new String[] {}, new DataType[] {});
+    private static final DataTableSpec ROW_KEY_SPEC =
+        new DataTableSpec(new String[]{"int"}, new DataType[]{IntCell.TYPE});
+
     private static final DataTableSpec SPEC_STR_INT_DBL = new DataTableSpec(new String[] {"String", "Int", "Double"},
             new DataType[] {StringCell.TYPE, IntCell.TYPE, DoubleCell.TYPE});
 
@@ -337,6 +341,83 @@ public final void testDuplicateKey() {
         }
     }
 
+    /**
+     * Tests that a duplicate is found with its row number when the keys are checked in the background (many rows so
+     * that several batches of keys are handed to the {@link ASyncDuplicateChecker}).
+     */
+    public final void testDuplicateKeyInBackground() {
+        checkDuplicateKeyInBackground(DataContainerSettings.getDefault().withSyncIO(false));
+    }
+
+    /**
+     * Tests that the duplicate is found with its row number if too many write threads are active, in which case rows
+     * are written and keys are checked in the calling thread.
+     */
+    public final void testDuplicateKeyInBackgroundWithSyncWriteFallback() {
+        // any number of active write threads exceeds -1
+        checkDuplicateKeyInBackground(
+            DataContainerSettings.getDefault().withSyncIO(false).withMaxAsyncWriteThreads(-1));
+    }
+
+    private static void checkDuplicateKeyInBackground(final DataContainerSettings settings) {
+        final DataTableSpec spec = new DataTableSpec(new String[]{"int"}, new DataType[]{IntCell.TYPE});
+        final int dupRow = 3 * ASyncDuplicateChecker.BATCH_SIZE + 17;
+        final DataContainer c = new DataContainer(spec, settings);
+        try {
+            for (int i = 0; i < 5 * ASyncDuplicateChecker.BATCH_SIZE; i++) {
+                final int keyIndex = i == dupRow ? 5 : i;
+                c.addRowToTable(new DefaultRow(RowKey.createRowKey((long)keyIndex), new IntCell(i)));
+            }
+            c.close();
+            fail("Expected " + DuplicateKeyException.class + " not thrown");
+        } catch (DuplicateKeyException e) {
+            assertEquals("Wrong duplicate key", RowKey.createRowKey(5L).getString(), e.getKey());
+            assertTrue("Row number not in message: " + e.getMessage(),
+                e.getMessage().contains("row number " + (dupRow + 1)));
+        }
+    }
+
+    /**
+     * Tests that generated row keys (written as varint) and string keys, including one longer than 64k characters,
+     * are read back from disk as written.
+     */
+    public final void testRowKeyRoundTrip() {
+        checkRowKeyRoundTrip(new DataContainer(ROW_KEY_SPEC, true, 0), false);
+    }
+
+    /**
+     * Tests that generated row keys are kept by the in-memory representation of a table (and not replaced by keys
+     * created from their string) and survive the rows being flushed to disk while the table is written.
+     */
+    public final void testRowKeyRoundTripInMemoryWithFlush() {
+        checkRowKeyRoundTrip(new DataContainer(ROW_KEY_SPEC, true, Integer.MAX_VALUE), false);
+        checkRowKeyRoundTrip(new DataContainer(ROW_KEY_SPEC, true, Integer.MAX_VALUE), true);
+    }
+
+    private static void checkRowKeyRoundTrip(final DataContainer c, final boolean flushHalfway) {
+        final char[] longChars = new char[70000];
+        Arrays.fill(longChars, 'x');
+        final RowKey[] keys = new RowKey[]{RowKey.createRowKey(0L), RowKey.createRowKey(127L),
+            RowKey.createRowKey(128L), RowKey.createRowKey(Long.MAX_VALUE), RowKey.createRowKey(-3L),
+            new RowKey("Row"), new RowKey(""), new RowKey(new String(longChars))};
+        for (int i = 0; i < keys.length; i++) {
+            if (flushHalfway && i == keys.length / 2) {
+                c.getBuffer().flushBuffer();
+            }
+            c.addRowToTable(new DefaultRow(keys[i], new IntCell(i)));
+        }
+        c.close();
+        int i = 0;
+        for (DataRow row : c.getTable()) {
+            assertEquals("Wrong key in row " + i, keys[i], row.getKey());
+            assertEquals("Wrong key string in row " + i, keys[i].getString(), row.getKey().getString());
+            assertEquals("Wrong generated index in row " + i, keys[i].getGeneratedIndex(),
+                row.getKey().getGeneratedIndex());
+            i++;
+        }
+        assertEquals("Wrong row count", keys.length, i);
+    }
+
     /**
      * method being tested: addRowToTable().
      */
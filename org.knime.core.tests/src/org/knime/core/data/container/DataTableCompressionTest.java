@@ -135,6 +135,44 @@ public void testCompressions()
         }
     }
 
+    /**
+     * Ensures that tables written with a non-default compression level via
+     * {@link DataContainerSettings#withCompression(CompressionFormat, int)} can be read and that invalid levels are
+     * rejected.
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testCompressionLevels() {
+        final DataContainerSettings settings =
+            DataContainerSettings.getDefault().withMaxCellsInMemory(0).withInitializedDomain(false);
+        final Pair<DataTableSpec, DataRow[]> data = createData(ROW_COUNT);
+        @SuppressWarnings("unchecked")
+        final Pair<CompressionFormat, Integer>[] levels = new Pair[]{new Pair<>(CompressionFormat.GZIP, 1),
+            new Pair<>(CompressionFormat.GZIP, 9), new Pair<>(CompressionFormat.LZ4, 1),
+            new Pair<>(CompressionFormat.LZ4, 17)};
+        for (final Pair<CompressionFormat, Integer> level : levels) {
+            final CompressionFormat cFormat = level.getFirst();
+            final DataContainer cont =
+                new DataContainer(data.getFirst(), settings.withCompression(cFormat, level.getSecond()));
+            writeData(data.getSecond(), cont);
+            final Buffer b = cont.getBuffer();
+            cont.close();
+            testRead(b, cFormat);
+            read(b, data.getSecond());
+        }
+
+        Assert.assertThat("Level 10 valid for GZIP", CompressionFormat.GZIP.isValidLevel(10), is(false));
+        Assert.assertThat("Level 1 valid for SNAPPY", CompressionFormat.SNAPPY.isValidLevel(1), is(false));
+        Assert.assertThat("Default level valid for NONE",
+            CompressionFormat.NONE.isValidLevel(DefaultTableStoreFormat.DEFAULT_COMPRESSION_LEVEL), is(true));
+        try {
+            settings.withCompression(CompressionFormat.SNAPPY, 3);
+            fail("Invalid compression level accepted");
+        } catch (IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
     /**
      * Creates the data.
      *
@@ -0,0 +1,108 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.knime.core.data.container.BufferTestUtil.ROW_COUNT;
+import static org.knime.core.data.container.BufferTestUtil.assertRange;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests reading uncompressed tables through a {@link MappedFileInputStream}.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public final class MappedFileInputStreamTest extends TestCase {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("double", DoubleCell.TYPE).createSpec());
+
+    /** Strings and numbers contain the escape and terminate bytes of the {@link BlockableOutputStream}. */
+    private static DataRow[] createRows() {
+        return BufferTestUtil.createRows(ROW_COUNT, i -> new DataCell[]{new StringCell("ab Row " + i + " ba"),
+            new IntCell(0x61626162 + i), new DoubleCell(Double.longBitsToDouble(0x6162616261626162L + i))});
+    }
+
+    private static Buffer createBuffer(final DataRow[] rows, final int rowsPerIndexEntry) {
+        final DefaultTableStoreFormat format = new DefaultTableStoreFormat(DefaultTableStoreSettings.getDefault()
+            .withCompression(CompressionFormat.NONE).withRowsPerIndexEntry(rowsPerIndexEntry));
+        return BufferTestUtil.createBuffer(SPEC, rows, BufferTestUtil.createOnDiscSettings(
+            BufferSettings.getDefault().withOutputFormat(format).withMemoryMappedRead(true)));
+    }
+
+    /** Full reads and ranges on mapped tables, with and without row offset index. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testMappedRead() {
+        final DataRow[] rows = createRows();
+        for (int rowsPerIndexEntry : new int[]{0, 64}) {
+            final Buffer b = createBuffer(rows, rowsPerIndexEntry);
+            Assert.assertThat("Memory-mapped read", b.getBufferSettings().useMemoryMappedRead(), is(true));
+            assertRange(b, rows, 0, Long.MAX_VALUE);
+            assertRange(b, rows, 0, 0);
+            assertRange(b, rows, 421, 700);
+            assertRange(b, rows, ROW_COUNT - 1, Long.MAX_VALUE);
+        }
+    }
+
+}
@@ -0,0 +1,225 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
+import org.knime.core.data.container.OffHeapSegmentStore.RecordingInputStream;
+import org.knime.core.data.container.OffHeapSegmentStore.SegmentInputStream;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the {@link OffHeapSegmentStore}, its byte budget and reading tables through it.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public final class OffHeapSegmentStoreTest extends TestCase {
+
+    /** IDs not used by any buffer created in the test. */
+    private static final long BUFFER_ID = Long.MAX_VALUE - 10;
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    /** {@inheritDoc} */
+    @Override
+    protected void tearDown() throws Exception {
+        OffHeapSegmentStore.getInstance().setMaxBytes(0L);
+        super.tearDown();
+    }
+
+    /** Creates the content of a segment, one (partially filled) chunk of the given length. */
+    private static ByteBuffer[] createChunks(final int length) {
+        final ByteBuffer chunk = ByteBuffer.allocateDirect(OffHeapSegmentStore.CHUNK_SIZE);
+        for (int i = 0; i < length; i++) {
+            chunk.put((byte)i);
+        }
+        chunk.flip();
+        return new ByteBuffer[]{chunk};
+    }
+
+    /** Least recently used segments are evicted when the budget is exceeded. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testBudgetAndEviction() {
+        final OffHeapSegmentStore store = OffHeapSegmentStore.getInstance();
+        final long chunkSize = OffHeapSegmentStore.CHUNK_SIZE;
+        store.setMaxBytes(3 * chunkSize);
+        store.put(BUFFER_ID, 0, createChunks(100));
+        store.put(BUFFER_ID, 1, createChunks(100));
+        store.put(BUFFER_ID, 2, createChunks(100));
+        Assert.assertThat("Used bytes", store.getUsedBytes(), is(3 * chunkSize));
+        // access segment 0 so that segment 1 is the least recently used one
+        Assert.assertThat("Segment 0 present", store.get(BUFFER_ID, 0).isPresent(), is(true));
+        store.put(BUFFER_ID + 1, 0, createChunks(100));
+        Assert.assertThat("Used bytes after eviction", store.getUsedBytes(), is(3 * chunkSize));
+        Assert.assertThat("Segment 1 evicted", store.get(BUFFER_ID, 1).isPresent(), is(false));
+        Assert.assertThat("Segment 0 present", store.get(BUFFER_ID, 0).isPresent(), is(true));
+        // content larger than the budget is ignored
+        store.put(BUFFER_ID, 3, new ByteBuffer[]{ByteBuffer.allocateDirect(4 * (int)chunkSize)});
+        Assert.assertThat("Too large segment present", store.get(BUFFER_ID, 3).isPresent(), is(false));
+
+        store.invalidate(BUFFER_ID);
+        Assert.assertThat("Used bytes after invalidate", store.getUsedBytes(), is(chunkSize));
+        store.setMaxBytes(0L);
+        Assert.assertThat("Used bytes when disabled", store.getUsedBytes(), is(0L));
+        Assert.assertThat("Store enabled", store.isEnabled(), is(false));
+    }
+
+    /**
+     * Segments are recorded into direct memory while read and returned as independent read-only views.
+     * @throws IOException if reading fails
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testContent() throws IOException {
+        final OffHeapSegmentStore store = OffHeapSegmentStore.getInstance();
+        store.setMaxBytes(4L * OffHeapSegmentStore.CHUNK_SIZE);
+        final byte[] content = new byte[OffHeapSegmentStore.CHUNK_SIZE + 3];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte)(i % 101);
+        }
+        try (RecordingInputStream in =
+            new RecordingInputStream(new ByteArrayInputStream(content), BUFFER_ID, 0, store.getMaxBytes())) {
+            Assert.assertThat("First byte", in.read(), is(0));
+            in.readToEnd();
+        }
+        final ByteBuffer[] first = store.get(BUFFER_ID, 0).get();
+        Assert.assertThat("Number of chunks", first.length, is(2));
+        Assert.assertThat("Read-only", first[0].isReadOnly(), is(true));
+        try (SegmentInputStream in = new SegmentInputStream(first)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] b = new byte[1000];
+            for (int count = in.read(b, 0, b.length); count >= 0; count = in.read(b, 0, b.length)) {
+                out.write(b, 0, count);
+            }
+            Assert.assertThat("Content", out.toByteArray(), equalTo(content));
+        }
+        final ByteBuffer[] second = store.get(BUFFER_ID, 0).get();
+        Assert.assertThat("Position of second view", second[0].position(), is(0));
+
+        // segments larger than the budget are not recorded
+        final byte[] largeContent = new byte[5 * OffHeapSegmentStore.CHUNK_SIZE];
+        try (RecordingInputStream in =
+            new RecordingInputStream(new ByteArrayInputStream(largeContent), BUFFER_ID, 1, store.getMaxBytes())) {
+            in.readToEnd();
+        }
+        Assert.assertThat("Too large segment present", store.get(BUFFER_ID, 1).isPresent(), is(false));
+        store.invalidate(BUFFER_ID);
+    }
+
+    /** Segments of tables with row offset index read a second time are served from the store. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testReadThrough() {
+        final DataRow[] rows = IntStream.range(0, 1000).mapToObj(i -> new DefaultRow(RowKey.createRowKey((long)i),
+            new StringCell("Row " + i), new IntCell(i))).toArray(DataRow[]::new);
+        final OffHeapSegmentStore store = OffHeapSegmentStore.getInstance();
+        store.setMaxBytes(16L << 20);
+        for (int rowsPerIndexEntry : new int[]{0, 64}) {
+            final DefaultTableStoreFormat format = new DefaultTableStoreFormat(DefaultTableStoreSettings.getDefault()
+                .withCompression(CompressionFormat.GZIP).withRowsPerIndexEntry(rowsPerIndexEntry));
+            final DataContainerSettings settings = DataContainerSettings.getDefault().withMaxCellsInMemory(0)
+                .withInitializedDomain(false)
+                .withBufferSettings(BufferSettings.getDefault().withLRU(false).withOutputFormat(format));
+            final DataContainer cont = new DataContainer(SPEC, settings);
+            for (DataRow r : rows) {
+                cont.addRowToTable(r);
+            }
+            final Buffer b = cont.getBuffer();
+            cont.close();
+
+            assertRows(b, rows);
+            final long usedBytes = store.getUsedBytes();
+            if (rowsPerIndexEntry == 0) {
+                Assert.assertThat("Table without index held in store", usedBytes, is(0L));
+            } else {
+                Assert.assertThat("Segments held after first read", usedBytes > 0, is(true));
+            }
+            assertRows(b, rows);
+            Assert.assertThat("Used bytes after second read", store.getUsedBytes(), is(usedBytes));
+
+            b.clear();
+            Assert.assertThat("Used bytes after clear", store.getUsedBytes(), is(0L));
+        }
+    }
+
+    private static void assertRows(final Buffer b, final DataRow[] rows) {
+        try (CloseableRowIterator it = b.iterator()) {
+            for (DataRow expected : rows) {
+                Assert.assertThat("Iterator has row", it.hasNext(), is(true));
+                final DataRow row = it.next();
+                Assert.assertThat("Row key", row.getKey(), equalTo(expected.getKey()));
+                Assert.assertThat("Cell 0", row.getCell(0), equalTo(expected.getCell(0)));
+                Assert.assertThat("Cell 1", row.getCell(1), equalTo(expected.getCell(1)));
+            }
+            Assert.assertThat("Iterator returns more rows", it.hasNext(), is(false));
+        }
+    }
+
+}
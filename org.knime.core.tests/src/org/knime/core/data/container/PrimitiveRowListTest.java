@@ -0,0 +1,150 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.MissingCell;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests {@link PrimitiveRowList}, the compact in-memory representation of tables with primitive columns.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public final class PrimitiveRowListTest extends TestCase {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("double", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("long", LongCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("boolean", BooleanCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("string", StringCell.TYPE).createSpec());
+
+    private static BlobSupportDataRow createRow(final int i) {
+        final DataCell[] cells = new DataCell[]{new DoubleCell(i / 3.0), new IntCell(i), new LongCell(i * 1000L),
+            BooleanCell.get(i % 2 == 0), new StringCell("Row " + i)};
+        // some missing values, shifting through the columns
+        if (i % 7 == 0) {
+            cells[i % cells.length] = DataType.getMissingCell();
+        }
+        return new BlobSupportDataRow(RowKey.createRowKey((long)i), cells);
+    }
+
+    private static void assertRowEquals(final DataRow expected, final DataRow actual) {
+        Assert.assertThat("Row key", actual.getKey(), equalTo(expected.getKey()));
+        for (int c = 0; c < expected.getNumCells(); c++) {
+            Assert.assertThat("Cell " + c + " in row " + expected.getKey(), actual.getCell(c),
+                equalTo(expected.getCell(c)));
+        }
+    }
+
+    /** Applicability of specs. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testIsApplicable() {
+        Assert.assertThat("Primitive spec applicable", PrimitiveRowList.isApplicable(SPEC), is(true));
+        Assert.assertThat("Empty spec applicable", PrimitiveRowList.isApplicable(new DataTableSpec()), is(false));
+        final DataTableSpec genericSpec =
+            new DataTableSpec(new DataColumnSpecCreator("generic", DataType.getType(DataCell.class)).createSpec());
+        Assert.assertThat("Generic spec applicable", PrimitiveRowList.isApplicable(genericSpec), is(false));
+    }
+
+    /** Adding and reading rows, including missing values and growing the arrays. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testAddAndGet() {
+        final PrimitiveRowList list = new PrimitiveRowList(SPEC, 0);
+        for (int i = 0; i < 1000; i++) {
+            list.add(createRow(i));
+        }
+        Assert.assertThat("List size", list.size(), is(1000));
+        Assert.assertThat("List is primitive", list.isPrimitive(), is(true));
+        for (int i = 0; i < 1000; i++) {
+            assertRowEquals(createRow(i), list.get(i));
+        }
+    }
+
+    /** Cells that can't be represented switch the list to ordinary rows. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testFallback() {
+        final PrimitiveRowList list = new PrimitiveRowList(SPEC, 10);
+        for (int i = 0; i < 100; i++) {
+            list.add(createRow(i));
+        }
+        final DataCell[] cells = new DataCell[]{new DoubleCell(0.0), new IntCell(0), new LongCell(0L),
+            BooleanCell.TRUE, new MissingCell("some error")};
+        final BlobSupportDataRow errorRow = new BlobSupportDataRow(new RowKey("Error row"), cells);
+        list.add(errorRow);
+        list.add(createRow(100));
+        Assert.assertThat("List is primitive", list.isPrimitive(), is(false));
+        Assert.assertThat("List size", list.size(), is(102));
+        for (int i = 0; i < 100; i++) {
+            assertRowEquals(createRow(i), list.get(i));
+        }
+        Assert.assertThat("Row with error cell", list.get(100), is(errorRow));
+        assertRowEquals(createRow(100), list.get(101));
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.knime.core.data.container.BufferTestUtil.ROW_COUNT;
+import static org.knime.core.data.container.BufferTestUtil.assertRange;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests reading tables written by the {@link DefaultTableStoreWriter} in independently compressed segments, i.e. with
+ * a {@link RowOffsetIndex}, for all compression formats.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public final class RowOffsetIndexTest extends TestCase {
+
+    private static final int ROWS_PER_INDEX_ENTRY = 64;
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+
+    private static DataRow[] createRows() {
+        return BufferTestUtil.createRows(ROW_COUNT, i -> new DataCell[]{new StringCell("Row " + i), new IntCell(i)});
+    }
+
+    private static Buffer createBuffer(final DataRow[] rows, final CompressionFormat compression,
+        final int rowsPerIndexEntry) {
+        return createBuffer(rows, compression, rowsPerIndexEntry, 1);
+    }
+
+    private static Buffer createBuffer(final DataRow[] rows, final CompressionFormat compression,
+        final int rowsPerIndexEntry, final int writerThreads) {
+        final DefaultTableStoreFormat format = new DefaultTableStoreFormat(DefaultTableStoreSettings.getDefault()
+            .withCompression(compression).withRowsPerIndexEntry(rowsPerIndexEntry));
+        final DataContainerSettings settings =
+            BufferTestUtil.createOnDiscSettings(BufferSettings.getDefault().withOutputFormat(format));
+        return BufferTestUtil.createBuffer(SPEC, rows, settings.withWriterThreads(writerThreads));
+    }
+
+    private static void assertRanges(final Buffer b, final DataRow[] rows) {
+        assertRange(b, rows, 0, Long.MAX_VALUE);
+        assertRange(b, rows, ROWS_PER_INDEX_ENTRY - 1, ROWS_PER_INDEX_ENTRY);
+        assertRange(b, rows, ROWS_PER_INDEX_ENTRY, 3 * ROWS_PER_INDEX_ENTRY + 5);
+        assertRange(b, rows, 421, 421);
+        assertRange(b, rows, ROW_COUNT - 1, Long.MAX_VALUE);
+        assertRange(b, rows, 2000, 3000);
+    }
+
+    /** Full reads and ranges on segmented tables for all compression formats. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testSegmentedTable() {
+        final DataRow[] rows = createRows();
+        for (CompressionFormat compression : CompressionFormat.values()) {
+            assertRanges(createBuffer(rows, compression, ROWS_PER_INDEX_ENTRY), rows);
+        }
+    }
+
+    /** Tables written without index (interval 0) must be readable as before. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testTableWithoutIndex() {
+        final DataRow[] rows = createRows();
+        for (CompressionFormat compression : CompressionFormat.values()) {
+            assertRanges(createBuffer(rows, compression, 0), rows);
+        }
+    }
+
+    /** Segments serialized and compressed in parallel must result in the same file as written sequentially. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testParallelWrite() {
+        final DataRow[] rows = createRows();
+        for (CompressionFormat compression : CompressionFormat.values()) {
+            final Buffer sequential = createBuffer(rows, compression, ROWS_PER_INDEX_ENTRY, 1);
+            final Buffer parallel = createBuffer(rows, compression, ROWS_PER_INDEX_ENTRY, 4);
+            Assert.assertThat("File size of table written in parallel (" + compression + ")",
+                parallel.getBufferFileSize(), is(sequential.getBufferFileSize()));
+            assertRanges(parallel, rows);
+        }
+        // no rows and row count a multiple of the segment size
+        for (int rowCount : new int[]{0, 2 * ROWS_PER_INDEX_ENTRY}) {
+            final DataRow[] someRows = Arrays.copyOf(rows, rowCount);
+            final Buffer sequential = createBuffer(someRows, CompressionFormat.GZIP, ROWS_PER_INDEX_ENTRY, 1);
+            final Buffer parallel = createBuffer(someRows, CompressionFormat.GZIP, ROWS_PER_INDEX_ENTRY, 4);
+            Assert.assertThat("File size of table with " + rowCount + " rows written in parallel",
+                parallel.getBufferFileSize(), is(sequential.getBufferFileSize()));
+            assertRange(parallel, someRows, 0, Long.MAX_VALUE);
+        }
+    }
+
+    /** LZ4 files are not segmented by default as earlier versions can't read concatenated LZ4 streams. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testDefaultRowsPerIndexEntry() {
+        final DefaultTableStoreSettings defaults = DefaultTableStoreSettings.getDefault();
+        Assert.assertThat("Rows per index entry for LZ4",
+            defaults.withCompression(CompressionFormat.LZ4).getRowsPerIndexEntry(), is(0));
+        for (CompressionFormat compression : new CompressionFormat[]{CompressionFormat.NONE, CompressionFormat.GZIP,
+            CompressionFormat.SNAPPY}) {
+            Assert.assertThat("Rows per index entry for " + compression,
+                defaults.withCompression(compression).getRowsPerIndexEntry() > 0, is(true));
+        }
+        Assert.assertThat("Explicit rows per index entry for LZ4", defaults.withCompression(CompressionFormat.LZ4)
+            .withRowsPerIndexEntry(ROWS_PER_INDEX_ENTRY).getRowsPerIndexEntry(), is(ROWS_PER_INDEX_ENTRY));
+        Assert.assertThat("Explicit rows per index entry kept when changing compression",
+            defaults.withRowsPerIndexEntry(0).withCompression(CompressionFormat.GZIP).getRowsPerIndexEntry(), is(0));
+    }
+
+    /** Index lookup of segments. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testSegmentForRow() {
+        final RowOffsetIndex index = new RowOffsetIndex(10, new long[]{0L, 100L, 200L});
+        Assert.assertThat("Segment count", index.getSegmentCount(), is(3));
+        Assert.assertThat("Segment of row 0", index.getSegmentForRow(0), is(0));
+        Assert.assertThat("Segment of row 9", index.getSegmentForRow(9), is(0));
+        Assert.assertThat("Segment of row 10", index.getSegmentForRow(10), is(1));
+        Assert.assertThat("Segment of row beyond end", index.getSegmentForRow(1000), is(2));
+        Assert.assertThat("First row of segment 2", index.getFirstRowIndex(2), is(20L));
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the {@link RowSizeEstimator}.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public final class RowSizeEstimatorTest extends TestCase {
+
+    /** Generated keys are estimated without their string, keys created from a string with it. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testKeyEstimate() {
+        final long generated = RowSizeEstimator.estimate(RowKey.createRowKey(123456789L));
+        final long fromString = RowSizeEstimator.estimate(new RowKey("Row123456789"));
+        Assert.assertThat("Generated key smaller than string key", generated < fromString, is(true));
+        Assert.assertEquals("Longer strings are larger", fromString + 2,
+            RowSizeEstimator.estimate(new RowKey("Row1234567890")));
+    }
+
+    /** The row estimate covers key and cells. */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testRowEstimate() {
+        final RowKey key = RowKey.createRowKey(1L);
+        final StringCell stringCell = new StringCell("some string");
+        final long rowBytes = RowSizeEstimator.estimate(new DefaultRow(key, new IntCell(1), stringCell));
+        Assert.assertThat("Row larger than its parts",
+            rowBytes > RowSizeEstimator.estimate(key) + RowSizeEstimator.estimate(new IntCell(1))
+                + RowSizeEstimator.estimate(stringCell),
+            is(true));
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.util.Random;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Measures rows per second for writing and reading a typical mixed table (int, long, double, string, boolean and
+ * missing cells) to and from disk, i.e. the cell serialization path of the table store writers and readers. It is
+ * not part of the test suite, run {@link #main(String[])} with the row count and number of iterations instead.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public class TableIOBenchmark {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(TableIOBenchmark.class);
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("long", LongCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("double", DoubleCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("string", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("category", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("boolean", BooleanCell.TYPE).createSpec());
+
+    /**
+     * Runs the benchmark outside the test framework.
+     *
+     * @param args optional row count and number of iterations
+     */
+    public static void main(final String[] args) {
+        final int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        final int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        final DataRow[] rows = createRows(rowCount, 0L);
+        run(rows, 2);
+        run(rows, iterations);
+    }
+
+    /** Writes the rows into a disk-backed table and reads it back, repeatedly. */
+    private static void run(final DataRow[] rows, final int iterations) {
+        long writeNanos = 0L;
+        long readNanos = 0L;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            final DataContainer cont = new DataContainer(SPEC,
+                DataContainerSettings.getDefault().withMaxCellsInMemory(0).withInitializedDomain(false));
+            for (DataRow row : rows) {
+                cont.addRowToTable(row);
+            }
+            cont.close();
+            writeNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            final ContainerTable table = cont.getBufferedTable();
+            try (CloseableRowIterator it = table.iterator()) {
+                while (it.hasNext()) {
+                    it.next().getCell(0);
+                }
+            }
+            readNanos += System.nanoTime() - start;
+            table.clear();
+        }
+        final double writeRate = 1e9 * rows.length * iterations / writeNanos;
+        final double readRate = 1e9 * rows.length * iterations / readNanos;
+        LOGGER.infoWithFormat("%d x %d rows: write %.0f rows/s, read %.0f rows/s", iterations, rows.length, writeRate,
+            readRate);
+    }
+
+    private static DataRow[] createRows(final int rowCount, final long seed) {
+        final Random random = new Random(seed);
+        final DataRow[] rows = new DataRow[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            final DataCell string = random.nextInt(20) == 0 ? DataType.getMissingCell()
+                : new StringCell(Long.toHexString(random.nextLong()));
+            rows[i] = new DefaultRow(RowKey.createRowKey((long)i), new IntCell(random.nextInt()),
+                new LongCell(random.nextLong()), new DoubleCell(random.nextGaussian()), string,
+                new StringCell("Category " + random.nextInt(8)), BooleanCell.get(random.nextBoolean()));
+        }
+        return rows;
+    }
+}
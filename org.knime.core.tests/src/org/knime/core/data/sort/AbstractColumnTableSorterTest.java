@@ -8,6 +8,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
@@ -175,6 +176,56 @@ public void consume(final DataRow defaultRow) {
         });
     }
 
+    /**
+     * Tests that the buffer budget of a sorter is limited by the budget shared by all sorters.
+     *
+     * @throws InvalidSettingsException
+     */
+    @Test
+    public void testBufferBudgetLimitedBySharedBudget() throws InvalidSettingsException {
+        DataTableSpec spec = createRandomTable(2, 1).getDataTableSpec();
+        ColumnBufferedDataTableSorter dataTableSorter =
+            new ColumnBufferedDataTableSorter(spec, 1, spec.getColumnNames());
+        assertEquals(AbstractColumnTableSorter.DEF_MAX_BUFFER_BYTES, dataTableSorter.getMaxBufferBytes());
+        dataTableSorter.setMaxBufferBytes(Long.MAX_VALUE);
+        assertEquals(AbstractColumnTableSorter.MAX_SHARED_BUFFER_BYTES, dataTableSorter.getMaxBufferBytes());
+    }
+
+    /**
+     * Tests the sorting with a small buffer budget, which creates many runs and needs more than one merge pass.
+     *
+     * @throws CanceledExecutionException
+     * @throws InvalidSettingsException
+     */
+    @Test
+    public void testSortingWithBufferBudget() throws CanceledExecutionException, InvalidSettingsException {
+        BufferedDataTable bt = createRandomTable(10, 5000);
+
+        ColumnBufferedDataTableSorter dataTableSorter =
+            new ColumnBufferedDataTableSorter(bt.getDataTableSpec(), bt.size(), bt.getDataTableSpec()
+                .getColumnNames());
+        // roughly 100 rows per run
+        dataTableSorter.setMaxBufferBytes(100 * 1000);
+        dataTableSorter.setMaxOpenContainers(20);
+
+        final Comparator<DataRow> ascendingOrderAssertion =
+            createAscendingOrderAssertingComparator(bt, bt.getDataTableSpec().getColumnNames());
+        final AtomicLong rowCount = new AtomicLong();
+        dataTableSorter.sort(bt, m_exec, new SortingConsumer() {
+            final AtomicReference<DataRow> lastRow = new AtomicReference<>();
+
+            @Override
+            public void consume(final DataRow defaultRow) {
+                if (lastRow.get() != null) {
+                    ascendingOrderAssertion.compare(defaultRow, lastRow.get());
+                }
+                lastRow.set(defaultRow);
+                rowCount.incrementAndGet();
+            }
+        });
+        assertEquals(bt.size(), rowCount.get());
+    }
+
     private BufferedDataTable createRandomTable(final int cols, final int rows) {
         long currentTimeMillis = System.currentTimeMillis();
         System.out.println("Using seed: " + currentTimeMillis);
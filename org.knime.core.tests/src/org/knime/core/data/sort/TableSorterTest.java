@@ -48,8 +48,10 @@
 package org.knime.core.data.sort;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
 
 import org.junit.After;
@@ -65,11 +67,17 @@
 import org.knime.core.data.DataType;
 import org.knime.core.data.IntValue;
 import org.knime.core.data.RowIterator;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.BooleanCell;
 import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
 import org.knime.core.data.def.StringCell;
 import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.DefaultNodeProgressMonitor;
@@ -140,6 +148,150 @@ public final void testMultiStageMerge() throws CanceledExecutionException {
         runMemoryTest(100, 5, 8);
     }
 
+    /**
+     * Test that sorting runs in parallel, writing them in the background and merging them with read-ahead gives the
+     * same (stable) result as the sequential sort.
+     * @throws CanceledExecutionException
+     */
+    @Test
+    public final void testParallelSort() throws CanceledExecutionException {
+        BufferedDataContainer cont = m_exec.createDataContainer(new DataTableSpec("TestDataSpec",
+            new String[]{"Index"}, new DataType[]{IntCell.TYPE}));
+        Random rand = new Random(17);
+        for (int i = 0; i < 50000; i++) {
+            // many duplicates to check stability
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(rand.nextInt(100))));
+        }
+        cont.close();
+        BufferedDataTable bdt = cont.getTable();
+
+        BufferedDataTableSorter sorter = new BufferedDataTableSorter(bdt, Arrays.asList("Index"), new boolean[]{true});
+        Assert.assertEquals("Parallel sorting is opt-in", 1, sorter.getParallelism());
+        BufferedDataTable sequentialResult = sorter.sort(m_exec);
+
+        for (int maxRows : new int[]{Integer.MAX_VALUE, 15000, 3000}) {
+            sorter.setParallelism(4);
+            sorter.setMaxRows(maxRows);
+            sorter.setMaxOpenContainers(4);
+            BufferedDataTable result = sorter.sort(m_exec);
+            Assert.assertEquals(sequentialResult.size(), result.size());
+            RowIterator sequentialIter = sequentialResult.iterator();
+            for (DataRow row : result) {
+                DataRow sequentialRow = sequentialIter.next();
+                Assert.assertEquals(sequentialRow.getKey(), row.getKey());
+                Assert.assertEquals(sequentialRow.getCell(0), row.getCell(0));
+            }
+        }
+    }
+
+    /**
+     * Test that sorting on normalized keys gives the same result as comparing the cells, including descending order,
+     * missing values and special double values.
+     * @throws CanceledExecutionException
+     */
+    @Test
+    public final void testNormalizedKeys() throws CanceledExecutionException {
+        BufferedDataContainer cont = m_exec.createDataContainer(new DataTableSpec("TestDataSpec",
+            new String[]{"Int", "Long", "Double", "String", "Boolean"},
+            new DataType[]{IntCell.TYPE, LongCell.TYPE, DoubleCell.TYPE, StringCell.TYPE, BooleanCell.TYPE}));
+        Random rand = new Random(42);
+        double[] doubles = {Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0, 2.5, Double.POSITIVE_INFINITY, Double.NaN};
+        String[] strings = {"", "a", "ab", "a\u0000", "\u0100", "\uffff", "B"};
+        for (int i = 0; i < 5000; i++) {
+            DataCell[] cells = new DataCell[]{new IntCell(rand.nextInt(7) - 3), new LongCell(rand.nextLong() >> 60),
+                new DoubleCell(doubles[rand.nextInt(doubles.length)]),
+                new StringCell(strings[rand.nextInt(strings.length)]), BooleanCell.get(rand.nextBoolean())};
+            cells[rand.nextInt(cells.length)] = DataType.getMissingCell();
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), cells));
+        }
+        cont.close();
+        BufferedDataTable bdt = cont.getTable();
+
+        for (boolean missingsToEnd : new boolean[]{false, true}) {
+            for (int c = 0; c < 5; c++) {
+                List<String> columns = Arrays.asList(bdt.getDataTableSpec().getColumnNames());
+                Collections.rotate(columns, c);
+                boolean[] ascending = new boolean[columns.size()];
+                for (int i = 0; i < ascending.length; i++) {
+                    ascending[i] = (i + c) % 2 == 0;
+                }
+                BufferedDataTableSorter sorter = new BufferedDataTableSorter(bdt, columns, ascending, missingsToEnd);
+                sorter.setMaxRows(700);
+                BufferedDataTable expected = sorter.sort(m_exec);
+                sorter.setSortOnNormalizedKeys(true);
+                BufferedDataTable result = sorter.sort(m_exec);
+                RowIterator expectedIter = expected.iterator();
+                for (DataRow row : result) {
+                    Assert.assertEquals(expectedIter.next().getKey(), row.getKey());
+                }
+                Assert.assertFalse(expectedIter.hasNext());
+            }
+        }
+    }
+
+    /**
+     * Test that the top-k mode returns the first k rows of the full sort.
+     * @throws CanceledExecutionException
+     */
+    @Test
+    public final void testTopK() throws CanceledExecutionException {
+        BufferedDataContainer cont = m_exec.createDataContainer(new DataTableSpec("TestDataSpec",
+            new String[]{"Index"}, new DataType[]{IntCell.TYPE}));
+        Random rand = new Random(3);
+        for (int i = 0; i < 10000; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(rand.nextInt(500))));
+        }
+        cont.close();
+        BufferedDataTable bdt = cont.getTable();
+
+        BufferedDataTableSorter sorter = new BufferedDataTableSorter(bdt, Arrays.asList("Index"), new boolean[]{false});
+        BufferedDataTable fullResult = sorter.sort(m_exec);
+        for (int k : new int[]{0, 1, 100, 10000, 20000}) {
+            sorter.setTopK(k);
+            BufferedDataTable result = sorter.sort(m_exec);
+            Assert.assertEquals(Math.min(k, bdt.size()), result.size());
+            RowIterator fullIter = fullResult.iterator();
+            for (DataRow row : result) {
+                Assert.assertEquals(fullIter.next().getKey(), row.getKey());
+            }
+        }
+    }
+
+    /**
+     * Test that the lazily merged table has the same rows as the sorted table, also when iterated more than once.
+     * @throws CanceledExecutionException
+     */
+    @Test
+    public final void testSortLazily() throws CanceledExecutionException {
+        BufferedDataContainer cont = m_exec.createDataContainer(new DataTableSpec("TestDataSpec",
+            new String[]{"Index"}, new DataType[]{IntCell.TYPE}));
+        Random rand = new Random(5);
+        for (int i = 0; i < 10000; i++) {
+            cont.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(rand.nextInt(1000))));
+        }
+        cont.close();
+        BufferedDataTable bdt = cont.getTable();
+
+        BufferedDataTableSorter sorter = new BufferedDataTableSorter(bdt, Arrays.asList("Index"), new boolean[]{true});
+        sorter.setMaxRows(700);
+        sorter.setMaxOpenContainers(5);
+        BufferedDataTable expected = sorter.sort(m_exec);
+        try (LazySortedTable lazy = sorter.sortLazily(m_exec)) {
+            Assert.assertEquals(bdt.size(), lazy.size());
+            Assert.assertTrue(lazy.getNrRuns() <= 5);
+            for (int i = 0; i < 2; i++) {
+                RowIterator expectedIter = expected.iterator();
+                for (DataRow row : lazy) {
+                    Assert.assertEquals(expectedIter.next().getKey(), row.getKey());
+                }
+                Assert.assertFalse(expectedIter.hasNext());
+            }
+            try (CloseableRowIterator it = lazy.iterator()) {
+                it.next();
+            }
+        }
+    }
+
     private void runMemoryTest(final int numRows,
             final int maxNumRowsPerContainer,
             final int maxOpenContainers) throws CanceledExecutionException {
@@ -0,0 +1,171 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+
+import org.junit.Test;
+
+/**
+ * Tests the statistics collected by {@link InstrumentedReentrantLock}.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public class InstrumentedReentrantLockTest {
+
+    /** Nested acquisitions must only be counted once. */
+    @Test
+    public void testReentrantAcquisition() {
+        InstrumentedReentrantLock lock = new InstrumentedReentrantLock("test");
+        lock.lock();
+        lock.lock();
+        lock.unlock();
+        lock.unlock();
+        assertThat("Number of acquisitions", lock.getNrAcquisitions(), is(1L));
+        assertThat("Number of contended acquisitions", lock.getNrContendedAcquisitions(), is(0L));
+        assertThat("Lock held", lock.isLocked(), is(false));
+    }
+
+    /**
+     * Another thread waiting for the lock must be counted as contended and the hold time must be recorded.
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testContendedAcquisition() throws Exception {
+        final InstrumentedReentrantLock lock = new InstrumentedReentrantLock("test");
+        final CountDownLatch waiting = new CountDownLatch(1);
+        lock.lock();
+        Thread t = new Thread(() -> {
+            waiting.countDown();
+            lock.lock();
+            lock.unlock();
+        });
+        t.start();
+        waiting.await();
+        while (!lock.hasQueuedThread(t)) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+        lock.unlock();
+        t.join();
+        assertThat("Number of acquisitions", lock.getNrAcquisitions(), is(2L));
+        assertThat("Number of contended acquisitions", lock.getNrContendedAcquisitions(), is(1L));
+        assertTrue("Hold time not recorded: " + lock.getStatisticsSummary(), lock.getMaxHoldMillis() >= 50);
+        assertTrue("Wait time not recorded: " + lock.getStatisticsSummary(), lock.getTotalWaitMillis() >= 50);
+    }
+
+    /**
+     * Both tryLock variants must be recorded, failed attempts with timeout count as contended.
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testTryLock() throws Exception {
+        final InstrumentedReentrantLock lock = new InstrumentedReentrantLock("test");
+        assertThat("tryLock on free lock", lock.tryLock(), is(true));
+        assertThat("Nested tryLock", lock.tryLock(10, TimeUnit.MILLISECONDS), is(true));
+        final AtomicBoolean isAcquiredByOther = new AtomicBoolean(true);
+        Thread t = new Thread(() -> {
+            try {
+                isAcquiredByOther.set(lock.tryLock() || lock.tryLock(50, TimeUnit.MILLISECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        t.start();
+        t.join();
+        assertThat("Lock acquired by other thread", isAcquiredByOther.get(), is(false));
+        lock.unlock();
+        lock.unlock();
+        assertThat("tryLock with timeout on free lock", lock.tryLock(10, TimeUnit.MILLISECONDS), is(true));
+        lock.unlock();
+        assertThat("Number of acquisitions", lock.getNrAcquisitions(), is(2L));
+        assertThat("Number of contended acquisitions", lock.getNrContendedAcquisitions(), is(1L));
+        assertTrue("Wait time not recorded: " + lock.getStatisticsSummary(), lock.getTotalWaitMillis() >= 50);
+        assertThat("Lock held", lock.isLocked(), is(false));
+    }
+
+    /**
+     * Waiting on a condition releases the lock; the hold of another thread in the meantime must not be attributed to
+     * the waiting thread.
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testConditionAwaitEndsHold() throws Exception {
+        final InstrumentedReentrantLock lock = new InstrumentedReentrantLock("test");
+        final Condition condition = lock.newCondition();
+        lock.lock();
+        Thread t = new Thread(() -> {
+            lock.lock(); // blocks until the main thread waits on the condition
+            try {
+                Thread.sleep(200);
+                condition.signalAll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        t.start();
+        condition.await();
+        lock.unlock();
+        t.join();
+        assertThat("Number of acquisitions", lock.getNrAcquisitions(), is(2L));
+        assertTrue("Hold time not recorded: " + lock.getStatisticsSummary(), lock.getMaxHoldMillis() >= 200);
+        assertTrue("Hold time of other thread counted twice: " + lock.getStatisticsSummary(),
+            lock.getTotalHoldMillis() < 400);
+        assertThat("Lock held", lock.isLocked(), is(false));
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EventObject;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests coalescing and asynchronous delivery in {@link NodeEventBus}.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public class NodeEventBusTest {
+
+    private static final NodeID NODE_1 = new NodeID(NodeID.ROOTID, 1);
+
+    private static final NodeID NODE_2 = new NodeID(NodeID.ROOTID, 2);
+
+    private ScheduledExecutorService m_executor;
+
+    /** Creates the dispatcher thread. */
+    @Before
+    public void setUp() {
+        m_executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    /** Stops the dispatcher thread. */
+    @After
+    public void tearDown() {
+        m_executor.shutdownNow();
+    }
+
+    /**
+     * Many progress events of the same node are delivered as one (the most recent) event.
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testCoalescing() throws Exception {
+        NodeEventBus bus = new NodeEventBus(m_executor, 50L, 100);
+        final List<NodeProgressEvent> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch delivered = new CountDownLatch(2);
+        NodeProgressListener l = pe -> {
+            received.add(pe);
+            delivered.countDown();
+        };
+        NodeProgressListener wrapper = bus.wrap(l);
+        for (int i = 0; i <= 100; i++) {
+            wrapper.progressChanged(new NodeProgressEvent(NODE_1, new NodeProgress(i / 100.0, "step " + i)));
+        }
+        wrapper.progressChanged(new NodeProgressEvent(NODE_2, new NodeProgress(0.5, null)));
+        assertTrue("Events not delivered", delivered.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertThat("Number of delivered events", received.size(), is(2));
+        assertThat("Source of first event", received.get(0).getSource(), is(NODE_1));
+        assertThat("Progress of first event", received.get(0).getNodeProgress().getProgress(), is(1.0));
+        assertThat("Source of second event", received.get(1).getSource(), is(NODE_2));
+        assertThat("Number of coalesced events", bus.getNrCoalescedEvents(), is(100L));
+    }
+
+    /**
+     * A listener blocked in its callback must not block the thread firing the events. State events are not coalesced.
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testNotifierNotBlocked() throws Exception {
+        NodeEventBus bus = new NodeEventBus(m_executor, 10L, 100);
+        final CountDownLatch inListener = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<NodeStateEvent> received = new CopyOnWriteArrayList<>();
+        NodeStateChangeListener l = state -> {
+            received.add(state);
+            inListener.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        NodeStateChangeListener wrapper = bus.wrap(l);
+        wrapper.stateChanged(new NodeStateEvent(NODE_1));
+        assertTrue("Listener not called", inListener.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 1000; i++) {
+            wrapper.stateChanged(new NodeStateEvent(NODE_1));
+        }
+        release.countDown();
+        m_executor.schedule(() -> null, 50L, TimeUnit.MILLISECONDS).get();
+        assertThat("Number of delivered events", received.size(), is(1001));
+        assertThat("Number of coalesced events", bus.getNrCoalescedEvents(), is(0L));
+    }
+
+    /** Only progress events are dropped if the queue is full, wrappers of the same listener are equal. */
+    @Test
+    public void testBoundAndRemoval() {
+        NodeEventBus bus = new NodeEventBus(m_executor, 1000L, 1);
+        NodeMessageListener l = messageEvent -> { };
+        NodeMessageListener wrapper = bus.wrap(l);
+        wrapper.messageChanged(new NodeMessageEvent(NODE_1, NodeMessage.NONE));
+        wrapper.messageChanged(new NodeMessageEvent(NODE_1, NodeMessage.NONE));
+        wrapper.messageChanged(new NodeMessageEvent(NODE_2, NodeMessage.NONE));
+        NodeStateChangeListener stateWrapper = bus.wrap((NodeStateChangeListener)state -> { });
+        stateWrapper.stateChanged(new NodeStateEvent(NODE_2));
+        NodeProgressListener progressWrapper = bus.wrap((NodeProgressListener)pe -> { });
+        progressWrapper.progressChanged(new NodeProgressEvent(NODE_1, new NodeProgress(0.5, null)));
+        assertThat("Number of coalesced events", bus.getNrCoalescedEvents(), is(0L));
+        assertThat("Number of dropped events", bus.getNrDroppedEvents(), is(1L));
+        assertThat("Number of pending events", bus.getNrPendingEvents(), is(4));
+
+        CopyOnWriteArraySet<NodeMessageListener> listeners = new CopyOnWriteArraySet<>();
+        assertThat("Wrapper added", listeners.add(wrapper), is(true));
+        assertThat("Equal wrapper added", listeners.add(bus.wrap(l)), is(false));
+        assertThat("Wrapper removed", listeners.remove(bus.wrap(l)), is(true));
+    }
+
+    /**
+     * Pending events of a listener removed from a node are discarded, those of other listeners and of other nodes
+     * the listener is registered with are delivered.
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testDiscardPendingEvents() throws Exception {
+        NodeEventBus bus = new NodeEventBus(m_executor, 50L, 100);
+        final List<EventObject> removedReceived = new CopyOnWriteArrayList<>();
+        final CountDownLatch delivered = new CountDownLatch(2);
+        NodeProgressListener removed = removedReceived::add;
+        NodeMessageListener removedMessageListener = messageEvent -> {
+            removedReceived.add(messageEvent);
+            delivered.countDown();
+        };
+        NodeMessageListener other = messageEvent -> delivered.countDown();
+        bus.wrap(removed).progressChanged(new NodeProgressEvent(NODE_1, new NodeProgress(0.5, null)));
+        bus.wrap(removedMessageListener).messageChanged(new NodeMessageEvent(NODE_1, NodeMessage.NONE));
+        bus.wrap(removedMessageListener).messageChanged(new NodeMessageEvent(NODE_2, NodeMessage.NONE));
+        bus.wrap(other).messageChanged(new NodeMessageEvent(NODE_1, NodeMessage.NONE));
+        bus.discard(NODE_1, removed);
+        bus.discard(NODE_1, removedMessageListener);
+        assertThat("Number of pending events", bus.getNrPendingEvents(), is(2));
+        assertTrue("Events of other listener or node not delivered", delivered.await(5, TimeUnit.SECONDS));
+        assertThat("Number of events delivered to removed listeners", removedReceived.size(), is(1));
+        assertThat("Source of event delivered to removed listener", removedReceived.get(0).getSource(), is(NODE_2));
+    }
+
+    /**
+     * A coalesced progress event is delivered after the events that were fired before the most recent progress
+     * event.
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testCoalescedEventOrder() throws Exception {
+        NodeEventBus bus = new NodeEventBus(m_executor, 50L, 100);
+        final List<EventObject> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch delivered = new CountDownLatch(2);
+        NodeProgressListener progressWrapper = bus.wrap((NodeProgressListener)pe -> {
+            received.add(pe);
+            delivered.countDown();
+        });
+        NodeStateChangeListener stateWrapper = bus.wrap((NodeStateChangeListener)state -> {
+            received.add(state);
+            delivered.countDown();
+        });
+        progressWrapper.progressChanged(new NodeProgressEvent(NODE_1, new NodeProgress(0.1, null)));
+        stateWrapper.stateChanged(new NodeStateEvent(NODE_1));
+        progressWrapper.progressChanged(new NodeProgressEvent(NODE_1, new NodeProgress(0.9, null)));
+        assertTrue("Events not delivered", delivered.await(5, TimeUnit.SECONDS));
+        assertThat("Number of delivered events", received.size(), is(2));
+        assertThat("First event is the state event", received.get(0) instanceof NodeStateEvent, is(true));
+        assertThat("Progress of second event", ((NodeProgressEvent)received.get(1)).getNodeProgress().getProgress(),
+            is(0.9));
+        assertThat("Number of coalesced events", bus.getNrCoalescedEvents(), is(1L));
+    }
+
+}
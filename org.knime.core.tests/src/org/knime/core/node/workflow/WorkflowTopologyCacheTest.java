@@ -0,0 +1,187 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the topology caches in {@link Workflow} (breadth first order, graph annotation index and scope members):
+ * after structural changes the cached results must equal freshly computed ones.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public class WorkflowTopologyCacheTest extends WorkflowTestCase {
+
+    private NodeID m_loopStart3;
+    private NodeID m_loopEnd4;
+    private NodeID m_rowFilter5;
+    private NodeID m_javaSnippet7;
+    private NodeID m_javaSnippet13;
+
+    @Before
+    public void setUp() throws Exception {
+        NodeID baseID = loadAndSetWorkflow(getWorkflowDirectory("bug2292_LoopsWithDanglingBranches"));
+        m_loopStart3 = new NodeID(baseID, 3);
+        m_loopEnd4 = new NodeID(baseID, 4);
+        m_rowFilter5 = new NodeID(baseID, 5);
+        m_javaSnippet7 = new NodeID(baseID, 7);
+        m_javaSnippet13 = new NodeID(baseID, 13);
+    }
+
+    /** Cached results of an unchanged workflow equal freshly computed ones and are stable across calls. */
+    @Test
+    public void testCachedEqualsFresh() throws Exception {
+        Workflow wf = getManager().getWorkflow();
+        String first = assertCachedEqualsFresh(wf);
+        assertEquals("Repeated queries differ", first, snapshot(wf));
+        List<NodeID> scope = scopeMembers(wf, m_rowFilter5);
+        assertTrue("Loop start not in scope", scope.contains(m_loopStart3));
+        assertTrue("Loop end not in scope", scope.contains(m_loopEnd4));
+        assertTrue("Dangling branch not in scope", scope.contains(m_javaSnippet7));
+    }
+
+    /** Removing and re-adding a connection invalidates the caches. */
+    @Test
+    public void testInvalidateOnConnectionChange() throws Exception {
+        WorkflowManager m = getManager();
+        Workflow wf = m.getWorkflow();
+        String initial = assertCachedEqualsFresh(wf);
+
+        ConnectionContainer cc = findInConnection(m_loopEnd4, 1);
+        m.removeConnection(cc);
+        String removed = assertCachedEqualsFresh(wf);
+        assertFalse("Caches not updated after connection removal", initial.equals(removed));
+        assertFalse("Disconnected loop end still in scope", scopeMembers(wf, m_rowFilter5).contains(m_loopEnd4));
+
+        m.addConnection(cc.getSource(), cc.getSourcePort(), cc.getDest(), cc.getDestPort());
+        assertEquals("Caches differ after connection was restored", initial, assertCachedEqualsFresh(wf));
+    }
+
+    /** Removing and adding nodes invalidates the caches. */
+    @Test
+    public void testInvalidateOnNodeChange() throws Exception {
+        WorkflowManager m = getManager();
+        Workflow wf = m.getWorkflow();
+        String initial = assertCachedEqualsFresh(wf);
+
+        m.removeNode(m_javaSnippet7);
+        String removed = assertCachedEqualsFresh(wf);
+        assertFalse("Caches not updated after node removal", initial.equals(removed));
+        assertFalse("Removed node still in scope", scopeMembers(wf, m_rowFilter5).contains(m_javaSnippet7));
+
+        WorkflowCopyContent pasted =
+            m.copyFromAndPasteHere(m, WorkflowCopyContent.builder().setNodeIDs(m_javaSnippet13).build());
+        NodeID newSnippet = pasted.getNodeIDs()[0];
+        String added = assertCachedEqualsFresh(wf);
+        assertFalse("Caches not updated after node was added", removed.equals(added));
+
+        m.addConnection(m_rowFilter5, 1, newSnippet, 1);
+        assertCachedEqualsFresh(wf);
+        assertTrue("Added node not in scope", scopeMembers(wf, m_rowFilter5).contains(newSnippet));
+    }
+
+    /** Queries the (possibly cached) results, clears the caches, queries again and compares both. */
+    private static String assertCachedEqualsFresh(final Workflow wf) {
+        String cached = snapshot(wf);
+        wf.clearGraphAnnotationCache();
+        String fresh = snapshot(wf);
+        assertEquals("Cached topology differs from freshly computed one", fresh, cached);
+        return cached;
+    }
+
+    /** String representation of breadth first order, graph annotations and scope members of all nodes. */
+    private static String snapshot(final Workflow wf) {
+        StringBuilder b = new StringBuilder();
+        Set<NodeID> ids = wf.getNodeIDs();
+        for (Map.Entry<NodeID, Set<Integer>> e : wf.createBreadthFirstSortedList(ids, true).entrySet()) {
+            b.append(e.getKey()).append(new TreeSet<Integer>(e.getValue())).append('\n');
+        }
+        List<NodeID> sortedIDs = new ArrayList<NodeID>(ids);
+        Collections.sort(sortedIDs);
+        for (NodeID id : sortedIDs) {
+            // NodeGraphAnnotation#equals is not reliable, compare string representations instead
+            TreeSet<String> annotations = new TreeSet<String>();
+            for (NodeGraphAnnotation nga : wf.getNodeGraphAnnotations(id)) {
+                annotations.add(nga.toString());
+            }
+            b.append(id).append(' ').append(annotations).append(" scope=").append(scopeMembers(wf, id)).append('\n');
+        }
+        return b.toString();
+    }
+
+    private static List<NodeID> scopeMembers(final Workflow wf, final NodeID id) {
+        List<NodeID> result = new ArrayList<NodeID>();
+        NodeContainer nc = wf.getNode(id);
+        if (nc instanceof SingleNodeContainer) {
+            for (NodeContainer member : wf.getNodesInScope((SingleNodeContainer)nc)) {
+                result.add(member.getID());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+    }
+
+}
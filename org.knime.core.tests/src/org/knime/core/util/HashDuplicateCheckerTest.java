@@ -0,0 +1,147 @@
+/*
+ * ------------------------------------------------------------------ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.util;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests {@link HashDuplicateChecker}, using a small memory budget so that hashes get spilled to disk.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+public class HashDuplicateCheckerTest {
+
+    /** Smallest possible budget, the table gets spilled every 512 keys. */
+    private static final long SMALL_BUDGET = 1 << 14;
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void testNoStringsAtAll() throws DuplicateKeyException, IOException {
+        HashDuplicateChecker dc = new HashDuplicateChecker(SMALL_BUDGET);
+        dc.checkForDuplicates();
+    }
+
+    @Test
+    public void testNoDuplicatesWithSpill() throws DuplicateKeyException, IOException {
+        HashDuplicateChecker dc = new HashDuplicateChecker(SMALL_BUDGET);
+        try {
+            for (int i = 0; i < 250000; i++) {
+                dc.addKey("Row" + i);
+            }
+            dc.checkForDuplicates();
+        } finally {
+            dc.clear();
+        }
+    }
+
+    @Test
+    public void testEarlyDuplicate() throws Exception {
+        HashDuplicateChecker dc = new HashDuplicateChecker(SMALL_BUDGET);
+        dc.addKey("A");
+        expectedException.expect(DuplicateKeyException.class);
+        dc.addKey("A");
+    }
+
+    /**
+     * Duplicate whose first occurrence has been spilled, detected only in
+     * {@link HashDuplicateChecker#checkForDuplicates()}. The partitions don't fit into the budget and are split
+     * further.
+     */
+    @Test
+    public void testSpilledDuplicate() throws IOException {
+        HashDuplicateChecker dc = new HashDuplicateChecker(SMALL_BUDGET);
+        try {
+            for (int i = 0; i < 250000; i++) {
+                dc.addKey("Row" + i);
+            }
+            dc.addKey("Row17");
+            dc.checkForDuplicates();
+            Assert.fail("No duplicate detected even though at least one is present");
+        } catch (DuplicateKeyException e) {
+            Assert.assertEquals("Row17", e.getKey());
+        } finally {
+            dc.clear();
+        }
+    }
+
+    /** The direct memory of the hash table is released by the check, also if nothing has been spilled. */
+    @Test
+    public void testTableFreedByCheck() throws DuplicateKeyException, IOException {
+        final long totalBytes = HashDuplicateChecker.getTotalTableBytes();
+        HashDuplicateChecker dc = new HashDuplicateChecker();
+        for (int i = 0; i < 1000; i++) {
+            dc.addKey("Row" + i);
+        }
+        Assert.assertTrue("Hash table not accounted", HashDuplicateChecker.getTotalTableBytes() > totalBytes);
+        dc.checkForDuplicates();
+        Assert.assertEquals("Bytes of hash tables after check", totalBytes,
+            HashDuplicateChecker.getTotalTableBytes());
+        dc.clear();
+    }
+
+    @Test
+    public void testReuseAfterClear() throws DuplicateKeyException, IOException {
+        HashDuplicateChecker dc = new HashDuplicateChecker(SMALL_BUDGET);
+        for (int i = 0; i < 1000; i++) {
+            dc.addKey("Row" + i);
+        }
+        dc.clear();
+        for (int i = 0; i < 1000; i++) {
+            dc.addKey("Row" + i);
+        }
+        dc.checkForDuplicates();
+        dc.clear();
+    }
+}
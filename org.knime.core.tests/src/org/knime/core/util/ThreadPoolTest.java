@@ -49,7 +49,12 @@
 
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -434,4 +439,65 @@ public ClassLoader call() throws Exception {
             Thread.currentThread().setContextClassLoader(cl);
         }
     }
+
+    /**
+     * Tests that tasks enqueued with a priority are run in descending priority order and FIFO otherwise.
+     * @throws Exception if the test fails
+     */
+    public void testPriorityEnqueue() throws Exception {
+        final ThreadPool root = new ThreadPool(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        root.enqueue(() -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        final String[] names = {"a", "b", "c", "d", "e"};
+        final long[] priorities = {1, 5, 3, 5, 0};
+        for (int i = 0; i < names.length; i++) {
+            final String name = names[i];
+            root.enqueue(() -> order.add(name), priorities[i]);
+        }
+        assertEquals(names.length, root.getQueueSize());
+        blocker.countDown();
+        root.waitForTermination();
+        assertThat("Execution order", order, Is.is(Arrays.asList("b", "d", "c", "a", "e")));
+        root.shutdown();
+    }
+
+    /**
+     * Tests that tasks with a priority don't overtake tasks queued without priority (e.g. helper tasks of running
+     * jobs), they are only ordered among themselves.
+     * @throws Exception if the test fails
+     */
+    public void testPriorityEnqueueDoesNotOvertakeTasksWithoutPriority() throws Exception {
+        final ThreadPool root = new ThreadPool(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        root.enqueue(() -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        root.enqueue(() -> order.add("x"));
+        root.enqueue(() -> order.add("a"), 1);
+        root.enqueue(() -> order.add("b"), 5);
+        root.enqueue(() -> order.add("y"));
+        root.enqueue(() -> order.add("c"), 3);
+        blocker.countDown();
+        root.waitForTermination();
+        assertThat("Execution order", order, Is.is(Arrays.asList("x", "b", "a", "y", "c")));
+        root.shutdown();
+    }
 }
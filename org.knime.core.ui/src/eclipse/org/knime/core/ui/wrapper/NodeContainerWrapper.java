@@ -61,6 +61,7 @@
 import org.knime.core.node.workflow.NodeContainer.NodeLock;
 import org.knime.core.node.workflow.NodeContainer.NodeLocks;
 import org.knime.core.node.workflow.NodeContainerState;
+import org.knime.core.node.workflow.NodeEventBus;
 import org.knime.core.node.workflow.NodeExecutionJobManager;
 import org.knime.core.node.workflow.NodeID;
 import org.knime.core.node.workflow.NodeMessage;
@@ -171,22 +172,26 @@ public void clearWaitingLoopList() {
 
     @Override
     public boolean addProgressListener(final NodeProgressListener listener) {
-        return unwrap().addProgressListener(listener);
+        return unwrap().addProgressListener(NodeEventBus.coalescing(listener));
     }
 
     @Override
     public boolean removeNodeProgressListener(final NodeProgressListener listener) {
-        return unwrap().removeNodeProgressListener(listener);
+        boolean isRemoved = unwrap().removeNodeProgressListener(NodeEventBus.coalescing(listener));
+        NodeEventBus.discardPendingEvents(getID(), listener);
+        return isRemoved;
     }
 
     @Override
     public boolean addNodeMessageListener(final NodeMessageListener listener) {
-        return unwrap().addNodeMessageListener(listener);
+        return unwrap().addNodeMessageListener(NodeEventBus.coalescing(listener));
     }
 
     @Override
     public boolean removeNodeMessageListener(final NodeMessageListener listener) {
-        return unwrap().removeNodeMessageListener(listener);
+        boolean isRemoved = unwrap().removeNodeMessageListener(NodeEventBus.coalescing(listener));
+        NodeEventBus.discardPendingEvents(getID(), listener);
+        return isRemoved;
     }
 
     @Override
@@ -229,12 +234,14 @@ public void setUIInformationForCorrection(final NodeUIInformation uiInfo) {
 
     @Override
     public boolean addNodeStateChangeListener(final NodeStateChangeListener listener) {
-        return unwrap().addNodeStateChangeListener(listener);
+        return unwrap().addNodeStateChangeListener(NodeEventBus.coalescing(listener));
     }
 
     @Override
     public boolean removeNodeStateChangeListener(final NodeStateChangeListener listener) {
-        return unwrap().removeNodeStateChangeListener(listener);
+        boolean isRemoved = unwrap().removeNodeStateChangeListener(NodeEventBus.coalescing(listener));
+        NodeEventBus.discardPendingEvents(getID(), listener);
+        return isRemoved;
     }
 
     @Override
@@ -0,0 +1,148 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data;
+
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+import org.knime.core.data.container.CloseableRowIterator;
+
+/**
+ * Iterator that restricts a delegate iterator (on a full table) to a row index range and an optional predicate. Used
+ * by {@link RowIteratorBuilder} implementations if the underlying storage cannot apply the restrictions itself.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class FilteredRowIterator extends CloseableRowIterator {
+
+    private final RowIterator m_delegate;
+
+    private final long m_fromRowIndex;
+
+    private final long m_toRowIndex;
+
+    private final Predicate<DataRow> m_predicate;
+
+    /** Index of the row that the delegate returns next. */
+    private long m_index;
+
+    /** The next row to return, determined in {@link #hasNext()}. */
+    private DataRow m_next;
+
+    /** Set once the range or the delegate is exhausted (and the delegate closed). */
+    private boolean m_isAtEnd;
+
+    /**
+     * Creates a new iterator.
+     *
+     * @param delegate the iterator to read from, positioned at the first row of the table
+     * @param fromRowIndex index of the first row to return (inclusive)
+     * @param toRowIndex index of the last row to return (inclusive)
+     * @param predicate the predicate rows must match or null to accept all rows in the range
+     */
+    public FilteredRowIterator(final RowIterator delegate, final long fromRowIndex, final long toRowIndex,
+        final Predicate<DataRow> predicate) {
+        m_delegate = delegate;
+        m_fromRowIndex = fromRowIndex;
+        m_toRowIndex = toRowIndex;
+        m_predicate = predicate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        if (m_next != null) {
+            return true;
+        }
+        if (m_isAtEnd) {
+            return false;
+        }
+        while (m_index < m_fromRowIndex && m_delegate.hasNext()) {
+            m_delegate.next();
+            m_index++;
+        }
+        while (m_index <= m_toRowIndex && m_delegate.hasNext()) {
+            final DataRow row = m_delegate.next();
+            m_index++;
+            if (m_predicate == null || m_predicate.test(row)) {
+                m_next = row;
+                return true;
+            }
+        }
+        // no more rows in the range - release the underlying stream early, clients may not call close
+        close();
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DataRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Iterator at end");
+        }
+        final DataRow result = m_next;
+        m_next = null;
+        return result;
+    }
+
+    /** Closes the delegate if it is a {@link CloseableRowIterator}. */
+    @Override
+    public void close() {
+        if (m_isAtEnd) {
+            return;
+        }
+        m_isAtEnd = true;
+        m_next = null;
+        if (m_delegate instanceof CloseableRowIterator) {
+            ((CloseableRowIterator)m_delegate).close();
+        }
+    }
+
+}
@@ -48,7 +48,14 @@
  */
 package org.knime.core.data;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import org.knime.core.node.util.CheckUtils;
 
@@ -89,6 +96,83 @@
      */
     RowIteratorBuilder<I> filterColumns(String... columns);
 
+    /**
+     * Iterate only over the rows starting at the given (0-based) index in the table, i.e. the first
+     * <code>index</code> rows are skipped. Implementations may skip these rows without deserializing them.
+     *
+     * <p>The default implementation returns a builder that wraps the iterator built by this builder in a
+     * {@link FilteredRowIterator}, which reads and discards the skipped rows. It is only valid if the iterator type of
+     * this builder is {@link RowIterator} or {@link org.knime.core.data.container.CloseableRowIterator};
+     * implementations of more specific types or implementations that can skip rows in the storage override it.
+     *
+     * @param index the index of the first row to return (inclusive)
+     * @return a {@link RowIteratorBuilder}, this or a wrapper of this builder
+     * @throws IllegalArgumentException if the index is negative
+     * @since 3.8
+     */
+    default RowIteratorBuilder<I> fromRow(final long index) {
+        return new FilteredRowIteratorBuilder<I>(this).fromRow(index);
+    }
+
+    /**
+     * Iterate only over the rows up to the given (0-based) index in the table, i.e. the iteration ends after the row
+     * with the given index has been returned (or rejected by a {@link #filterRows(int, Class, Predicate) predicate}).
+     *
+     * <p>The default implementation wraps the iterator built by this builder, see {@link #fromRow(long)}.
+     *
+     * @param index the index of the last row to return (inclusive)
+     * @return a {@link RowIteratorBuilder}, this or a wrapper of this builder
+     * @throws IllegalArgumentException if the index is negative
+     * @since 3.8
+     */
+    default RowIteratorBuilder<I> toRow(final long index) {
+        return new FilteredRowIteratorBuilder<I>(this).toRow(index);
+    }
+
+    /**
+     * Iterate only over rows whose cell in the given column is of the given value type and accepted by the
+     * predicate. Rows with missing cells or cells of a different type are skipped. The predicate is applied to rows
+     * within the range defined by {@link #fromRow(long)} and {@link #toRow(long)}, that is, indices refer to the
+     * position of a row in the table, not in the filtered result. If called multiple times, rows must match all
+     * predicates. The column does not need to be part of the columns selected via {@link #filterColumns(int...)}.
+     *
+     * <p>The default implementation wraps the iterator built by this builder, see {@link #fromRow(long)}. It does not
+     * know the table spec and hence does not validate the column index (an invalid index fails during iteration).
+     *
+     * @param <V> the value type the predicate operates on
+     * @param columnIndex the index of the column to test
+     * @param valueClass the value class of the cells being tested, e.g. <code>DoubleValue.class</code>
+     * @param predicate the (stateless) predicate, must not be null
+     * @return a {@link RowIteratorBuilder}, this or a wrapper of this builder
+     * @throws IndexOutOfBoundsException if the column index is invalid
+     * @since 3.8
+     */
+    default <V extends DataValue> RowIteratorBuilder<I> filterRows(final int columnIndex, final Class<V> valueClass,
+        final Predicate<? super V> predicate) {
+        return new FilteredRowIteratorBuilder<I>(this).filterRows(columnIndex, valueClass, predicate);
+    }
+
+    /**
+     * Same as {@link #filterRows(int, Class, Predicate)} but identifies the column by name.
+     *
+     * <p>The default implementation throws an {@link UnsupportedOperationException} as it doesn't know the table spec
+     * to resolve the name; {@link DefaultRowIteratorBuilder} and its subclasses support it.
+     *
+     * @param <V> the value type the predicate operates on
+     * @param column the name of the column to test
+     * @param valueClass the value class of the cells being tested, e.g. <code>DoubleValue.class</code>
+     * @param predicate the (stateless) predicate, must not be null
+     * @return a {@link RowIteratorBuilder}, this or a wrapper of this builder
+     * @throws IllegalArgumentException if the column name is not found
+     * @throws UnsupportedOperationException if this builder can't resolve column names
+     * @since 3.8
+     */
+    default <V extends DataValue> RowIteratorBuilder<I> filterRows(final String column, final Class<V> valueClass,
+        final Predicate<? super V> predicate) {
+        throw new UnsupportedOperationException("Column names can't be resolved by " + getClass().getName()
+            + ", use the column index instead");
+    }
+
     /**
      * Build a new row iterator with the behavior specified via methods invoked in this builder.
      *
@@ -97,8 +181,62 @@
     I build();
 
     /**
-     * A {@link RowIteratorBuilder} that always builds default {@link RowIterator}s, i.e., iterators iterating over all
-     * rows and columns of a table.
+     * A predicate on a single column of a row as defined via {@link RowIteratorBuilder#filterRows(int, Class,
+     * Predicate)}. Exposed so that implementations can evaluate it on individual cells before materializing the
+     * remainder of a row.
+     *
+     * @param <V> the value type the predicate operates on
+     * @since 3.8
+     */
+    public static final class ColumnPredicate<V extends DataValue> implements Predicate<DataRow> {
+
+        private final int m_columnIndex;
+
+        private final Class<V> m_valueClass;
+
+        private final Predicate<? super V> m_predicate;
+
+        ColumnPredicate(final int columnIndex, final Class<V> valueClass, final Predicate<? super V> predicate) {
+            m_columnIndex = columnIndex;
+            m_valueClass = CheckUtils.checkArgumentNotNull(valueClass, "Value class must not be null");
+            m_predicate = CheckUtils.checkArgumentNotNull(predicate, "Predicate must not be null");
+        }
+
+        /** @return the index of the column being tested */
+        public int getColumnIndex() {
+            return m_columnIndex;
+        }
+
+        /**
+         * Tests the cell of the column associated with this predicate.
+         *
+         * @param cell the cell to test, not null
+         * @return true if the cell is not missing, of the expected value type and accepted by the predicate
+         */
+        public boolean test(final DataCell cell) {
+            if (cell.isMissing()) {
+                return false;
+            }
+            if (m_valueClass.isInstance(cell)) {
+                return m_predicate.test(m_valueClass.cast(cell));
+            }
+            if (cell instanceof AdapterValue && ((AdapterValue)cell).isAdaptable(m_valueClass)) {
+                return m_predicate.test(((AdapterValue)cell).getAdapter(m_valueClass));
+            }
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean test(final DataRow row) {
+            return test(row.getCell(m_columnIndex));
+        }
+    }
+
+    /**
+     * A {@link RowIteratorBuilder} that builds default {@link RowIterator}s, i.e., iterators iterating over all rows
+     * and columns of a table. Row ranges and predicates are honored by wrapping these iterators; subclasses can push
+     * them down to the storage by overriding {@link #build()} or {@link #applyRowFilter(RowIterator)}.
      *
      * @param <I> the row iterator to be built
      *
@@ -110,6 +248,15 @@
 
         private final DataTableSpec m_spec;
 
+        /** Indices of the columns to iterate over as per {@link #filterColumns(int...)}, null if all columns. */
+        private int[] m_columnIndices;
+
+        private long m_fromRowIndex = 0L;
+
+        private long m_toRowIndex = Long.MAX_VALUE;
+
+        private final List<ColumnPredicate<?>> m_columnPredicates = new ArrayList<>();
+
         /**
          * Constructs a new {@link org.knime.core.data.RowIteratorBuilder.DefaultRowIteratorBuilder}.
          *
@@ -128,6 +275,7 @@ public DefaultRowIteratorBuilder(final Supplier<I> iteratorSupplier, final DataT
         @Override
         public RowIteratorBuilder<I> filterColumns(final int... indices) {
             m_spec.verifyIndices(indices);
+            m_columnIndices = indices.clone();
             return this;
         }
 
@@ -139,12 +287,134 @@ public RowIteratorBuilder<I> filterColumns(final String... columns) {
             return filterColumns(m_spec.columnsToIndices(columns));
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public RowIteratorBuilder<I> fromRow(final long index) {
+            CheckUtils.checkArgument(index >= 0, "Row index must not be negative: %d", index);
+            m_fromRowIndex = index;
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public RowIteratorBuilder<I> toRow(final long index) {
+            CheckUtils.checkArgument(index >= 0, "Row index must not be negative: %d", index);
+            m_toRowIndex = index;
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <V extends DataValue> RowIteratorBuilder<I> filterRows(final int columnIndex,
+            final Class<V> valueClass, final Predicate<? super V> predicate) {
+            m_spec.verifyIndices(columnIndex);
+            m_columnPredicates.add(new ColumnPredicate<V>(columnIndex, valueClass, predicate));
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public <V extends DataValue> RowIteratorBuilder<I> filterRows(final String column,
+            final Class<V> valueClass, final Predicate<? super V> predicate) {
+            return filterRows(m_spec.columnsToIndices(column)[0], valueClass, predicate);
+        }
+
         /**
          * {@inheritDoc}
          */
         @Override
         public I build() {
-            return m_iteratorSupplier.get();
+            final I iterator = m_iteratorSupplier.get();
+            return isRowFilterSet() ? applyRowFilter(iterator) : iterator;
+        }
+
+        /**
+         * Called by {@link #build()} if a row range or a predicate is set in order to restrict the argument iterator,
+         * which iterates the full table. The default implementation returns a {@link FilteredRowIterator}, which is
+         * only valid if the iterator type of this builder is {@link RowIterator} or
+         * {@link org.knime.core.data.container.CloseableRowIterator}; builders of more specific types must override
+         * this method.
+         *
+         * @param iterator the iterator on the full table
+         * @return the restricted iterator
+         * @since 3.8
+         */
+        @SuppressWarnings("unchecked")
+        protected I applyRowFilter(final I iterator) {
+            return (I)new FilteredRowIterator(iterator, m_fromRowIndex, m_toRowIndex, getRowPredicate().orElse(null));
+        }
+
+        /**
+         * The indices of the columns that were selected via {@link #filterColumns(int...)}, including the columns
+         * referenced by predicates set via {@link #filterRows(int, Class, Predicate)}. Implementations that are able
+         * to only materialize parts of a row (e.g. column stores) can use this to skip unselected columns.
+         *
+         * @return the (sorted) selected column indices or an empty optional if all columns are to be materialized
+         * @since 3.8
+         */
+        protected final Optional<int[]> getFilteredColumnIndices() {
+            if (m_columnIndices == null) {
+                return Optional.empty();
+            }
+            return Optional.of(IntStream.concat(Arrays.stream(m_columnIndices),
+                m_columnPredicates.stream().mapToInt(ColumnPredicate::getColumnIndex)).distinct().sorted().toArray());
+        }
+
+        /**
+         * @return the index of the first row to return as per {@link #fromRow(long)}, 0 if not set
+         * @since 3.8
+         */
+        protected final long getFromRowIndex() {
+            return m_fromRowIndex;
+        }
+
+        /**
+         * @return the index of the last row to return as per {@link #toRow(long)}, {@link Long#MAX_VALUE} if not set
+         * @since 3.8
+         */
+        protected final long getToRowIndex() {
+            return m_toRowIndex;
+        }
+
+        /**
+         * @return the predicates as per {@link #filterRows(int, Class, Predicate)}, in an unmodifiable list
+         * @since 3.8
+         */
+        protected final List<ColumnPredicate<?>> getColumnPredicates() {
+            return Collections.unmodifiableList(m_columnPredicates);
+        }
+
+        /**
+         * @return the conjunction of all {@link #getColumnPredicates() column predicates} or an empty optional if none
+         *         is set
+         * @since 3.8
+         */
+        protected final Optional<Predicate<DataRow>> getRowPredicate() {
+            return m_columnPredicates.stream().<Predicate<DataRow>> map(p -> p).reduce(Predicate::and);
+        }
+
+        /**
+         * @return whether a row range or a predicate has been set, i.e. not all rows of the table are to be returned
+         * @since 3.8
+         */
+        protected final boolean isRowFilterSet() {
+            return m_fromRowIndex > 0 || m_toRowIndex < Long.MAX_VALUE || !m_columnPredicates.isEmpty();
+        }
+
+        /**
+         * @return the spec of the table being iterated, as passed in the constructor
+         * @since 3.8
+         */
+        protected final DataTableSpec getSpec() {
+            return m_spec;
         }
 
     }
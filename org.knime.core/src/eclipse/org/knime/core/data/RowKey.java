@@ -55,14 +55,25 @@
 /**
  * Key for a specific row which holds an identifier of type {@link String}.
  *
+ * <p>
+ * Keys created by {@link #createRowKey(long)} only hold the row index, their string <code>"Row" + index</code> is
+ * created on demand (and not retained), which saves memory, disk space and hashing costs for the (common) tables with
+ * auto-generated keys. They are equal to keys created from the same string.
+ *
  * @see DataRow
  * @author Michael Berthold, University of Konstanz
  */
 public final class RowKey {
 
-    /** Private member holding non-null row id. */
+    /** Prefix of generated row keys, see {@link #createRowKey(long)}. */
+    private static final String GENERATED_PREFIX = "Row";
+
+    /** Private member holding row id, <code>null</code> for generated keys. */
     private final String m_id;
 
+    /** The index of a generated key, -1 if the key was created from a string. */
+    private final long m_index;
+
     /**
      * Creates a row key based on a {@link String}.
      *
@@ -74,11 +85,30 @@ public RowKey(final String id) {
             throw new NullPointerException("Argument must not be null.");
         }
         m_id = id;
+        m_index = -1;
+    }
+
+    /** Creates a generated key for a non-negative row index. */
+    private RowKey(final long index) {
+        m_id = null;
+        m_index = index;
     }
 
     /** @return Underlying string of this row key. */
     public String getString() {
-        return m_id;
+        return m_id != null ? m_id : GENERATED_PREFIX + m_index;
+    }
+
+    /**
+     * Returns the row index of keys created by {@link #createRowKey(long)}, used to store such keys compactly.
+     *
+     * @return the non-negative row index or -1 if the key was created from a string (even if the string is of the
+     *         form <code>"Row" + index</code>)
+     * @since 3.8
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public long getGeneratedIndex() {
+        return m_index;
     }
 
     /** {@inheritDoc} */
@@ -94,7 +124,11 @@ public boolean equals(final Object obj) {
             return true;
         }
         if (obj instanceof RowKey) {
-            return ((RowKey)obj).m_id.equals(m_id);
+            final RowKey other = (RowKey)obj;
+            if (m_id == null && other.m_id == null) {
+                return m_index == other.m_index;
+            }
+            return other.getString().equals(getString());
         }
         return false;
     }
@@ -104,7 +138,19 @@ public boolean equals(final Object obj) {
      */
     @Override
     public int hashCode() {
-        return m_id.hashCode();
+        if (m_id != null) {
+            return m_id.hashCode();
+        }
+        // same as getString().hashCode(), without creating the string
+        int h = GENERATED_PREFIX.hashCode();
+        long divisor = 1;
+        while (divisor <= m_index / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            h = 31 * h + ('0' + (int)(m_index / divisor % 10));
+        }
+        return h;
     }
 
     /**
@@ -156,7 +202,7 @@ public static RowKey[] toRowKeys(final String... strs) {
      */
     @Deprecated
     public static RowKey createRowKey(final int rowIndex) {
-        return new RowKey("Row" + rowIndex);
+        return createRowKey((long)rowIndex);
     }
 
     /**
@@ -173,6 +219,6 @@ public static RowKey createRowKey(final int rowIndex) {
      * @since 3.0
      */
     public static RowKey createRowKey(final long rowIndex) {
-        return new RowKey("Row" + rowIndex);
+        return rowIndex >= 0 ? new RowKey(rowIndex) : new RowKey(GENERATED_PREFIX + rowIndex);
     }
 }
@@ -365,8 +365,14 @@ public List<DataRow> getRows(final long start, final int length, final Execution
         }
 
         /* not all rows in cache */
-        // some rows already released from cache
-        if (start < (m_rowCountOfInterestInIterator - cacheSize)) {
+        // some rows already released from cache or requested rows far ahead of the iterator
+        final boolean isBehindCache = start < (m_rowCountOfInterestInIterator - cacheSize);
+        final boolean isFarAhead = start >= m_rowCountOfInterestInIterator + cacheSize;
+        if (hasRowCount() && (isBehindCache || isFarAhead)) {
+            // clear cache, init new iterator at the first row that fits into the cache together with the
+            // requested rows and the look ahead (table formats with row index don't read the rows before)
+            clearCacheAndInitIterator(Math.max(0, lastRow + m_lookAheadSize + 1 - cacheSize));
+        } else if (isBehindCache) {
             // clear cache, init new iterator
             clearCacheAndInitIterator();
         }
@@ -434,12 +440,15 @@ private boolean cacheNextRow() {
      * Get new iterator, only to be called when data is set. If predicates are set those are tried to push down to
      * the iterator.
      */
-    private RowIterator getNewDataIterator() {
+    private RowIterator getNewDataIterator(final long fromRowIndex) {
         assert hasData();
         RowIteratorBuilder<? extends RowIterator> iteratorBuilder = m_table.iteratorBuilder();
         if (m_includedColumnIndices != null) {
             iteratorBuilder.filterColumns(m_includedColumnIndices.stream().toArray(String[]::new));
         }
+        if (fromRowIndex > 0) {
+            iteratorBuilder.fromRow(fromRowIndex);
+        }
         return iteratorBuilder.build();
     }
 
@@ -447,16 +456,24 @@ private RowIterator getNewDataIterator() {
      * Clears cache, instantiates a new iterator.
      */
     private void clearCacheAndInitIterator() {
+        clearCacheAndInitIterator(0L);
+    }
+
+    /**
+     * Clears cache, instantiates a new iterator starting at the given row. Must only be called with a positive
+     * argument if the row count is known.
+     */
+    private void clearCacheAndInitIterator(final long fromRowIndex) {
         if (!hasData()) {
             return;
         }
         if (m_tableIterator instanceof CloseableRowIterator) {
             ((CloseableRowIterator)m_tableIterator).close();
         }
-        m_tableIterator = getNewDataIterator();
-        m_rowCountInIterator = 0;
+        m_tableIterator = getNewDataIterator(fromRowIndex);
+        m_rowCountInIterator = fromRowIndex;
         // all updated in nextBlock()
-        m_rowCountOfInterestInIterator = 0;
+        m_rowCountOfInterestInIterator = fromRowIndex;
         // clear cache
         Arrays.fill(m_cachedRows, null);
     }
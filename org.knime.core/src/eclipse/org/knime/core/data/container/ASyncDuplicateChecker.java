@@ -0,0 +1,226 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.util.DuplicateKeyException;
+import org.knime.core.util.IDuplicateChecker;
+
+/**
+ * Duplicate checker that hands the keys in batches to a delegate checker running in the background (on the
+ * {@link DataContainer#ASYNC_EXECUTORS}), so that the keys are checked while further rows are added and written.
+ * While one batch is checked the next one is filled; {@link #checkForDuplicates()} only checks the last batch before
+ * it runs the final check of the delegate.
+ *
+ * <p>
+ * Background checks count towards the maximum number of asynchronous write threads like the write tasks of the
+ * containers: if more threads are active, a batch is checked in the calling thread instead.
+ *
+ * <p>
+ * A duplicate found in the background is reported with its row number by the next call to {@link #addKey(String)}
+ * that completes a batch, or by {@link #checkForDuplicates()}. Instances are used by a single (writing) thread; the
+ * delegate is only accessed by one thread at a time.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+final class ASyncDuplicateChecker implements IDuplicateChecker {
+
+    /** Number of keys handed to the delegate per background task. */
+    static final int BATCH_SIZE = 1 << 12;
+
+    private final IDuplicateChecker m_delegate;
+
+    private final NodeContext m_context;
+
+    /** See {@link DataContainerSettings#getMaxAsyncWriteThreads()}. */
+    private final int m_maxAsyncThreads;
+
+    /** The batch being filled. */
+    private String[] m_batch = new String[BATCH_SIZE];
+
+    /** The batch being checked in the background (or checked last), reused when the task has finished. */
+    private String[] m_spareBatch = new String[BATCH_SIZE];
+
+    private int m_batchSize;
+
+    /** Number of keys added so far (including those in the current batch). */
+    private long m_keyCount;
+
+    /** The task checking the previous batch, or <code>null</code>. */
+    private Future<Void> m_pending;
+
+    /**
+     * @param delegate the checker doing the actual work
+     * @param context owner node information, if any.
+     * @param maxAsyncThreads the maximum number of asynchronous write threads, see
+     *            {@link DataContainerSettings#getMaxAsyncWriteThreads()}
+     */
+    ASyncDuplicateChecker(final IDuplicateChecker delegate, final NodeContext context, final int maxAsyncThreads) {
+        m_delegate = delegate;
+        m_context = context;
+        m_maxAsyncThreads = maxAsyncThreads;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addKey(final String s) throws DuplicateKeyException, IOException {
+        m_batch[m_batchSize++] = s;
+        m_keyCount++;
+        if (m_batchSize == BATCH_SIZE) {
+            submitBatch();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void checkForDuplicates() throws DuplicateKeyException, IOException {
+        if (m_batchSize > 0) {
+            submitBatch();
+        }
+        awaitPending();
+        try {
+            m_delegate.checkForDuplicates();
+        } catch (DuplicateKeyException dke) {
+            final String key = dke.getKey();
+            throw new DuplicateKeyException("Found duplicate row ID \"" + key + "\" (at unknown position)", key);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        if (m_pending != null) {
+            // wait for the task to end, the delegate must not be cleared while in use
+            try {
+                m_pending.get();
+            } catch (ExecutionException | CancellationException e) {
+                // ignore, the checker is discarded
+            } catch (InterruptedException e) {
+                m_pending.cancel(true);
+                Thread.currentThread().interrupt();
+            }
+            m_pending = null;
+        }
+        m_batchSize = 0;
+        m_keyCount = 0;
+        m_delegate.clear();
+    }
+
+    /**
+     * Waits for the previous batch to be checked and hands the current batch to a new background task, or checks it
+     * right away if there are too many asynchronous threads.
+     */
+    private void submitBatch() throws IOException {
+        awaitPending();
+        final String[] batch = m_batch;
+        final int size = m_batchSize;
+        final long firstRow = m_keyCount - size + 1;
+        m_batch = m_spareBatch;
+        m_spareBatch = batch;
+        m_batchSize = 0;
+        if (DataContainer.ASYNC_EXECUTORS.getActiveCount() > m_maxAsyncThreads) {
+            checkBatch(batch, size, firstRow);
+            return;
+        }
+        m_pending = DataContainer.ASYNC_EXECUTORS.submit(() -> {
+            NodeContext.pushContext(m_context);
+            try {
+                checkBatch(batch, size, firstRow);
+            } finally {
+                NodeContext.removeLastContext();
+            }
+            return null;
+        });
+    }
+
+    private void checkBatch(final String[] batch, final int size, final long firstRow) throws IOException {
+        for (int i = 0; i < size; i++) {
+            final String key = batch[i];
+            batch[i] = null;
+            try {
+                m_delegate.addKey(key);
+            } catch (DuplicateKeyException dke) {
+                throw new DuplicateKeyException(
+                    "Encountered duplicate row ID \"" + key + "\" at row number " + (firstRow + i), key);
+            }
+        }
+    }
+
+    /** Waits for the background task (if any) and rethrows its exception. */
+    private void awaitPending() throws IOException {
+        if (m_pending == null) {
+            return;
+        }
+        try {
+            m_pending.get();
+        } catch (InterruptedException e) {
+            m_pending.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new DataContainerException("Checking for duplicate row IDs was interrupted", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof DuplicateKeyException) {
+                // self-causation not allowed
+                throw new DuplicateKeyException((DuplicateKeyException)cause);
+            } else if (cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            } else {
+                throw new DataContainerException("Checking for duplicate row IDs threw exception", cause);
+            }
+        } finally {
+            m_pending = null;
+        }
+    }
+}
@@ -46,6 +46,7 @@
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * Input Stream that wraps a given input stream and searches for terminated end
@@ -70,6 +71,9 @@ final class BlockableInputStream
      */
     private boolean m_simulateTerminate;
 
+    /** {@link #m_inStream} if it is a memory-mapped file (scanned without copying), otherwise null. */
+    private final MappedFileInputStream m_mappedStream;
+
     /**
      * Inits the Stream.
      * 
@@ -78,6 +82,7 @@ final class BlockableInputStream
     BlockableInputStream(final InputStream inStream) {
         m_inStream = inStream;
         m_simulateTerminate = false;
+        m_mappedStream = inStream instanceof MappedFileInputStream ? (MappedFileInputStream)inStream : null;
     }
 
     /**
@@ -102,6 +107,50 @@ public int read() throws IOException {
         }
     }
 
+    /**
+     * Reads the bytes of the current block into the array. If the wrapped stream is memory-mapped, runs of bytes that
+     * are neither escape nor terminate bytes are copied from the mapped buffer in one go (e.g. the 8 bytes of a
+     * double), otherwise bytes are read one by one using {@link #read()}.
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (m_mappedStream == null || len == 0) {
+            return super.read(b, off, len);
+        }
+        if (m_simulateTerminate) {
+            return -1;
+        }
+        int count = 0;
+        ByteBuffer buffer;
+        while (count < len && !m_simulateTerminate && (buffer = m_mappedStream.getBuffer()) != null) {
+            final int start = buffer.position();
+            final int limit = start + Math.min(len - count, buffer.remaining());
+            final int end = indexOfControlByte(buffer, start, limit);
+            buffer.get(b, off + count, end - start);
+            count += end - start;
+            if (end < limit) {
+                // escape or terminate byte, possibly at the end of the mapped window
+                final int c = read();
+                if (c >= 0) {
+                    b[off + count++] = (byte)c;
+                }
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    /** Index of the first escape or terminate byte in the buffer's range [start, limit), limit if there is none. */
+    private static int indexOfControlByte(final ByteBuffer buffer, final int start, final int limit) {
+        for (int i = start; i < limit; i++) {
+            final byte c = buffer.get(i);
+            if (c == TC_TERMINATE || c == TC_ESCAPE) {
+                return i;
+            }
+        }
+        return limit;
+    }
+
     /**
      * Finishes the current block, i.e. when the block end has already been
      * reached, releases the block and allows further {@link #read()}
@@ -116,6 +165,20 @@ public void endBlock() throws IOException {
             m_simulateTerminate = false;
             return;
         }
+        if (m_mappedStream != null) {
+            // scan the mapped buffer, only escape and terminate bytes are read one by one
+            ByteBuffer buffer;
+            while (!m_simulateTerminate && (buffer = m_mappedStream.getBuffer()) != null) {
+                final int limit = buffer.limit();
+                final int end = indexOfControlByte(buffer, buffer.position(), limit);
+                buffer.position(end);
+                if (end < limit) {
+                    read();
+                }
+            }
+            m_simulateTerminate = false;
+            return;
+        }
         int c;
         do {
             c = read();
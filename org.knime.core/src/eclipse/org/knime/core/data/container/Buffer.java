@@ -98,6 +98,7 @@
 import org.knime.core.data.DataCellSerializer;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.FilteredRowIterator;
 import org.knime.core.data.IDataRepository;
 import org.knime.core.data.RowIterator;
 import org.knime.core.data.RowIteratorBuilder;
@@ -266,10 +267,14 @@ public class Buffer implements KNIMEStreamConstants {
     private static final String CFG_SIZE_L = "table.size.long";
 
     /** Current version string. */
-    public static final String VERSION = "container_12";
+    public static final String VERSION = "container_13";
 
     /** The version number corresponding to {@link #VERSION}. */
-    public static final int IVERSION = 12;
+    public static final int IVERSION = 13;
+
+    /** The first version that stores generated row keys by their index, see
+     * {@link org.knime.core.data.RowKey#getGeneratedIndex()}. */
+    static final int GENERATED_ROW_KEY_VERSION = 13;
 
     private static final HashMap<String, Integer> COMPATIBILITY_MAP;
 
@@ -286,7 +291,8 @@ public class Buffer implements KNIMEStreamConstants {
         COMPATIBILITY_MAP.put("container_9", 9); // never released - some workflow tests contain it (BW used a nightly)
         COMPATIBILITY_MAP.put("container_10", 10); // version 3.6 (multiple table formats)
         COMPATIBILITY_MAP.put("container_11", 11); // version 3.7 - add FileStoreCell support for multiple FileStores
-        COMPATIBILITY_MAP.put(VERSION, IVERSION); // version 3.8 - changed default compression to Snappy
+        COMPATIBILITY_MAP.put("container_12", 12); // version 3.8 - changed default compression to Snappy
+        COMPATIBILITY_MAP.put(VERSION, IVERSION); // version 3.8 - generated row keys stored as their index
         // NOTE consider to also
         // - increment the workflow.knime version number when updating this list
         // - update list in NoKeyBuffer
@@ -372,6 +378,10 @@ public class Buffer implements KNIMEStreamConstants {
     /** A cache for holding tables in memory. */
     private static final BufferCache CACHE = new BufferCache();
 
+    static {
+        BufferStatistics.registerMBean(CACHE);
+    }
+
     /** A single-threaded executor for asynchronous disk I/O threads. */
     static final ExecutorService ASYNC_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
         private final AtomicInteger m_threadCount = new AtomicInteger();
@@ -462,6 +472,16 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
 
     private TableStoreFormat m_outputFormat;
     private AbstractTableStoreWriter m_outputWriter;
+
+    /** Time spent in {@link #m_outputWriter} writing rows and closing the file, see {@link BufferStatistics}. */
+    private long m_writeNanos;
+
+    /** Size of the temp file and time spent writing it, set once the file is closed. */
+    private volatile long m_fileBytesWritten;
+    private volatile long m_fileWriteNanos;
+
+    /** Number of iterations over the file of this buffer, see {@link #getFileStatistics()}. */
+    private final AtomicLong m_fileReads = new AtomicLong();
     private AbstractTableStoreReader m_outputReader;
 
     /** The settings for the table store format that describes how the table is persisted. That is:
@@ -589,7 +609,7 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
          * independent of the lifecycle, if maxRowsInMemory is zero, the buffer is expected to flush to disk (e.g, see
          * {@link org.knime.core.data.sort.DataTableSorter#createDataContainer(DataTableSpec, boolean)}).
          */
-        m_listWhileAddRow = maxRowsInMemory > 0 ? new ArrayList<BlobSupportDataRow>() : null;
+        m_listWhileAddRow = maxRowsInMemory > 0 ? createRowList(spec, 0) : null;
         m_size = 0;
         m_bufferID = bufferID;
         m_localRepository = localRep;
@@ -746,7 +766,7 @@ synchronized void addRow(final DataRow r, final boolean isCopyOfExisting, final
                 }
             } else {
                 flushBuffer();
-                m_outputWriter.writeRow(row);
+                writeRowToFile(row);
             }
         } catch (Exception e) {
             if (!(e instanceof IOException)) {
@@ -775,6 +795,7 @@ private void initOutputWriter(final Supplier<OutputStream> output)
         throws IOException, UnsupportedOperationException {
         m_outputWriter = m_outputFormat.createWriter(output.get(), m_spec, !shouldSkipRowKey());
         m_outputWriter.setFileStoreHandler((IWriteFileStoreHandler)m_fileStoreHandler);
+        initWriterThreads();
     }
 
     /**
@@ -783,6 +804,15 @@ private void initOutputWriter(final Supplier<OutputStream> output)
     private void initOutputWriter(final File binFile) throws IOException {
         m_outputWriter = m_outputFormat.createWriter(binFile, m_spec, !shouldSkipRowKey());
         m_outputWriter.setFileStoreHandler((IWriteFileStoreHandler)m_fileStoreHandler);
+        initWriterThreads();
+    }
+
+    /** Enables the pipelined writer of the default format if more than one writer thread is configured. */
+    private void initWriterThreads() {
+        final int writerThreads = m_bufferSettings.getWriterThreads();
+        if (writerThreads > 1 && m_outputWriter instanceof DefaultTableStoreWriter) {
+            ((DefaultTableStoreWriter)m_outputWriter).setWriterThreads(writerThreads);
+        }
     }
 
     private BlobSupportDataRow saveBlobsAndFileStores(final DataRow row, final boolean isCopyOfExisting,
@@ -1097,6 +1127,22 @@ private boolean mustBeFlushedPriorSave(final DataCell cell, final boolean isWrap
         return false;
     }
 
+    /**
+     * Creates the list holding the rows of a table in memory. For tables consisting of only primitive (and string)
+     * columns this is a {@link PrimitiveRowList}, which avoids keeping a row and cell object per table entry.
+     *
+     * @param spec the spec of the table
+     * @param initialCapacity the number of rows to allocate memory for
+     * @return a new empty list
+     */
+    private static List<BlobSupportDataRow> createRowList(final DataTableSpec spec, final int initialCapacity) {
+        if (PrimitiveRowList.isApplicable(spec)) {
+            return new PrimitiveRowList(spec, initialCapacity);
+        }
+        return initialCapacity > 0 ? new ArrayList<BlobSupportDataRow>(initialCapacity)
+            : new ArrayList<BlobSupportDataRow>();
+    }
+
     /** Creates temp file (m_binFile) and adds this buffer to shutdown hook. */
     private void ensureTempFileExists() throws IOException {
         if (m_binFile == null) {
@@ -1155,13 +1201,25 @@ private void ensureWriterIsOpen() throws IOException {
         m_flushedToDisk = true;
     }
 
+    /** Writes the row to {@link #m_outputWriter}, accumulating the time spent. */
+    private void writeRowToFile(final BlobSupportDataRow row) throws IOException {
+        final long start = System.nanoTime();
+        m_outputWriter.writeRow(row);
+        m_writeNanos += System.nanoTime() - start;
+    }
+
     private void closeWriterAndWriteMeta() {
         try {
+            final long start = System.nanoTime();
             m_outputWriter.close();
+            m_writeNanos += System.nanoTime() - start;
             NodeSettings formatSettings = new NodeSettings(CFG_TABLE_FORMAT_CONFIG);
             m_outputWriter.writeMetaInfoAfterWrite(formatSettings);
             m_formatSettings = formatSettings;
             if (m_hasTempFile) {
+                m_fileBytesWritten = m_binFile.length();
+                m_fileWriteNanos = m_writeNanos;
+                BufferStatistics.onFileWritten(m_fileBytesWritten, m_fileWriteNanos);
                 double sizeInMB = m_binFile.length() / (double)(1 << 20);
                 String size = NumberFormat.getInstance().format(sizeInMB);
                 LOGGER.debug("Buffer file (" + m_binFile.getAbsolutePath() + ") is " + size + "MB in size");
@@ -1528,23 +1586,44 @@ public final synchronized RowIteratorBuilder<? extends CloseableRowIterator> ite
             if (m_useBackIntoMemoryIterator) {
                 // the order of the following lines is very important!
                 m_useBackIntoMemoryIterator = false;
+                m_fileReads.incrementAndGet();
+            BufferStatistics.onFileRead();
                 BackIntoMemoryIterator backIntoMemoryIterator =
                     new BackIntoMemoryIterator(m_outputReader.iteratorBuilder().build(), size());
                 m_backIntoMemoryIteratorRef = new WeakReference<BackIntoMemoryIterator>(backIntoMemoryIterator);
                 // we never store more than 2^31 rows in memory, therefore it's safe to cast to int
-                return new DefaultRowIteratorBuilder<>(
-                    () -> new FromListIterator(backIntoMemoryIterator.getList(), backIntoMemoryIterator),
-                    getTableSpec());
+                return createFromListIteratorBuilder(
+                    () -> new FromListIterator(backIntoMemoryIterator.getList(), backIntoMemoryIterator));
             }
             RowIteratorBuilder<? extends TableStoreCloseableRowIterator> iteratorBuilder =
                 m_outputReader.iteratorBuilder();
+            m_fileReads.incrementAndGet();
+            BufferStatistics.onFileRead();
             return iteratorBuilder;
         } else {
-            return new DefaultRowIteratorBuilder<>(() -> new FromListIterator(list,
-                m_backIntoMemoryIteratorRef != null ? m_backIntoMemoryIteratorRef.get() : null), getTableSpec());
+            return createFromListIteratorBuilder(() -> new FromListIterator(list,
+                m_backIntoMemoryIteratorRef != null ? m_backIntoMemoryIteratorRef.get() : null));
         }
     }
 
+    /**
+     * Creates a builder on in-memory rows. Rows before the start of a row range are skipped by index, unless they
+     * still need to be restored from disk.
+     */
+    private RowIteratorBuilder<CloseableRowIterator>
+        createFromListIteratorBuilder(final Supplier<FromListIterator> iteratorSupplier) {
+        return new DefaultRowIteratorBuilder<CloseableRowIterator>(iteratorSupplier::get, getTableSpec()) {
+            @Override
+            protected CloseableRowIterator applyRowFilter(final CloseableRowIterator iterator) {
+                final long skipped = ((FromListIterator)iterator).skip(getFromRowIndex());
+                final long toRowIndex = getToRowIndex();
+                return new FilteredRowIterator(iterator, 0L,
+                    toRowIndex == Long.MAX_VALUE ? Long.MAX_VALUE : toRowIndex - skipped,
+                    getRowPredicate().orElse(null));
+            }
+        };
+    }
+
     private List<BlobSupportDataRow> obtainListFromCacheOrBackIntoMemoryIterator() {
         final Optional<List<BlobSupportDataRow>> optionalList = CACHE.get(this);
         if (optionalList.isPresent()) {
@@ -1773,6 +1852,28 @@ long getUniqueID() {
         return m_uniqueID;
     }
 
+    /** @return a snapshot of the statistics of the table cache, see {@link BufferStatistics#getSnapshot()} */
+    static BufferStatistics getCacheStatistics() {
+        return CACHE.getStatistics();
+    }
+
+    /**
+     * Returns the statistics of the file of this buffer, i.e. the size and write time of its temp file and the number
+     * of iterations over the file.
+     *
+     * @return a new snapshot
+     * @since 3.8
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public BufferStatistics.FileStatistics getFileStatistics() {
+        return new BufferStatistics.FileStatistics(m_fileBytesWritten, m_fileWriteNanos, m_fileReads.get());
+    }
+
+    /** @return the settings this buffer was created with */
+    BufferSettings getBufferSettings() {
+        return m_bufferSettings;
+    }
+
     /** Clears the temp file. Any subsequent iteration will fail! */
     synchronized void clear() {
         m_lifecycle.onClear();
@@ -1782,6 +1883,7 @@ void performClear() {
         BufferTracker.getInstance().bufferCleared(this);
         m_listWhileAddRow = null;
         CACHE.invalidate(this);
+        OffHeapSegmentStore.getInstance().invalidate(m_uniqueID);
         if (m_binFile != null) {
             if (m_outputReader != null) {
                 // output reader might be null if Buffer was created but never read -- no iterators to clear
@@ -1795,6 +1897,9 @@ void performClear() {
                     // reason, we are OK with it as well, since we're clearing this buffer anyways.
                 }
             }
+            if (m_hasTempFile) {
+                BufferStatistics.onFileDeleted(m_binFile.length());
+            }
             if (m_blobDir != null) {
                 DeleteInBackgroundThread.delete(m_binFile, m_blobDir);
             } else {
@@ -1868,7 +1973,7 @@ private void writeList(final List<BlobSupportDataRow> list) {
 
             if (list != null) {
                 for (BlobSupportDataRow row : list) {
-                    m_outputWriter.writeRow(row);
+                    writeRowToFile(row);
                 }
             }
         } catch (IOException ioe) {
@@ -1937,7 +2042,7 @@ private final class BackIntoMemoryIterator {
          */
         private BackIntoMemoryIterator(final TableStoreCloseableRowIterator iterator, final long size) {
             m_iterator = iterator;
-            m_listWhileBackIntoMemory = new ArrayList<BlobSupportDataRow>((int)size);
+            m_listWhileBackIntoMemory = createRowList(m_spec, (int)size);
         }
 
         private boolean hasNext() {
@@ -2023,6 +2128,25 @@ public DataRow next() {
             }
         }
 
+        /**
+         * Skips the given number of rows. If all rows are in memory, this only moves the pointer.
+         *
+         * @param count the number of rows to skip
+         * @return the number of rows skipped, less than the argument if the end of the table has been reached
+         */
+        long skip(final long count) {
+            if (m_backIntoMemoryIterator == null) {
+                final int skip = (int)Math.max(0L, Math.min(count, size() - m_nextIndex));
+                m_nextIndex += skip;
+                return skip;
+            }
+            long skipped = 0L;
+            for (; skipped < count && hasNext(); skipped++) {
+                next();
+            }
+            return skipped;
+        }
+
         /** {@inheritDoc} */
         @Override
         public void close() {
@@ -2480,7 +2604,7 @@ public void onAddRowToLargeList() throws IOException {
 
             ensureWriterIsOpen();
             while (m_index < m_listWhileAddRow.size()) {
-                m_outputWriter.writeRow(m_listWhileAddRow.get(m_index++));
+                writeRowToFile(m_listWhileAddRow.get(m_index++));
             }
         }
 
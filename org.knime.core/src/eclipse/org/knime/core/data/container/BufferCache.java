@@ -48,19 +48,25 @@
  */
 package org.knime.core.data.container;
 
+import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 
+import org.knime.core.data.util.memory.MemoryAlert;
+import org.knime.core.data.util.memory.MemoryAlertListener;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
-import org.knime.core.util.LRUCache;
 
 /**
  * A data structure that manages which tables (i.e., {@link List} of {@link BlobSupportDataRow}) to keep in memory. The
@@ -71,6 +77,12 @@
  * tables are cleared for garbage collection before they have been flushed to disk. How this cache is used by the
  * {@link Buffer} class is specified by means of a Lifecycle.
  *
+ * <p>
+ * The lower level is bounded by a number of tables and by a memory budget. The heap size of each table is estimated
+ * when it is put into the cache (from a sample of its rows); least recently used tables are only weakly referenced
+ * once the estimated size of all softly referenced tables exceeds the budget. When the {@link MemoryAlertSystem}
+ * signals low memory, the largest, least recently used tables are released until at most half of the budget is used.
+ *
  * @author Marc Bux, KNIME GmbH, Berlin, Germany
  */
 final class BufferCache {
@@ -85,6 +97,9 @@ final class BufferCache {
      */
     private static final int STATISTICS_OUTPUT_INTERVAL = 300;
 
+    /** The number of rows sampled to estimate the heap size of a table. */
+    private static final int SIZE_ESTIMATE_SAMPLE_ROWS = 100;
+
     /**
      * A map of hard references to tables held in this cache. Caution: the garbage collector will not clear these
      * automatically. We use the buffer itself as key, since multiple buffers can have the same id. The Map has to have
@@ -97,13 +112,23 @@ final class BufferCache {
      */
     private int m_LRUCacheSize = BufferSettings.getDefault().getLRUCacheSize();
 
+    /** The estimated number of bytes the tables in the soft-references LRU cache may occupy. */
+    private long m_LRUCacheBytes = BufferSettings.getDefault().getLRUCacheBytes();
+
     /**
-     * An LRU-cache of soft references to tables held in this cache. Note that soft references also keep track of when
-     * they were last accessed. When memory becomes scarce, the garbage collector should clear weak-referenced tables
-     * first and then proceed with soft-referenced tables in the order in which they were least recently used.
+     * An LRU-cache (in access order) of soft references to tables held in this cache. Note that soft references also
+     * keep track of when they were last accessed. When memory becomes scarce, the garbage collector should clear
+     * weak-referenced tables first and then proceed with soft-referenced tables in the order in which they were least
+     * recently used. Entries are evicted by {@link #evictFromLRUCache()}.
      */
-    private LRUCache<Long, SoftReference<List<BlobSupportDataRow>>> m_LRUCache =
-        new LRUCache<>(m_LRUCacheSize, m_LRUCacheSize);
+    private final LinkedHashMap<Long, SoftReference<List<BlobSupportDataRow>>> m_LRUCache =
+        new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The estimated heap size of the tables in this cache, removed once a table is invalidated or collected. */
+    private final Map<Long, Long> m_estimatedBytes = new HashMap<>();
+
+    /** The sum of the estimated heap size of the tables in the LRU cache. */
+    private volatile long m_LRUCacheUsedBytes = 0;
 
     /**
      * A map of weak references to tables evicted from the LRU cache.
@@ -115,39 +140,156 @@ final class BufferCache {
      */
     private final ReferenceQueue<List<BlobSupportDataRow>> m_weakCacheRefQueue = new ReferenceQueue<>();
 
-    /** Some counters for instrumentation / statistics. */
-    private long m_nTables = 0;
+    /** Weak reference to a table that knows the ID of its buffer, so that the table can be forgotten once cleared. */
+    private static final class TableReference extends WeakReference<List<BlobSupportDataRow>> {
+
+        private final long m_uniqueId;
+
+        TableReference(final long uniqueId, final List<BlobSupportDataRow> list,
+            final ReferenceQueue<List<BlobSupportDataRow>> queue) {
+            super(list, queue);
+            m_uniqueId = uniqueId;
+        }
+    }
+
+    /**
+     * Some counters for instrumentation / statistics. They are only modified while holding the lock of this cache but
+     * are volatile so that the {@link BufferStatisticsMXBean} can read them without locking.
+     */
+    private volatile long m_nTables = 0;
 
-    private long m_nInvalidatedTables = 0;
+    private volatile long m_nInvalidatedTables = 0;
 
-    private long m_nGCedTables = 0;
+    private volatile long m_nGCedTables = 0;
 
     private long m_nAccesses = 0;
 
-    private long m_nHardHits = 0;
+    private volatile long m_nHardHits = 0;
 
-    private long m_nSoftHits = 0;
+    private volatile long m_nSoftHits = 0;
 
-    private long m_nWeakHits = 0;
+    private volatile long m_nWeakHits = 0;
 
-    private long m_nMisses = 0;
+    private volatile long m_nMisses = 0;
+
+    private volatile long m_nEvictedTables = 0;
+
+    /** Releases tables on low memory, removes itself once the cache has been garbage collected. */
+    private static final class CacheMemoryAlertListener extends MemoryAlertListener {
+
+        private final WeakReference<BufferCache> m_cacheRef;
+
+        CacheMemoryAlertListener(final BufferCache cache) {
+            m_cacheRef = new WeakReference<>(cache);
+        }
+
+        @Override
+        protected boolean memoryAlert(final MemoryAlert alert) {
+            final BufferCache cache = m_cacheRef.get();
+            if (cache == null) {
+                return true;
+            }
+            cache.releaseLargestLeastRecentlyUsed();
+            return false;
+        }
+    }
+
+    /** Creates a new cache, registering it with the {@link MemoryAlertSystem}. */
+    BufferCache() {
+        MemoryAlertSystem.getInstance().addListener(new CacheMemoryAlertListener(this));
+    }
 
     private long timeOfLastLog = System.currentTimeMillis();
 
-    private void logStatistics() {
-        while (m_weakCacheRefQueue.poll() != null) {
+    private void pollGarbageCollectedTables() {
+        Reference<? extends List<BlobSupportDataRow>> ref;
+        while ((ref = m_weakCacheRefQueue.poll()) != null) {
             m_nGCedTables++;
+            final long uniqueId = ((TableReference)ref).m_uniqueId;
+            // unless the table has been put again (or invalidated) in the meantime
+            if (m_weakCache.get(uniqueId) == ref) {
+                removeFromLRUCache(uniqueId);
+                m_estimatedBytes.remove(uniqueId);
+            }
+        }
+    }
+
+    private long countActiveTables() {
+        long nActiveTables = 0;
+        for (WeakReference<List<BlobSupportDataRow>> ref : m_weakCache.values()) {
+            if (ref.get() != null) {
+                nActiveTables++;
+            }
         }
+        return nActiveTables;
+    }
+
+    /**
+     * Creates a snapshot of the statistics of this cache (and the file counters of all buffers).
+     *
+     * @return a new snapshot
+     */
+    synchronized BufferStatistics getStatistics() {
+        pollGarbageCollectedTables();
+        return new BufferStatistics(countActiveTables(), m_nTables, m_nInvalidatedTables, m_nGCedTables,
+            m_nEvictedTables, m_nHardHits, m_nSoftHits, m_nWeakHits, m_nMisses, m_LRUCacheUsedBytes);
+    }
+
+    /** @return the number of tables currently held in memory, requires the lock to scan the weak references */
+    synchronized long getCachedTableCount() {
+        pollGarbageCollectedTables();
+        return countActiveTables();
+    }
+
+    /** @return the number of distinct tables put into this cache, read without locking */
+    long getDistinctTableCount() {
+        return m_nTables;
+    }
+
+    /** @return the number of invalidated tables, read without locking */
+    long getInvalidatedTableCount() {
+        return m_nInvalidatedTables;
+    }
+
+    /**
+     * @return the number of tables dropped by the garbage collector as of the last access to this cache, read without
+     *         locking
+     */
+    long getGarbageCollectedTableCount() {
+        return m_nGCedTables;
+    }
+
+    /** @return the number of tables evicted from the LRU cache, read without locking */
+    long getEvictedTableCount() {
+        return m_nEvictedTables;
+    }
+
+    /** @return the number of hits on hard-referenced tables, read without locking */
+    long getHardHitCount() {
+        return m_nHardHits;
+    }
+
+    /** @return the number of hits on softly referenced tables, read without locking */
+    long getSoftHitCount() {
+        return m_nSoftHits;
+    }
+
+    /** @return the number of hits on weakly referenced tables, read without locking */
+    long getWeakHitCount() {
+        return m_nWeakHits;
+    }
+
+    /** @return the number of cache misses, read without locking */
+    long getMissCount() {
+        return m_nMisses;
+    }
+
+    private void logStatistics() {
+        pollGarbageCollectedTables();
         final long time = System.currentTimeMillis();
         if ((time - timeOfLastLog) / 1000 >= STATISTICS_OUTPUT_INTERVAL) {
 
-            long nActiveTables = 0;
-
-            for (WeakReference<List<BlobSupportDataRow>> ref : m_weakCache.values()) {
-                if (ref.get() != null) {
-                    nActiveTables++;
-                }
-            }
+            final long nActiveTables = countActiveTables();
 
             LOGGER.debug("KNIME Buffer cache statistics:");
             LOGGER.debugWithFormat("\t%d tables currently held in cache", nActiveTables);
@@ -158,6 +300,8 @@ private void logStatistics() {
             LOGGER.debugWithFormat("\t%d cache hits (softly referenced)", m_nSoftHits);
             LOGGER.debugWithFormat("\t%d cache hits (weakly referenced)", m_nWeakHits);
             LOGGER.debugWithFormat("\t%d cache misses", m_nMisses);
+            LOGGER.debugWithFormat("\t%d tables evicted from LRU cache, %d MB estimated size of LRU cache",
+                m_nEvictedTables, m_LRUCacheUsedBytes >> 20);
 
             timeOfLastLog = time;
             assert m_nAccesses == m_nHardHits + m_nSoftHits + m_nWeakHits + m_nMisses;
@@ -175,6 +319,7 @@ synchronized void put(final Buffer buffer, final List<BlobSupportDataRow> list)
         CheckUtils.checkArgumentNotNull(list);
 
         final long uniqueId = buffer.getUniqueID();
+        pollGarbageCollectedTables();
 
         /** disallow modification */
         final List<BlobSupportDataRow> undmodifiableList = Collections.unmodifiableList(list);
@@ -183,9 +328,11 @@ synchronized void put(final Buffer buffer, final List<BlobSupportDataRow> list)
          * We already fill the soft cache here to keep track of how recently the table has been used. Note that soft and
          * weak references won't be cleared while there is still a hard reference on the object.
          */
-        m_LRUCache.put(uniqueId, new SoftReference<List<BlobSupportDataRow>>(undmodifiableList));
-        final WeakReference<List<BlobSupportDataRow>> previousValue = m_weakCache.put(uniqueId,
-            new WeakReference<List<BlobSupportDataRow>>(undmodifiableList, m_weakCacheRefQueue));
+        removeFromLRUCache(uniqueId);
+        m_estimatedBytes.put(uniqueId, estimateHeapSize(list));
+        putIntoLRUCache(uniqueId, undmodifiableList);
+        final WeakReference<List<BlobSupportDataRow>> previousValue =
+            m_weakCache.put(uniqueId, new TableReference(uniqueId, undmodifiableList, m_weakCacheRefQueue));
 
         if (previousValue == null) {
             m_nTables++;
@@ -286,7 +433,7 @@ private Optional<List<BlobSupportDataRow>> getInternal(final Buffer buffer, fina
         if (list != null) {
             /** Make sure to put the accessed table back into the LRU cache. */
             if (!m_LRUCache.containsKey(uniqueId)) {
-                m_LRUCache.put(uniqueId, new SoftReference<List<BlobSupportDataRow>>(list));
+                putIntoLRUCache(uniqueId, list);
             }
             if (!hit) {
                 m_nWeakHits++;
@@ -296,7 +443,7 @@ private Optional<List<BlobSupportDataRow>> getInternal(final Buffer buffer, fina
         } else {
             /** Table has been garbage collected; it should be removed from the LRU cache to make room for other
              * tables. */
-            m_LRUCache.remove(uniqueId);
+            removeFromLRUCache(uniqueId);
         }
 
         if (!hit) {
@@ -316,7 +463,8 @@ synchronized void invalidate(final Buffer buffer) {
         final long uniqueId = buffer.getUniqueID();
 
         m_hardMap.remove(uniqueId);
-        m_LRUCache.remove(uniqueId);
+        removeFromLRUCache(uniqueId);
+        m_estimatedBytes.remove(uniqueId);
         final WeakReference<List<BlobSupportDataRow>> previousValue = m_weakCache.remove(uniqueId);
 
         if (previousValue != null && previousValue.get() != null) {
@@ -330,21 +478,112 @@ synchronized void invalidate(final Buffer buffer) {
      * @param newSize the new size of the LRU cache
      */
     synchronized void setLRUCacheSize(final int newSize) {
-        if (newSize == m_LRUCacheSize) {
-            return;
+        m_LRUCacheSize = newSize;
+        evictFromLRUCache();
+    }
+
+    /**
+     * Adjusts the memory budget of the LRU cache. The budget is read once from the default settings, so this is only
+     * used in tests.
+     *
+     * @param newBytes the new estimated number of bytes the tables in the LRU cache may occupy
+     */
+    synchronized void setLRUCacheBytes(final long newBytes) {
+        m_LRUCacheBytes = newBytes;
+        evictFromLRUCache();
+    }
+
+    /** @return the number of tables whose estimated heap size is remembered */
+    // package scope for tests
+    synchronized int getEstimatedTableCount() {
+        pollGarbageCollectedTables();
+        return m_estimatedBytes.size();
+    }
+
+    /** @return the sum of the estimated heap size of the tables in the LRU cache, read without locking */
+    long getLRUCacheUsedBytes() {
+        return m_LRUCacheUsedBytes;
+    }
+
+    private void putIntoLRUCache(final long uniqueId, final List<BlobSupportDataRow> list) {
+        final SoftReference<List<BlobSupportDataRow>> previous =
+            m_LRUCache.put(uniqueId, new SoftReference<List<BlobSupportDataRow>>(list));
+        if (previous == null) {
+            m_LRUCacheUsedBytes += m_estimatedBytes.getOrDefault(uniqueId, 0L);
         }
+        evictFromLRUCache();
+    }
 
-        /** Since there is no way of adjusting the cache size of an LRUCache, we have to create a new cache. */
-        final LRUCache<Long, SoftReference<List<BlobSupportDataRow>>> cache = new LRUCache<>(newSize, newSize);
+    private void removeFromLRUCache(final long uniqueId) {
+        if (m_LRUCache.remove(uniqueId) != null) {
+            m_LRUCacheUsedBytes -= m_estimatedBytes.getOrDefault(uniqueId, 0L);
+        }
+    }
 
-        /** If the new cache is smaller than the old one, the least-recently-accessed entries will be entered first
-         * and then also evicted first when the new cache size is reached. */
-        for (Entry<Long, SoftReference<List<BlobSupportDataRow>>> entry : m_LRUCache.entrySet()) {
-            cache.put(entry.getKey(), entry.getValue());
+    /**
+     * Removes the least recently used tables from the LRU cache (leaving them weakly referenced) while it holds more
+     * tables than its size or more bytes than its memory budget.
+     */
+    private void evictFromLRUCache() {
+        for (Iterator<Long> it = m_LRUCache.keySet().iterator(); it.hasNext()
+            && (m_LRUCache.size() > m_LRUCacheSize || m_LRUCacheUsedBytes > m_LRUCacheBytes);) {
+            m_LRUCacheUsedBytes -= m_estimatedBytes.getOrDefault(it.next(), 0L);
+            it.remove();
+            m_nEvictedTables++;
         }
+    }
 
-        m_LRUCacheSize = newSize;
-        m_LRUCache = cache;
+    /**
+     * Called on low memory. Removes tables from the LRU cache until at most half of its memory budget is used. Tables
+     * are ranked by their estimated size multiplied by their position counted from the most recently used table, i.e.
+     * large tables that have not been used for long are released first.
+     */
+    synchronized void releaseLargestLeastRecentlyUsed() {
+        final long targetBytes = Math.min(m_LRUCacheBytes, m_LRUCacheUsedBytes) / 2;
+        if (m_LRUCacheUsedBytes <= targetBytes) {
+            return;
+        }
+        // entries in access order, i.e. least recently used first
+        final List<Long> ids = new ArrayList<>(m_LRUCache.keySet());
+        final int n = ids.size();
+        final List<Long> ranked = new ArrayList<>(ids);
+        final Map<Long, Double> score = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            final Long id = ids.get(i);
+            score.put(id, m_estimatedBytes.getOrDefault(id, 0L) * (double)(n - i));
+        }
+        ranked.sort((a, b) -> Double.compare(score.get(b), score.get(a)));
+        long nReleased = 0;
+        for (Iterator<Long> it = ranked.iterator(); it.hasNext() && m_LRUCacheUsedBytes > targetBytes;) {
+            removeFromLRUCache(it.next());
+            nReleased++;
+        }
+        m_nEvictedTables += nReleased;
+        LOGGER.debugWithFormat("Released %d tables from LRU cache due to low memory, %d MB estimated size left",
+            nReleased, m_LRUCacheUsedBytes >> 20);
+    }
+
+    /**
+     * Estimates the heap size of a table. Tables held in a {@link PrimitiveRowList} estimate their own size, otherwise
+     * the estimate is based on a sample of the rows, see {@link RowSizeEstimator}.
+     *
+     * @param list the table
+     * @return the estimated size in bytes
+     */
+    static long estimateHeapSize(final List<BlobSupportDataRow> list) {
+        if (list instanceof PrimitiveRowList && ((PrimitiveRowList)list).isPrimitive()) {
+            return ((PrimitiveRowList)list).estimateHeapSize();
+        }
+        final int size = list.size();
+        if (size == 0) {
+            return 0;
+        }
+        final int sampleCount = Math.min(size, SIZE_ESTIMATE_SAMPLE_ROWS);
+        long sampleBytes = 0;
+        for (int s = 0; s < sampleCount; s++) {
+            sampleBytes += RowSizeEstimator.estimate(list.get((int)((long)s * size / sampleCount)));
+        }
+        return sampleBytes * size / sampleCount;
     }
 
 }
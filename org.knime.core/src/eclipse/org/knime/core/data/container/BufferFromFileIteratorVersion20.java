@@ -83,7 +83,10 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
     private final DefaultTableStoreReader m_tableFormatReader;
 
     /** Row pointer. */
-    private int m_pointer;
+    private long m_pointer;
+
+    /** Index of the row after the last row to return (exclusive), at most the size of the table. */
+    private final long m_endPointer;
 
     /** Content of the rows that get returned in {@link #next()} when the
      * table is {@link #close()}'d. Will be instantiated lazy. */
@@ -98,6 +101,9 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
     /** Stream to read from. */
     private BlockableDCObjectInputVersion2 m_inStream;
 
+    /** The decompressed stream underlying {@link #m_inStream} if it is read in segments, otherwise null. */
+    private final SegmentedInputStream m_segmentedStream;
+
     /** Utility object with designated functionality to deserialize datacell. */
     private DataCellStreamReader m_dataCellStreamReader;
 
@@ -106,8 +112,23 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
      * @throws IOException If stream reading fails.
      */
     BufferFromFileIteratorVersion20(final DefaultTableStoreReader tableFormatReader) throws IOException {
+        this(tableFormatReader, 0L, Long.MAX_VALUE);
+    }
+
+    /** Inits iterator, opens input stream and skips all rows before the given start index. If the file has a
+     * {@link RowOffsetIndex}, reading starts at the segment containing the start index. Skipped rows are not
+     * deserialized, their cells are only stepped over using the block markers in the stream.
+     * @param tableFormatReader The associated buffer.
+     * @param fromRowIndex The index of the first row to return (inclusive).
+     * @param toRowIndex The index of the last row to return (inclusive).
+     * @throws IOException If stream reading fails.
+     */
+    BufferFromFileIteratorVersion20(final DefaultTableStoreReader tableFormatReader, final long fromRowIndex,
+        final long toRowIndex) throws IOException {
         // init the pointer
         m_pointer = 0;
+        final long size = tableFormatReader.size();
+        m_endPointer = toRowIndex < size ? toRowIndex + 1 : size;
 
         // check for file existence
         if (tableFormatReader.getBinFile() == null) {
@@ -121,15 +142,59 @@ public final class BufferFromFileIteratorVersion20 extends FromFileIterator {
 
         // open the input stream
         m_dataCellStreamReader = new DataCellStreamReader(tableFormatReader);
-        m_inStream = new BlockableDCObjectInputVersion2(getInputStream(tableFormatReader), m_dataCellStreamReader);
+        // start at the compressed segment containing the first row, if the file has an index
+        final long startIndex = Math.min(fromRowIndex, m_endPointer);
+        final RowOffsetIndex index = tableFormatReader.getRowOffsetIndex();
+        final int segment = index != null ? index.getSegmentForRow(startIndex) : 0;
+        if (index != null) {
+            m_pointer = index.getFirstRowIndex(segment);
+        }
+        final InputStream in = getInputStream(tableFormatReader, segment);
+        m_segmentedStream = in instanceof SegmentedInputStream ? (SegmentedInputStream)in : null;
+        m_inStream = new BlockableDCObjectInputVersion2(in, m_dataCellStreamReader);
+        m_inStream.setReadGeneratedRowKeys(
+            tableFormatReader.getReadVersion() >= Buffer.GENERATED_ROW_KEY_VERSION);
+        try {
+            skipRows(startIndex);
+        } catch (IOException ioe) {
+            m_inStream.close();
+            throw ioe;
+        }
+    }
+
+    /** Steps over the rows until the pointer is at the argument index, without deserializing row keys and cells. */
+    private void skipRows(final long toIndex) throws IOException {
+        final int colCount = m_tableFormatReader.getTableSpec().getNumColumns();
+        final boolean hasRowKey = m_tableFormatReader.isReadRowKey();
+        for (; m_pointer < toIndex; m_pointer++) {
+            if (hasRowKey) {
+                m_inStream.endBlock();
+            }
+            for (int i = 0; i < colCount; i++) {
+                m_inStream.endBlock();
+            }
+            final byte eoRow = m_inStream.readControlByte();
+            if (eoRow != BYTE_ROW_SEPARATOR) {
+                throw new IOException("Expected end of row byte while skipping row " + m_pointer + ", got '" + eoRow
+                    + "', (byte " + (int)eoRow + ")");
+            }
+        }
     }
 
 
     /** {@inheritDoc} */
     @Override
     public synchronized boolean hasNext() {
-        boolean hasNext = m_pointer < m_tableFormatReader.size();
+        boolean hasNext = m_pointer < m_endPointer;
         if (!hasNext && (m_inStream != null)) {
+            if (m_segmentedStream != null && m_endPointer == m_tableFormatReader.size()) {
+                // all rows read, read the (short) remainder so that the last segment gets into the off-heap store
+                try {
+                    m_segmentedStream.readToEndOfSegment();
+                } catch (IOException ioe) {
+                    LOGGER.debug("Unable to read end of table stream: " + ioe.getMessage(), ioe);
+                }
+            }
             close();
         }
         return hasNext;
@@ -51,10 +51,13 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.Buffer.MemorizeIfSmallLifecycle;
 import org.knime.core.data.container.Buffer.SoftRefLRULifecycle;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.DefaultTableStoreSettings;
 import org.knime.core.data.container.storage.TableStoreFormat;
 import org.knime.core.data.container.storage.TableStoreFormatRegistry;
 import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.CheckUtils;
 
 /**
  * The buffer settings. Solely used for benchmarking.
@@ -77,22 +80,47 @@ public final class BufferSettings {
     /** The default number of tables that can be kept in the soft-references LRU cache before being weak-referenced. */
     static final int DEF_LRU_CACHE_SIZE = 32;
 
+    /** The default estimated number of bytes the tables in the soft-references LRU cache may occupy. */
+    static final long DEF_LRU_CACHE_BYTES = Runtime.getRuntime().maxMemory() / 2;
+
+    /** The default number of threads serializing and compressing a table (sequential write). */
+    static final int DEF_WRITER_THREADS = 1;
+
+    /** The default size of the off-heap store in bytes (disabled). */
+    static final long DEF_OFFHEAP_CACHE_SIZE = 0L;
+
     /** The enable LRU caching flag. */
     private final boolean m_enableLRU;
 
     /** The LRU cache size. */
     private final int m_lruCacheSize;
 
+    /** The estimated number of bytes the tables in the LRU cache may occupy. */
+    private final long m_lruCacheBytes;
+
     /** The output table store format. */
     private final TableStoreFormat m_outputFormat;
 
+    /** The number of threads serializing and compressing a table. */
+    private final int m_writerThreads;
+
+    /** The size of the off-heap store in bytes. */
+    private final long m_offHeapCacheSize;
+
+    /** Whether to memory-map uncompressed table files when reading them. */
+    private final boolean m_memoryMappedRead;
+
     /**
      * Default constructor.
      */
     BufferSettings() {
         m_enableLRU = initLRU();
         m_lruCacheSize = DEF_LRU_CACHE_SIZE;
+        m_lruCacheBytes = initLRUCacheBytes();
         m_outputFormat = TableStoreFormatRegistry.getInstance().getInstanceTableStoreFormat();
+        m_writerThreads = initWriterThreads();
+        m_offHeapCacheSize = initOffHeapCacheSize();
+        m_memoryMappedRead = Boolean.getBoolean(KNIMEConstants.PROPERTY_TABLE_MEMORY_MAPPED_READ);
     }
 
     /**
@@ -100,13 +128,23 @@ public final class BufferSettings {
      *
      * @param enableLRU the enable LRU flag
      * @param lruCacheSize the LRU cache size
+     * @param lruCacheBytes the estimated number of bytes the tables in the LRU cache may occupy
      * @param outputFormat the output format
+     * @param writerThreads the number of writer threads
+     * @param offHeapCacheSize the size of the off-heap store in bytes
+     * @param memoryMappedRead whether to memory-map uncompressed table files when reading them
      * @noreference This constructor is not intended to be referenced by clients.
      */
-    private BufferSettings(final boolean enableLRU, final int lruCacheSize, final TableStoreFormat outputFormat) {
+    private BufferSettings(final boolean enableLRU, final int lruCacheSize, final long lruCacheBytes,
+        final TableStoreFormat outputFormat, final int writerThreads, final long offHeapCacheSize,
+        final boolean memoryMappedRead) {
         m_enableLRU = enableLRU;
         m_lruCacheSize = lruCacheSize;
+        m_lruCacheBytes = lruCacheBytes;
         m_outputFormat = outputFormat;
+        m_writerThreads = writerThreads;
+        m_offHeapCacheSize = offHeapCacheSize;
+        m_memoryMappedRead = memoryMappedRead;
     }
 
     /**
@@ -130,6 +168,78 @@ private static boolean initLRU() {
         return DEF_TABLE_CACHE.equals("LRU");
     }
 
+    /**
+     * Initializes the memory budget of the LRU cache w.r.t. the defined properties.
+     *
+     * @return the estimated number of bytes the tables in the LRU cache may occupy
+     */
+    private static long initLRUCacheBytes() {
+        long lruCacheBytes = DEF_LRU_CACHE_BYTES;
+        final String valCacheMemory = System.getProperty(KNIMEConstants.PROPERTY_TABLE_CACHE_MEMORY);
+        if (valCacheMemory != null) {
+            try {
+                long sizeInMB = Long.parseLong(valCacheMemory.trim());
+                if (sizeInMB < 0) {
+                    throw new NumberFormatException("table cache memory < 0: " + sizeInMB);
+                }
+                lruCacheBytes = sizeInMB << 20;
+                LOGGER.debug("Setting memory of LRU table cache to " + sizeInMB + "MB");
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property " + KNIMEConstants.PROPERTY_TABLE_CACHE_MEMORY
+                    + ", using default (" + (DEF_LRU_CACHE_BYTES >> 20) + "MB)", e);
+            }
+        }
+        return lruCacheBytes;
+    }
+
+    /**
+     * Initializes the number of writer threads w.r.t. the defined properties.
+     *
+     * @return the number of writer threads
+     */
+    private static int initWriterThreads() {
+        int writerThreads = DEF_WRITER_THREADS;
+        final String valWriterThreads = System.getProperty(KNIMEConstants.PROPERTY_TABLE_WRITER_THREADS);
+        if (valWriterThreads != null) {
+            try {
+                int newThreads = Integer.parseInt(valWriterThreads.trim());
+                if (newThreads <= 0) {
+                    throw new NumberFormatException("writer threads <= 0: " + newThreads);
+                }
+                writerThreads = newThreads;
+                LOGGER.debug("Setting number of table writer threads to " + writerThreads);
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property " + KNIMEConstants.PROPERTY_TABLE_WRITER_THREADS
+                    + ", using default (" + DEF_WRITER_THREADS + ")", e);
+            }
+        }
+        return writerThreads;
+    }
+
+    /**
+     * Initializes the size of the off-heap store w.r.t. the defined properties.
+     *
+     * @return the size of the off-heap store in bytes
+     */
+    private static long initOffHeapCacheSize() {
+        long offHeapCacheSize = DEF_OFFHEAP_CACHE_SIZE;
+        final String valOffHeap = System.getProperty(KNIMEConstants.PROPERTY_TABLE_OFFHEAP_CACHE_SIZE);
+        if (valOffHeap != null) {
+            try {
+                long sizeInMB = Long.parseLong(valOffHeap.trim());
+                if (sizeInMB < 0) {
+                    throw new NumberFormatException("off-heap cache size < 0: " + sizeInMB);
+                }
+                offHeapCacheSize = sizeInMB << 20;
+                LOGGER.debug("Setting size of off-heap table store to " + sizeInMB + "MB");
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property " + KNIMEConstants.PROPERTY_TABLE_OFFHEAP_CACHE_SIZE
+                    + ", using default (" + DEF_OFFHEAP_CACHE_SIZE + ")", e);
+            }
+        }
+        return offHeapCacheSize;
+    }
+
     /**
      * Returns whether to use LRU caching or not.
      *
@@ -148,6 +258,44 @@ int getLRUCacheSize() {
         return m_lruCacheSize;
     }
 
+    /**
+     * Returns the estimated number of bytes the tables in the LRU cache may occupy. The cache is shared by all
+     * tables, its budget is read once from {@link KNIMEConstants#PROPERTY_TABLE_CACHE_MEMORY}.
+     *
+     * @return the memory budget of the LRU cache
+     */
+    long getLRUCacheBytes() {
+        return m_lruCacheBytes;
+    }
+
+    /**
+     * Returns the number of threads serializing and compressing a table while it is written to disc.
+     *
+     * @return the number of writer threads, 1 if tables are written sequentially
+     */
+    public int getWriterThreads() {
+        return m_writerThreads;
+    }
+
+    /**
+     * Returns the size of the off-heap store holding decompressed table content in direct memory. The store is shared
+     * by all tables, its size is read once from {@link KNIMEConstants#PROPERTY_TABLE_OFFHEAP_CACHE_SIZE}.
+     *
+     * @return the size in bytes, 0 if the store is disabled
+     */
+    public long getOffHeapCacheSize() {
+        return m_offHeapCacheSize;
+    }
+
+    /**
+     * Returns whether uncompressed table files (compression format {@code NONE}) are memory-mapped when read.
+     *
+     * @return flag indicating whether to memory-map uncompressed table files
+     */
+    public boolean useMemoryMappedRead() {
+        return m_memoryMappedRead;
+    }
+
     /**
      * Returns the {@link TableStoreFormat} used to read and write the {@link Buffer Buffer's} content.
      *
@@ -183,7 +331,8 @@ public static BufferSettings getDefault() {
      * @return a new instance of {@code BufferSettings}
      */
     public BufferSettings withLRU(final boolean enableLRU) {
-        return new BufferSettings(enableLRU, m_lruCacheSize, m_outputFormat);
+        return new BufferSettings(enableLRU, m_lruCacheSize, m_lruCacheBytes, m_outputFormat,
+            m_writerThreads, m_offHeapCacheSize, m_memoryMappedRead);
     }
 
     /**
@@ -194,7 +343,8 @@ public BufferSettings withLRU(final boolean enableLRU) {
      * @return a new instance of {@code BufferSettings}
      */
     public BufferSettings withLRUCacheSize(final int lruCacheSize) {
-        return new BufferSettings(m_enableLRU, lruCacheSize, m_outputFormat);
+        return new BufferSettings(m_enableLRU, lruCacheSize, m_lruCacheBytes, m_outputFormat,
+            m_writerThreads, m_offHeapCacheSize, m_memoryMappedRead);
     }
 
     /**
@@ -205,7 +355,56 @@ public BufferSettings withLRUCacheSize(final int lruCacheSize) {
      * @return a new instance of {@code BufferSettings}
      */
     public BufferSettings withOutputFormat(final TableStoreFormat outputFormat) {
-        return new BufferSettings(m_enableLRU, m_lruCacheSize, outputFormat);
+        return new BufferSettings(m_enableLRU, m_lruCacheSize, m_lruCacheBytes, outputFormat,
+            m_writerThreads, m_offHeapCacheSize, m_memoryMappedRead);
+    }
+
+    /**
+     * Creates a new <code>BufferSettings</code> object by replicating the current <code>BufferSettings</code> instance
+     * and solely changes the compression of the {@link DefaultTableStoreFormat}. If the current output format is a
+     * different format, it is replaced by the default table store format using the argument compression. The
+     * compression is recorded with the table, i.e. tables can be read regardless of the compression they were written
+     * with.
+     *
+     * @param compression the compression format
+     * @param level the compression level, {@link DefaultTableStoreFormat#DEFAULT_COMPRESSION_LEVEL} for the codec's
+     *            default
+     * @return a new instance of {@code BufferSettings}
+     * @throws IllegalArgumentException if the level is not supported by the compression format
+     */
+    public BufferSettings withCompression(final CompressionFormat compression, final int level) {
+        final DefaultTableStoreSettings tableStoreSettings = m_outputFormat instanceof DefaultTableStoreFormat
+            ? ((DefaultTableStoreFormat)m_outputFormat).getTableStoreSettings()
+            : DefaultTableStoreSettings.getDefault();
+        return withOutputFormat(new DefaultTableStoreFormat(
+            tableStoreSettings.withCompression(compression).withCompressionLevel(level)));
+    }
+
+    /**
+     * Creates a new <code>BufferSettings</code> object by replicating the current <code>BufferSettings</code> instance
+     * and solely changes the number of writer threads.
+     *
+     * @param writerThreads the new number of threads serializing and compressing a table, 1 for sequential write
+     * @return a new instance of {@code BufferSettings}
+     * @throws IllegalArgumentException if the argument is not positive
+     */
+    public BufferSettings withWriterThreads(final int writerThreads) {
+        CheckUtils.checkArgument(writerThreads > 0, "Number of writer threads must be positive: %d", writerThreads);
+        return new BufferSettings(m_enableLRU, m_lruCacheSize, m_lruCacheBytes, m_outputFormat,
+            writerThreads, m_offHeapCacheSize, m_memoryMappedRead);
+    }
+
+    /**
+     * Creates a new <code>BufferSettings</code> object by replicating the current <code>BufferSettings</code> instance
+     * and solely changes whether uncompressed table files are memory-mapped when read. The bytes of the table are then
+     * scanned directly in the mapped file instead of being copied through stream buffers.
+     *
+     * @param memoryMappedRead <code>true</code> to memory-map uncompressed table files
+     * @return a new instance of {@code BufferSettings}
+     */
+    public BufferSettings withMemoryMappedRead(final boolean memoryMappedRead) {
+        return new BufferSettings(m_enableLRU, m_lruCacheSize, m_lruCacheBytes, m_outputFormat,
+            m_writerThreads, m_offHeapCacheSize, memoryMappedRead);
     }
 
 }
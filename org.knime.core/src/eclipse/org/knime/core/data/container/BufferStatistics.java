@@ -0,0 +1,436 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * An immutable snapshot of the statistics of the table cache ({@link BufferCache}) and of the temp files written, read
+ * and deleted by {@link Buffer buffers}. Counters are process-wide and accumulated since the start of the
+ * application. The same values are exposed via JMX as {@value #MBEAN_NAME}, see {@link BufferStatisticsMXBean}. The
+ * statistics of the file of a single buffer are available via {@link Buffer#getFileStatistics()}.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class BufferStatistics {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(BufferStatistics.class);
+
+    /** The name under which the {@link BufferStatisticsMXBean} is registered. */
+    public static final String MBEAN_NAME = "org.knime.core:type=BufferStatistics";
+
+    private static final LongAdder FILES_WRITTEN = new LongAdder();
+
+    private static final LongAdder BYTES_WRITTEN = new LongAdder();
+
+    private static final LongAdder WRITE_NANOS = new LongAdder();
+
+    private static final LongAdder FILES_READ = new LongAdder();
+
+    private static final LongAdder BYTES_READ = new LongAdder();
+
+    private static final LongAdder FILES_DELETED = new LongAdder();
+
+    private static final LongAdder BYTES_DELETED = new LongAdder();
+
+    private final long m_cachedTables;
+
+    private final long m_distinctTables;
+
+    private final long m_invalidatedTables;
+
+    private final long m_garbageCollectedTables;
+
+    private final long m_evictedTables;
+
+    private final long m_hardHits;
+
+    private final long m_softHits;
+
+    private final long m_weakHits;
+
+    private final long m_misses;
+
+    private final long m_lruCacheEstimatedBytes;
+
+    private final long m_filesWritten;
+
+    private final long m_bytesWritten;
+
+    private final long m_writeTimeMillis;
+
+    private final long m_filesRead;
+
+    private final long m_bytesRead;
+
+    private final long m_filesDeleted;
+
+    private final long m_bytesDeleted;
+
+    /** Creates a snapshot with the cache counters as per arguments and the current file counters. */
+    BufferStatistics(final long cachedTables, final long distinctTables, final long invalidatedTables,
+        final long garbageCollectedTables, final long evictedTables, final long hardHits, final long softHits,
+        final long weakHits, final long misses, final long lruCacheEstimatedBytes) {
+        m_cachedTables = cachedTables;
+        m_distinctTables = distinctTables;
+        m_invalidatedTables = invalidatedTables;
+        m_garbageCollectedTables = garbageCollectedTables;
+        m_evictedTables = evictedTables;
+        m_hardHits = hardHits;
+        m_softHits = softHits;
+        m_weakHits = weakHits;
+        m_misses = misses;
+        m_lruCacheEstimatedBytes = lruCacheEstimatedBytes;
+        m_filesWritten = FILES_WRITTEN.sum();
+        m_bytesWritten = BYTES_WRITTEN.sum();
+        m_writeTimeMillis = WRITE_NANOS.sum() / 1_000_000L;
+        m_filesRead = FILES_READ.sum();
+        m_bytesRead = BYTES_READ.sum();
+        m_filesDeleted = FILES_DELETED.sum();
+        m_bytesDeleted = BYTES_DELETED.sum();
+    }
+
+    /**
+     * Returns the current statistics.
+     *
+     * @return a new snapshot
+     */
+    public static BufferStatistics getSnapshot() {
+        return Buffer.getCacheStatistics();
+    }
+
+    /** Called by a buffer after it has written its temp file. */
+    static void onFileWritten(final long bytes, final long writeNanos) {
+        FILES_WRITTEN.increment();
+        BYTES_WRITTEN.add(bytes);
+        WRITE_NANOS.add(writeNanos);
+    }
+
+    /** Called by a buffer when an iterator on its file is created. */
+    static void onFileRead() {
+        FILES_READ.increment();
+    }
+
+    /** Called when a stream on a table file is closed, with the number of bytes actually read from the file. */
+    static void onBytesRead(final long bytes) {
+        BYTES_READ.add(bytes);
+    }
+
+    /** Called by a buffer when it deletes its temp file. */
+    static void onFileDeleted(final long bytes) {
+        FILES_DELETED.increment();
+        BYTES_DELETED.add(bytes);
+    }
+
+    /**
+     * Registers the {@link BufferStatisticsMXBean} with the platform MBean server, logs failures.
+     *
+     * @param cache the cache whose counters are exposed
+     */
+    static void registerMBean(final BufferCache cache) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(MBEAN_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new BufferStatisticsMBeanImpl(cache), name);
+            }
+        } catch (JMException | SecurityException e) {
+            LOGGER.debug("Unable to register buffer statistics MBean: " + e.getMessage(), e);
+        }
+    }
+
+    /** @return the number of tables currently held in memory by the cache */
+    public long getCachedTables() {
+        return m_cachedTables;
+    }
+
+    /** @return the number of distinct tables put into the cache */
+    public long getDistinctTables() {
+        return m_distinctTables;
+    }
+
+    /** @return the number of tables removed from the cache because their buffer was cleared */
+    public long getInvalidatedTables() {
+        return m_invalidatedTables;
+    }
+
+    /** @return the number of tables dropped from the cache by the garbage collector */
+    public long getGarbageCollectedTables() {
+        return m_garbageCollectedTables;
+    }
+
+    /** @return the number of tables evicted from the soft-references LRU cache (count, memory budget, low memory) */
+    public long getEvictedTables() {
+        return m_evictedTables;
+    }
+
+    /** @return the number of accesses to tables that are hard-referenced by the cache */
+    public long getHardHits() {
+        return m_hardHits;
+    }
+
+    /** @return the number of accesses to tables that are softly referenced by the cache */
+    public long getSoftHits() {
+        return m_softHits;
+    }
+
+    /** @return the number of accesses to tables that are only weakly referenced by the cache */
+    public long getWeakHits() {
+        return m_weakHits;
+    }
+
+    /** @return the number of accesses to tables not in memory, i.e. read from disc */
+    public long getMisses() {
+        return m_misses;
+    }
+
+    /** @return the estimated heap size of the tables in the soft-references LRU cache */
+    public long getLRUCacheEstimatedBytes() {
+        return m_lruCacheEstimatedBytes;
+    }
+
+    /** @return the number of temp files written */
+    public long getFilesWritten() {
+        return m_filesWritten;
+    }
+
+    /** @return the size of the temp files written in bytes */
+    public long getBytesWritten() {
+        return m_bytesWritten;
+    }
+
+    /** @return the time spent serializing rows to and closing temp files in milliseconds */
+    public long getWriteTimeMillis() {
+        return m_writeTimeMillis;
+    }
+
+    /** @return the number of iterations over table files */
+    public long getFilesRead() {
+        return m_filesRead;
+    }
+
+    /**
+     * @return the number of bytes read from table files (segments served from memory do not count), only counted
+     *         process-wide as the readers of the table store formats don't know their buffer
+     */
+    public long getBytesRead() {
+        return m_bytesRead;
+    }
+
+    /** @return the number of temp files deleted */
+    public long getFilesDeleted() {
+        return m_filesDeleted;
+    }
+
+    /** @return the size of the temp files deleted in bytes */
+    public long getBytesDeleted() {
+        return m_bytesDeleted;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return String.format(
+            "cached tables: %d (%d distinct, %d invalidated, %d garbage collected, %d evicted); "
+                + "hits: %d hard, %d soft, %d weak; misses: %d; LRU cache: %d MB; "
+                + "files: %d written (%d MB, %d ms), %d read (%d MB), %d deleted (%d MB)",
+            m_cachedTables, m_distinctTables, m_invalidatedTables, m_garbageCollectedTables, m_evictedTables,
+            m_hardHits, m_softHits, m_weakHits, m_misses, m_lruCacheEstimatedBytes >> 20, m_filesWritten,
+            m_bytesWritten >> 20, m_writeTimeMillis, m_filesRead, m_bytesRead >> 20, m_filesDeleted,
+            m_bytesDeleted >> 20);
+    }
+
+    /**
+     * An immutable snapshot of the statistics of the file of a single {@link Buffer}, see
+     * {@link Buffer#getFileStatistics()}. The bytes read are only counted process-wide, see
+     * {@link BufferStatistics#getBytesRead()}.
+     *
+     * @noreference This class is not intended to be referenced by clients.
+     */
+    public static final class FileStatistics {
+
+        private final long m_bytesWritten;
+
+        private final long m_writeTimeMillis;
+
+        private final long m_filesRead;
+
+        FileStatistics(final long bytesWritten, final long writeNanos, final long filesRead) {
+            m_bytesWritten = bytesWritten;
+            m_writeTimeMillis = writeNanos / 1_000_000L;
+            m_filesRead = filesRead;
+        }
+
+        /** @return the size of the temp file written by the buffer in bytes, 0 if it has not written a temp file */
+        public long getBytesWritten() {
+            return m_bytesWritten;
+        }
+
+        /** @return the time spent serializing rows to and closing the temp file in milliseconds */
+        public long getWriteTimeMillis() {
+            return m_writeTimeMillis;
+        }
+
+        /** @return the number of iterations over the file of the buffer */
+        public long getFilesRead() {
+            return m_filesRead;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return String.format("file: %d bytes written (%d ms), %d times read", m_bytesWritten, m_writeTimeMillis,
+                m_filesRead);
+        }
+    }
+
+    /** The MXBean, reads each attribute directly from the counters of the cache and the file counters. */
+    private static final class BufferStatisticsMBeanImpl implements BufferStatisticsMXBean {
+
+        private final BufferCache m_cache;
+
+        BufferStatisticsMBeanImpl(final BufferCache cache) {
+            m_cache = cache;
+        }
+
+        @Override
+        public long getCachedTables() {
+            return m_cache.getCachedTableCount();
+        }
+
+        @Override
+        public long getDistinctTables() {
+            return m_cache.getDistinctTableCount();
+        }
+
+        @Override
+        public long getInvalidatedTables() {
+            return m_cache.getInvalidatedTableCount();
+        }
+
+        @Override
+        public long getGarbageCollectedTables() {
+            return m_cache.getGarbageCollectedTableCount();
+        }
+
+        @Override
+        public long getEvictedTables() {
+            return m_cache.getEvictedTableCount();
+        }
+
+        @Override
+        public long getHardHits() {
+            return m_cache.getHardHitCount();
+        }
+
+        @Override
+        public long getSoftHits() {
+            return m_cache.getSoftHitCount();
+        }
+
+        @Override
+        public long getWeakHits() {
+            return m_cache.getWeakHitCount();
+        }
+
+        @Override
+        public long getMisses() {
+            return m_cache.getMissCount();
+        }
+
+        @Override
+        public long getLRUCacheEstimatedBytes() {
+            return m_cache.getLRUCacheUsedBytes();
+        }
+
+        @Override
+        public long getFilesWritten() {
+            return FILES_WRITTEN.sum();
+        }
+
+        @Override
+        public long getBytesWritten() {
+            return BYTES_WRITTEN.sum();
+        }
+
+        @Override
+        public long getWriteTimeMillis() {
+            return WRITE_NANOS.sum() / 1_000_000L;
+        }
+
+        @Override
+        public long getFilesRead() {
+            return FILES_READ.sum();
+        }
+
+        @Override
+        public long getBytesRead() {
+            return BYTES_READ.sum();
+        }
+
+        @Override
+        public long getFilesDeleted() {
+            return FILES_DELETED.sum();
+        }
+
+        @Override
+        public long getBytesDeleted() {
+            return BYTES_DELETED.sum();
+        }
+    }
+
+}
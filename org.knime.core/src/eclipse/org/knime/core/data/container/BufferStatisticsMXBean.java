@@ -0,0 +1,114 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+/**
+ * Management interface exposing the statistics of the table cache and of the temp files written and read by
+ * {@link Buffer buffers} via JMX, registered as {@value BufferStatistics#MBEAN_NAME}. Each attribute reflects the
+ * current value, see {@link BufferStatistics#getSnapshot()} for a consistent snapshot of all values. The counters are
+ * process-wide, there is no MBean per buffer (see {@link Buffer#getFileStatistics()} instead).
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @noreference This interface is not intended to be referenced by clients.
+ */
+public interface BufferStatisticsMXBean {
+
+    /** @return see {@link BufferStatistics#getCachedTables()} */
+    long getCachedTables();
+
+    /** @return see {@link BufferStatistics#getDistinctTables()} */
+    long getDistinctTables();
+
+    /** @return see {@link BufferStatistics#getInvalidatedTables()} */
+    long getInvalidatedTables();
+
+    /** @return see {@link BufferStatistics#getGarbageCollectedTables()} */
+    long getGarbageCollectedTables();
+
+    /** @return see {@link BufferStatistics#getEvictedTables()} */
+    long getEvictedTables();
+
+    /** @return see {@link BufferStatistics#getHardHits()} */
+    long getHardHits();
+
+    /** @return see {@link BufferStatistics#getSoftHits()} */
+    long getSoftHits();
+
+    /** @return see {@link BufferStatistics#getWeakHits()} */
+    long getWeakHits();
+
+    /** @return see {@link BufferStatistics#getMisses()} */
+    long getMisses();
+
+    /** @return see {@link BufferStatistics#getLRUCacheEstimatedBytes()} */
+    long getLRUCacheEstimatedBytes();
+
+    /** @return see {@link BufferStatistics#getFilesWritten()} */
+    long getFilesWritten();
+
+    /** @return see {@link BufferStatistics#getBytesWritten()} */
+    long getBytesWritten();
+
+    /** @return see {@link BufferStatistics#getWriteTimeMillis()} */
+    long getWriteTimeMillis();
+
+    /** @return see {@link BufferStatistics#getFilesRead()} */
+    long getFilesRead();
+
+    /** @return see {@link BufferStatistics#getBytesRead()} */
+    long getBytesRead();
+
+    /** @return see {@link BufferStatistics#getFilesDeleted()} */
+    long getFilesDeleted();
+
+    /** @return see {@link BufferStatistics#getBytesDeleted()} */
+    long getBytesDeleted();
+
+}
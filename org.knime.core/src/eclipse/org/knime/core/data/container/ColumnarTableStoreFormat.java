@@ -0,0 +1,192 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IDataRepository;
+import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.container.storage.TableStoreFormat;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+
+/**
+ * A table store format that persists tables column-wise. Rows are grouped into chunks; within each chunk the cells of
+ * each column are serialized into a separate, Snappy-compressed block. The file is terminated by a footer that records
+ * the location of each block, which allows readers to only read and decode the columns that are requested via
+ * {@link org.knime.core.data.RowIteratorBuilder#filterColumns(int...)} (all other cells are returned as
+ * {@link org.knime.core.data.UnmaterializedCell}).
+ *
+ * <p>
+ * Cells are serialized using the same mechanisms (cell serializers, blob and file store handling) as the
+ * {@link DefaultTableStoreFormat}, hence the format accepts any table. Blocks of string columns with few distinct
+ * values are dictionary encoded, see {@link DictionaryColumnBlock}.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noextend This class is not intended to be subclassed by clients.
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class ColumnarTableStoreFormat implements TableStoreFormat {
+
+    /** The version of the file layout, persisted in the format settings and validated by the reader. */
+    static final String VERSION = "columnar_2";
+
+    /** The first version of the file layout, without block encoding byte (all blocks plain). */
+    static final String VERSION_1 = "columnar_1";
+
+    /** Default maximum number of rows per chunk. */
+    static final int DEF_MAX_ROWS_PER_CHUNK = 4096;
+
+    /** Default maximum number of (uncompressed) bytes per chunk, summed over all columns. */
+    static final int DEF_MAX_BYTES_PER_CHUNK = 4 * 1024 * 1024;
+
+    private final int m_maxRowsPerChunk;
+
+    /** Default maximum number of distinct values in a dictionary encoded block. */
+    static final int DEF_MAX_DICTIONARY_SIZE = 1024;
+
+    private final int m_maxBytesPerChunk;
+
+    private final int m_maxDictionarySize;
+
+    /** Constructor used by the framework (extension point). */
+    public ColumnarTableStoreFormat() {
+        this(DEF_MAX_ROWS_PER_CHUNK, DEF_MAX_BYTES_PER_CHUNK);
+    }
+
+    /**
+     * Constructor allowing to tune the size of the chunks (used by tests).
+     *
+     * @param maxRowsPerChunk the maximum number of rows per chunk, &gt; 0
+     * @param maxBytesPerChunk the maximum number of uncompressed bytes per chunk (all columns), &gt; 0
+     */
+    ColumnarTableStoreFormat(final int maxRowsPerChunk, final int maxBytesPerChunk) {
+        this(maxRowsPerChunk, maxBytesPerChunk, DEF_MAX_DICTIONARY_SIZE);
+    }
+
+    /**
+     * Constructor allowing to tune the size of the chunks and the dictionary encoding (used by tests).
+     *
+     * @param maxRowsPerChunk the maximum number of rows per chunk, &gt; 0
+     * @param maxBytesPerChunk the maximum number of uncompressed bytes per chunk (all columns), &gt; 0
+     * @param maxDictionarySize the maximum number of distinct values of a dictionary encoded block, 0 to write all
+     *            blocks plain
+     */
+    ColumnarTableStoreFormat(final int maxRowsPerChunk, final int maxBytesPerChunk, final int maxDictionarySize) {
+        if (maxRowsPerChunk <= 0 || maxBytesPerChunk <= 0) {
+            throw new IllegalArgumentException("Chunk sizes must be positive: " + maxRowsPerChunk + ", "
+                + maxBytesPerChunk);
+        }
+        if (maxDictionarySize < 0) {
+            throw new IllegalArgumentException("Dictionary size must not be negative: " + maxDictionarySize);
+        }
+        m_maxRowsPerChunk = maxRowsPerChunk;
+        m_maxBytesPerChunk = maxBytesPerChunk;
+        m_maxDictionarySize = maxDictionarySize;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getName() {
+        return "Columnar (Snappy)";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getFilenameSuffix() {
+        return ".col.snappy";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean accepts(final DataTableSpec spec) {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbstractTableStoreWriter createWriter(final File binFile, final DataTableSpec spec,
+        final boolean writeRowKey) throws IOException {
+        return createWriter(new FileOutputStream(binFile), spec, writeRowKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbstractTableStoreWriter createWriter(final OutputStream output, final DataTableSpec spec,
+        final boolean writeRowKey) throws IOException {
+        return new ColumnarTableStoreWriter(spec, output, writeRowKey, m_maxRowsPerChunk, m_maxBytesPerChunk,
+            m_maxDictionarySize);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbstractTableStoreReader createReader(final File binFile, final DataTableSpec spec,
+        final IDataRepository dataRepository, final NodeSettingsRO settings, final int version,
+        final boolean isReadRowKey) throws IOException, InvalidSettingsException {
+        return new ColumnarTableStoreReader(binFile, spec, settings, version, isReadRowKey);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getVersion() {
+        return VERSION;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean validateVersion(final String versionString) {
+        return VERSION.equals(versionString) || VERSION_1.equals(versionString);
+    }
+
+}
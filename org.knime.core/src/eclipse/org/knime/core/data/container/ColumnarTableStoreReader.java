@@ -0,0 +1,551 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowIteratorBuilder;
+import org.knime.core.data.RowIteratorBuilder.ColumnPredicate;
+import org.knime.core.data.RowIteratorBuilder.DefaultRowIteratorBuilder;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.UnmaterializedCell;
+import org.knime.core.data.container.BufferFromFileIteratorVersion20.DataCellStreamReader;
+import org.knime.core.data.container.DCObjectInputVersion2.BlockableDCObjectInputVersion2;
+import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.NodeSettingsRO;
+import org.xerial.snappy.Snappy;
+
+/**
+ * Reader for the {@link ColumnarTableStoreFormat}. Iterators created via {@link #iteratorBuilder()} only read and
+ * decompress the column blocks of the columns selected via {@link RowIteratorBuilder#filterColumns(int...)} and of the
+ * chunks overlapping the row range selected via {@link RowIteratorBuilder#fromRow(long)} and
+ * {@link RowIteratorBuilder#toRow(long)}.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+final class ColumnarTableStoreReader extends AbstractTableStoreReader {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ColumnarTableStoreReader.class);
+
+    private final boolean m_isReadRowKey;
+
+    /** Whether the file contains the row keys as its first column. */
+    private final boolean m_hasRowKeys;
+
+    /** Whether blocks start with their encoding byte (not in files of {@link ColumnarTableStoreFormat#VERSION_1}). */
+    private final boolean m_hasBlockEncoding;
+
+    /** Footer of the file, read lazily when the first iterator is created. */
+    private Footer m_footer;
+
+    /**
+     * Constructs a reader for the columnar format.
+     *
+     * @param binFile the local file from which to read
+     * @param spec the specification of the data table
+     * @param settings The settings (written by
+     *            {@link AbstractTableStoreWriter#writeMetaInfoAfterWrite(org.knime.core.node.NodeSettingsWO)})
+     * @param version The version as defined in the {@link Buffer} class
+     * @param isReadRowKey whether or not row keys are to be read
+     * @throws IOException any type of I/O problem
+     * @throws InvalidSettingsException if the settings are invalid or written by an unknown version
+     */
+    ColumnarTableStoreReader(final File binFile, final DataTableSpec spec, final NodeSettingsRO settings,
+        final int version, final boolean isReadRowKey) throws IOException, InvalidSettingsException {
+        super(binFile, spec, settings, version);
+        final String columnarVersion = settings.getString(ColumnarTableStoreWriter.CFG_COLUMNAR_VERSION);
+        if (!ColumnarTableStoreFormat.VERSION.equals(columnarVersion)
+            && !ColumnarTableStoreFormat.VERSION_1.equals(columnarVersion)) {
+            throw new InvalidSettingsException("Unsupported version of columnar table format: \"" + columnarVersion
+                + "\" (expected \"" + ColumnarTableStoreFormat.VERSION + "\")");
+        }
+        m_hasBlockEncoding = !ColumnarTableStoreFormat.VERSION_1.equals(columnarVersion);
+        m_hasRowKeys = settings.getBoolean(ColumnarTableStoreWriter.CFG_COLUMNAR_HAS_ROW_KEYS);
+        readCellClassInfoArrayFromMetaVersion2(settings);
+        m_isReadRowKey = isReadRowKey && m_hasRowKeys;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TableStoreCloseableRowIterator iterator() {
+        return createIterator(null, 0L, Long.MAX_VALUE, Collections.emptyList());
+    }
+
+    /**
+     * {@inheritDoc} Column filters, row ranges and predicates are pushed down: chunks outside the row range are not
+     * read at all, and for rows rejected by a predicate the remaining columns are not deserialized.
+     */
+    @Override
+    public RowIteratorBuilder<? extends TableStoreCloseableRowIterator> iteratorBuilder() {
+        return new DefaultRowIteratorBuilder<TableStoreCloseableRowIterator>(() -> iterator(), getSpec()) {
+            @Override
+            public TableStoreCloseableRowIterator build() {
+                final TableStoreCloseableRowIterator iterator = createIterator(
+                    getFilteredColumnIndices().orElse(null), getFromRowIndex(), getToRowIndex(),
+                    getColumnPredicates());
+                registerNewIteratorInstance(iterator);
+                return iterator;
+            }
+        };
+    }
+
+    /**
+     * @param columnIndices sorted indices of the columns to materialize or null for all
+     * @param fromRowIndex index of the first row to return (inclusive)
+     * @param toRowIndex index of the last row to return (inclusive)
+     * @param predicates predicates rows must match, columns must be contained in the column indices
+     * @return a new iterator
+     */
+    private TableStoreCloseableRowIterator createIterator(final int[] columnIndices, final long fromRowIndex,
+        final long toRowIndex, final List<ColumnPredicate<?>> predicates) {
+        final int nrColumns = getSpec().getNumColumns();
+        final boolean[] materialize = new boolean[nrColumns];
+        if (columnIndices == null) {
+            Arrays.fill(materialize, true);
+        } else {
+            for (int i : columnIndices) {
+                materialize[i] = true;
+            }
+        }
+        try {
+            return new ColumnarRowIterator(getFooter(), materialize, fromRowIndex, toRowIndex,
+                predicates.toArray(new ColumnPredicate<?>[predicates.size()]));
+        } catch (IOException ioe) {
+            checkAndReportOpenFiles(ioe);
+            throw new RuntimeException("Cannot read file \"" + getFile().getName() + "\"", ioe);
+        }
+    }
+
+    private synchronized Footer getFooter() throws IOException {
+        if (m_footer == null) {
+            try (RandomAccessFile raf = new RandomAccessFile(getFile(), "r")) {
+                m_footer = Footer.read(raf);
+            }
+            final int expectedColumns = getSpec().getNumColumns() + (m_hasRowKeys ? 1 : 0);
+            if (m_footer.m_nrColumns != expectedColumns) {
+                throw new IOException("Invalid number of columns in file \"" + getFile().getName() + "\", expected "
+                    + expectedColumns + " but got " + m_footer.m_nrColumns);
+            }
+        }
+        return m_footer;
+    }
+
+    /** The cells of a column in a chunk, read row by row. */
+    interface ColumnBlock {
+
+        /**
+         * @return the cell of the next row
+         * @throws IOException if reading fails
+         */
+        DataCell read() throws IOException;
+
+        /**
+         * Steps over the cell of the next row.
+         *
+         * @throws IOException if reading fails
+         */
+        void skip() throws IOException;
+    }
+
+    /** A block of cells serialized one by one ({@link ColumnarTableStoreWriter#ENCODING_PLAIN}). */
+    private static final class PlainColumnBlock implements ColumnBlock {
+
+        private final BlockableDCObjectInputVersion2 m_stream;
+
+        private final DataCellStreamReader m_cellReader;
+
+        PlainColumnBlock(final BlockableDCObjectInputVersion2 stream, final DataCellStreamReader cellReader) {
+            m_stream = stream;
+            m_cellReader = cellReader;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataCell read() throws IOException {
+            try {
+                return m_cellReader.readDataCell(m_stream);
+            } finally {
+                m_stream.endBlock();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void skip() throws IOException {
+            m_stream.endBlock();
+        }
+    }
+
+    /** The footer of a file as written by {@link ColumnarTableStoreWriter}. */
+    private static final class Footer {
+
+        private final int m_nrColumns;
+
+        private final int[] m_chunkRowCounts;
+
+        /** [chunk][column] */
+        private final long[][] m_offsets;
+
+        /** [chunk][column] */
+        private final int[][] m_lengths;
+
+        private Footer(final int nrColumns, final int nrChunks) {
+            m_nrColumns = nrColumns;
+            m_chunkRowCounts = new int[nrChunks];
+            m_offsets = new long[nrChunks][nrColumns];
+            m_lengths = new int[nrChunks][nrColumns];
+        }
+
+        static Footer read(final RandomAccessFile raf) throws IOException {
+            final long length = raf.length();
+            if (length < Long.BYTES) {
+                throw new EOFException("File too short (" + length + " bytes) to contain a footer");
+            }
+            raf.seek(length - Long.BYTES);
+            final long footerOffset = raf.readLong();
+            if (footerOffset < 0 || footerOffset > length - Long.BYTES) {
+                throw new IOException("Invalid footer offset: " + footerOffset);
+            }
+            raf.seek(footerOffset);
+            final int nrColumns = raf.readInt();
+            final int nrChunks = raf.readInt();
+            final Footer footer = new Footer(nrColumns, nrChunks);
+            for (int c = 0; c < nrChunks; c++) {
+                footer.m_chunkRowCounts[c] = raf.readInt();
+                for (int i = 0; i < nrColumns; i++) {
+                    footer.m_offsets[c][i] = raf.readLong();
+                    footer.m_lengths[c][i] = raf.readInt();
+                }
+            }
+            return footer;
+        }
+    }
+
+    /** Iterator reading chunk by chunk, only decoding the selected columns. */
+    private final class ColumnarRowIterator extends TableStoreCloseableRowIterator {
+
+        private final Footer m_footerInfo;
+
+        /** Per table column whether to materialize it. */
+        private final boolean[] m_materialize;
+
+        /** Index of the first row to return (inclusive). */
+        private final long m_fromRowIndex;
+
+        /** Index of the row after the last row to return (exclusive). */
+        private final long m_endRowIndex;
+
+        private final ColumnPredicate<?>[] m_predicates;
+
+        private final DataCellStreamReader m_cellReader;
+
+        private FileChannel m_channel;
+
+        /** Compressed bytes read from {@link #m_channel}, reported to {@link BufferStatistics} on close. */
+        private long m_bytesRead;
+
+        /** Index of the chunk that is currently read, -1 before the first chunk is loaded. */
+        private int m_chunkIndex = -1;
+
+        /** Index (in the table) of the first row of the current chunk. */
+        private long m_chunkStartRowIndex;
+
+        /** Number of rows consumed (returned or skipped) from the current chunk. */
+        private int m_rowInChunk;
+
+        /** Stream on the row key block of the current chunk or null if keys are not read. */
+        private BlockableDCObjectInputVersion2 m_keyStream;
+
+        /** The column blocks of the current chunk, null for columns not materialized. */
+        private final ColumnBlock[] m_cellBlocks;
+
+        /** The next row to return, determined in {@link #hasNext()}. */
+        private BlobSupportDataRow m_next;
+
+        private boolean m_hasThrownReadException;
+
+        @SuppressWarnings("resource")
+        ColumnarRowIterator(final Footer footer, final boolean[] materialize, final long fromRowIndex,
+            final long toRowIndex, final ColumnPredicate<?>[] predicates) throws IOException {
+            m_footerInfo = footer;
+            m_materialize = materialize;
+            m_fromRowIndex = fromRowIndex;
+            m_endRowIndex = toRowIndex < Long.MAX_VALUE ? toRowIndex + 1 : Long.MAX_VALUE;
+            m_predicates = predicates;
+            m_cellReader = new DataCellStreamReader(ColumnarTableStoreReader.this);
+            m_cellBlocks = new ColumnBlock[materialize.length];
+            m_channel = new RandomAccessFile(getFile(), "r").getChannel();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized boolean hasNext() {
+            if (m_next != null) {
+                return true;
+            }
+            if (m_channel == null) {
+                return false;
+            }
+            m_next = readNextMatchingRow();
+            if (m_next == null) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized BlobSupportDataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Iterator at end");
+            }
+            final BlobSupportDataRow result = m_next;
+            m_next = null;
+            return result;
+        }
+
+        /** @return the next row in the range matching all predicates or null if there is none */
+        private BlobSupportDataRow readNextMatchingRow() {
+            final int[] rowCounts = m_footerInfo.m_chunkRowCounts;
+            while (true) {
+                if (m_chunkIndex < 0 || m_rowInChunk >= rowCounts[m_chunkIndex]) {
+                    // advance to the next chunk, skipping chunks before the range without reading them
+                    int chunk = m_chunkIndex + 1;
+                    long chunkStart = m_chunkIndex < 0 ? 0L : m_chunkStartRowIndex + rowCounts[m_chunkIndex];
+                    while (chunk < rowCounts.length && chunkStart + rowCounts[chunk] <= m_fromRowIndex) {
+                        chunkStart += rowCounts[chunk];
+                        chunk++;
+                    }
+                    if (chunk >= rowCounts.length || chunkStart >= m_endRowIndex) {
+                        return null;
+                    }
+                    loadChunk(chunk);
+                    m_chunkStartRowIndex = chunkStart;
+                    continue;
+                }
+                final long rowIndex = m_chunkStartRowIndex + m_rowInChunk;
+                if (rowIndex >= m_endRowIndex) {
+                    return null;
+                }
+                m_rowInChunk++;
+                final DataCell[] cells = new DataCell[m_materialize.length];
+                if (rowIndex < m_fromRowIndex || !testPredicates(cells, rowIndex)) {
+                    skipRemainder(cells);
+                    continue;
+                }
+                return readRemainder(cells, rowIndex);
+            }
+        }
+
+        /** Reads the cells tested by the predicates (into the argument array) and evaluates them. */
+        private boolean testPredicates(final DataCell[] cells, final long rowIndex) {
+            for (ColumnPredicate<?> predicate : m_predicates) {
+                final int col = predicate.getColumnIndex();
+                if (cells[col] == null) {
+                    cells[col] = readCell(col, rowIndex);
+                }
+                if (!predicate.test(cells[col])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** Steps over the blocks of the current row that have not been read yet. */
+        private void skipRemainder(final DataCell[] cells) {
+            try {
+                if (m_keyStream != null) {
+                    m_keyStream.endBlock();
+                }
+                for (int i = 0; i < cells.length; i++) {
+                    if (m_materialize[i] && cells[i] == null) {
+                        m_cellBlocks[i].skip();
+                    }
+                }
+            } catch (IOException ioe) {
+                throw new RuntimeException("Unable to skip row in file \"" + getFile().getName() + "\": "
+                    + ioe.getMessage(), ioe);
+            }
+        }
+
+        /** Reads the row key and all materialized cells of the current row that have not been read yet. */
+        private BlobSupportDataRow readRemainder(final DataCell[] cells, final long rowIndex) {
+            RowKey key;
+            if (m_keyStream == null) {
+                key = DUMMY_ROW_KEY;
+            } else {
+                try {
+                    try {
+                        key = m_keyStream.readRowKey();
+                    } finally {
+                        m_keyStream.endBlock();
+                    }
+                } catch (IOException ioe) {
+                    handleReadThrowable(ioe, rowIndex);
+                    key = new RowKey("Read_failed__auto_generated_key_" + rowIndex);
+                }
+            }
+            for (int i = 0; i < cells.length; i++) {
+                if (!m_materialize[i]) {
+                    cells[i] = UnmaterializedCell.getInstance();
+                } else if (cells[i] == null) {
+                    cells[i] = readCell(i, rowIndex);
+                }
+            }
+            return new BlobSupportDataRow(key, cells);
+        }
+
+        private DataCell readCell(final int column, final long rowIndex) {
+            try {
+                return m_cellBlocks[column].read();
+            } catch (Exception e) {
+                handleReadThrowable(e, rowIndex);
+                return DataType.getMissingCell();
+            }
+        }
+
+        /** Reads and decompresses the blocks of the selected columns of the argument chunk. */
+        private void loadChunk(final int chunkIndex) {
+            m_chunkIndex = chunkIndex;
+            m_rowInChunk = 0;
+            final int colOffset = m_hasRowKeys ? 1 : 0;
+            try {
+                if (m_isReadRowKey) {
+                    final ColumnBlock keyBlock = openBlock(chunkIndex, 0);
+                    if (!(keyBlock instanceof PlainColumnBlock)) {
+                        throw new IOException("Row keys not stored plain");
+                    }
+                    m_keyStream = ((PlainColumnBlock)keyBlock).m_stream;
+                    m_keyStream.setReadGeneratedRowKeys(getReadVersion() >= Buffer.GENERATED_ROW_KEY_VERSION);
+                } else {
+                    m_keyStream = null;
+                }
+                for (int i = 0; i < m_materialize.length; i++) {
+                    m_cellBlocks[i] = m_materialize[i] ? openBlock(chunkIndex, i + colOffset) : null;
+                }
+            } catch (IOException ioe) {
+                throw new RuntimeException("Unable to read chunk " + chunkIndex + " from file \""
+                    + getFile().getName() + "\": " + ioe.getMessage(), ioe);
+            }
+        }
+
+        private ColumnBlock openBlock(final int chunkIndex, final int column) throws IOException {
+            final ByteBuffer compressed = ByteBuffer.allocate(m_footerInfo.m_lengths[chunkIndex][column]);
+            long position = m_footerInfo.m_offsets[chunkIndex][column];
+            while (compressed.hasRemaining()) {
+                final int read = m_channel.read(compressed, position);
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of file while reading chunk " + chunkIndex);
+                }
+                position += read;
+            }
+            m_bytesRead += compressed.capacity();
+            final byte[] data = compressed.array();
+            final int offset = m_hasBlockEncoding ? 1 : 0;
+            final byte encoding = m_hasBlockEncoding ? data[0] : ColumnarTableStoreWriter.ENCODING_PLAIN;
+            final byte[] bytes = new byte[Snappy.uncompressedLength(data, offset, data.length - offset)];
+            Snappy.uncompress(data, offset, data.length - offset, bytes, 0);
+            switch (encoding) {
+            case ColumnarTableStoreWriter.ENCODING_PLAIN:
+                return new PlainColumnBlock(
+                    new BlockableDCObjectInputVersion2(new ByteArrayInputStream(bytes), m_cellReader), m_cellReader);
+            case ColumnarTableStoreWriter.ENCODING_DICTIONARY:
+                return new DictionaryColumnBlock.Reader(bytes, 0, bytes.length);
+            default:
+                throw new IOException(
+                    "Unknown encoding of block " + column + " in chunk " + chunkIndex + ": " + encoding);
+            }
+        }
+
+        /** Handle exceptions, make sure to issue errors only once. */
+        private void handleReadThrowable(final Throwable throwable, final long rowIndex) {
+            final String message = "Errors while reading row " + (rowIndex + 1) + " from file \""
+                + getFile().getName() + "\": " + throwable.getMessage();
+            if (!m_hasThrownReadException) {
+                LOGGER.error(message + "; Suppressing further warnings.", throwable);
+            } else {
+                LOGGER.debug(message, throwable);
+            }
+            m_hasThrownReadException = true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized boolean performClose() throws IOException {
+            if (m_channel == null) {
+                return false;
+            }
+            final FileChannel channel = m_channel;
+            m_channel = null;
+            m_next = null;
+            m_keyStream = null;
+            Arrays.fill(m_cellBlocks, null);
+            channel.close();
+            BufferStatistics.onBytesRead(m_bytesRead);
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,317 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.DCObjectOutputVersion2.BlockableDCObjectOutputVersion2;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.NodeSettingsWO;
+import org.xerial.snappy.Snappy;
+
+/**
+ * Writer for the {@link ColumnarTableStoreFormat}. Rows are collected column-wise in memory (in serialized form) until
+ * a chunk is full, then each column of the chunk is compressed and appended to the output. The footer containing the
+ * location of all column blocks is written when the writer is closed.
+ *
+ * <p>
+ * Blocks of string columns are dictionary encoded ({@link DictionaryColumnBlock}) unless the chunk contains other
+ * cells than strings and missing cells, more than the maximum number of distinct values or more distinct values than
+ * half its rows; such blocks are written plain, i.e. serialized cell by cell.
+ *
+ * <p>
+ * File layout:
+ *
+ * <pre>
+ *   chunk_0: block(column_0) ... block(column_n)
+ *   ...
+ *   chunk_m: block(column_0) ... block(column_n)
+ *   block:   byte encoding (plain or dictionary), compressed content
+ *   footer:  int #columns, int #chunks, for each chunk: int #rows, for each column: long offset, int length
+ *   long:    offset of footer
+ * </pre>
+ *
+ * If row keys are written, "column_0" contains the row keys, otherwise it is the first column of the table.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+final class ColumnarTableStoreWriter extends AbstractTableStoreWriter {
+
+    /** Config key for the file layout version. */
+    static final String CFG_COLUMNAR_VERSION = "columnar.version";
+
+    /** Config key for whether the file contains the row keys (as first column). */
+    static final String CFG_COLUMNAR_HAS_ROW_KEYS = "columnar.hasRowKeys";
+
+    /** Encoding of a block whose cells are serialized one by one (also used for the row keys). */
+    static final byte ENCODING_PLAIN = 0;
+
+    /** Encoding of a block written by {@link DictionaryColumnBlock}. */
+    static final byte ENCODING_DICTIONARY = 1;
+
+    /** The stream to the file, the position is tracked in {@link #m_position}. */
+    private final DataOutputStream m_out;
+
+    /** Per column (possibly including the row key column) buffer of the current chunk. */
+    private final ColumnChunkBuffer[] m_columnBuffers;
+
+    private final int m_maxRowsPerChunk;
+
+    private final int m_maxBytesPerChunk;
+
+    /** Meta information of all chunks written so far. */
+    private final List<ChunkInfo> m_chunks;
+
+    /** Number of bytes written to {@link #m_out}. */
+    private long m_position;
+
+    /** Number of rows in the current (not yet flushed) chunk. */
+    private int m_rowsInChunk;
+
+    private boolean m_isClosed;
+
+    /**
+     * Constructs a new writer.
+     *
+     * @param spec the specification of the table to write
+     * @param outputStream the stream to write to, will be closed when this writer is closed
+     * @param writeRowKey whether to persist the row keys
+     * @param maxRowsPerChunk maximum number of rows per chunk
+     * @param maxBytesPerChunk maximum number of (uncompressed) bytes per chunk
+     * @param maxDictionarySize maximum number of distinct values in a dictionary encoded block, 0 to disable
+     *            dictionary encoding
+     */
+    ColumnarTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey,
+        final int maxRowsPerChunk, final int maxBytesPerChunk, final int maxDictionarySize) {
+        super(spec, writeRowKey);
+        m_out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        m_maxRowsPerChunk = maxRowsPerChunk;
+        m_maxBytesPerChunk = maxBytesPerChunk;
+        final int colOffset = writeRowKey ? 1 : 0;
+        m_columnBuffers = new ColumnChunkBuffer[spec.getNumColumns() + colOffset];
+        for (int i = 0; i < m_columnBuffers.length; i++) {
+            final boolean isStringColumn =
+                i >= colOffset && StringCell.TYPE.equals(spec.getColumnSpec(i - colOffset).getType());
+            m_columnBuffers[i] = new ColumnChunkBuffer(this, isStringColumn ? maxDictionarySize : 0);
+        }
+        m_chunks = new ArrayList<>();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeRow(final DataRow row) throws IOException {
+        int colOffset = 0;
+        if (isWriteRowKey()) {
+            final BlockableDCObjectOutputVersion2 keyStream = m_columnBuffers[0].m_stream;
+            keyStream.writeRowKey(row.getKey());
+            keyStream.endBlock();
+            colOffset = 1;
+        }
+        for (int i = 0; i < row.getNumCells(); i++) {
+            final DataCell cell =
+                row instanceof BlobSupportDataRow ? ((BlobSupportDataRow)row).getRawCell(i) : row.getCell(i);
+            final ColumnChunkBuffer buffer = m_columnBuffers[i + colOffset];
+            if (buffer.m_dictionary != null) {
+                if (buffer.m_dictionary.add(cell)) {
+                    continue;
+                }
+                switchToPlain(buffer);
+            }
+            writeDataCell(cell, buffer.m_stream);
+            buffer.m_stream.endBlock();
+        }
+        m_rowsInChunk++;
+        if (m_rowsInChunk >= m_maxRowsPerChunk || getBytesInChunk() >= m_maxBytesPerChunk) {
+            flushChunk();
+        }
+    }
+
+    private long getBytesInChunk() {
+        long result = 0L;
+        for (ColumnChunkBuffer b : m_columnBuffers) {
+            result += b.m_dictionary != null ? b.m_dictionary.getByteSize() : b.m_bytes.size();
+        }
+        return result;
+    }
+
+    /** Serializes the cells collected by the dictionary of the buffer, the rest of the chunk is written plain. */
+    private void switchToPlain(final ColumnChunkBuffer buffer) throws IOException {
+        final DictionaryColumnBlock dictionary = buffer.m_dictionary;
+        buffer.m_dictionary = null;
+        for (int row = 0; row < dictionary.getRowCount(); row++) {
+            writeDataCell(dictionary.getCell(row), buffer.m_stream);
+            buffer.m_stream.endBlock();
+        }
+    }
+
+    /** Compresses and writes all column blocks of the current chunk, then resets the column buffers. */
+    private void flushChunk() throws IOException {
+        if (m_rowsInChunk == 0) {
+            return;
+        }
+        final long[] offsets = new long[m_columnBuffers.length];
+        final int[] lengths = new int[m_columnBuffers.length];
+        for (int i = 0; i < m_columnBuffers.length; i++) {
+            final ColumnChunkBuffer b = m_columnBuffers[i];
+            if (b.m_dictionary != null && b.m_dictionary.getNrValues() > m_rowsInChunk / 2) {
+                // hardly any repeated values, not worth the dictionary
+                switchToPlain(b);
+            }
+            final byte encoding;
+            final byte[] compressed;
+            if (b.m_dictionary != null) {
+                encoding = ENCODING_DICTIONARY;
+                compressed = Snappy.compress(b.m_dictionary.toByteArray());
+            } else {
+                encoding = ENCODING_PLAIN;
+                b.m_stream.flush();
+                compressed = Snappy.compress(b.m_bytes.toByteArray());
+                b.m_bytes.reset();
+            }
+            b.resetDictionary();
+            offsets[i] = m_position;
+            lengths[i] = 1 + compressed.length;
+            m_out.write(encoding);
+            m_out.write(compressed);
+            m_position += lengths[i];
+        }
+        m_chunks.add(new ChunkInfo(m_rowsInChunk, offsets, lengths));
+        m_rowsInChunk = 0;
+    }
+
+    /** Writes the footer and the trailing footer offset. */
+    private void writeFooter() throws IOException {
+        final long footerOffset = m_position;
+        m_out.writeInt(m_columnBuffers.length);
+        m_out.writeInt(m_chunks.size());
+        for (ChunkInfo chunk : m_chunks) {
+            m_out.writeInt(chunk.m_rowCount);
+            for (int i = 0; i < m_columnBuffers.length; i++) {
+                m_out.writeLong(chunk.m_offsets[i]);
+                m_out.writeInt(chunk.m_lengths[i]);
+            }
+        }
+        m_out.writeLong(footerOffset);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
+        settings.addString(CFG_COLUMNAR_VERSION, ColumnarTableStoreFormat.VERSION);
+        settings.addBoolean(CFG_COLUMNAR_HAS_ROW_KEYS, isWriteRowKey());
+        super.writeMetaInfoAfterWrite(settings);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        if (m_isClosed) {
+            return;
+        }
+        m_isClosed = true;
+        try {
+            flushChunk();
+            writeFooter();
+        } finally {
+            m_out.close();
+        }
+    }
+
+    /** The serialized (uncompressed) content of a single column in the current chunk. */
+    private static final class ColumnChunkBuffer {
+
+        private final ByteArrayOutputStream m_bytes;
+
+        private final BlockableDCObjectOutputVersion2 m_stream;
+
+        /** Maximum number of distinct values per dictionary, 0 if the column is not dictionary encoded. */
+        private final int m_maxDictionarySize;
+
+        /** The dictionary of the current chunk, null if the chunk is written plain. */
+        private DictionaryColumnBlock m_dictionary;
+
+        ColumnChunkBuffer(final AbstractTableStoreWriter writer, final int maxDictionarySize) {
+            m_bytes = new ByteArrayOutputStream();
+            m_stream = new BlockableDCObjectOutputVersion2(m_bytes, writer);
+            m_maxDictionarySize = maxDictionarySize;
+            resetDictionary();
+        }
+
+        /** Starts a new dictionary for the next chunk (if the column is dictionary encoded). */
+        void resetDictionary() {
+            m_dictionary = m_maxDictionarySize > 0 ? new DictionaryColumnBlock(m_maxDictionarySize) : null;
+        }
+    }
+
+    /** Location of the column blocks of a chunk as written to the footer. */
+    private static final class ChunkInfo {
+
+        private final int m_rowCount;
+
+        private final long[] m_offsets;
+
+        private final int[] m_lengths;
+
+        ChunkInfo(final int rowCount, final long[] offsets, final int[] lengths) {
+            m_rowCount = rowCount;
+            m_offsets = offsets;
+            m_lengths = lengths;
+        }
+    }
+
+}
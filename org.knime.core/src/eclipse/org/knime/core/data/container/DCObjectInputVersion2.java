@@ -83,6 +83,9 @@ public class DCObjectInputVersion2 implements KNIMEStreamConstants {
      * de-serialization takes place. May be null. */
     private ClassLoader m_priorityClassLoader;
 
+    /** Whether generated row keys are stored by their index, see {@link #setReadGeneratedRowKeys(boolean)}. */
+    private boolean m_readGeneratedRowKeys;
+
     /**
      * Creates new input stream that reads from <code>in</code>.
      * @param in The stream to read from.
@@ -150,12 +153,45 @@ BlobAddress readBlobAddress() throws IOException {
         return BlobAddress.deserialize(m_dataIn);
     }
 
+    /** Sets whether the stream has been written with a version that stores generated row keys by their index
+     * ({@link Buffer#GENERATED_ROW_KEY_VERSION} or later). Older streams may contain strings that start like the
+     * compact encoding.
+     * @param readGeneratedRowKeys whether to decode generated row keys in {@link #readRowKey()}
+     */
+    void setReadGeneratedRowKeys(final boolean readGeneratedRowKeys) {
+        m_readGeneratedRowKeys = readGeneratedRowKeys;
+    }
+
     /** Reads a row key from the stream.
      * @return A new row key instance.
      * @throws IOException If IO problems occur.
      */
     RowKey readRowKey() throws IOException {
-        return new RowKey(m_dataIn.readUTF());
+        if (!m_readGeneratedRowKeys) {
+            return new RowKey(m_dataIn.readUTF());
+        }
+        final int header = m_dataIn.readUnsignedShort();
+        if (header != LongUTFDataOutputStream.USE_LONG_UTF) {
+            return new RowKey(m_dataIn.readUTFBody(header));
+        }
+        final int first = m_dataIn.readUnsignedByte();
+        if ((byte)first == BYTE_GENERATED_ROW_KEY) {
+            long index = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = m_dataIn.readUnsignedByte();
+                index |= (long)(b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return RowKey.createRowKey(index);
+        }
+        // a long string, 'first' is the most significant byte of its length
+        long utflen = first;
+        for (int i = 0; i < 7; i++) {
+            utflen = (utflen << 8) | m_dataIn.readUnsignedByte();
+        }
+        return new RowKey(m_dataIn.readUTFBody(utflen));
     }
 
     /** Reads a single byte from the stream.
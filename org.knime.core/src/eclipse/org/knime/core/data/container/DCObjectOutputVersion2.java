@@ -129,12 +129,28 @@ public void writeBlobAddress(final BlobAddress address) throws IOException {
         address.serialize(m_dataOut);
     }
 
-    /** Writes a row key by writing the underlying string to the stream.
+    /** Writes a row key by writing the underlying string to the stream. Generated keys
+     * ({@link RowKey#createRowKey(long)}) are written as the long UTF header followed by
+     * {@link #BYTE_GENERATED_ROW_KEY} and the row index as varint. Streams are always written with the current
+     * {@link Buffer#VERSION}, readers of files older than {@link Buffer#GENERATED_ROW_KEY_VERSION} don't decode
+     * this (and older releases don't read files of the current version).
      * @param key Key to write
      * @throws IOException In case of stream corruption.
      */
     void writeRowKey(final RowKey key) throws IOException {
-        m_dataOut.writeUTF(key.getString());
+        long index = key.getGeneratedIndex();
+        if (index < 0) {
+            m_dataOut.writeUTF(key.getString());
+            return;
+        }
+        m_dataOut.writeShort(LongUTFDataOutputStream.USE_LONG_UTF);
+        m_dataOut.writeByte(BYTE_GENERATED_ROW_KEY);
+        // unsigned LEB128, 7 bits per byte, high bit set if more bytes follow
+        while ((index & ~0x7FL) != 0) {
+            m_dataOut.writeByte((int)(index & 0x7F) | 0x80);
+            index >>>= 7;
+        }
+        m_dataOut.writeByte((int)index);
     }
 
     /** Writes the argument byte.
@@ -198,7 +214,7 @@ static final class BlockableDCObjectOutputVersion2 extends DCObjectOutputVersion
         private final BlockableOutputStream m_out;
 
         private BlockableDCObjectOutputVersion2(final BlockableOutputStream out,
-            final DefaultTableStoreWriter tableStoreWriter) {
+            final AbstractTableStoreWriter tableStoreWriter) {
             super(out, tableStoreWriter);
             m_out = out;
         }
@@ -208,7 +224,7 @@ private BlockableDCObjectOutputVersion2(final BlockableOutputStream out,
          * @param tableStoreWriter the corresponding writer (callback for embedded cell writing)
          */
         @SuppressWarnings("resource")
-        BlockableDCObjectOutputVersion2(final OutputStream out, final DefaultTableStoreWriter tableStoreWriter) {
+        BlockableDCObjectOutputVersion2(final OutputStream out, final AbstractTableStoreWriter tableStoreWriter) {
             this(new BlockableOutputStream(out), tableStoreWriter);
         }
 
@@ -245,6 +245,12 @@ public Thread newThread(final Runnable r) {
     /** Holds the keys of the added rows to check for duplicates. */
     private IDuplicateChecker m_duplicateChecker;
 
+    /**
+     * Whether {@link #m_duplicateChecker} checks the keys in the background, see {@link ASyncDuplicateChecker}. Its
+     * exceptions then already carry the row number (if known).
+     */
+    private final boolean m_isASyncDuplicateCheck;
+
     /** The tablespec of the return table. */
     private DataTableSpec m_spec;
 
@@ -348,6 +354,14 @@ public DataContainer(final DataTableSpec spec, final DataContainerSettings setti
             isSynchronousWrite = true;
         }
         m_isSynchronousWrite = isSynchronousWrite;
+        // keys are checked by background tasks unless synchronous IO is configured (or checks are disabled); these
+        // tasks obey the same limit of write threads (checking in the calling thread if exceeded)
+        m_isASyncDuplicateCheck =
+            !settings.useSyncIO() && !Boolean.getBoolean(KNIMEConstants.PROPERTY_DISABLE_ROWID_DUPLICATE_CHECK);
+        if (m_isASyncDuplicateCheck) {
+            m_duplicateChecker = new ASyncDuplicateChecker(m_duplicateChecker, NodeContext.getContext(),
+                settings.getMaxAsyncWriteThreads());
+        }
         if (m_isSynchronousWrite) {
             m_rowBuffer = null;
             m_writeThrowable = null;
@@ -538,6 +552,9 @@ public void close() {
         } catch (IOException ioe) {
             throw new DataContainerException("Failed to check for duplicate row IDs", ioe);
         } catch (DuplicateKeyException dke) {
+            if (m_isASyncDuplicateCheck) {
+                throw new DuplicateKeyException(dke);
+            }
             String key = dke.getKey();
             throw new DuplicateKeyException("Found duplicate row ID \"" + key + "\" (at unknown position)", key);
         }
@@ -729,7 +746,8 @@ protected int createInternalBufferID() {
      * duplicates being added whatsoever.
      *
      * @param key Key being added. This implementation extracts the string representation from it and adds it to an
-     *            internal {@link DuplicateChecker} instance.
+     *            internal {@link DuplicateChecker} instance. Unless synchronous IO is configured, the keys are
+     *            checked in the background, so a duplicate may be reported by a later call or by {@link #close()}.
      * @throws DataContainerException This implementation may throw a <code>DataContainerException</code> when
      *             {@link DuplicateChecker#addKey(String)} throws an {@link IOException}.
      * @throws DuplicateKeyException If a duplicate is encountered.
@@ -741,6 +759,9 @@ protected void addRowKeyForDuplicateCheck(final RowKey key) {
             throw new DataContainerException(
                 ioe.getClass().getSimpleName() + " while checking for duplicate row IDs: " + ioe.getMessage(), ioe);
         } catch (DuplicateKeyException dke) {
+            if (m_isASyncDuplicateCheck) {
+                throw new DuplicateKeyException(dke);
+            }
             throw new DuplicateKeyException(
                 "Encountered duplicate row ID  \"" + dke.getKey() + "\" at row number " + (m_buffer.size() + 1),
                 dke.getKey());
@@ -56,6 +56,7 @@
 import org.knime.core.data.DataTableDomainCreator;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.IDataTableDomainCreator;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
 import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.workflow.ConfigurableWorkflowContext;
@@ -63,6 +64,7 @@
 import org.knime.core.node.workflow.WorkflowContext;
 import org.knime.core.node.workflow.WorkflowManager;
 import org.knime.core.util.DuplicateChecker;
+import org.knime.core.util.HashDuplicateChecker;
 import org.knime.core.util.IDuplicateChecker;
 
 /**
@@ -250,7 +252,7 @@ private DataContainerSettings() {
         m_asyncCacheSize = initAsyncCacheSize();
         m_initDomain = initDomain();
         m_maxDomainValues = initMaxDomainValues();
-        m_duplicateCheckerCreator = () -> new DuplicateChecker();
+        m_duplicateCheckerCreator = initDuplicateCheckerCreator();
         m_tableDomainCreatorFunction = (spec, initDomain) -> new DataTableDomainCreator(spec, initDomain);
         m_bufferSettings = DEFAULT_BUFFER_INSTANCE;
     }
@@ -493,6 +495,45 @@ public DataContainerSettings withBufferSettings(final BufferSettings bufferSetti
         return b.build();
     }
 
+    /**
+     * Returns the number of threads serializing and compressing a table while it is written to disc. Shortcut for
+     * <code>getBufferSettings().getWriterThreads()</code>.
+     *
+     * @return the number of writer threads, 1 if tables are written sequentially
+     */
+    public int getWriterThreads() {
+        return m_bufferSettings.getWriterThreads();
+    }
+
+    /**
+     * Creates a new <code>DataContainerSetting</code> object by replicating the current
+     * <code>DataContainerSetting</code> instance and solely changes the number of threads serializing and compressing
+     * the table (see {@link BufferSettings#withWriterThreads(int)}). With more than one thread, blocks of rows are
+     * serialized and compressed in parallel and written to disc in order; the file format is unaffected.
+     *
+     * @param writerThreads the new number of writer threads, 1 for sequential write
+     * @return a new instance of {@code DataContainerSettings}
+     */
+    public DataContainerSettings withWriterThreads(final int writerThreads) {
+        return withBufferSettings(m_bufferSettings.withWriterThreads(writerThreads));
+    }
+
+    /**
+     * Creates a new <code>DataContainerSetting</code> object by replicating the current
+     * <code>DataContainerSetting</code> instance and solely changes the compression of the table, e.g. LZ4 for
+     * intermediate tables that are written often or GZIP with a high level for tables saved with the workflow (see
+     * {@link BufferSettings#withCompression(CompressionFormat, int)}).
+     *
+     * @param compression the compression format
+     * @param level the compression level, {@link DefaultTableStoreFormat#DEFAULT_COMPRESSION_LEVEL} for the codec's
+     *            default
+     * @return a new instance of {@code DataContainerSettings}
+     * @throws IllegalArgumentException if the level is not supported by the compression format
+     */
+    public DataContainerSettings withCompression(final CompressionFormat compression, final int level) {
+        return withBufferSettings(m_bufferSettings.withCompression(compression, level));
+    }
+
     /**
      * Initializes the maximum number of cells in memory w.r.t. the defined properties.
      *
@@ -534,6 +575,21 @@ private static boolean initSynchronousIO() {
         }
     }
 
+    /**
+     * Initializes the duplicate checker creator w.r.t. the defined properties.
+     *
+     * @return the function creating the hash-based duplicate checker, or the sort-based one if
+     *         {@link KNIMEConstants#PROPERTY_ROWID_DUPLICATE_CHECK_SORT} is set
+     */
+    private static Supplier<IDuplicateChecker> initDuplicateCheckerCreator() {
+        if (Boolean.getBoolean(KNIMEConstants.PROPERTY_ROWID_DUPLICATE_CHECK_SORT)) {
+            LOGGER.debug("Using sort-based duplicate checker; " + KNIMEConstants.PROPERTY_ROWID_DUPLICATE_CHECK_SORT
+                + " is set");
+            return () -> new DuplicateChecker();
+        }
+        return () -> new HashDuplicateChecker();
+    }
+
     /**
      * Initializes the maximum number of asynchronous write threads depending on the OS architecture.
      *
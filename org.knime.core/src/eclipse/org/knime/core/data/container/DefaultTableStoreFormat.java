@@ -50,11 +50,11 @@
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -74,6 +74,7 @@
 
 import net.jpountz.lz4.LZ4BlockInputStream;
 import net.jpountz.lz4.LZ4BlockOutputStream;
+import net.jpountz.lz4.LZ4Factory;
 
 /**
  * The default table store format used to read data from / write data to disc.
@@ -95,6 +96,24 @@ public final class DefaultTableStoreFormat implements TableStoreFormat {
     /** Compression format. */
     private static final String CFG_COMPRESSION = "container.compression";
 
+    /** Compression level, only written if not the codec's default level (informative, not needed for reading). */
+    private static final String CFG_COMPRESSION_LEVEL = "container.compression.level";
+
+    /**
+     * The compression level denoting the codec's default level, see
+     * {@link DefaultTableStoreSettings#withCompressionLevel(int)}.
+     */
+    public static final int DEFAULT_COMPRESSION_LEVEL = -1;
+
+    /** Block size of LZ4 streams, same as the default of {@link LZ4BlockOutputStream}. */
+    private static final int LZ4_BLOCK_SIZE = 1 << 16;
+
+    /** The default number of rows per entry in the {@link RowOffsetIndex}. */
+    private static final int DEF_ROWS_PER_INDEX_ENTRY = 16384;
+
+    /** Use the default number of rows per index entry of the compression format, see settings class. */
+    private static final int FORMAT_DEFAULT_ROWS_PER_INDEX_ENTRY = -1;
+
     /**
      * Checked function interface throwing an IOException.
      *
@@ -115,6 +134,34 @@ public final class DefaultTableStoreFormat implements TableStoreFormat {
         R apply(T t) throws IOException;
     }
 
+    /**
+     * Checked function creating a compressed output stream with a given compression level.
+     *
+     * @author agent, KNIME AG, Zurich, Switzerland
+     */
+    @FunctionalInterface
+    private static interface CheckedIOCompressorFunction {
+
+        /**
+         * Wraps the argument stream in a compressing stream.
+         *
+         * @param out the stream to write the compressed bytes to
+         * @param level the compression level or {@link DefaultTableStoreFormat#DEFAULT_COMPRESSION_LEVEL}
+         * @return the compressing stream
+         * @throws IOException - If the stream cannot be created
+         */
+        OutputStream apply(OutputStream out, int level) throws IOException;
+    }
+
+    /** GZip output stream using a given deflate level. */
+    private static final class LevelGZIPOutputStream extends GZIPOutputStream {
+
+        LevelGZIPOutputStream(final OutputStream out, final int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+
     /**
      * Various compression formats for KNIME datatables.
      *
@@ -124,24 +171,29 @@ public final class DefaultTableStoreFormat implements TableStoreFormat {
     public static enum CompressionFormat {
 
             /** No compression. */
-            NONE(".bin", //
+            NONE(".bin", 0, 0, //
                 i -> new BufferedInputStream(i), //
-                o -> o),
+                (o, l) -> o),
 
-            /** GZip compression. */
-            GZIP(".bin.gz", //
+            /** GZip compression, levels 1 (fastest) to 9 (best compression). */
+            GZIP(".bin.gz", Deflater.BEST_SPEED, Deflater.BEST_COMPRESSION, //
                 i -> new BufferedInputStream(new GZIPInputStream(i)), //
-                o -> new BufferedOutputStream(new GZIPOutputStream(o))),
+                (o, l) -> new BufferedOutputStream(
+                    l == DEFAULT_COMPRESSION_LEVEL ? new GZIPOutputStream(o) : new LevelGZIPOutputStream(o, l))),
 
-            /** LZ4 compression. */
-            LZ4(".bin.lz4", //
+            /**
+             * LZ4 compression. The default level uses the fast compressor, levels 1 to 17 the high compression
+             * compressor (the file format is the same).
+             */
+            LZ4(".bin.lz4", 1, 17, //
                 i -> new BufferedInputStream(new LZ4BlockInputStream(i)), //
-                o -> new BufferedOutputStream(new LZ4BlockOutputStream(o))),
+                (o, l) -> new BufferedOutputStream(l == DEFAULT_COMPRESSION_LEVEL ? new LZ4BlockOutputStream(o)
+                    : new LZ4BlockOutputStream(o, LZ4_BLOCK_SIZE, LZ4Factory.fastestInstance().highCompressor(l)))),
 
             /** Snappy compression. */
-            SNAPPY(".bin.snappy", //
+            SNAPPY(".bin.snappy", 0, 0, //
                 i -> new BufferedInputStream(new SnappyInputStream(i)), //
-                o -> new BufferedOutputStream(new SnappyOutputStream(o)));
+                (o, l) -> new BufferedOutputStream(new SnappyOutputStream(o)));
 
         /** The file name extension. */
         private final String m_fileNameExtension;
@@ -150,21 +202,40 @@ public static enum CompressionFormat {
         private final CheckedIOFunction<InputStream, InputStream> m_inFunc;
 
         /** The output stream create function. */
-        private final CheckedIOFunction<OutputStream, OutputStream> m_outFunc;
+        private final CheckedIOCompressorFunction m_outFunc;
+
+        /** The range of supported compression levels, both 0 if the format has no levels. */
+        private final int m_minLevel;
+
+        private final int m_maxLevel;
 
         /**
          * Constructor.
          *
          * @param fileNameExtension the file name extension
+         * @param minLevel the minimum compression level, 0 if the format has no levels
+         * @param maxLevel the maximum compression level, 0 if the format has no levels
          */
-        private CompressionFormat(final String fileNameExtension,
-            final CheckedIOFunction<InputStream, InputStream> inFunc,
-            final CheckedIOFunction<OutputStream, OutputStream> outFunc) {
+        private CompressionFormat(final String fileNameExtension, final int minLevel, final int maxLevel,
+            final CheckedIOFunction<InputStream, InputStream> inFunc, final CheckedIOCompressorFunction outFunc) {
             m_fileNameExtension = fileNameExtension;
+            m_minLevel = minLevel;
+            m_maxLevel = maxLevel;
             m_inFunc = inFunc;
             m_outFunc = outFunc;
         }
 
+        /**
+         * Returns whether the argument is a valid compression level for this format, i.e. either
+         * {@link DefaultTableStoreFormat#DEFAULT_COMPRESSION_LEVEL} or a level in the format's range.
+         *
+         * @param level the level to test
+         * @return whether the level is supported
+         */
+        public boolean isValidLevel(final int level) {
+            return level == DEFAULT_COMPRESSION_LEVEL || (level >= m_minLevel && level <= m_maxLevel && m_maxLevel > 0);
+        }
+
         /**
          * Returns the file name extension.
          *
@@ -182,6 +253,13 @@ void saveSettings(final NodeSettingsWO settings) {
             settings.addString(DefaultTableStoreFormat.CFG_COMPRESSION, WordUtils.capitalize(name().toLowerCase()));
         }
 
+        void saveSettings(final NodeSettingsWO settings, final int level) {
+            saveSettings(settings);
+            if (level != DEFAULT_COMPRESSION_LEVEL) {
+                settings.addInt(DefaultTableStoreFormat.CFG_COMPRESSION_LEVEL, level);
+            }
+        }
+
         /**
          * Returns the compressed output stream.
          *
@@ -190,8 +268,20 @@ void saveSettings(final NodeSettingsWO settings) {
          * @throws IOException - If GZip compression fails
          */
         OutputStream getOutputStream(final OutputStream out) throws IOException {
+            return getOutputStream(out, DEFAULT_COMPRESSION_LEVEL);
+        }
+
+        /**
+         * Returns the compressed output stream using the given compression level.
+         *
+         * @param out the output stream
+         * @param level the compression level, see {@link #isValidLevel(int)}
+         * @return the compressed output stream
+         * @throws IOException - If GZip compression fails
+         */
+        OutputStream getOutputStream(final OutputStream out, final int level) throws IOException {
             try {
-                return m_outFunc.apply(out);
+                return m_outFunc.apply(out, level);
             } catch (final IOException e) {
                 out.close();
                 throw e;
@@ -205,13 +295,22 @@ OutputStream getOutputStream(final OutputStream out) throws IOException {
          * @return the compressed input stream
          * @throws IOException - If the input file does not exist or GZip compression fails
          */
-        @SuppressWarnings("resource")
         InputStream getInputStream(final File file) throws IOException {
-            final FileInputStream fis = new FileInputStream(file);
+            return getInputStream(new CountingFileInputStream(file));
+        }
+
+        /**
+         * Returns the uncompressed input stream.
+         *
+         * @param in the (compressed) stream to read from, closed if the decompressor cannot be created
+         * @return the uncompressed input stream
+         * @throws IOException - If the decompressor cannot be created, e.g. because of an invalid stream header
+         */
+        InputStream getInputStream(final InputStream in) throws IOException {
             try {
-                return m_inFunc.apply(fis);
+                return m_inFunc.apply(in);
             } catch (final IOException e) {
-                fis.close();
+                in.close();
                 throw e;
             }
         }
@@ -280,6 +379,15 @@ public DefaultTableStoreFormat(final DefaultTableStoreSettings tableStoreSetting
         m_tableStoreSettings = tableStoreSettings;
     }
 
+    /**
+     * Returns the table store settings, e.g. to derive settings with a different compression.
+     *
+     * @return the table store settings
+     */
+    public DefaultTableStoreSettings getTableStoreSettings() {
+        return m_tableStoreSettings;
+    }
+
     @Override
     public String getName() {
         return "Default";
@@ -307,7 +415,8 @@ public AbstractTableStoreWriter createWriter(final File binFile, final DataTable
     @Override
     public AbstractTableStoreWriter createWriter(final OutputStream output, final DataTableSpec spec,
         final boolean writeRowKey) throws IOException {
-        return new DefaultTableStoreWriter(spec, output, writeRowKey, m_tableStoreSettings.getCompressionFormat());
+        return new DefaultTableStoreWriter(spec, output, writeRowKey, m_tableStoreSettings.getCompressionFormat(),
+            m_tableStoreSettings.getCompressionLevel(), m_tableStoreSettings.getRowsPerIndexEntry());
     }
 
     @Override
@@ -346,6 +455,15 @@ public static final class DefaultTableStoreSettings {
         /** The compression format. */
         private final CompressionFormat m_compType;
 
+        /** The compression level, {@link DefaultTableStoreFormat#DEFAULT_COMPRESSION_LEVEL} for the default. */
+        private final int m_compLevel;
+
+        /**
+         * Number of rows per compressed segment (entry in the {@link RowOffsetIndex}), 0 to disable the index,
+         * {@link DefaultTableStoreFormat#FORMAT_DEFAULT_ROWS_PER_INDEX_ENTRY} to use the default of the compression.
+         */
+        private final int m_rowsPerIndexEntry;
+
         /** The default instance. */
         private static final DefaultTableStoreSettings DEFAULT_INSTANCE = new DefaultTableStoreSettings();
 
@@ -365,7 +483,28 @@ private DefaultTableStoreSettings() {
                 }
                 m_compType = compFormat;
             }
+            m_compLevel = initCompressionLevel(m_compType);
+            m_rowsPerIndexEntry = FORMAT_DEFAULT_ROWS_PER_INDEX_ENTRY;
+        }
 
+        /** Reads the compression level from the system properties, the default level if not set or invalid. */
+        private static int initCompressionLevel(final CompressionFormat compFormat) {
+            final String levelString = System.getProperty(KNIMEConstants.PROPERTY_TABLE_COMPRESSION_LEVEL);
+            if (levelString == null) {
+                return DEFAULT_COMPRESSION_LEVEL;
+            }
+            try {
+                final int level = Integer.parseInt(levelString.trim());
+                if (compFormat.isValidLevel(level)) {
+                    LOGGER.debug("Setting table stream compression level to " + level);
+                    return level;
+                }
+            } catch (final NumberFormatException nfe) {
+                // warning below
+            }
+            LOGGER.warn("Unable to read property " + KNIMEConstants.PROPERTY_TABLE_COMPRESSION_LEVEL + " (\""
+                + levelString + "\") for compression " + compFormat + "; using default level");
+            return DEFAULT_COMPRESSION_LEVEL;
         }
 
         /**
@@ -381,9 +520,14 @@ public static DefaultTableStoreSettings getDefault() {
          * Constructor.
          *
          * @param compFormat the compression format
+         * @param compLevel the compression level
+         * @param rowsPerIndexEntry the number of rows per entry in the row offset index
          */
-        private DefaultTableStoreSettings(final CompressionFormat compFormat) {
+        private DefaultTableStoreSettings(final CompressionFormat compFormat, final int compLevel,
+            final int rowsPerIndexEntry) {
             m_compType = compFormat;
+            m_compLevel = compLevel;
+            m_rowsPerIndexEntry = rowsPerIndexEntry;
         }
 
         /**
@@ -396,14 +540,71 @@ CompressionFormat getCompressionFormat() {
         }
 
         /**
-         * Returns a copy using the new compression format.
+         * Returns a copy using the new compression format. The compression level is reset to the default level if it
+         * is not supported by the new format.
          *
          * @param compFormat the compression format to be used
          * @return a copy using the new compression format
          */
-        @SuppressWarnings("static-method")
         public DefaultTableStoreSettings withCompression(final CompressionFormat compFormat) {
-            return new DefaultTableStoreSettings(compFormat);
+            final int compLevel = compFormat.isValidLevel(m_compLevel) ? m_compLevel : DEFAULT_COMPRESSION_LEVEL;
+            return new DefaultTableStoreSettings(compFormat, compLevel, m_rowsPerIndexEntry);
+        }
+
+        /**
+         * Returns the compression level.
+         *
+         * @return the compression level, {@link DefaultTableStoreFormat#DEFAULT_COMPRESSION_LEVEL} for the codec's
+         *         default
+         */
+        int getCompressionLevel() {
+            return m_compLevel;
+        }
+
+        /**
+         * Returns a copy using the new compression level, trading CPU time for smaller files. The level only affects
+         * writing; files are read the same regardless of their compression level.
+         *
+         * @param compLevel the compression level, {@link DefaultTableStoreFormat#DEFAULT_COMPRESSION_LEVEL} for the
+         *            codec's default, otherwise in the range of the current compression format (1-9 for GZIP, 1-17
+         *            for LZ4)
+         * @return a copy using the new compression level
+         * @throws IllegalArgumentException if the level is not supported by the current compression format
+         */
+        public DefaultTableStoreSettings withCompressionLevel(final int compLevel) {
+            if (!m_compType.isValidLevel(compLevel)) {
+                throw new IllegalArgumentException(
+                    "Compression level " + compLevel + " not supported by compression format " + m_compType);
+            }
+            return new DefaultTableStoreSettings(m_compType, compLevel, m_rowsPerIndexEntry);
+        }
+
+        /**
+         * Returns the number of rows per entry in the row offset index. Unless set explicitly, LZ4 compressed files
+         * are not segmented: earlier versions read the file as one compressed stream and their
+         * {@link LZ4BlockInputStream} stops at the end mark of the first segment. Concatenated GZIP and Snappy streams
+         * are read as one stream by all versions.
+         *
+         * @return the number of rows per index entry, 0 if no index is written
+         */
+        int getRowsPerIndexEntry() {
+            if (m_rowsPerIndexEntry != FORMAT_DEFAULT_ROWS_PER_INDEX_ENTRY) {
+                return m_rowsPerIndexEntry;
+            }
+            return m_compType == CompressionFormat.LZ4 ? 0 : DEF_ROWS_PER_INDEX_ENTRY;
+        }
+
+        /**
+         * Returns a copy using the new number of rows per entry in the row offset index.
+         *
+         * @param rowsPerIndexEntry the number of rows per index entry, 0 to not write an index
+         * @return a copy using the new number of rows per index entry
+         */
+        public DefaultTableStoreSettings withRowsPerIndexEntry(final int rowsPerIndexEntry) {
+            if (rowsPerIndexEntry < 0) {
+                throw new IllegalArgumentException("Rows per index entry must not be negative: " + rowsPerIndexEntry);
+            }
+            return new DefaultTableStoreSettings(m_compType, m_compLevel, rowsPerIndexEntry);
         }
     }
 
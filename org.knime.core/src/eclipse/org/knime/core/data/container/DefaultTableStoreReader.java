@@ -50,8 +50,13 @@
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Optional;
+import java.util.function.Predicate;
 
+import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowIteratorBuilder;
+import org.knime.core.data.RowIteratorBuilder.DefaultRowIteratorBuilder;
 import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
@@ -72,6 +77,9 @@ final class DefaultTableStoreReader extends AbstractTableStoreReader {
 
     private final boolean m_isReadRowKey;
 
+    /** Index of the independently compressed segments in the file, null if the file consists of one segment. */
+    private final RowOffsetIndex m_rowOffsetIndex;
+
     /**
      * Constructs a reader for materializing serialized KNIME tables.
      *
@@ -108,15 +116,30 @@ final class DefaultTableStoreReader extends AbstractTableStoreReader {
             cF = CompressionFormat.GZIP;
         }
         m_compressionFormat = cF;
+        m_rowOffsetIndex = version >= 8 ? RowOffsetIndex.load(settings) : null;
     }
 
     @Override
     public TableStoreCloseableRowIterator iterator() {
+        return iterator(0L, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns an iterator over the given row range. For streams written by KNIME 2.0 and later, rows before the range
+     * are skipped without deserializing their cells.
+     *
+     * @param fromRowIndex index of the first row to return (inclusive)
+     * @param toRowIndex index of the last row to return (inclusive)
+     * @return a new (not yet registered) iterator
+     */
+    private TableStoreCloseableRowIterator iterator(final long fromRowIndex, final long toRowIndex) {
         try {
             if (getReadVersion() <= 5) { // 2.0 tech preview and before
-                return new BufferFromFileIteratorVersion1x(this);
+                final TableStoreCloseableRowIterator it = new BufferFromFileIteratorVersion1x(this);
+                return fromRowIndex > 0 || toRowIndex < Long.MAX_VALUE
+                    ? filterIterator(it, fromRowIndex, toRowIndex, null) : it;
             } else {
-                return new BufferFromFileIteratorVersion20(this);
+                return new BufferFromFileIteratorVersion20(this, fromRowIndex, toRowIndex);
             }
         } catch (IOException ioe) {
             StringBuilder b = new StringBuilder("Cannot read file \"");
@@ -127,11 +150,51 @@ public TableStoreCloseableRowIterator iterator() {
         }
     }
 
+    /**
+     * {@inheritDoc} Row ranges are applied by the file iterator directly, predicates by wrapping it.
+     */
+    @Override
+    public RowIteratorBuilder<? extends TableStoreCloseableRowIterator> iteratorBuilder() {
+        return new DefaultRowIteratorBuilder<TableStoreCloseableRowIterator>(() -> iterator(), m_spec) {
+            @Override
+            public TableStoreCloseableRowIterator build() {
+                TableStoreCloseableRowIterator iterator = iterator(getFromRowIndex(), getToRowIndex());
+                final Optional<Predicate<DataRow>> predicate = getRowPredicate();
+                if (predicate.isPresent()) {
+                    iterator = filterIterator(iterator, 0L, Long.MAX_VALUE, predicate.get());
+                }
+                registerNewIteratorInstance(iterator);
+                return iterator;
+            }
+        };
+    }
+
     /** @return Whether stream is zipped. */
     CompressionFormat getBinFileCompressionFormat() {
         return m_compressionFormat;
     }
 
+    /** @return The index of compressed segments in the file or null if the file has no index. */
+    RowOffsetIndex getRowOffsetIndex() {
+        return m_rowOffsetIndex;
+    }
+
+    /** @return The unique ID of the buffer reading the file, -1 if not set. */
+    long getBufferUniqueID() {
+        final Buffer buffer = getBuffer();
+        return buffer != null ? buffer.getUniqueID() : -1L;
+    }
+
+    /**
+     * @return whether the file is uncompressed and is to be memory-mapped when read, see
+     *         {@link MappedFileInputStream}
+     */
+    boolean isMemoryMappedRead() {
+        final Buffer buffer = getBuffer();
+        return m_compressionFormat == CompressionFormat.NONE && buffer != null
+            && buffer.getBufferSettings().useMemoryMappedRead();
+    }
+
     /** @return Underlying binary file. */
     final File getBinFile() {
         return m_binFile;
@@ -179,9 +242,36 @@ abstract static class FromFileIterator extends TableStoreCloseableRowIterator im
          *             stream
          */
         static final InputStream getInputStream(final DefaultTableStoreReader tableFormatReader)
+            throws IOException {
+            return getInputStream(tableFormatReader, 0);
+        }
+
+        /**
+         * Opens the (decompressed) input stream, starting at the given segment of the {@link RowOffsetIndex}.
+         *
+         * @param tableFormatReader the table format reader
+         * @param segment the segment to start reading at, must be 0 if the reader has no row offset index. The
+         *            {@link OffHeapSegmentStore} is used if enabled and the file has an index, uncompressed files are
+         *            memory-mapped if {@link DefaultTableStoreReader#isMemoryMappedRead() configured}.
+         * @return the (decompressed) input stream
+         * @throws IOException - If the file could not be opened or the an error occurred creating the (decompressed)
+         *             stream
+         */
+        static final InputStream getInputStream(final DefaultTableStoreReader tableFormatReader, final int segment)
             throws IOException {
             // get the decompression format
             final CompressionFormat cType = tableFormatReader.getBinFileCompressionFormat();
+            final RowOffsetIndex index = tableFormatReader.getRowOffsetIndex();
+            if (tableFormatReader.isMemoryMappedRead()) {
+                // uncompressed segments are contiguous, read from the start of the segment to the end of the file
+                return new MappedFileInputStream(tableFormatReader.getBinFile(),
+                    index != null ? index.getOffset(segment) : 0L);
+            }
+            if (index != null) {
+                return new SegmentedInputStream(tableFormatReader.getBinFile(), cType, index, segment,
+                    tableFormatReader.getBufferUniqueID());
+            }
+            assert segment == 0 : "Stream has no segments, can't start reading at segment " + segment;
             // return the (decompressed) stream
             return cType.getInputStream(tableFormatReader.getBinFile());
         }
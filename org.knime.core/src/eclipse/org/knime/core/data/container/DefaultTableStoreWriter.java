@@ -48,9 +48,23 @@
 package org.knime.core.data.container;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
@@ -58,7 +72,10 @@
 import org.knime.core.data.container.DCObjectOutputVersion2.BlockableDCObjectOutputVersion2;
 import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.ThreadUtils;
 
 /**
  * The default table store writer used to write tables to disc.
@@ -66,15 +83,59 @@
  */
 final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements KNIMEStreamConstants {
 
+    /** The node logger for this class. */
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(DefaultTableStoreWriter.class);
+
+    /** Executor serializing and compressing segments in parallel, see {@link #setWriterThreads(int)}. */
+    private static final ExecutorService SEGMENT_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger m_threadCount = new AtomicInteger();
+
+        /** {@inheritDoc} */
+        @Override
+        public Thread newThread(final Runnable r) {
+            return new Thread(r, "KNIME-TableSegmentWriter-" + m_threadCount.incrementAndGet());
+        }
+    });
+
     /**
      * the stream that writes to the file, it's a special object output stream, in which we can mark the end of an entry
-     * (to figure out when a cell implementation reads too many or too few bytes).
+     * (to figure out when a cell implementation reads too many or too few bytes). Created with the first row, null
+     * when segments are written in parallel.
      */
-    private final BlockableDCObjectOutputVersion2 m_outStream;
+    private BlockableDCObjectOutputVersion2 m_outStream;
 
     /** The compression format. */
     private final CompressionFormat m_compFormat;
 
+    /** The compression level, {@link DefaultTableStoreFormat#DEFAULT_COMPRESSION_LEVEL} for the codec's default. */
+    private final int m_compLevel;
+
+    /** The (buffered) stream to the file, counting the bytes written so far. Segments are written to it. */
+    private final CountingOutputStream m_countingOutStream;
+
+    /** Number of rows per compressed segment, 0 if the stream is not segmented (no index is written). */
+    private final int m_rowsPerIndexEntry;
+
+    /** Byte offsets of the segments written so far, see {@link RowOffsetIndex}. */
+    private long[] m_segmentOffsets = new long[]{0L};
+
+    private int m_segmentCount = 1;
+
+    /** Number of rows written so far. */
+    private long m_rowCount;
+
+    /** Maximum number of segments being serialized and compressed at the same time, 1 if written sequentially. */
+    private int m_writerThreads = 1;
+
+    /** Rows of the segment not yet handed to the {@link #SEGMENT_EXECUTOR}, null if written sequentially. */
+    private List<DataRow> m_pendingRows;
+
+    /** The segments handed to the {@link #SEGMENT_EXECUTOR}, in row order. Null if written sequentially. */
+    private ArrayDeque<Future<byte[]>> m_segmentsInProgress;
+
+    /** Number of segments written to the file, only used when written in parallel. */
+    private int m_committedSegmentCount;
+
     /**
      * Constructs a writer for writing KNIME tables to disk using the given compression format.
      *
@@ -82,13 +143,42 @@ final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements
      * @param outputStream
      * @param writeRowKey a flag that determines whether to store the row keys in the Parquet file
      * @param compFormat the compression format
+     * @param compLevel the compression level, see {@link CompressionFormat#isValidLevel(int)}
+     * @param rowsPerIndexEntry the number of rows per compressed segment (entry in the {@link RowOffsetIndex}), 0 to
+     *            write a single segment
      * @throws IOException any type of I/O problem
      */
     public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey,
-        final CompressionFormat compFormat) throws IOException {
+        final CompressionFormat compFormat, final int compLevel, final int rowsPerIndexEntry) throws IOException {
         super(spec, writeRowKey);
+        CheckUtils.checkArgument(compFormat.isValidLevel(compLevel), "Invalid compression level for %s: %d",
+            compFormat, compLevel);
         m_compFormat = compFormat;
-        m_outStream = initOutFile(new BufferedOutputStream(outputStream));
+        m_compLevel = compLevel;
+        m_rowsPerIndexEntry = rowsPerIndexEntry;
+        m_countingOutStream = new CountingOutputStream(new BufferedOutputStream(outputStream));
+    }
+
+    /**
+     * Sets the number of threads serializing and compressing rows. If larger than 1, the rows of each segment (see
+     * {@link RowOffsetIndex}) are serialized and compressed into memory by a pool of threads and written to the file in
+     * order, so that the file content is the same as when written sequentially. Up to
+     * <code>(writerThreads + 1) * rowsPerIndexEntry</code> rows are held by this writer. Has no effect if the stream is
+     * not segmented. Must be called before the first row is written.
+     *
+     * @param writerThreads the maximum number of segments serialized at the same time, &gt; 0
+     */
+    void setWriterThreads(final int writerThreads) {
+        CheckUtils.checkArgument(writerThreads > 0, "Number of writer threads must be positive: %d", writerThreads);
+        CheckUtils.checkState(m_outStream == null && m_pendingRows == null && m_rowCount == 0,
+            "Rows have already been written");
+        if (writerThreads > 1 && m_rowsPerIndexEntry > 0) {
+            m_writerThreads = writerThreads;
+            m_pendingRows = new ArrayList<>(m_rowsPerIndexEntry);
+            m_segmentsInProgress = new ArrayDeque<>();
+        } else if (writerThreads > 1) {
+            LOGGER.debug("Not writing table in parallel as stream is not segmented");
+        }
     }
 
     /**
@@ -98,15 +188,32 @@ public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outp
      */
     @Override
     public void writeRow(final DataRow row) throws IOException {
+        if (m_pendingRows != null) {
+            m_pendingRows.add(row);
+            if (m_pendingRows.size() == m_rowsPerIndexEntry) {
+                submitPendingRows();
+            }
+            return;
+        }
+        if (m_outStream == null) {
+            m_outStream = initOutFile(m_countingOutStream);
+        } else if (m_rowsPerIndexEntry > 0 && m_rowCount > 0 && m_rowCount % m_rowsPerIndexEntry == 0) {
+            startNewSegment();
+        }
+        m_rowCount++;
+        writeRow(row, m_outStream);
+    }
+
+    private void writeRow(final DataRow row, final BlockableDCObjectOutputVersion2 outStream) throws IOException {
         RowKey id = row.getKey();
-        writeRowKey(id, m_outStream);
+        writeRowKey(id, outStream);
         for (int i = 0; i < row.getNumCells(); i++) {
             DataCell cell =
                 row instanceof BlobSupportDataRow ? ((BlobSupportDataRow)row).getRawCell(i) : row.getCell(i);
-            writeDataCell(cell, m_outStream);
-            m_outStream.endBlock();
+            writeDataCell(cell, outStream);
+            outStream.endBlock();
         }
-        m_outStream.endRow();
+        outStream.endRow();
     }
 
     /**
@@ -125,25 +232,121 @@ void writeRowKey(final RowKey key, final BlockableDCObjectOutputVersion2 outStre
     }
 
     /**
-     * Creates short cut array and wraps the argument stream in a {@link DCObjectOutputVersion2}.
+     * Finishes the current compressed segment (without closing the file) and starts a new one, whose offset is
+     * recorded in the index. Each segment can be decompressed independently.
+     */
+    private void startNewSegment() throws IOException {
+        m_outStream.close();
+        addSegmentOffset(m_countingOutStream.getByteCount());
+        m_outStream = initOutFile(m_countingOutStream);
+    }
+
+    private void addSegmentOffset(final long offset) {
+        if (m_segmentCount == m_segmentOffsets.length) {
+            m_segmentOffsets = Arrays.copyOf(m_segmentOffsets, 2 * m_segmentCount);
+        }
+        m_segmentOffsets[m_segmentCount++] = offset;
+    }
+
+    /**
+     * Hands the pending rows to the {@link #SEGMENT_EXECUTOR} and writes finished segments to the file, blocking if
+     * more than the configured number of segments are in progress.
+     */
+    private void submitPendingRows() throws IOException {
+        final List<DataRow> rows = m_pendingRows;
+        m_pendingRows = new ArrayList<>(m_rowsPerIndexEntry);
+        m_segmentsInProgress.add(SEGMENT_EXECUTOR.submit(ThreadUtils.callableWithContext(() -> writeSegment(rows),
+            false)));
+        while (m_segmentsInProgress.size() > m_writerThreads) {
+            commitSegment();
+        }
+    }
+
+    /** Serializes and compresses the argument rows into memory (run by the {@link #SEGMENT_EXECUTOR}). */
+    private byte[] writeSegment(final List<DataRow> rows) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BlockableDCObjectOutputVersion2 outStream = initOutFile(bytes)) {
+            for (DataRow row : rows) {
+                writeRow(row, outStream);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Waits for the oldest segment in progress and appends it to the file. */
+    private void commitSegment() throws IOException {
+        final Future<byte[]> future = m_segmentsInProgress.poll();
+        final byte[] segment;
+        try {
+            segment = future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException ioe = new InterruptedIOException("Interrupted while writing table");
+            ioe.initCause(ie);
+            throw ioe;
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IOException("Writing rows threw " + cause.getClass().getSimpleName(), cause);
+        }
+        if (m_committedSegmentCount > 0) {
+            addSegmentOffset(m_countingOutStream.getByteCount());
+        }
+        m_committedSegmentCount++;
+        m_countingOutStream.write(segment);
+    }
+
+    /**
+     * Creates short cut array and wraps the argument stream in a {@link DCObjectOutputVersion2}. The argument stream
+     * is not closed when the returned stream is closed.
      */
     @SuppressWarnings("resource")
     private BlockableDCObjectOutputVersion2 initOutFile(final OutputStream outStream) throws IOException {
-        final OutputStream out = m_compFormat.getOutputStream(outStream);
+        final OutputStream out = m_compFormat.getOutputStream(new CloseShieldOutputStream(outStream), m_compLevel);
         return new BlockableDCObjectOutputVersion2(out, this);
     }
 
     /** {@inheritDoc} */
     @Override
     public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
-        m_compFormat.saveSettings(settings);
+        m_compFormat.saveSettings(settings, m_compLevel);
+        if (m_segmentCount > 1) {
+            new RowOffsetIndex(m_rowsPerIndexEntry, Arrays.copyOf(m_segmentOffsets, m_segmentCount)).save(settings);
+        }
         super.writeMetaInfoAfterWrite(settings);
     }
 
     /** {@inheritDoc} */
     @Override
     public void close() throws IOException {
-        m_outStream.close();
+        try {
+            if (m_pendingRows != null) {
+                // last (possibly empty if there are no rows at all) segment
+                if (!m_pendingRows.isEmpty() || m_committedSegmentCount + m_segmentsInProgress.size() == 0) {
+                    submitPendingRows();
+                }
+                while (!m_segmentsInProgress.isEmpty()) {
+                    commitSegment();
+                }
+            } else {
+                if (m_outStream == null) {
+                    m_outStream = initOutFile(m_countingOutStream);
+                }
+                m_outStream.close();
+            }
+        } finally {
+            if (m_segmentsInProgress != null) {
+                m_segmentsInProgress.forEach(f -> f.cancel(true));
+                m_segmentsInProgress.clear();
+            }
+            m_countingOutStream.close();
+        }
     }
 
 }
@@ -0,0 +1,230 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Dictionary encoding of the cells of a string column within one chunk of the {@link ColumnarTableStoreFormat}. Each
+ * distinct string is stored once, rows refer to it by a varint code; the reader hands out one shared
+ * {@link StringCell} instance per distinct value.
+ *
+ * <p>
+ * Block layout (before compression):
+ *
+ * <pre>
+ *   int #values, #values x UTF string, #rows x varint code (0: missing cell, i: value i - 1)
+ * </pre>
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+final class DictionaryColumnBlock {
+
+    /** Code of the (singleton) missing cell. */
+    private static final int MISSING_CODE = 0;
+
+    private final int m_maxValues;
+
+    private final Map<String, Integer> m_codes = new HashMap<>();
+
+    private final List<StringCell> m_values = new ArrayList<>();
+
+    private int[] m_rowCodes = new int[64];
+
+    private int m_rowCount;
+
+    /** Estimate of the encoded size in bytes. */
+    private long m_byteSize = Integer.BYTES;
+
+    /** @param maxValues the maximum number of distinct values, see {@link #add(DataCell)} */
+    DictionaryColumnBlock(final int maxValues) {
+        m_maxValues = maxValues;
+    }
+
+    /**
+     * Adds the cell of the next row.
+     *
+     * @param cell the cell to add
+     * @return <code>false</code> if the cell can't be encoded (not a string or a missing cell with error) or the
+     *         number of distinct values exceeds the maximum; the cell is then not added
+     */
+    boolean add(final DataCell cell) {
+        final int code;
+        if (cell == DataType.getMissingCell()) {
+            code = MISSING_CODE;
+        } else if (cell instanceof StringCell) {
+            final StringCell stringCell = (StringCell)cell;
+            final Integer existing = m_codes.get(stringCell.getStringValue());
+            if (existing != null) {
+                code = existing;
+            } else if (m_values.size() >= m_maxValues) {
+                return false;
+            } else {
+                m_values.add(stringCell);
+                code = m_values.size();
+                m_codes.put(stringCell.getStringValue(), code);
+                m_byteSize += 2 + stringCell.getStringValue().length();
+            }
+        } else {
+            return false;
+        }
+        if (m_rowCount == m_rowCodes.length) {
+            m_rowCodes = Arrays.copyOf(m_rowCodes, 2 * m_rowCount);
+        }
+        m_rowCodes[m_rowCount++] = code;
+        m_byteSize += code < 0x80 ? 1 : 2;
+        return true;
+    }
+
+    /** @return number of rows added */
+    int getRowCount() {
+        return m_rowCount;
+    }
+
+    /** @return number of distinct (non-missing) values */
+    int getNrValues() {
+        return m_values.size();
+    }
+
+    /** @return an estimate of the size of {@link #toByteArray()} */
+    long getByteSize() {
+        return m_byteSize;
+    }
+
+    /**
+     * @param row index of the row
+     * @return the cell added for the row
+     */
+    DataCell getCell(final int row) {
+        final int code = m_rowCodes[row];
+        return code == MISSING_CODE ? DataType.getMissingCell() : m_values.get(code - 1);
+    }
+
+    /**
+     * @return the encoded block
+     * @throws IOException not expected as written to memory
+     */
+    byte[] toByteArray() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream((int)Math.min(m_byteSize, Integer.MAX_VALUE));
+        try (LongUTFDataOutputStream out = new LongUTFDataOutputStream(new DataOutputStream(bytes))) {
+            out.writeInt(m_values.size());
+            for (StringCell value : m_values) {
+                out.writeUTF(value.getStringValue());
+            }
+            for (int i = 0; i < m_rowCount; i++) {
+                int code = m_rowCodes[i];
+                while ((code & ~0x7F) != 0) {
+                    out.writeByte((code & 0x7F) | 0x80);
+                    code >>>= 7;
+                }
+                out.writeByte(code);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Reads the cells of a block created by {@link DictionaryColumnBlock#toByteArray()}, row by row. */
+    static final class Reader implements ColumnarTableStoreReader.ColumnBlock {
+
+        private final StringCell[] m_values;
+
+        private final LongUTFDataInputStream m_in;
+
+        /**
+         * @param data the encoded block
+         * @param offset offset of the block in the array
+         * @param length length of the block
+         * @throws IOException if the block is corrupt
+         */
+        Reader(final byte[] data, final int offset, final int length) throws IOException {
+            m_in = new LongUTFDataInputStream(new DataInputStream(new ByteArrayInputStream(data, offset, length)));
+            m_values = new StringCell[m_in.readInt()];
+            for (int i = 0; i < m_values.length; i++) {
+                m_values[i] = new StringCell(m_in.readUTF());
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataCell read() throws IOException {
+            final int code = readCode();
+            return code == MISSING_CODE ? DataType.getMissingCell() : m_values[code - 1];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void skip() throws IOException {
+            readCode();
+        }
+
+        private int readCode() throws IOException {
+            int code = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = m_in.readUnsignedByte();
+                code |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return code;
+        }
+    }
+}
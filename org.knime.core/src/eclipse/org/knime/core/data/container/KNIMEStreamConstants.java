@@ -81,5 +81,11 @@ public interface KNIMEStreamConstants {
     /** Separator for different rows. */
     static final byte BYTE_ROW_SEPARATOR = BYTE_TYPE_MISSING + 3;
 
+    /**
+     * Marks a generated row key, which is written as its row index (varint) after the long UTF header. The header of
+     * a long string is followed by its length as 8 byte long, whose first byte is 0.
+     */
+    static final byte BYTE_GENERATED_ROW_KEY = (byte)0xFF;
+
 
 }
@@ -254,9 +254,10 @@ public String readUTF() throws IOException {
     /**
      * Reads in the "body" (i.e., the UTF representation minus the 2-byte or
      * 8-byte length header) of a UTF encoding, which occupies the next utflen
-     * bytes.
+     * bytes. Package scope so that row keys can be read with their own header,
+     * see {@link DCObjectInputVersion2}.
      */
-    private String readUTFBody(final long utflength) throws IOException {
+    String readUTFBody(final long utflength) throws IOException {
         long utflen = utflength;
         StringBuilder sbuf = new StringBuilder();
         m_pos = 0;
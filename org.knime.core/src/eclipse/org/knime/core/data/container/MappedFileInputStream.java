@@ -0,0 +1,189 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Input stream on a memory-mapped (uncompressed) table file. The file is mapped in windows of at most
+ * {@value #MAX_WINDOW_SIZE} bytes (a single mapping is limited to 2GB), which are mapped one after another while
+ * reading. Reading from the stream does not copy the file content into intermediate buffers; the
+ * {@link BlockableInputStream} scans the {@link #getBuffer() mapped buffer} directly.
+ *
+ * <p>
+ * Only used for files written with {@link DefaultTableStoreFormat.CompressionFormat#NONE}, see
+ * {@link BufferSettings#useMemoryMappedRead()}. This class is not thread-safe.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+final class MappedFileInputStream extends InputStream {
+
+    /** Maximum size of a single mapping. */
+    static final int MAX_WINDOW_SIZE = 1 << 30;
+
+    private final FileChannel m_channel;
+
+    private final long m_end;
+
+    /** File position at which reading started, see {@link #close()}. */
+    private final long m_start;
+
+    /** File position of the end of the current window. */
+    private long m_windowEnd;
+
+    /** The current window, empty if all bytes have been read. */
+    private MappedByteBuffer m_buffer;
+
+    /**
+     * Maps the file, starting at the given position.
+     *
+     * @param file the file to read
+     * @param position the file position to start reading at
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    MappedFileInputStream(final File file, final long position) throws IOException {
+        @SuppressWarnings("resource")
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        m_channel = raf.getChannel();
+        try {
+            m_end = m_channel.size();
+            m_windowEnd = Math.min(position, m_end);
+            m_start = m_windowEnd;
+            mapNextWindow();
+        } catch (IOException ioe) {
+            m_channel.close();
+            throw ioe;
+        }
+    }
+
+    /** Maps the window following the current one. Returns false if the end of the file has been reached. */
+    private boolean mapNextWindow() throws IOException {
+        final long start = m_windowEnd;
+        if (start >= m_end && m_buffer != null) {
+            return false;
+        }
+        final long size = Math.min(m_end - start, MAX_WINDOW_SIZE);
+        m_buffer = m_channel.map(MapMode.READ_ONLY, start, size);
+        m_windowEnd = start + size;
+        return size > 0;
+    }
+
+    /**
+     * Returns the current window with at least one remaining byte, mapping the next window if the current one has been
+     * read completely. Callers may read from the returned buffer, its position is the position of this stream.
+     *
+     * @return the mapped buffer or null if the end of the file has been reached
+     * @throws IOException if mapping the next window fails
+     */
+    ByteBuffer getBuffer() throws IOException {
+        while (!m_buffer.hasRemaining()) {
+            if (!mapNextWindow()) {
+                return null;
+            }
+        }
+        return m_buffer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() throws IOException {
+        final ByteBuffer buffer = getBuffer();
+        return buffer != null ? buffer.get() & 0xFF : -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        final ByteBuffer buffer = getBuffer();
+        if (buffer == null) {
+            return -1;
+        }
+        final int length = Math.min(len, buffer.remaining());
+        buffer.get(b, off, length);
+        return length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long skip(final long n) throws IOException {
+        final ByteBuffer buffer = getBuffer();
+        if (buffer == null || n <= 0) {
+            return 0;
+        }
+        final int length = (int)Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + length);
+        return length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int available() {
+        return m_buffer.remaining();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        // the mapping itself is released by the garbage collector
+        if (m_channel.isOpen()) {
+            BufferStatistics.onBytesRead(m_windowEnd - m_buffer.remaining() - m_start);
+        }
+        m_channel.close();
+    }
+
+}
@@ -0,0 +1,418 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * An off-heap tier below the {@link BufferCache}: holds the decompressed (but still serialized) content of recently
+ * read segments of table files in direct memory, see {@link RowOffsetIndex} for segments. Only tables with an index
+ * are held, their segments are bounded in size. Readers obtain a segment from this store before falling back to
+ * decompressing the file, which is useful for tables that are no longer held on the heap (because they have been
+ * dropped by the garbage collector) but are still read repeatedly.
+ *
+ * <p>
+ * The store has a byte budget (0 disables it, which is the default, see {@link BufferSettings#getOffHeapCacheSize()})
+ * and evicts the least recently used segments when the budget is exceeded. The content of a segment is kept in
+ * fixed-size chunks of direct memory, which are filled while the segment is read. Direct memory of evicted segments
+ * is released by the garbage collector.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+final class OffHeapSegmentStore {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(OffHeapSegmentStore.class);
+
+    private static final OffHeapSegmentStore INSTANCE = new OffHeapSegmentStore();
+
+    /** Size of the direct memory chunks holding the content of a segment. */
+    static final int CHUNK_SIZE = 1 << 16;
+
+    /** Segments in access order, the eldest entry is evicted first. */
+    private final LinkedHashMap<SegmentKey, ByteBuffer[]> m_segments = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long m_maxBytes = BufferSettings.getDefault().getOffHeapCacheSize();
+
+    private long m_usedBytes;
+
+    /** Some counters for instrumentation / statistics. */
+    private long m_nHits;
+
+    private long m_nMisses;
+
+    private long m_nEvictions;
+
+    private OffHeapSegmentStore() {
+    }
+
+    /** @return the singleton instance */
+    static OffHeapSegmentStore getInstance() {
+        return INSTANCE;
+    }
+
+    /** @return whether the store has a positive byte budget */
+    synchronized boolean isEnabled() {
+        return m_maxBytes > 0;
+    }
+
+    /**
+     * Sets the byte budget, evicting segments if necessary. The budget is initialized from the global
+     * {@link BufferSettings#getOffHeapCacheSize() settings}, this method is only used in tests.
+     *
+     * @param maxBytes the new budget, 0 to disable the store (and drop all segments)
+     */
+    synchronized void setMaxBytes(final long maxBytes) {
+        if (maxBytes == m_maxBytes) {
+            return;
+        }
+        m_maxBytes = Math.max(0L, maxBytes);
+        evict();
+    }
+
+    /**
+     * Get the decompressed content of a segment.
+     *
+     * @param bufferID the {@link Buffer#getUniqueID() unique ID} of the buffer owning the file
+     * @param segment the segment index
+     * @return read-only views of the content chunks (with their own positions) if present
+     */
+    synchronized Optional<ByteBuffer[]> get(final long bufferID, final int segment) {
+        final ByteBuffer[] chunks = m_segments.get(new SegmentKey(bufferID, segment));
+        if (chunks == null) {
+            m_nMisses++;
+            return Optional.empty();
+        }
+        m_nHits++;
+        final ByteBuffer[] views = new ByteBuffer[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            views[i] = chunks[i].asReadOnlyBuffer();
+        }
+        return Optional.of(views);
+    }
+
+    /**
+     * Adds the decompressed content of a segment. Ignored if the content is larger than the byte budget.
+     *
+     * @param bufferID the {@link Buffer#getUniqueID() unique ID} of the buffer owning the file
+     * @param segment the segment index
+     * @param chunks the content, direct buffers flipped for reading; must not be modified afterwards
+     */
+    synchronized void put(final long bufferID, final int segment, final ByteBuffer[] chunks) {
+        final long size = sizeOf(chunks);
+        if (size > m_maxBytes) {
+            return;
+        }
+        final ByteBuffer[] previous = m_segments.put(new SegmentKey(bufferID, segment), chunks);
+        m_usedBytes += size - (previous != null ? sizeOf(previous) : 0L);
+        evict();
+    }
+
+    /**
+     * Removes all segments of the given buffer, called when the buffer is cleared.
+     *
+     * @param bufferID the {@link Buffer#getUniqueID() unique ID} of the buffer
+     */
+    synchronized void invalidate(final long bufferID) {
+        for (Iterator<Map.Entry<SegmentKey, ByteBuffer[]>> it = m_segments.entrySet().iterator(); it.hasNext();) {
+            final Map.Entry<SegmentKey, ByteBuffer[]> e = it.next();
+            if (e.getKey().m_bufferID == bufferID) {
+                m_usedBytes -= sizeOf(e.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    /** @return the byte budget, 0 if disabled */
+    synchronized long getMaxBytes() {
+        return m_maxBytes;
+    }
+
+    /** @return the number of bytes currently held */
+    synchronized long getUsedBytes() {
+        return m_usedBytes;
+    }
+
+    private void evict() {
+        for (Iterator<ByteBuffer[]> it = m_segments.values().iterator(); m_usedBytes > m_maxBytes && it.hasNext();) {
+            m_usedBytes -= sizeOf(it.next());
+            it.remove();
+            m_nEvictions++;
+        }
+        if (m_nEvictions > 0 && m_nEvictions % 1000 == 0) {
+            LOGGER.debugWithFormat("Off-heap table segment store: %d hits, %d misses, %d evictions, %d bytes used",
+                m_nHits, m_nMisses, m_nEvictions, m_usedBytes);
+        }
+    }
+
+    /** The direct memory occupied by the chunks (their capacity, not their content). */
+    private static long sizeOf(final ByteBuffer[] chunks) {
+        long size = 0L;
+        for (ByteBuffer chunk : chunks) {
+            size += chunk.capacity();
+        }
+        return size;
+    }
+
+    private static final class SegmentKey {
+
+        private final long m_bufferID;
+
+        private final int m_segment;
+
+        SegmentKey(final long bufferID, final int segment) {
+            m_bufferID = bufferID;
+            m_segment = segment;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(m_bufferID) * 31 + m_segment;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof SegmentKey)) {
+                return false;
+            }
+            final SegmentKey other = (SegmentKey)obj;
+            return m_bufferID == other.m_bufferID && m_segment == other.m_segment;
+        }
+    }
+
+    /** Input stream reading the content of a segment from the store. */
+    static final class SegmentInputStream extends InputStream {
+
+        private final ByteBuffer[] m_chunks;
+
+        /** Index of the chunk read from. */
+        private int m_chunk;
+
+        /** @param chunks the content as returned by {@link OffHeapSegmentStore#get(long, int)} */
+        SegmentInputStream(final ByteBuffer[] chunks) {
+            m_chunks = chunks;
+        }
+
+        /** Returns the chunk to read from, null if the end is reached. */
+        private ByteBuffer current() {
+            while (m_chunk < m_chunks.length && !m_chunks[m_chunk].hasRemaining()) {
+                m_chunk++;
+            }
+            return m_chunk < m_chunks.length ? m_chunks[m_chunk] : null;
+        }
+
+        @Override
+        public int read() {
+            final ByteBuffer chunk = current();
+            return chunk != null ? (chunk.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            final ByteBuffer chunk = current();
+            if (chunk == null) {
+                return -1;
+            }
+            final int count = Math.min(len, chunk.remaining());
+            chunk.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long n) {
+            long skipped = 0L;
+            for (ByteBuffer chunk = current(); chunk != null && skipped < n; chunk = current()) {
+                final int count = (int)Math.min(n - skipped, chunk.remaining());
+                chunk.position(chunk.position() + count);
+                skipped += count;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            final ByteBuffer chunk = current();
+            return chunk != null ? chunk.remaining() : 0;
+        }
+    }
+
+    /**
+     * Input stream on the decompressed content of a segment read from file, which copies the content into direct
+     * memory chunks as it's read and puts them into the store once the end of the segment is reached. Recording stops
+     * (and the chunks are dropped) if the content exceeds the byte budget.
+     */
+    static final class RecordingInputStream extends InputStream {
+
+        private final InputStream m_in;
+
+        private final long m_bufferID;
+
+        private final int m_segment;
+
+        private final long m_maxBytes;
+
+        /** The chunks filled so far, null if recording has stopped. */
+        private List<ByteBuffer> m_chunks = new ArrayList<>();
+
+        /** Direct memory allocated for the chunks so far. */
+        private long m_recordedBytes;
+
+        /**
+         * @param in the decompressed segment content
+         * @param bufferID the {@link Buffer#getUniqueID() unique ID} of the buffer owning the file
+         * @param segment the segment index
+         * @param maxBytes the byte budget of the store
+         */
+        RecordingInputStream(final InputStream in, final long bufferID, final int segment, final long maxBytes) {
+            m_in = in;
+            m_bufferID = bufferID;
+            m_segment = segment;
+            m_maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = m_in.read();
+            if (b >= 0) {
+                final ByteBuffer chunk = chunkWithSpace();
+                if (chunk != null) {
+                    chunk.put((byte)b);
+                }
+            } else {
+                onEndOfSegment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int count = m_in.read(b, off, len);
+            if (count > 0) {
+                record(b, off, count);
+            } else if (count < 0) {
+                onEndOfSegment();
+            }
+            return count;
+        }
+
+        private void record(final byte[] b, final int off, final int len) {
+            int written = 0;
+            while (written < len) {
+                final ByteBuffer chunk = chunkWithSpace();
+                if (chunk == null) {
+                    return;
+                }
+                final int count = Math.min(len - written, chunk.remaining());
+                chunk.put(b, off + written, count);
+                written += count;
+            }
+        }
+
+        /** Returns the chunk to write to, allocating a new one if needed; null if recording has stopped. */
+        private ByteBuffer chunkWithSpace() {
+            if (m_chunks == null) {
+                return null;
+            }
+            if (!m_chunks.isEmpty() && m_chunks.get(m_chunks.size() - 1).hasRemaining()) {
+                return m_chunks.get(m_chunks.size() - 1);
+            }
+            if (m_recordedBytes + CHUNK_SIZE > m_maxBytes) {
+                m_chunks = null;
+                return null;
+            }
+            final ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+            m_chunks.add(chunk);
+            m_recordedBytes += CHUNK_SIZE;
+            return chunk;
+        }
+
+        private void onEndOfSegment() {
+            if (m_chunks != null) {
+                final ByteBuffer[] chunks = m_chunks.toArray(new ByteBuffer[m_chunks.size()]);
+                for (ByteBuffer chunk : chunks) {
+                    chunk.flip();
+                }
+                getInstance().put(m_bufferID, m_segment, chunks);
+                m_chunks = null;
+            }
+        }
+
+        /**
+         * Reads the remainder of the segment, thereby putting it into the store. Only to be called if the caller knows
+         * that the remainder is small, i.e. all rows of the segment have been read.
+         *
+         * @throws IOException if reading fails
+         */
+        void readToEnd() throws IOException {
+            final byte[] b = new byte[1024];
+            int count;
+            do {
+                count = read(b, 0, b.length);
+            } while (count >= 0 && m_chunks != null);
+        }
+
+        @Override
+        public void close() throws IOException {
+            m_chunks = null;
+            m_in.close();
+        }
+    }
+
+}
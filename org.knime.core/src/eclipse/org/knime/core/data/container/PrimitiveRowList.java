@@ -0,0 +1,479 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.ToLongFunction;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * A list of rows held in memory by a {@link Buffer}, which stores the content of tables with only
+ * {@link DoubleCell}, {@link IntCell}, {@link LongCell}, {@link BooleanCell} and {@link StringCell} columns in
+ * primitive arrays (one per column, plus a bitmap for missing values) rather than as row and cell objects. Rows and
+ * cells are created when a row is accessed.
+ *
+ * <p>
+ * Cells that cannot be represented, e.g. subclasses of the above cell implementations or missing cells with an error
+ * message, are accepted but cause the list to switch to an ordinary list of (then materialized) rows.
+ *
+ * <p>
+ * The list only supports appending rows and, like {@link ArrayList}, is not thread-safe.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+final class PrimitiveRowList extends AbstractList<BlobSupportDataRow> implements RandomAccess {
+
+    private static final int DEF_INITIAL_CAPACITY = 16;
+
+    /** Number of strings and keys per array sampled in {@link #estimateHeapSize()}. */
+    private static final int STRING_SAMPLE_COUNT = 100;
+
+    /** Row keys, the {@link RowKey} objects are kept so that generated keys don't create their string. */
+    private RowKey[] m_keys;
+
+    private final Column[] m_columns;
+
+    private int m_size;
+
+    /** Non-null once a row was added that can't be stored in primitive arrays; contains all rows then. */
+    private List<BlobSupportDataRow> m_fallbackList;
+
+    /**
+     * Creates a new empty list.
+     *
+     * @param spec the spec of the table, must be {@link #isApplicable(DataTableSpec) applicable}
+     * @param initialCapacity number of rows to allocate memory for
+     */
+    PrimitiveRowList(final DataTableSpec spec, final int initialCapacity) {
+        final int capacity = Math.max(initialCapacity, DEF_INITIAL_CAPACITY);
+        m_keys = new RowKey[capacity];
+        m_columns = new Column[spec.getNumColumns()];
+        for (int i = 0; i < m_columns.length; i++) {
+            m_columns[i] = createColumn(spec.getColumnSpec(i).getType(), capacity);
+        }
+    }
+
+    /**
+     * Whether the rows of a table with the given spec can be stored in this list, that is, whether the table has at
+     * least one column and all columns are of one of the supported types.
+     *
+     * @param spec the spec of the table
+     * @return that property
+     */
+    static boolean isApplicable(final DataTableSpec spec) {
+        if (spec.getNumColumns() == 0) {
+            return false;
+        }
+        for (int i = 0; i < spec.getNumColumns(); i++) {
+            if (createColumn(spec.getColumnSpec(i).getType(), 0) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return a new column for the type or null if the type is not supported. */
+    private static Column createColumn(final DataType type, final int capacity) {
+        if (DoubleCell.TYPE.equals(type)) {
+            return new DoubleColumn(capacity);
+        } else if (IntCell.TYPE.equals(type)) {
+            return new IntColumn(capacity);
+        } else if (LongCell.TYPE.equals(type)) {
+            return new LongColumn(capacity);
+        } else if (BooleanCell.TYPE.equals(type)) {
+            return new BooleanColumn(capacity);
+        } else if (StringCell.TYPE.equals(type)) {
+            return new StringColumn(capacity);
+        }
+        return null;
+    }
+
+    /** @return whether rows are stored in primitive arrays (no incompatible row has been added). */
+    boolean isPrimitive() {
+        return m_fallbackList == null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return m_fallbackList != null ? m_fallbackList.size() : m_size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BlobSupportDataRow get(final int index) {
+        if (m_fallbackList != null) {
+            return m_fallbackList.get(index);
+        }
+        if (index < 0 || index >= m_size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + m_size);
+        }
+        final DataCell[] cells = new DataCell[m_columns.length];
+        for (int c = 0; c < cells.length; c++) {
+            cells[c] = m_columns[c].get(index);
+        }
+        return new BlobSupportDataRow(m_keys[index], cells);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean add(final BlobSupportDataRow row) {
+        modCount++;
+        if (m_fallbackList != null) {
+            return m_fallbackList.add(row);
+        }
+        if (m_size == m_keys.length) {
+            final int newCapacity = m_size + Math.max(m_size >> 1, 1);
+            m_keys = Arrays.copyOf(m_keys, newCapacity);
+            for (Column column : m_columns) {
+                column.ensureCapacity(newCapacity);
+            }
+        }
+        for (int c = 0; c < m_columns.length; c++) {
+            if (!m_columns[c].set(m_size, row.getRawCell(c))) {
+                switchToFallbackList();
+                return m_fallbackList.add(row);
+            }
+        }
+        m_keys[m_size++] = row.getKey();
+        return true;
+    }
+
+    /**
+     * Estimates the heap size of the list from its arrays. Unlike an estimate based on the rows returned by
+     * {@link #get(int)}, which are created on access, this reflects the compact representation. Only to be called if
+     * the list {@link #isPrimitive() is primitive}.
+     *
+     * @return the estimated size in bytes
+     */
+    long estimateHeapSize() {
+        assert isPrimitive() : "Size of fallback list must be estimated from its rows";
+        long bytes = 32 + estimateArraySize(m_keys, m_size, RowSizeEstimator::estimate);
+        for (Column column : m_columns) {
+            bytes += column.estimateHeapSize(m_size);
+        }
+        return bytes;
+    }
+
+    /** Size of an array (references plus a sample of the first <code>size</code> elements). */
+    private static <T> long estimateArraySize(final T[] array, final int size, final ToLongFunction<T> elementSize) {
+        long bytes = 16 + 4L * array.length;
+        if (size == 0) {
+            return bytes;
+        }
+        final int sampleCount = Math.min(size, STRING_SAMPLE_COUNT);
+        long sampleBytes = 0;
+        for (int s = 0; s < sampleCount; s++) {
+            final T element = array[(int)((long)s * size / sampleCount)];
+            sampleBytes += element != null ? elementSize.applyAsLong(element) : 0;
+        }
+        return bytes + sampleBytes * size / sampleCount;
+    }
+
+    /** Materializes all rows into an ordinary list, used for all further operations. */
+    private void switchToFallbackList() {
+        final List<BlobSupportDataRow> list = new ArrayList<>(Math.max(m_size * 2, DEF_INITIAL_CAPACITY));
+        for (int i = 0; i < m_size; i++) {
+            list.add(get(i));
+        }
+        m_fallbackList = list;
+        m_keys = null;
+        Arrays.fill(m_columns, null);
+    }
+
+    /** A single column, storing the values of one type in a primitive array plus a missing value bitmap. */
+    private abstract static class Column {
+
+        private long[] m_missing;
+
+        Column(final int capacity) {
+            m_missing = new long[(capacity + 63) >> 6];
+        }
+
+        /**
+         * @param row the row index
+         * @param cell the cell to store
+         * @return false if the cell can't be stored (and nothing has been stored)
+         */
+        final boolean set(final int row, final DataCell cell) {
+            if (cell == DataType.getMissingCell()) {
+                m_missing[row >> 6] |= 1L << row;
+                return true;
+            } else if (cell.getClass() == getCellClass()) {
+                m_missing[row >> 6] &= ~(1L << row);
+                setValue(row, cell);
+                return true;
+            }
+            return false;
+        }
+
+        final DataCell get(final int row) {
+            if ((m_missing[row >> 6] & (1L << row)) != 0) {
+                return DataType.getMissingCell();
+            }
+            return getValue(row);
+        }
+
+        void ensureCapacity(final int capacity) {
+            m_missing = Arrays.copyOf(m_missing, (capacity + 63) >> 6);
+        }
+
+        /**
+         * @param size number of rows in the list
+         * @return the estimated heap size of the column, including the missing value bitmap
+         */
+        long estimateHeapSize(final int size) {
+            return 24 + 16 + 8L * m_missing.length;
+        }
+
+        abstract Class<? extends DataCell> getCellClass();
+
+        abstract void setValue(int row, DataCell cell);
+
+        abstract DataCell getValue(int row);
+    }
+
+    private static final class DoubleColumn extends Column {
+
+        private double[] m_values;
+
+        DoubleColumn(final int capacity) {
+            super(capacity);
+            m_values = new double[capacity];
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return DoubleCell.class;
+        }
+
+        @Override
+        void setValue(final int row, final DataCell cell) {
+            m_values[row] = ((DoubleCell)cell).getDoubleValue();
+        }
+
+        @Override
+        DataCell getValue(final int row) {
+            return new DoubleCell(m_values[row]);
+        }
+
+        @Override
+        long estimateHeapSize(final int size) {
+            return super.estimateHeapSize(size) + 16 + 8L * m_values.length;
+        }
+
+        @Override
+        void ensureCapacity(final int capacity) {
+            super.ensureCapacity(capacity);
+            m_values = Arrays.copyOf(m_values, capacity);
+        }
+    }
+
+    private static final class IntColumn extends Column {
+
+        private int[] m_values;
+
+        IntColumn(final int capacity) {
+            super(capacity);
+            m_values = new int[capacity];
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return IntCell.class;
+        }
+
+        @Override
+        void setValue(final int row, final DataCell cell) {
+            m_values[row] = ((IntCell)cell).getIntValue();
+        }
+
+        @Override
+        DataCell getValue(final int row) {
+            return new IntCell(m_values[row]);
+        }
+
+        @Override
+        long estimateHeapSize(final int size) {
+            return super.estimateHeapSize(size) + 16 + 4L * m_values.length;
+        }
+
+        @Override
+        void ensureCapacity(final int capacity) {
+            super.ensureCapacity(capacity);
+            m_values = Arrays.copyOf(m_values, capacity);
+        }
+    }
+
+    private static final class LongColumn extends Column {
+
+        private long[] m_values;
+
+        LongColumn(final int capacity) {
+            super(capacity);
+            m_values = new long[capacity];
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return LongCell.class;
+        }
+
+        @Override
+        void setValue(final int row, final DataCell cell) {
+            m_values[row] = ((LongCell)cell).getLongValue();
+        }
+
+        @Override
+        DataCell getValue(final int row) {
+            return new LongCell(m_values[row]);
+        }
+
+        @Override
+        long estimateHeapSize(final int size) {
+            return super.estimateHeapSize(size) + 16 + 8L * m_values.length;
+        }
+
+        @Override
+        void ensureCapacity(final int capacity) {
+            super.ensureCapacity(capacity);
+            m_values = Arrays.copyOf(m_values, capacity);
+        }
+    }
+
+    /** Boolean values are stored as bits, like the missing values. */
+    private static final class BooleanColumn extends Column {
+
+        private long[] m_values;
+
+        BooleanColumn(final int capacity) {
+            super(capacity);
+            m_values = new long[(capacity + 63) >> 6];
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return BooleanCell.class;
+        }
+
+        @Override
+        void setValue(final int row, final DataCell cell) {
+            if (((BooleanCell)cell).getBooleanValue()) {
+                m_values[row >> 6] |= 1L << row;
+            } else {
+                m_values[row >> 6] &= ~(1L << row);
+            }
+        }
+
+        @Override
+        DataCell getValue(final int row) {
+            return BooleanCell.get((m_values[row >> 6] & (1L << row)) != 0);
+        }
+
+        @Override
+        long estimateHeapSize(final int size) {
+            return super.estimateHeapSize(size) + 16 + 8L * m_values.length;
+        }
+
+        @Override
+        void ensureCapacity(final int capacity) {
+            super.ensureCapacity(capacity);
+            m_values = Arrays.copyOf(m_values, (capacity + 63) >> 6);
+        }
+    }
+
+    private static final class StringColumn extends Column {
+
+        private String[] m_values;
+
+        StringColumn(final int capacity) {
+            super(capacity);
+            m_values = new String[capacity];
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return StringCell.class;
+        }
+
+        @Override
+        void setValue(final int row, final DataCell cell) {
+            m_values[row] = ((StringCell)cell).getStringValue();
+        }
+
+        @Override
+        DataCell getValue(final int row) {
+            return new StringCell(m_values[row]);
+        }
+
+        @Override
+        long estimateHeapSize(final int size) {
+            return super.estimateHeapSize(size) + estimateArraySize(m_values, size, v -> 40 + 2 * v.length());
+        }
+
+        @Override
+        void ensureCapacity(final int capacity) {
+            super.ensureCapacity(capacity);
+            m_values = Arrays.copyOf(m_values, capacity);
+        }
+    }
+
+}
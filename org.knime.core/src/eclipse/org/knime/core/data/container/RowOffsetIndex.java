@@ -0,0 +1,148 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.util.Arrays;
+
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+
+/**
+ * Sparse index into a stream written by the {@link DefaultTableStoreWriter}. Every <i>interval</i> rows the writer
+ * finishes the current compressed segment and starts a new one; the index records the byte offset of each segment in
+ * the file. Since each segment can be decompressed independently, readers can start reading at the segment containing
+ * a given row instead of decompressing the file from the start.
+ *
+ * <p>
+ * The index is persisted as part of the format settings (in the table's meta information). Tables that are smaller
+ * than one interval (or written by previous versions) don't have an index and consist of a single segment.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+final class RowOffsetIndex {
+
+    /** Config key for the number of rows per segment. */
+    private static final String CFG_INDEX_INTERVAL = "container.index.interval";
+
+    /** Config key for the byte offsets of the segments. */
+    private static final String CFG_INDEX_OFFSETS = "container.index.offsets";
+
+    private final int m_interval;
+
+    /** Offset of segment i is at position i; the first segment always starts at 0. */
+    private final long[] m_offsets;
+
+    /**
+     * @param interval number of rows per segment, &gt; 0
+     * @param offsets byte offsets of the segments, the first element is 0
+     */
+    RowOffsetIndex(final int interval, final long[] offsets) {
+        m_interval = interval;
+        m_offsets = offsets;
+    }
+
+    /** @return number of rows per segment */
+    int getInterval() {
+        return m_interval;
+    }
+
+    /** @return number of segments in the file */
+    int getSegmentCount() {
+        return m_offsets.length;
+    }
+
+    /**
+     * @param segment the segment index
+     * @return the byte offset of the segment in the file
+     */
+    long getOffset(final int segment) {
+        return m_offsets[segment];
+    }
+
+    /**
+     * @param segment the segment index
+     * @return index of the first row stored in the segment
+     */
+    long getFirstRowIndex(final int segment) {
+        return (long)segment * m_interval;
+    }
+
+    /**
+     * @param rowIndex a row index
+     * @return the index of the segment containing the row (the last segment if the row index is too large)
+     */
+    int getSegmentForRow(final long rowIndex) {
+        return (int)Math.min(rowIndex / m_interval, m_offsets.length - 1);
+    }
+
+    /** @param settings to save to */
+    void save(final NodeSettingsWO settings) {
+        settings.addInt(CFG_INDEX_INTERVAL, m_interval);
+        settings.addLongArray(CFG_INDEX_OFFSETS, m_offsets);
+    }
+
+    /**
+     * @param settings to load from
+     * @return the index or null if the table was written without index
+     * @throws InvalidSettingsException if the index is corrupt
+     */
+    static RowOffsetIndex load(final NodeSettingsRO settings) throws InvalidSettingsException {
+        if (!settings.containsKey(CFG_INDEX_OFFSETS)) {
+            return null;
+        }
+        final int interval = settings.getInt(CFG_INDEX_INTERVAL);
+        final long[] offsets = settings.getLongArray(CFG_INDEX_OFFSETS);
+        if (interval <= 0 || offsets.length == 0 || offsets[0] != 0L) {
+            throw new InvalidSettingsException("Invalid row offset index (interval " + interval + ", offsets "
+                + Arrays.toString(Arrays.copyOf(offsets, Math.min(offsets.length, 3))) + "...)");
+        }
+        return new RowOffsetIndex(interval, offsets);
+    }
+
+}
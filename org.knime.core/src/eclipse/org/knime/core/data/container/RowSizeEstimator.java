@@ -0,0 +1,134 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Estimates the heap footprint of rows by counting the row, key and cell objects. Cells of the common types (int,
+ * long, double, string, boolean and missing cells) are counted by their layout, all other cells with a fixed size.
+ * The estimate is cheap enough to be computed for a sample of the rows of a large table.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class RowSizeEstimator {
+
+    /** Size assumed for cells of unknown type. */
+    private static final long UNKNOWN_CELL_SIZE = 64;
+
+    private RowSizeEstimator() {
+    }
+
+    /**
+     * Estimates the heap size of a row. The cells of a {@link BlobSupportDataRow} are not unwrapped (blobs are not
+     * read).
+     *
+     * @param row the row
+     * @return the estimated size in bytes
+     */
+    public static long estimate(final DataRow row) {
+        final int nCells = row.getNumCells();
+        // row object, key, cell array
+        long bytes = 32 + estimate(row.getKey()) + 16 + 4 * nCells;
+        if (row instanceof BlobSupportDataRow) {
+            final BlobSupportDataRow blobRow = (BlobSupportDataRow)row;
+            for (int i = 0; i < nCells; i++) {
+                bytes += estimate(blobRow.getRawCell(i));
+            }
+        } else {
+            for (int i = 0; i < nCells; i++) {
+                bytes += estimate(row.getCell(i));
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the heap size of a row key. Generated keys ({@link RowKey#createRowKey(long)}) don't hold a string,
+     * which is not created for the estimate either.
+     *
+     * @param key the key
+     * @return the estimated size in bytes
+     */
+    public static long estimate(final RowKey key) {
+        if (key.getGeneratedIndex() >= 0) {
+            return 24;
+        }
+        return 24 + 32 + 2 * key.getString().length();
+    }
+
+    /**
+     * Estimates the heap size of a cell.
+     *
+     * @param cell the cell
+     * @return the estimated size in bytes, 0 for cells that are singletons
+     */
+    public static long estimate(final DataCell cell) {
+        if (cell == DataType.getMissingCell() || cell instanceof BooleanCell) {
+            return 0; // singletons
+        } else if (cell instanceof IntCell) {
+            return 16;
+        } else if (cell instanceof DoubleCell || cell instanceof LongCell) {
+            return 24;
+        } else if (cell instanceof StringCell) {
+            return 16 + 40 + 2 * ((StringCell)cell).getStringValue().length();
+        }
+        return UNKNOWN_CELL_SIZE;
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+import org.apache.commons.io.input.BoundedInputStream;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.OffHeapSegmentStore.RecordingInputStream;
+import org.knime.core.data.container.OffHeapSegmentStore.SegmentInputStream;
+
+/**
+ * Decompressing input stream on a file written in independently compressed segments, as described by a
+ * {@link RowOffsetIndex}. Each segment is decompressed separately and the segments are read one after another,
+ * starting at a given segment. This allows skipping the beginning of the file without decompressing it. Files without
+ * index are read as a single segment.
+ *
+ * <p>
+ * If the {@link OffHeapSegmentStore} is enabled and the file has an index, the decompressed content of each segment
+ * is taken from the store if present, otherwise it is recorded while reading and put into the store.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+final class SegmentedInputStream extends InputStream {
+
+    private final File m_file;
+
+    private final CompressionFormat m_compressionFormat;
+
+    /** The index, null if the file consists of a single segment. */
+    private final RowOffsetIndex m_index;
+
+    /** Unique ID of the buffer owning the file, used as key in the {@link OffHeapSegmentStore}; -1 if not known. */
+    private final long m_bufferID;
+
+    /** The next segment to open. */
+    private int m_nextSegment;
+
+    /** The (decompressed) stream on the current segment, null if closed or all segments are read. */
+    private InputStream m_segmentStream;
+
+    /**
+     * Opens the stream on the argument file and positions it at the start of the given segment.
+     *
+     * @param file the file to read from
+     * @param compressionFormat the compression format of each segment
+     * @param index the index describing the segments or null if the file consists of a single segment
+     * @param segment the first segment to read
+     * @param bufferID the {@link Buffer#getUniqueID() unique ID} of the buffer owning the file, -1 if not known (the
+     *            {@link OffHeapSegmentStore} is not used then)
+     * @throws IOException if the file cannot be opened
+     */
+    SegmentedInputStream(final File file, final CompressionFormat compressionFormat, final RowOffsetIndex index,
+        final int segment, final long bufferID) throws IOException {
+        m_file = file;
+        m_compressionFormat = compressionFormat;
+        m_index = index;
+        m_bufferID = bufferID;
+        m_nextSegment = segment;
+        m_segmentStream = openNextSegment();
+    }
+
+    private int getSegmentCount() {
+        return m_index != null ? m_index.getSegmentCount() : 1;
+    }
+
+    /** Opens the decompressed stream on the segment <code>m_nextSegment</code>, null if there is none. */
+    @SuppressWarnings("resource")
+    private InputStream openNextSegment() throws IOException {
+        final int segment = m_nextSegment;
+        if (segment >= getSegmentCount()) {
+            return null;
+        }
+        m_nextSegment++;
+        final OffHeapSegmentStore store = OffHeapSegmentStore.getInstance();
+        // segments of files without index can be as large as the whole table, these are not put into the store
+        final boolean useStore = m_bufferID >= 0 && m_index != null && store.isEnabled();
+        if (useStore) {
+            final Optional<ByteBuffer[]> content = store.get(m_bufferID, segment);
+            if (content.isPresent()) {
+                return new SegmentInputStream(content.get());
+            }
+        }
+        final long start = m_index != null ? m_index.getOffset(segment) : 0L;
+        final long end = segment + 1 < getSegmentCount() ? m_index.getOffset(segment + 1) : m_file.length();
+        final FileInputStream fileIn = new CountingFileInputStream(m_file);
+        try {
+            fileIn.getChannel().position(start);
+        } catch (IOException ioe) {
+            fileIn.close();
+            throw ioe;
+        }
+        final InputStream in = m_compressionFormat.getInputStream(new BoundedInputStream(fileIn, end - start));
+        return useStore ? new RecordingInputStream(in, m_bufferID, segment, store.getMaxBytes()) : in;
+    }
+
+    /**
+     * Reads the remainder of the current segment so that it is put into the {@link OffHeapSegmentStore}. Only to be
+     * called when all rows of the segment have been read, i.e. the remainder is small.
+     *
+     * @throws IOException if reading fails
+     */
+    void readToEndOfSegment() throws IOException {
+        if (m_segmentStream instanceof RecordingInputStream) {
+            ((RecordingInputStream)m_segmentStream).readToEnd();
+        }
+    }
+
+    /** Closes the current segment and opens the next one. Returns false if there are no more segments. */
+    private boolean advance() throws IOException {
+        if (m_segmentStream == null) {
+            return false;
+        }
+        m_segmentStream.close();
+        m_segmentStream = null;
+        m_segmentStream = openNextSegment();
+        return m_segmentStream != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() throws IOException {
+        while (m_segmentStream != null) {
+            final int b = m_segmentStream.read();
+            if (b >= 0) {
+                return b;
+            }
+            advance();
+        }
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (m_segmentStream != null) {
+            final int read = m_segmentStream.read(b, off, len);
+            if (read > 0) {
+                return read;
+            }
+            if (read < 0) {
+                advance();
+            }
+        }
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int available() throws IOException {
+        return m_segmentStream != null ? m_segmentStream.available() : 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        if (m_segmentStream != null) {
+            m_segmentStream.close();
+            m_segmentStream = null;
+        }
+        m_nextSegment = getSegmentCount();
+    }
+
+}
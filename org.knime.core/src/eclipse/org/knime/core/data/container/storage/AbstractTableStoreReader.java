@@ -59,13 +59,16 @@
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 import org.apache.commons.io.IOUtils;
 import org.eclipse.core.runtime.Platform;
 import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.DataTypeRegistry;
+import org.knime.core.data.FilteredRowIterator;
 import org.knime.core.data.IDataRepository;
 import org.knime.core.data.RowIteratorBuilder;
 import org.knime.core.data.RowIteratorBuilder.DefaultRowIteratorBuilder;
@@ -206,9 +209,34 @@ public TableStoreCloseableRowIterator build() {
                 registerNewIteratorInstance(iterator);
                 return iterator;
             }
+
+            @Override
+            protected TableStoreCloseableRowIterator applyRowFilter(final TableStoreCloseableRowIterator iterator) {
+                return filterIterator(iterator, getFromRowIndex(), getToRowIndex(), getRowPredicate().orElse(null));
+            }
         };
     }
 
+    /**
+     * Restricts the argument iterator to the given row range and predicate by reading (and discarding) rows that are
+     * not to be returned. Used by readers that cannot (fully) push down row filters to their storage. The returned
+     * iterator is to be {@link #registerNewIteratorInstance(TableStoreCloseableRowIterator) registered} instead of
+     * the argument iterator.
+     *
+     * @param iterator the iterator to restrict, positioned at the row with index 0, not yet registered
+     * @param fromRowIndex index of the first row to return (inclusive)
+     * @param toRowIndex index of the last row to return (inclusive)
+     * @param predicate the predicate rows must match or null
+     * @return the restricted iterator
+     * @since 3.8
+     */
+    protected final TableStoreCloseableRowIterator filterIterator(final TableStoreCloseableRowIterator iterator,
+        final long fromRowIndex, final long toRowIndex, final Predicate<DataRow> predicate) {
+        // the delegate closes itself once exhausted; it needs to know the reader, but is not counted as open stream
+        iterator.setReader(this);
+        return new FilteredTableStoreRowIterator(iterator, fromRowIndex, toRowIndex, predicate);
+    }
+
     /**
      * Reads the cell class info shortcuts array from the node settings for container versions 6 and lower.
      *
@@ -415,4 +443,38 @@ public final void close() {
         public abstract boolean performClose() throws IOException;
     }
 
+    /** Restricts a delegate to a row range and predicate, see {@link #filterIterator}. */
+    private static final class FilteredTableStoreRowIterator extends TableStoreCloseableRowIterator {
+
+        private final TableStoreCloseableRowIterator m_delegate;
+
+        /** Does the filtering, never closed as the stream is closed via the delegate's {@link #performClose()}. */
+        private final FilteredRowIterator m_filteredIterator;
+
+        FilteredTableStoreRowIterator(final TableStoreCloseableRowIterator delegate, final long fromRowIndex,
+            final long toRowIndex, final Predicate<DataRow> predicate) {
+            m_delegate = delegate;
+            m_filteredIterator = new FilteredRowIterator(delegate, fromRowIndex, toRowIndex, predicate);
+        }
+
+        @Override
+        public boolean hasNext() {
+            final boolean hasNext = m_filteredIterator.hasNext();
+            if (!hasNext) {
+                close();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public DataRow next() {
+            return m_filteredIterator.next();
+        }
+
+        @Override
+        public boolean performClose() throws IOException {
+            return m_delegate.performClose();
+        }
+    }
+
 }
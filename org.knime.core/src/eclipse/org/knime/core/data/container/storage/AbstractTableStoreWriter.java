@@ -48,8 +48,9 @@
 package org.knime.core.data.container.storage;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellSerializer;
@@ -57,6 +58,7 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.collection.CollectionDataValue;
 import org.knime.core.data.container.BlobWrapperDataCell;
 import org.knime.core.data.container.CellClassInfo;
 import org.knime.core.data.container.DCObjectOutputVersion2;
@@ -81,12 +83,19 @@ public abstract class AbstractTableStoreWriter implements AutoCloseable, KNIMESt
 
     /**
      * Map for all DataCells' type, which have been added to this buffer, they will be separately written to to the
-     * meta.xml in a zip file.
+     * meta.xml in a zip file. Concurrent as writers may serialize rows in multiple threads.
      */
-    private HashMap<CellClassInfo, Byte> m_typeShortCuts;
+    private final Map<CellClassInfo, Byte> m_typeShortCuts = new ConcurrentHashMap<>();
 
     private CellClassInfo[] m_shortCutsLookup;
 
+    /**
+     * Serializer and type byte of the (non-collection, non-blob) cell classes written so far, looked up by class
+     * identity in {@link #writeDataCell(DataCell, DCObjectOutputVersion2)}. Copied on write (new classes are rare),
+     * so that lookups need no locking.
+     */
+    private volatile CellDispatch[] m_dispatchTable = new CellDispatch[0];
+
     /** {@link #getFileStoreHandler()}. */
     private IWriteFileStoreHandler m_fileStoreHandler;
 
@@ -136,10 +145,6 @@ protected final DataTableSpec getSpec() {
      *            {@link AbstractTableStoreReader#readMetaFromFile(org.knime.core.node.NodeSettingsRO, int)})
      */
     public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
-        // unreported bug fix: NPE when the table only contains missing values.
-        if (m_typeShortCuts == null) {
-            m_typeShortCuts = new HashMap<CellClassInfo, Byte>();
-        }
         CellClassInfo[] shortCutsLookup = new CellClassInfo[m_typeShortCuts.size()];
         for (Map.Entry<CellClassInfo, Byte> e : m_typeShortCuts.entrySet()) {
             byte shortCut = e.getValue();
@@ -179,18 +184,19 @@ public Byte getTypeShortCut(final CellClassInfo cellClass) {
      *             supported)
      */
     public DataCellSerializer<DataCell> getSerializerForDataCell(final CellClassInfo cellClass) throws IOException {
-        if (m_typeShortCuts == null) {
-            m_typeShortCuts = new HashMap<CellClassInfo, Byte>();
-        }
         @SuppressWarnings("unchecked")
         DataCellSerializer<DataCell> serializer = (DataCellSerializer<DataCell>)cellClass.getSerializer();
         if (!m_typeShortCuts.containsKey(cellClass)) {
-            int size = m_typeShortCuts.size();
-            if (size + BYTE_TYPE_START > Byte.MAX_VALUE) {
-                throw new IOException("Too many different cell implementations");
+            synchronized (m_typeShortCuts) {
+                if (!m_typeShortCuts.containsKey(cellClass)) {
+                    int size = m_typeShortCuts.size();
+                    if (size + BYTE_TYPE_START > Byte.MAX_VALUE) {
+                        throw new IOException("Too many different cell implementations");
+                    }
+                    Byte identifier = (byte)(size + BYTE_TYPE_START);
+                    m_typeShortCuts.put(cellClass, identifier);
+                }
             }
-            Byte identifier = (byte)(size + BYTE_TYPE_START);
-            m_typeShortCuts.put(cellClass, identifier);
         }
         return serializer;
     }
@@ -212,23 +218,26 @@ public FileStoreKey[] getFileStoreKeysAndFlush(final DataCell cell) throws IOExc
         FileStoreKey[] fileStoreKeys = null;
         if (cell instanceof FileStoreCell) {
             final FileStoreCell fsCell = (FileStoreCell)cell;
-            FileStore[] fileStores = FileStoreUtil.getFileStores(fsCell);
-            fileStoreKeys = new FileStoreKey[fileStores.length];
-
-            for (int fileStoreIndex = 0; fileStoreIndex < fileStoreKeys.length; fileStoreIndex++) {
-                // TODO is the 'else' case realistic?
-                if (getFileStoreHandler() instanceof IWriteFileStoreHandler) {
-                    fileStoreKeys[fileStoreIndex] =
-                        getFileStoreHandler().translateToLocal(fileStores[fileStoreIndex], fsCell);
-                } else {
-                    // handler is not an IWriteFileStoreHandler but the buffer still contains file stores:
-                    // the flow is part of a workflow and all file stores were already properly handled
-                    // (this buffer is restored from disc - and then a memory alert forces the data back onto disc)
-                    fileStoreKeys[fileStoreIndex] = FileStoreUtil.getFileStoreKey(fileStores[fileStoreIndex]);
+            // file store handlers are not thread-safe, rows may be serialized by multiple threads
+            synchronized (this) {
+                FileStore[] fileStores = FileStoreUtil.getFileStores(fsCell);
+                fileStoreKeys = new FileStoreKey[fileStores.length];
+
+                for (int fileStoreIndex = 0; fileStoreIndex < fileStoreKeys.length; fileStoreIndex++) {
+                    // TODO is the 'else' case realistic?
+                    if (getFileStoreHandler() instanceof IWriteFileStoreHandler) {
+                        fileStoreKeys[fileStoreIndex] =
+                            getFileStoreHandler().translateToLocal(fileStores[fileStoreIndex], fsCell);
+                    } else {
+                        // handler is not an IWriteFileStoreHandler but the buffer still contains file stores:
+                        // the flow is part of a workflow and all file stores were already properly handled
+                        // (this buffer is restored from disc - and then a memory alert forces the data back onto disc)
+                        fileStoreKeys[fileStoreIndex] = FileStoreUtil.getFileStoreKey(fileStores[fileStoreIndex]);
+                    }
                 }
-            }
 
-            FileStoreUtil.invokeFlush(fsCell);
+                FileStoreUtil.invokeFlush(fsCell);
+            }
         }
         return fileStoreKeys;
     }
@@ -248,6 +257,25 @@ public void writeDataCell(final DataCell cell, final DCObjectOutputVersion2 outS
             return;
         }
 
+        if (!(cell instanceof BlobWrapperDataCell || cell instanceof CollectionDataValue)) {
+            // fast path, the class determines serializer and type byte
+            final CellDispatch dispatch = getDispatch(cell.getClass());
+            final FileStoreKey[] fileStoreKeys = getFileStoreKeysAndFlush(cell);
+            if (dispatch.m_serializer == null) {
+                outStream.writeControlByte(BYTE_TYPE_SERIALIZATION);
+            }
+            outStream.writeControlByte(dispatch.m_typeByte);
+            if (fileStoreKeys != null) {
+                outStream.writeFileStoreKeys(fileStoreKeys);
+            }
+            if (dispatch.m_serializer == null) {
+                outStream.writeDataCellPerJavaSerialization(cell);
+            } else {
+                outStream.writeDataCellPerKNIMESerializer(dispatch.m_serializer, cell);
+            }
+            return;
+        }
+
         final boolean isBlob = cell instanceof BlobWrapperDataCell;
         final CellClassInfo cellClass =
             isBlob ? ((BlobWrapperDataCell)cell).getBlobClassInfo() : CellClassInfo.get(cell);
@@ -275,4 +303,50 @@ public void writeDataCell(final DataCell cell, final DCObjectOutputVersion2 outS
             outStream.writeDataCellPerKNIMESerializer(ser, cell);
         }
     }
+
+    /**
+     * @param cellClass the class of a cell that is neither a blob wrapper nor a collection
+     * @return the dispatch entry of the class, registered with {@link #getSerializerForDataCell(CellClassInfo)}
+     * @throws IOException If there are too many different cell implementations
+     */
+    private CellDispatch getDispatch(final Class<? extends DataCell> cellClass) throws IOException {
+        for (CellDispatch dispatch : m_dispatchTable) {
+            if (dispatch.m_cellClass == cellClass) {
+                return dispatch;
+            }
+        }
+        synchronized (m_typeShortCuts) {
+            final CellDispatch[] table = m_dispatchTable;
+            for (CellDispatch dispatch : table) {
+                if (dispatch.m_cellClass == cellClass) {
+                    return dispatch;
+                }
+            }
+            final CellClassInfo info = CellClassInfo.get(cellClass, null);
+            final DataCellSerializer<DataCell> serializer = getSerializerForDataCell(info);
+            final CellDispatch dispatch = new CellDispatch(cellClass, serializer, getTypeShortCut(info));
+            final CellDispatch[] newTable = Arrays.copyOf(table, table.length + 1);
+            newTable[table.length] = dispatch;
+            m_dispatchTable = newTable;
+            return dispatch;
+        }
+    }
+
+    /** Serializer and type byte of a cell class. */
+    private static final class CellDispatch {
+
+        private final Class<? extends DataCell> m_cellClass;
+
+        /** The serializer or null if cells are java-serialized. */
+        private final DataCellSerializer<DataCell> m_serializer;
+
+        private final byte m_typeByte;
+
+        CellDispatch(final Class<? extends DataCell> cellClass, final DataCellSerializer<DataCell> serializer,
+            final byte typeByte) {
+            m_cellClass = cellClass;
+            m_serializer = serializer;
+            m_typeByte = typeByte;
+        }
+    }
 }
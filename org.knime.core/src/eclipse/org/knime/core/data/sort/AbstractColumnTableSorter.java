@@ -63,6 +63,7 @@
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.knime.core.data.DataCell;
@@ -74,6 +75,7 @@
 import org.knime.core.data.RowIterator;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.BlobSupportDataRow;
+import org.knime.core.data.container.RowSizeEstimator;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.util.memory.MemoryAlertSystem;
 import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
@@ -108,6 +110,35 @@ abstract class AbstractColumnTableSorter {
      */
     public static final int DEF_MAX_OPENCONTAINER = 500;
 
+    /**
+     * Default for the estimated heap size of the rows buffered for a run of one sorter, a quarter of the maximum heap.
+     * See {@link #setMaxBufferBytes(long)}.
+     *
+     * @since 3.8
+     */
+    public static final long DEF_MAX_BUFFER_BYTES = Runtime.getRuntime().maxMemory() / 4;
+
+    /**
+     * The budget for the estimated heap size of the rows buffered by all sorters running concurrently, half of the
+     * maximum heap. Once reached, sorters write their runs to disk early (but not before they have buffered a minimum
+     * number of rows). It is also the upper limit for the budget of a single sorter, see
+     * {@link #setMaxBufferBytes(long)}.
+     *
+     * @since 3.8
+     */
+    public static final long MAX_SHARED_BUFFER_BYTES = Runtime.getRuntime().maxMemory() / 2;
+
+    /** The estimated heap size of the rows currently buffered by all sorters, bounded by MAX_SHARED_BUFFER_BYTES. */
+    private static final AtomicLong SHARED_BUFFER_BYTES = new AtomicLong();
+
+    /** All of the first rows of a run are measured, afterwards only every {@link #SIZE_SAMPLE_INTERVAL}th row. */
+    private static final int SIZE_SAMPLE_MIN_ROWS = 100;
+
+    private static final int SIZE_SAMPLE_INTERVAL = 64;
+
+    /** Heap size of a sub-row wrapping the original row plus its slot in the buffer list. */
+    private static final long SUB_ROW_OVERHEAD = 32 + 8;
+
     private MemoryActionIndicator m_memActionIndicator = MemoryAlertSystem.getInstance().newIndicator();
 
     private final Map<SortingDescription, List<DataRow>> m_buffer;
@@ -116,6 +147,11 @@ abstract class AbstractColumnTableSorter {
 
     private int m_maxOpenContainers = DEF_MAX_OPENCONTAINER;
 
+    private long m_maxBufferBytes = DEF_MAX_BUFFER_BYTES;
+
+    /** The part of {@link #SHARED_BUFFER_BYTES} taken by the rows in {@link #m_buffer}. */
+    private long m_reservedBufferBytes;
+
     private long m_rowCount;
 
     private final DataTableSpec m_dataTableSpec;
@@ -192,7 +228,11 @@ void sort(final DataTable dataTable, final ExecutionMonitor exec, final SortingC
             }
         } else {
             clearBuffer();
-            sortOnDisk(dataTable, exec, resultListener);
+            try {
+                sortOnDisk(dataTable, exec, resultListener);
+            } finally {
+                clearBuffer();
+            }
         }
     }
 
@@ -212,6 +252,35 @@ public void setMaxOpenContainers(final int value) {
         m_maxOpenContainers = value;
     }
 
+    /**
+     * Sets the budget for the estimated heap size of the rows buffered (and sorted in memory) for one run. The rows
+     * read from the input are measured (all of the first rows of a run, then a sample) and a run is written to disk
+     * once the budget is reached, which gives runs of predictable size. A run is also written earlier if the
+     * {@link MemoryAlertSystem} reports low memory or if all sorters together buffer more than
+     * {@link #MAX_SHARED_BUFFER_BYTES}.
+     *
+     * <p>
+     * The default is {@link #DEF_MAX_BUFFER_BYTES}. Larger values than {@link #MAX_SHARED_BUFFER_BYTES} are reduced to
+     * that value, a single sorter can't buffer more than all sorters together.
+     *
+     * @param value the budget in bytes
+     * @throws IllegalArgumentException If argument is not positive.
+     * @since 3.8
+     */
+    public void setMaxBufferBytes(final long value) {
+        checkArgument(value > 0, "Buffer budget must be positive: %d", value);
+        m_maxBufferBytes = Math.min(value, MAX_SHARED_BUFFER_BYTES);
+    }
+
+    /**
+     * @return the budget for the estimated heap size of the rows buffered for one run, see
+     *         {@link #setMaxBufferBytes(long)}
+     * @since 3.8
+     */
+    public long getMaxBufferBytes() {
+        return m_maxBufferBytes;
+    }
+
     /**
      * Package visible due test issues.
      *
@@ -382,16 +451,22 @@ public int compare(final DataRow o1, final DataRow o2) {
     }
 
     /**
-     * @param m_buffer
-     * @param iterator
-     * @param checkMemory
-     * @param exec
-     * @throws CanceledExecutionException
+     * Fills the buffer until the estimated size of the buffered rows reaches {@link #m_maxBufferBytes}, the rows
+     * buffered by all sorters reach the shared budget, memory gets low or the input is exhausted.
+     *
+     * @param iterator the input
+     * @param readExec for cancellation
+     * @return the number of rows read
+     * @throws CanceledExecutionException if canceled
      */
     private long fillBuffer(final RowIterator iterator, final ExecutionMonitor readExec)
         throws CanceledExecutionException {
 
         long count = 0;
+        long sampledRows = 0;
+        long sampledBytes = 0;
+        long sharedBytes = 0;
+        final long subRowOverhead = SUB_ROW_OVERHEAD * m_buffer.size();
         while (iterator.hasNext()) {
             count += 1;
             readExec.checkCanceled();
@@ -399,9 +474,32 @@ private long fillBuffer(final RowIterator iterator, final ExecutionMonitor readE
             for (Entry<SortingDescription, List<DataRow>> descr : m_buffer.entrySet()) {
                 descr.getValue().add(descr.getKey().createSubRow(r));
             }
+            // the sub-rows keep the original row alive
+            if (count <= SIZE_SAMPLE_MIN_ROWS || count % SIZE_SAMPLE_INTERVAL == 0) {
+                sampledRows += 1;
+                sampledBytes += RowSizeEstimator.estimate(r) + subRowOverhead;
+                final long estimatedBytes = (long)(sampledBytes * (double)count / sampledRows);
+                sharedBytes = SHARED_BUFFER_BYTES.addAndGet(estimatedBytes - m_reservedBufferBytes);
+                m_reservedBufferBytes = estimatedBytes;
+            }
             // read at least two rows, otherwise we won't make any progress
-            if ((count >= 2) &&  m_memActionIndicator.lowMemoryActionRequired()) {
-                break;
+            if (count >= 2) {
+                if (sampledBytes * (double)count / sampledRows >= m_maxBufferBytes) {
+                    LOGGER.debugWithFormat("Buffer budget of %d MB reached after %d rows", m_maxBufferBytes >> 20,
+                        count);
+                    break;
+                }
+                // ... but don't let other sorters force runs of a handful of rows
+                if (sharedBytes >= MAX_SHARED_BUFFER_BYTES && count >= SIZE_SAMPLE_MIN_ROWS) {
+                    LOGGER.debugWithFormat("Shared buffer budget of %d MB reached after %d rows",
+                        MAX_SHARED_BUFFER_BYTES >> 20, count);
+                    break;
+                }
+                if (m_memActionIndicator.lowMemoryActionRequired()) {
+                    LOGGER.debugWithFormat("Low memory after %d rows, estimated buffer size %d MB", count,
+                        (long)(sampledBytes * (double)count / sampledRows) >> 20);
+                    break;
+                }
             }
         }
         return count;
@@ -411,6 +509,8 @@ private void clearBuffer() {
         for (List<DataRow> i : m_buffer.values()) {
             i.clear();
         }
+        SHARED_BUFFER_BYTES.addAndGet(-m_reservedBufferBytes);
+        m_reservedBufferBytes = 0;
     }
 
     private void sortBufferInParallel() {
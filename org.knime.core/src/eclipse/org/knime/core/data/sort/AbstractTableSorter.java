@@ -49,8 +49,8 @@
 package org.knime.core.data.sort;
 
 import java.text.NumberFormat;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -62,6 +62,10 @@
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
@@ -71,6 +75,7 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.container.DataContainer;
 import org.knime.core.data.def.StringCell;
 import org.knime.core.data.util.memory.MemoryAlertSystem;
@@ -78,7 +83,9 @@
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.util.ThreadPool;
 
 /**
  * Class to sort a table. See <a href="package.html">package description</a> for details.
@@ -98,6 +105,18 @@ abstract class AbstractTableSorter {
      */
     public static final int DEF_MAX_OPENCONTAINER = 40;
 
+    /**
+     * The default number of threads used to sort runs and to read ahead during the merge. See
+     * {@link #setParallelism(int)} for details.
+     */
+    public static final int DEF_PARALLELISM = 1;
+
+    /** Minimum number of rows a slice of a run must have to be sorted by its own thread. */
+    private static final int MIN_ROWS_PER_SLICE = 1 << 12;
+
+    /** Number of rows read ahead from each temporary table during the merge. */
+    private static final int READ_AHEAD_ROWS = 1 << 10;
+
     private MemoryAlertSystem m_memService = MemoryAlertSystem.getInstance();
 
     private final DataTable m_inputTable;
@@ -111,6 +130,12 @@ abstract class AbstractTableSorter {
      */
     private int m_maxOpenContainers = DEF_MAX_OPENCONTAINER;
 
+    /** Number of threads used to sort, spill and read ahead, see {@link #setParallelism(int)}. */
+    private int m_parallelism = DEF_PARALLELISM;
+
+    /** Pool running the sort, spill and read-ahead tasks, created lazily. */
+    private ThreadPool m_executor;
+
     /**
      * Maximum number of rows. Only changed in unit test. Defaults to {@link Integer#MAX_VALUE}.
      */
@@ -118,6 +143,14 @@ abstract class AbstractTableSorter {
 
     private boolean m_sortInMemory = false;
 
+    private boolean m_sortOnNormalizedKeys = false;
+
+    /** The encoder used during the current sort or <code>null</code> if the row comparator is used. */
+    private NormalizedKeyEncoder m_keyEncoder;
+
+    /** Number of rows to keep, see {@link #setTopK(int)}, or -1 to sort the whole table. */
+    private int m_topK = -1;
+
     /** The RowComparator to compare two DataRows (inner class). */
     private Comparator<DataRow> m_rowComparator;
 
@@ -362,6 +395,42 @@ public void setMaxOpenContainers(final int value) {
         m_maxOpenContainers = value;
     }
 
+    /**
+     * Get the number of threads used during the sorting. See {@link #setParallelism(int)} for details.
+     *
+     * @return the parallelism
+     * @since 3.8
+     */
+    public int getParallelism() {
+        return m_parallelism;
+    }
+
+    /**
+     * Changes the number of threads (taken from the {@link KNIMEConstants#GLOBAL_THREAD_POOL global thread pool})
+     * used during the sorting. Each run is sorted in slices by different threads, written to disk while the next run
+     * is read and each temporary table is read ahead in the background while the runs are merged. A value of 1
+     * sorts, writes and merges all runs in the calling thread.
+     *
+     * <p>
+     * If the value is larger than 1 the row comparator must be safe to be used by multiple threads concurrently.
+     *
+     * <p>
+     * The default is 1, i.e. parallel sorting is opt-in as it calls the comparator from multiple threads.
+     *
+     * @param value the number of threads
+     * @throws IllegalArgumentException If argument is smaller than 1.
+     * @since 3.8
+     */
+    public void setParallelism(final int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException("Invalid parallelism: " + value);
+        }
+        m_parallelism = value;
+        if (m_executor != null) {
+            m_executor.setMaxThreads(value);
+        }
+    }
+
     /**
      * Set the maximum number of rows per chunk, defaults to {@link Integer#MAX_VALUE}. This field is modified from the
      * testing framework.
@@ -405,6 +474,59 @@ public void setSortInMemory(final boolean sortInMemory) {
         m_sortInMemory = sortInMemory;
     }
 
+    /**
+     * @return the sortOnNormalizedKeys field, see {@link #setSortOnNormalizedKeys(boolean)} for details.
+     * @since 3.8
+     */
+    public boolean getSortOnNormalizedKeys() {
+        return m_sortOnNormalizedKeys;
+    }
+
+    /**
+     * If set to <code>true</code> the sort columns of each row are encoded once into a binary key whose byte order
+     * is the sort order, runs are then sorted and merged by comparing these keys instead of comparing the cells of
+     * the sort columns. This is only possible if the sort columns are set via
+     * {@link #setSortColumns(Collection, boolean[], boolean)} and each of them is the row key or compared as int,
+     * long, double, string or boolean value; otherwise the option is ignored.
+     *
+     * <p>
+     * The default value for this option is <b>false</b>.
+     *
+     * @param sortOnNormalizedKeys <code>true</code> to sort on normalized keys
+     * @since 3.8
+     */
+    public void setSortOnNormalizedKeys(final boolean sortOnNormalizedKeys) {
+        m_sortOnNormalizedKeys = sortOnNormalizedKeys;
+    }
+
+    /**
+     * @return the number of rows kept by the sort, see {@link #setTopK(int)}, or -1 if the whole table is sorted.
+     * @since 3.8
+     */
+    public int getTopK() {
+        return m_topK;
+    }
+
+    /**
+     * Only keeps the first k rows of the sorted table. The input is read once and only the k smallest rows (according
+     * to the sort order) are kept in memory in a bounded heap, nothing is written to temporary tables. The output
+     * contains these rows in sort order, equal rows are kept in their input order. The memory settings
+     * ({@link #setSortInMemory(boolean)}, {@link #setMaxOpenContainers(int)}) have no effect in this mode.
+     *
+     * <p>
+     * The default is -1, which sorts the whole table.
+     *
+     * @param k the number of rows to keep or -1 to sort the whole table
+     * @throws IllegalArgumentException If argument is smaller than -1.
+     * @since 3.8
+     */
+    public void setTopK(final int k) {
+        if (k < -1) {
+            throw new IllegalArgumentException("Invalid number of rows to keep: " + k);
+        }
+        m_topK = k;
+    }
+
     /**
      * Sorts the table passed in the constructor according to the settings and returns the sorted output table.
      *
@@ -413,19 +535,136 @@ public void setSortInMemory(final boolean sortInMemory) {
      * @throws CanceledExecutionException If canceled.
      */
     DataTable sortInternal(final ExecutionMonitor exec) throws CanceledExecutionException {
+        m_keyEncoder = createKeyEncoder();
         DataTable result;
-        if (m_sortInMemory && (m_rowsInInputTable <= Integer.MAX_VALUE)) {
-            result = sortInMemory(exec);
-        } else {
-            if (m_rowsInInputTable > Integer.MAX_VALUE) {
-                LOGGER.info("Not sorting table in memory, because it has more than " + Integer.MAX_VALUE + " rows.");
+        try {
+            if (m_topK >= 0) {
+                result = sortTopK(exec);
+            } else if (m_sortInMemory && (m_rowsInInputTable <= Integer.MAX_VALUE)) {
+                result = sortInMemory(exec);
+            } else {
+                if (m_rowsInInputTable > Integer.MAX_VALUE) {
+                    LOGGER.info(
+                        "Not sorting table in memory, because it has more than " + Integer.MAX_VALUE + " rows.");
+                }
+                result = sortOnDisk(exec);
             }
-            result = sortOnDisk(exec);
+        } finally {
+            m_keyEncoder = null;
         }
         exec.setProgress(1.0);
         return result;
     }
 
+    /**
+     * Sorts the table passed in the constructor but doesn't write the merged output. Instead the returned table
+     * merges the sorted runs each time it is iterated. The in-memory sort ({@link #setSortInMemory(boolean)}) is not
+     * used in this mode.
+     *
+     * @param exec To report progress
+     * @param tableClearer clears the temporary tables once the returned table is closed
+     * @return The sorted output, to be closed when not needed anymore.
+     * @throws CanceledExecutionException If canceled.
+     */
+    LazySortedTable sortLazilyInternal(final ExecutionMonitor exec, final Consumer<DataTable> tableClearer)
+        throws CanceledExecutionException {
+        final NormalizedKeyEncoder encoder = createKeyEncoder();
+        m_keyEncoder = encoder;
+        final List<Iterable<DataRow>> runs = new ArrayList<>();
+        final long rowCount;
+        try {
+            if (m_topK >= 0) {
+                final DataRow[] rows = selectTopK(exec);
+                runs.add(Arrays.asList(rows));
+                rowCount = rows.length;
+            } else {
+                m_progress = 0.0;
+                m_incProgress = m_rowsInInputTable <= 0 ? -1.0 : 1.0 / (2.0 * m_rowsInInputTable);
+                rowCount = createInitialChunks(exec, m_inputTable);
+                exec.setMessage("Merging temporary tables");
+                reduceChunks(exec, m_maxOpenContainers);
+                runs.addAll(m_chunksContainer);
+                m_chunksContainer.clear();
+            }
+        } finally {
+            m_keyEncoder = null;
+        }
+        exec.setProgress(1.0);
+        return new LazySortedTable(m_dataTableSpec, rowCount, runs, this, encoder, tableClearer);
+    }
+
+    private NormalizedKeyEncoder createKeyEncoder() {
+        if (!m_sortOnNormalizedKeys) {
+            return null;
+        }
+        NormalizedKeyEncoder encoder = null;
+        if (m_rowComparator instanceof RowComparator) {
+            encoder = ((RowComparator)m_rowComparator).createKeyEncoder();
+        }
+        if (encoder == null) {
+            LOGGER.debug("Sort columns can't be encoded as normalized keys, comparing rows instead");
+        }
+        return encoder;
+    }
+
+    /**
+     * Reads the input once and keeps the {@link #setTopK(int) k} smallest rows in a heap whose root is the largest
+     * kept row. Rows are ordered by the sort order and then by their input position, which makes the result stable.
+     */
+    private DataTable sortTopK(final ExecutionMonitor exec) throws CanceledExecutionException {
+        final DataRow[] rows = selectTopK(exec);
+        exec.setMessage("Creating sorted table");
+        final DataContainer dc = createDataContainer(m_dataTableSpec, false);
+        for (DataRow row : rows) {
+            exec.checkCanceled();
+            dc.addRowToTable(row);
+        }
+        dc.close();
+        return dc.getTable();
+    }
+
+    private DataRow[] selectTopK(final ExecutionMonitor exec) throws CanceledExecutionException {
+        final NormalizedKeyEncoder encoder = m_keyEncoder;
+        final Comparator<DataRow> rowComparator = m_rowComparator;
+        final Comparator<TopKEntry> comparator = (e1, e2) -> {
+            final int cmp = encoder == null ? rowComparator.compare(e1.m_row, e2.m_row)
+                : NormalizedKeyEncoder.compare(e1.m_key, e2.m_key);
+            return cmp != 0 ? cmp : Long.compare(e1.m_index, e2.m_index);
+        };
+        final PriorityQueue<TopKEntry> heap =
+            new PriorityQueue<>(Math.max(1, Math.min(m_topK, 1 << 16)), comparator.reversed());
+
+        final long rowCount = m_rowsInInputTable;
+        exec.setMessage("Reading data");
+        ExecutionMonitor readExec = exec.createSubProgress(0.9);
+        long index = 0;
+        for (final DataRow r : m_inputTable) {
+            readExec.checkCanceled();
+            if (rowCount > 0) {
+                readExec.setProgress(index / (double)rowCount, () -> "Reading table, row " + r.getKey());
+            }
+            if (m_topK > 0) {
+                final TopKEntry entry = new TopKEntry(r, encoder == null ? null : encoder.encode(r), index);
+                if (heap.size() < m_topK) {
+                    heap.add(entry);
+                } else if (comparator.compare(entry, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(entry);
+                }
+            }
+            index++;
+        }
+
+        final TopKEntry[] entries = heap.toArray(new TopKEntry[heap.size()]);
+        heap.clear();
+        Arrays.sort(entries, comparator);
+        final DataRow[] rows = new DataRow[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            rows[i] = entries[i].m_row;
+        }
+        return rows;
+    }
+
     private DataTable sortInMemory(final ExecutionMonitor exec) throws CanceledExecutionException {
         final DataTable dataTable = m_inputTable;
         List<DataRow> rowList = new ArrayList<DataRow>();
@@ -451,14 +690,15 @@ private DataTable sortInMemory(final ExecutionMonitor exec) throws CanceledExecu
         }
 
         exec.setMessage("Sorting");
-        Collections.sort(rowList, m_rowComparator);
+        final DataRow[] sortedRows = sortRun(rowList);
+        rowList = null;
 
         exec.setMessage("Creating sorted table");
 
         final DataContainer dc = createDataContainer(dataTable.getDataTableSpec(), false);
         ExecutionMonitor writeExec = exec.createSubProgress(0.5);
         progress = 0;
-        for (DataRow r : rowList) {
+        for (DataRow r : sortedRows) {
             exec.checkCanceled();
             if (rowCount > 0) {
                 writeExec.setProgress(progress / (double)rowCount, r.getKey().getString());
@@ -533,7 +773,23 @@ private DataTable sortOnDisk(final ExecutionMonitor exec) throws CanceledExecuti
      */
     Iterator<DataRow> mergeChunks(final ExecutionMonitor exec, final boolean mergeCompletely)
         throws CanceledExecutionException {
+        reduceChunks(exec, mergeCompletely ? 1 : m_maxOpenContainers);
+        List<MergeEntry> containersToMerge = new ArrayList<>();
         while (!m_chunksContainer.isEmpty()) {
+            containersToMerge.add(new MergeEntry(m_chunksContainer.poll(), true));
+        }
+        return new MergingIterator(containersToMerge, m_rowComparator, m_keyEncoder);
+    }
+
+    /**
+     * Merges chunks into new chunks until at most the given number of chunks is left.
+     *
+     * @param exec execution context
+     * @param maxChunks the maximum number of chunks to be left
+     * @throws CanceledExecutionException if the algorithm has been canceled
+     */
+    private void reduceChunks(final ExecutionMonitor exec, final int maxChunks) throws CanceledExecutionException {
+        while (m_chunksContainer.size() > maxChunks) {
             exec.setMessage("Merging temporary tables, " + m_chunksContainer.size() + " remaining");
             if (m_chunksContainer.size() < m_maxOpenContainers) {
                 if (m_rowsInInputTable > 0) {
@@ -547,104 +803,336 @@ Iterator<DataRow> mergeChunks(final ExecutionMonitor exec, final boolean mergeCo
                 }
             }
 
-            Queue<MergeEntry> containersToMerge = new ArrayDeque<>();
+            List<MergeEntry> containersToMerge = new ArrayList<>();
 
             for (int i = 0; !m_chunksContainer.isEmpty() && i < m_maxOpenContainers; i++) {
-                containersToMerge.add(new MergeEntry(m_chunksContainer.poll(), i, m_rowComparator));
+                containersToMerge.add(new MergeEntry(m_chunksContainer.poll(), true));
             }
 
-            MergingIterator mergingIterator = new MergingIterator(containersToMerge);
+            MergingIterator mergingIterator = new MergingIterator(containersToMerge, m_rowComparator, m_keyEncoder);
 
-            if (m_chunksContainer.isEmpty() && (!mergeCompletely || containersToMerge.size() == 1)) {
-                return mergingIterator;
-            } else {
-                if (m_rowsInInputTable > 0) {
-                    // increment progress
-                    m_progress += m_incProgress;
-                    exec.setProgress(m_progress);
-                }
-                openChunk();
+            if (m_rowsInInputTable > 0) {
+                // increment progress
+                m_progress += m_incProgress;
+                exec.setProgress(m_progress);
+            }
+            openChunk();
 
-                try {
-                    while (mergingIterator.hasNext()) {
-                        addRowToChunk(mergingIterator.next());
-                        exec.checkCanceled();
-                    }
-                } finally {
-                    closeChunk();
+            try {
+                while (mergingIterator.hasNext()) {
+                    addRowToChunk(mergingIterator.next());
+                    exec.checkCanceled();
                 }
+            } finally {
+                closeChunk();
             }
         }
-        return Collections.<DataRow>emptyList().iterator();
+    }
+
+    /**
+     * Creates an iterator merging the given runs, used by the {@link LazySortedTable}. The runs are not cleared.
+     *
+     * @param runs the sorted runs
+     * @param keyEncoder the encoder used to sort the runs or <code>null</code>
+     * @return a new iterator
+     */
+    CloseableRowIterator createMergingIterator(final List<Iterable<DataRow>> runs,
+        final NormalizedKeyEncoder keyEncoder) {
+        List<MergeEntry> containersToMerge = new ArrayList<>(runs.size());
+        for (Iterable<DataRow> run : runs) {
+            containersToMerge.add(new MergeEntry(run, false));
+        }
+        return new MergingIterator(containersToMerge, m_rowComparator, keyEncoder);
     }
 
     private long createInitialChunks(final ExecutionMonitor exec, final DataTable dataTable)
         throws CanceledExecutionException {
         long outerCounter;
         long counter = 0;
-        ArrayList<DataRow> buffer = new ArrayList<DataRow>();
+        List<DataRow> buffer = new ArrayList<DataRow>();
         long chunkStartRow = 0;
         int rowsInCurrentChunk = 0;
+        // the run that is written to disk in the background while the next run is read
+        Future<DataTable> pendingSpill = null;
+        DataContainer pendingChunk = null;
+        int pendingSpillSize = 0;
 
         MemoryActionIndicator memObservable = m_memService.newIndicator();
 
         exec.setMessage("Reading table");
-        for (Iterator<DataRow> iter = dataTable.iterator(); iter.hasNext();) {
-            counter++;
-            rowsInCurrentChunk++;
-            exec.checkCanceled();
-            String message = "Reading table, " + counter + " rows read";
-            if (m_rowsInInputTable > 0) {
-                m_progress += m_incProgress;
-                exec.setProgress(m_progress, message);
-            } else {
-                exec.setMessage(message);
-            }
-            DataRow row = iter.next();
-            buffer.add(row);
-            if ((memObservable.lowMemoryActionRequired() && (rowsInCurrentChunk >= m_maxOpenContainers))
-                || (counter % m_maxRowsPerChunk == 0)) {
-                LOGGER.debug("Writing chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
+        try {
+            for (Iterator<DataRow> iter = dataTable.iterator(); iter.hasNext();) {
+                counter++;
+                rowsInCurrentChunk++;
+                exec.checkCanceled();
+                String message = "Reading table, " + counter + " rows read";
                 if (m_rowsInInputTable > 0) {
-                    long estimatedIncrements = m_rowsInInputTable - counter + buffer.size();
-                    m_incProgress = (0.5 - m_progress) / estimatedIncrements;
+                    m_progress += m_incProgress;
+                    exec.setProgress(m_progress, message);
+                } else {
+                    exec.setMessage(message);
                 }
-                exec.setMessage("Sorting temporary buffer");
-                // sort buffer
-                Collections.sort(buffer, m_rowComparator);
-                // write buffer to disk
-                openChunk();
-                final int totalBufferSize = buffer.size();
-                for (int i = 0; i < totalBufferSize; i++) {
-                    exec.setMessage("Writing temporary table -- " + i + "/" + totalBufferSize);
-                    // must not use Iterator#remove as it causes
-                    // array copies
-                    DataRow next = buffer.set(i, null);
-                    addRowToChunk(next);
-                    exec.checkCanceled();
+                DataRow row = iter.next();
+                buffer.add(row);
+                if ((memObservable.lowMemoryActionRequired() && (rowsInCurrentChunk >= m_maxOpenContainers))
+                    || (counter % m_maxRowsPerChunk == 0)) {
+                    LOGGER.debug("Writing chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
                     if (m_rowsInInputTable > 0) {
-                        m_progress += m_incProgress;
-                        exec.setProgress(m_progress);
+                        long estimatedIncrements = m_rowsInInputTable - counter + buffer.size();
+                        m_incProgress = (0.5 - m_progress) / estimatedIncrements;
+                    }
+                    // the previous run must be on disk before the next one is started, this keeps the order of the
+                    // runs (stable sort) and bounds the memory to two runs
+                    if (pendingSpill != null) {
+                        exec.setMessage("Writing temporary table");
+                        m_chunksContainer.offer(awaitSpill(pendingSpill, exec, pendingSpillSize));
+                        pendingSpill = null;
+                    }
+                    exec.setMessage("Sorting temporary buffer");
+                    final DataRow[] run = sortRun(buffer);
+                    buffer = new ArrayList<DataRow>();
+                    final DataContainer chunk = createDataContainer(m_dataTableSpec, true);
+                    chunk.setMaxPossibleValues(0);
+                    if (m_parallelism > 1) {
+                        pendingSpill = getExecutor().enqueue(() -> writeRun(run, chunk, exec));
+                        pendingChunk = chunk;
+                        pendingSpillSize = run.length;
+                    } else {
+                        exec.setMessage("Writing temporary table");
+                        m_chunksContainer.offer(writeRun(run, chunk, exec));
+                        incrementProgress(exec, run.length);
                     }
-                }
-                buffer.clear();
-                closeChunk();
 
-                LOGGER.debug("Wrote chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
-                chunkStartRow = counter + 1;
-                rowsInCurrentChunk = 0;
+                    LOGGER.debug("Wrote chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
+                    chunkStartRow = counter + 1;
+                    rowsInCurrentChunk = 0;
+                }
+            }
+            if (pendingSpill != null) {
+                exec.setMessage("Writing temporary table");
+                m_chunksContainer.offer(awaitSpill(pendingSpill, exec, pendingSpillSize));
+                pendingSpill = null;
+            }
+        } finally {
+            if (pendingSpill != null) {
+                discardSpill(pendingSpill, pendingChunk);
             }
         }
         // Add buffer to the chunks
         if (!buffer.isEmpty()) {
             // sort buffer
-            Collections.sort(buffer, m_rowComparator);
-            m_chunksContainer.add(buffer);
+            m_chunksContainer.add(Arrays.asList(sortRun(buffer)));
         }
         outerCounter = counter;
         return outerCounter;
     }
 
+    /**
+     * Writes a sorted run into a temporary container. Called from the thread creating the runs or from a spill
+     * thread, hence it must not touch the fields of the current chunk.
+     *
+     * @param run the sorted rows, the array is cleared while writing to release the rows as early as possible
+     * @param chunk the container to write to, will be closed
+     * @param exec for cancellation checks
+     * @return the table of the closed container
+     * @throws CanceledExecutionException if canceled
+     */
+    private DataTable writeRun(final DataRow[] run, final DataContainer chunk, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        try {
+            for (int i = 0; i < run.length; i++) {
+                chunk.addRowToTable(run[i]);
+                run[i] = null;
+                exec.checkCanceled();
+            }
+        } finally {
+            chunk.close();
+        }
+        return chunk.getTable();
+    }
+
+    /**
+     * Waits for a run to be written by a spill thread.
+     *
+     * @param spill the pending spill
+     * @param exec for progress
+     * @param runSize the number of rows in the run
+     * @return the written table
+     * @throws CanceledExecutionException if the spill was canceled
+     */
+    private DataTable awaitSpill(final Future<DataTable> spill, final ExecutionMonitor exec, final int runSize)
+        throws CanceledExecutionException {
+        final DataTable table;
+        try {
+            table = await(spill);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)e.getCause();
+            }
+            throw new RuntimeException("Writing temporary table failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        incrementProgress(exec, runSize);
+        return table;
+    }
+
+    /**
+     * Discards a pending spill after the creation of the runs failed or was canceled: waits for the spill thread to
+     * finish (it stops early if the execution was canceled) and then closes and clears its temporary table.
+     *
+     * @param spill the pending spill
+     * @param chunk the container the spill writes to
+     */
+    private void discardSpill(final Future<DataTable> spill, final DataContainer chunk) {
+        try {
+            await(spill);
+        } catch (ExecutionException e) {
+            LOGGER.debug("Discarding temporary table: " + e.getCause().getMessage(), e.getCause());
+        }
+        if (spill.isCancelled()) {
+            // interrupted while waiting, the spill thread may still be writing to the container
+            return;
+        }
+        chunk.close();
+        clearTable(chunk.getTable());
+    }
+
+    private void incrementProgress(final ExecutionMonitor exec, final int rowCount) {
+        if (m_rowsInInputTable > 0) {
+            m_progress += rowCount * m_incProgress;
+            exec.setProgress(m_progress);
+        }
+    }
+
+    /**
+     * Sorts a run. If the run is large enough and the {@link #setParallelism(int) parallelism} allows it, the run is
+     * split into slices which are sorted by different threads and then merged pairwise, also in parallel. If
+     * {@link #setSortOnNormalizedKeys(boolean) normalized keys} are used, each row is encoded once and the run is
+     * sorted on the keys. The sort is stable.
+     *
+     * @param buffer the rows of the run, not modified
+     * @return the sorted rows
+     */
+    DataRow[] sortRun(final List<DataRow> buffer) {
+        final NormalizedKeyEncoder encoder = m_keyEncoder;
+        if (encoder == null) {
+            return sortArray(buffer.toArray(new DataRow[buffer.size()]), m_rowComparator);
+        }
+        final KeyedRow[] keyedRows = new KeyedRow[buffer.size()];
+        for (int i = 0; i < keyedRows.length; i++) {
+            final DataRow row = buffer.get(i);
+            keyedRows[i] = new KeyedRow(encoder.encode(row), row);
+        }
+        final KeyedRow[] sorted = sortArray(keyedRows, KeyedRow.COMPARATOR);
+        final DataRow[] rows = new DataRow[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            rows[i] = sorted[i].m_row;
+        }
+        return rows;
+    }
+
+    private <T> T[] sortArray(final T[] rows, final Comparator<? super T> comparator) {
+        final int slices = Math.min(m_parallelism, rows.length / MIN_ROWS_PER_SLICE);
+        if (slices <= 1) {
+            Arrays.sort(rows, comparator);
+            return rows;
+        }
+        final int[] bounds = new int[slices + 1];
+        for (int i = 0; i <= slices; i++) {
+            bounds[i] = (int)((long)rows.length * i / slices);
+        }
+        final List<Future<?>> futures = new ArrayList<>(slices);
+        for (int i = 0; i < slices; i++) {
+            final int from = bounds[i];
+            final int to = bounds[i + 1];
+            futures.add(getExecutor().enqueue(() -> Arrays.sort(rows, from, to, comparator)));
+        }
+        awaitAll(futures);
+
+        T[] src = rows;
+        T[] dest = rows.clone();
+        for (int width = 1; width < slices; width *= 2) {
+            futures.clear();
+            for (int i = 0; i < slices; i += 2 * width) {
+                final int lo = bounds[i];
+                final int mid = bounds[Math.min(i + width, slices)];
+                final int hi = bounds[Math.min(i + 2 * width, slices)];
+                final T[] from = src;
+                final T[] to = dest;
+                futures.add(getExecutor().enqueue(() -> merge(from, to, lo, mid, hi, comparator)));
+            }
+            awaitAll(futures);
+            final T[] tmp = src;
+            src = dest;
+            dest = tmp;
+        }
+        return src;
+    }
+
+    /** Merges the sorted ranges [lo, mid) and [mid, hi) of src into dest, taking from the left range on ties. */
+    private static <T> void merge(final T[] src, final T[] dest, final int lo, final int mid, final int hi,
+        final Comparator<? super T> comparator) {
+        int left = lo;
+        int right = mid;
+        for (int i = lo; i < hi; i++) {
+            if (right >= hi || (left < mid && comparator.compare(src[left], src[right]) <= 0)) {
+                dest[i] = src[left++];
+            } else {
+                dest[i] = src[right++];
+            }
+        }
+    }
+
+    private ThreadPool getExecutor() {
+        if (m_executor == null) {
+            m_executor = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(m_parallelism);
+        }
+        return m_executor;
+    }
+
+    private static void awaitAll(final List<Future<?>> futures) {
+        try {
+            for (Future<?> f : futures) {
+                await(f);
+            }
+        } catch (ExecutionException e) {
+            futures.stream().forEach(f -> f.cancel(true));
+            throw new RuntimeException("Sorting failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Waits for the future. If the current thread is taken from a thread pool it is not counted while waiting so
+     * that the pool can run the awaited task even if all its threads are busy.
+     *
+     * @param future the future to wait for
+     * @return the result of the future
+     * @throws ExecutionException if the task failed, the exception's cause is the failure
+     */
+    private static <T> T await(final Future<T> future) throws ExecutionException {
+        final Callable<T> get = () -> {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new ExecutionException(e);
+            }
+        };
+        final ThreadPool pool = ThreadPool.currentPool();
+        try {
+            return pool == null ? get.call() : pool.runInvisible(get);
+        } catch (ExecutionException e) {
+            // runInvisible wraps the exception thrown by the callable
+            Throwable cause = e;
+            while (cause instanceof ExecutionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            throw new ExecutionException(cause);
+        } catch (Exception e) {
+            throw new ExecutionException(e);
+        }
+    }
+
     /**
      * Opens a chunk data container to accept rows using {@link #addRowToChunk(DataRow)}, {@link #closeChunk()} closes
      * the current container and adds it to the chunk list.
@@ -693,134 +1181,162 @@ private String getMemUsage() {
         return "avail: " + availS + "MB, total: " + totalS + "MB, free: " + freeS + "MB";
     }
 
-    private final class MergeEntry implements Comparable<MergeEntry>, Iterator<DataRow> {
-        private DataRow m_row;
+    /**
+     * One run of a merge step. Temporary tables are read ahead in batches by a background thread if the
+     * {@link #setParallelism(int) parallelism} allows it.
+     */
+    private final class MergeEntry {
 
-        private Iterable<DataRow> m_iterable;
+        private final Iterable<DataRow> m_iterable;
 
         private Iterator<DataRow> m_iterator;
 
-        private int m_index;
+        private boolean m_readAhead;
+
+        private DataRow[] m_batch;
 
-        private Comparator<DataRow> m_comparator;
+        private int m_batchPos;
+
+        private Future<DataRow[]> m_nextBatch;
+
+        private DataRow m_row;
+
+        private final boolean m_clearWhenExhausted;
 
         /**
-         * @param iterator
-         * @param index
-         * @param comparator
+         * @param iterable the run
+         * @param clearWhenExhausted whether the run is a temporary table that is cleared once it is read completely
          */
-        MergeEntry(final Iterable<DataRow> iterable, final int index, final Comparator<DataRow> comparator) {
+        MergeEntry(final Iterable<DataRow> iterable, final boolean clearWhenExhausted) {
             m_iterable = iterable;
-            m_index = index;
-            m_comparator = comparator;
+            m_clearWhenExhausted = clearWhenExhausted;
         }
 
         private void open() {
             if (m_iterator == null) {
                 m_iterator = m_iterable.iterator();
-                if (m_iterator.hasNext()) {
-                    m_row = m_iterator.next();
-                }
+                m_readAhead = m_parallelism > 1 && m_iterable instanceof DataTable;
+                advance();
             }
         }
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public boolean hasNext() {
-            // open the file lazily
-            if (m_row == null) {
-                if (m_iterable instanceof DataTable) {
-                    clearTable((DataTable)m_iterable);
-                }
-                return false;
-            }
-            return true;
+        /** @return the current row or <code>null</code> if the run is exhausted. */
+        DataRow peek() {
+            return m_row;
         }
 
         /**
-         * {@inheritDoc}
+         * Returns the current row and advances to the next one. The temporary table is cleared as soon as the run
+         * is exhausted.
          */
-        @Override
-        public DataRow next() {
-            // open the file lazily
+        DataRow next() {
             if (m_row == null) {
                 throw new NoSuchElementException();
             }
             DataRow toReturn = m_row;
-            m_row = m_iterator.hasNext() ? m_iterator.next() : null;
+            advance();
             return toReturn;
         }
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void remove() {
-            throw new UnsupportedOperationException();
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public int compareTo(final MergeEntry that) {
-            int value = m_comparator.compare(this.m_row, that.m_row);
-            if (value == 0) {
-                return this.m_index - that.m_index;
+        private void advance() {
+            if (!m_readAhead) {
+                m_row = m_iterator.hasNext() ? m_iterator.next() : null;
             } else {
-                return value;
+                if (m_batch == null || m_batchPos == m_batch.length) {
+                    m_batch = m_nextBatch == null ? readBatch() : awaitBatch();
+                    m_batchPos = 0;
+                    // a full batch indicates that there might be more rows, fetch them in the background
+                    m_nextBatch = m_batch.length == READ_AHEAD_ROWS ? getExecutor().enqueue(this::readBatch) : null;
+                }
+                if (m_batchPos < m_batch.length) {
+                    m_row = m_batch[m_batchPos];
+                    m_batch[m_batchPos++] = null;
+                } else {
+                    m_row = null;
+                }
+            }
+            if (m_row == null && m_clearWhenExhausted && m_iterable instanceof DataTable) {
+                clearTable((DataTable)m_iterable);
             }
         }
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + m_index;
-            result = prime * result + ((m_row == null) ? 0 : m_row.hashCode());
-            return result;
+        /** Reads the next batch, only one thread at a time accesses the iterator. */
+        private DataRow[] readBatch() {
+            final List<DataRow> batch = new ArrayList<>(READ_AHEAD_ROWS);
+            while (batch.size() < READ_AHEAD_ROWS && m_iterator.hasNext()) {
+                batch.add(m_iterator.next());
+            }
+            return batch.toArray(new DataRow[batch.size()]);
         }
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public boolean equals(final Object obj) {
-            if (this == obj) {
-                return true;
+        /** Stops the read-ahead and closes the iterator of the run, if not read completely. */
+        void close() {
+            if (m_nextBatch != null) {
+                // the iterator must not be closed while a batch is read
+                try {
+                    await(m_nextBatch);
+                } catch (ExecutionException e) {
+                    LOGGER.debug("Reading ahead temporary table failed: " + e.getCause().getMessage(), e.getCause());
+                }
+                m_nextBatch = null;
             }
-            if (obj == null) {
-                return false;
+            if (m_iterator instanceof CloseableRowIterator) {
+                ((CloseableRowIterator)m_iterator).close();
             }
-            if (getClass() != obj.getClass()) {
-                return false;
+            m_batch = null;
+            m_row = null;
+        }
+
+        private DataRow[] awaitBatch() {
+            try {
+                return await(m_nextBatch);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Reading temporary table failed: " + e.getCause().getMessage(),
+                    e.getCause());
+            } finally {
+                m_nextBatch = null;
             }
-            MergeEntry other = (MergeEntry)obj;
-            return (this.compareTo(other) == 0);
         }
     }
 
     /**
-     * Lazily opens the given MergeEntry's (The runs of this merging step) and returns the rows.
+     * Lazily opens the given MergeEntry's (The runs of this merging step) and returns the rows. The runs are merged
+     * using a tournament (loser) tree, which needs log(k) comparisons per row for k runs. Equal rows are returned in
+     * the order of their runs to keep the sort stable.
      *
      * @author Marcel Hanser
      */
-    private static final class MergingIterator implements Iterator<DataRow> {
-        private Queue<MergeEntry> m_containerToMerge;
+    private static final class MergingIterator extends CloseableRowIterator {
+        private final MergeEntry[] m_entries;
+
+        private final Comparator<DataRow> m_comparator;
+
+        /** Encoder of the normalized keys or <code>null</code> if rows are compared using the comparator. */
+        private final NormalizedKeyEncoder m_keyEncoder;
+
+        /** The normalized keys of the current rows of the runs, only used if there is an encoder. */
+        private final byte[][] m_keys;
+
+        /**
+         * Index of the run losing the match at each inner node of the tree, the winner is kept at index 0. The leaf
+         * of run i is the (virtual) node i + k.
+         */
+        private final int[] m_tree;
 
         private boolean m_opened = false;
 
         /**
-         * @param containerToMerge
+         * @param containerToMerge the runs to merge
+         * @param comparator the row comparator
+         * @param keyEncoder the encoder of the normalized keys, <code>null</code> to use the comparator
          */
-        private MergingIterator(final Queue<MergeEntry> containerToMerge) {
-            super();
-            m_containerToMerge = containerToMerge;
+        private MergingIterator(final List<MergeEntry> containerToMerge, final Comparator<DataRow> comparator,
+            final NormalizedKeyEncoder keyEncoder) {
+            m_entries = containerToMerge.toArray(new MergeEntry[containerToMerge.size()]);
+            m_comparator = comparator;
+            m_keyEncoder = keyEncoder;
+            m_keys = keyEncoder == null ? null : new byte[m_entries.length][];
+            m_tree = new int[Math.max(1, m_entries.length)];
         }
 
         /**
@@ -829,15 +1345,18 @@ private MergingIterator(final Queue<MergeEntry> containerToMerge) {
         @Override
         public boolean hasNext() {
             if (!m_opened) {
-                Queue<MergeEntry> sortedEntries = new PriorityQueue<>();
-                for (MergeEntry entry : m_containerToMerge) {
-                    entry.open();
-                    sortedEntries.add(entry);
+                for (int i = 0; i < m_entries.length; i++) {
+                    m_entries[i].open();
+                    updateKey(i);
+                }
+                // index k is a virtual run that beats every other run, it is replaced while the tree is built
+                Arrays.fill(m_tree, m_entries.length);
+                for (int i = m_entries.length - 1; i >= 0; i--) {
+                    replay(i);
                 }
-                m_containerToMerge = sortedEntries;
                 m_opened = true;
             }
-            return !m_containerToMerge.isEmpty();
+            return m_entries.length > 0 && m_entries[m_tree[0]].peek() != null;
         }
 
         /**
@@ -846,23 +1365,100 @@ public boolean hasNext() {
         @Override
         public DataRow next() {
             if (hasNext()) {
-                MergeEntry first = m_containerToMerge.poll();
-                DataRow currentCell = first.next();
-                if (first.hasNext()) {
-                    m_containerToMerge.offer(first);
-                }
+                final int winner = m_tree[0];
+                DataRow currentCell = m_entries[winner].next();
+                updateKey(winner);
+                replay(winner);
                 return currentCell;
             } else {
                 throw new NoSuchElementException();
             }
         }
 
+        private void updateKey(final int run) {
+            if (m_keyEncoder != null) {
+                final DataRow row = m_entries[run].peek();
+                m_keys[run] = row == null ? null : m_keyEncoder.encode(row);
+            }
+        }
+
         /**
          * {@inheritDoc}
          */
         @Override
-        public void remove() {
-            throw new UnsupportedOperationException();
+        public void close() {
+            for (int i = 0; i < m_entries.length; i++) {
+                m_entries[i].close();
+                if (m_keys != null) {
+                    m_keys[i] = null;
+                }
+            }
+            // all runs are exhausted now, rebuild the tree so that the iterator stays at the end
+            m_opened = true;
+            for (int i = m_entries.length - 1; i >= 0; i--) {
+                replay(i);
+            }
+        }
+
+        /** Replays the matches on the path from the leaf of the given run to the root. */
+        private void replay(final int run) {
+            final int k = m_entries.length;
+            int winner = run;
+            for (int node = (run + k) >> 1; node > 0; node >>= 1) {
+                if (beats(m_tree[node], winner)) {
+                    final int loser = winner;
+                    winner = m_tree[node];
+                    m_tree[node] = loser;
+                }
+            }
+            m_tree[0] = winner;
+        }
+
+        /** Whether run a has to be returned before run b, exhausted runs lose against all others. */
+        private boolean beats(final int a, final int b) {
+            final int k = m_entries.length;
+            if (a == k || b == k) {
+                return a == k;
+            }
+            final DataRow rowA = m_entries[a].peek();
+            final DataRow rowB = m_entries[b].peek();
+            if (rowA == null || rowB == null) {
+                return rowB == null && (rowA != null || a < b);
+            }
+            final int cmp = m_keyEncoder == null ? m_comparator.compare(rowA, rowB)
+                : NormalizedKeyEncoder.compare(m_keys[a], m_keys[b]);
+            return cmp < 0 || (cmp == 0 && a < b);
+        }
+    }
+
+    /** A row kept in top-k mode, together with its (optional) normalized key and its input position. */
+    private static final class TopKEntry {
+
+        private final DataRow m_row;
+
+        private final byte[] m_key;
+
+        private final long m_index;
+
+        TopKEntry(final DataRow row, final byte[] key, final long index) {
+            m_row = row;
+            m_key = key;
+            m_index = index;
+        }
+    }
+
+    /** A row together with its normalized sort key, only used while a run is sorted. */
+    private static final class KeyedRow {
+
+        static final Comparator<KeyedRow> COMPARATOR = (r1, r2) -> NormalizedKeyEncoder.compare(r1.m_key, r2.m_key);
+
+        private final byte[] m_key;
+
+        private final DataRow m_row;
+
+        KeyedRow(final byte[] key, final DataRow row) {
+            m_key = key;
+            m_row = row;
         }
     }
 
@@ -893,6 +1489,8 @@ private static final class RowComparator implements Comparator<DataRow> {
          */
         private final boolean m_sortMissingsToEnd;
 
+        private final DataTableSpec m_spec;
+
         /**
          * @param indices Array of sort column indices.
          * @param sortAscending Sort order.
@@ -914,6 +1512,16 @@ private static final class RowComparator implements Comparator<DataRow> {
             }
             m_sortAscending = sortAscending;
             m_sortMissingsToEnd = sortMissingsToEnd;
+            m_spec = spec;
+        }
+
+        /**
+         * @return an encoder for normalized keys ordered like this comparator or <code>null</code> if any of the sort
+         *         columns can't be encoded
+         */
+        NormalizedKeyEncoder createKeyEncoder() {
+            return NormalizedKeyEncoder.create(m_indices, m_colComparators, m_sortAscending, m_sortMissingsToEnd,
+                m_spec);
         }
 
         /** {@inheritDoc} */
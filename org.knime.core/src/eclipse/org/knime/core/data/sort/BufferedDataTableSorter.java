@@ -152,6 +152,29 @@ public BufferedDataTable sort(final ExecutionContext ctx) throws CanceledExecuti
         }
     }
 
+    /**
+     * Sorts the table passed in the constructor according to the settings but, unlike {@link #sort(ExecutionContext)},
+     * doesn't write the sorted output into a new table. The returned table merges the sorted runs (temporary tables
+     * created with the argument context) on each iteration, which saves the writing of the output if it's only read
+     * once, for instance if it's consumed by a node's data container. It must be closed to clear the temporary tables.
+     *
+     * @param ctx To report progress &amp; create temporary tables.
+     * @return The sorted output.
+     * @throws CanceledExecutionException If canceled.
+     * @since 3.8
+     */
+    public LazySortedTable sortLazily(final ExecutionContext ctx) throws CanceledExecutionException {
+        if (ctx == null) {
+            throw new NullPointerException("Argument must not be null.");
+        }
+        m_execContext = ctx;
+        try {
+            return super.sortLazilyInternal(ctx, table -> clearTable(ctx, table));
+        } finally {
+            m_execContext = null;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     DataContainer createDataContainer(final DataTableSpec spec, final boolean forceOnDisk) {
@@ -161,12 +184,16 @@ DataContainer createDataContainer(final DataTableSpec spec, final boolean forceO
     /** {@inheritDoc} */
     @Override
     void clearTable(final DataTable table) {
+        clearTable(m_execContext, table);
+    }
+
+    private static void clearTable(final ExecutionContext ctx, final DataTable table) {
         if (!(table instanceof BufferedDataTable)) {
-            NodeLogger.getLogger(getClass()).warnWithFormat(
+            NodeLogger.getLogger(BufferedDataTableSorter.class).warnWithFormat(
                 "Can't clear table instance of \"%s\" - expected \"%s\"", table.getClass().getSimpleName(),
                 BufferedDataTable.class.getSimpleName());
         } else {
-            m_execContext.clearTable((BufferedDataTable)table);
+            ctx.clearTable((BufferedDataTable)table);
         }
     }
 
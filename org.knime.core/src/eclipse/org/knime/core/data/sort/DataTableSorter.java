@@ -213,6 +213,20 @@ public DataTable sort(final ExecutionMonitor exec)
         return super.sortInternal(exec);
     }
 
+    /**
+     * Sorts the table passed in the constructor according to the settings but, unlike {@link #sort(ExecutionMonitor)},
+     * doesn't write the sorted output. The returned table merges the sorted runs on each iteration, which saves the
+     * writing of the output if it's only read once. It must be closed to delete the temporary tables.
+     *
+     * @param exec To report progress.
+     * @return The sorted output.
+     * @throws CanceledExecutionException If canceled.
+     * @since 3.8
+     */
+    public LazySortedTable sortLazily(final ExecutionMonitor exec) throws CanceledExecutionException {
+        return super.sortLazilyInternal(exec, this::clearTable);
+    }
+
     /** {@inheritDoc} */
     @Override
     protected DataContainer createDataContainer(final DataTableSpec spec,
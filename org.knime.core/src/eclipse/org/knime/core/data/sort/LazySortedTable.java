@@ -0,0 +1,157 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.sort;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.CloseableRowIterator;
+
+/**
+ * A sorted table whose rows are merged from the sorted runs (temporary tables) of a table sorter each time the table
+ * is iterated, instead of being written into an output table first. Consumers that read the sorted result only once
+ * save the writing and reading of the merged output.
+ *
+ * <p>
+ * The table holds on to the temporary tables of the sorter until it is {@link #close() closed}. It must not be
+ * iterated after it has been closed.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @see DataTableSorter#sortLazily(org.knime.core.node.ExecutionMonitor)
+ * @see BufferedDataTableSorter#sortLazily(org.knime.core.node.ExecutionContext)
+ */
+public final class LazySortedTable implements DataTable, AutoCloseable {
+
+    private final DataTableSpec m_spec;
+
+    private final long m_size;
+
+    private final List<Iterable<DataRow>> m_runs;
+
+    private final AbstractTableSorter m_sorter;
+
+    private final NormalizedKeyEncoder m_keyEncoder;
+
+    private final Consumer<DataTable> m_tableClearer;
+
+    private boolean m_isClosed;
+
+    /**
+     * @param spec the spec of the table
+     * @param size the number of rows
+     * @param runs the sorted runs
+     * @param sorter the sorter that created the runs, used to merge them
+     * @param keyEncoder the encoder of the normalized keys the runs are sorted by, or <code>null</code>
+     * @param tableClearer clears the runs that are temporary tables
+     */
+    LazySortedTable(final DataTableSpec spec, final long size, final List<Iterable<DataRow>> runs,
+        final AbstractTableSorter sorter, final NormalizedKeyEncoder keyEncoder,
+        final Consumer<DataTable> tableClearer) {
+        m_spec = spec;
+        m_size = size;
+        m_runs = runs;
+        m_sorter = sorter;
+        m_keyEncoder = keyEncoder;
+        m_tableClearer = tableClearer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DataTableSpec getDataTableSpec() {
+        return m_spec;
+    }
+
+    /**
+     * @return the number of rows in the table
+     */
+    public long size() {
+        return m_size;
+    }
+
+    /**
+     * @return the number of sorted runs merged on each iteration
+     */
+    public int getNrRuns() {
+        return m_runs.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the table has been closed
+     */
+    @Override
+    public synchronized CloseableRowIterator iterator() {
+        if (m_isClosed) {
+            throw new IllegalStateException("Sorted table has been closed");
+        }
+        return m_sorter.createMergingIterator(m_runs, m_keyEncoder);
+    }
+
+    /**
+     * Clears the temporary tables holding the sorted runs. Iterators that are still open are invalid afterwards.
+     * Subsequent calls have no effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (!m_isClosed) {
+            m_isClosed = true;
+            for (Iterable<DataRow> run : m_runs) {
+                if (run instanceof DataTable) {
+                    m_tableClearer.accept((DataTable)run);
+                }
+            }
+            m_runs.clear();
+        }
+    }
+
+}
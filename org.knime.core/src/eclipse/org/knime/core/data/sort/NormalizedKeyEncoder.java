@@ -0,0 +1,265 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.data.sort;
+
+import java.util.Arrays;
+
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.DoubleValueComparator;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.IntValueComparator;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.LongValueComparator;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.StringValueComparator;
+
+/**
+ * Encodes the sort columns of a row into a byte array whose unsigned lexicographic order is the order of the rows
+ * as defined by the row comparator of the {@link AbstractTableSorter}. Comparing two such keys replaces the
+ * cell-by-cell comparison (with virtual dispatch and missing value checks) by a plain byte comparison.
+ *
+ * <p>
+ * Each column is encoded as a tag byte (missing or not) followed by the value, whose bytes are inverted for
+ * descending columns:
+ * <ul>
+ * <li>int and long values are written big-endian with the sign bit flipped,</li>
+ * <li>double values are written as their bits, transformed to order like {@link Double#compare(double, double)},</li>
+ * <li>boolean values are written as a single byte,</li>
+ * <li>strings and row keys are written as UTF-16 code units (the order of {@link String#compareTo(String)}), zero
+ * bytes are escaped and the string is terminated by two zero bytes.</li>
+ * </ul>
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+final class NormalizedKeyEncoder {
+
+    private enum Kind {
+            ROWKEY, INT, LONG, DOUBLE, BOOLEAN, STRING;
+    }
+
+    private static final byte TAG_MISSING_FIRST = 0x00;
+
+    private static final byte TAG_VALUE = 0x01;
+
+    private static final byte TAG_MISSING_LAST = 0x02;
+
+    private final int[] m_indices;
+
+    private final Kind[] m_kinds;
+
+    private final boolean[] m_sortAscending;
+
+    private final byte m_missingTagAscending;
+
+    private NormalizedKeyEncoder(final int[] indices, final Kind[] kinds, final boolean[] sortAscending,
+        final boolean sortMissingsToEnd) {
+        m_indices = indices;
+        m_kinds = kinds;
+        m_sortAscending = sortAscending;
+        // unless sorted to the end, missing values are smaller than any other value (and hence last if descending)
+        m_missingTagAscending = sortMissingsToEnd ? TAG_MISSING_LAST : TAG_MISSING_FIRST;
+    }
+
+    /**
+     * Creates an encoder for the given sort columns.
+     *
+     * @param indices the sort column indices, -1 for the row key
+     * @param comparators the comparators of the columns (<code>null</code> for the row key)
+     * @param sortAscending the sort order of the columns
+     * @param sortMissingsToEnd whether missing values are sorted to the end independent of the sort order
+     * @param spec the spec of the table
+     * @return the encoder or <code>null</code> if any of the columns can't be encoded
+     */
+    static NormalizedKeyEncoder create(final int[] indices, final DataValueComparator[] comparators,
+        final boolean[] sortAscending, final boolean sortMissingsToEnd, final DataTableSpec spec) {
+        final Kind[] kinds = new Kind[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] == -1) {
+                kinds[i] = Kind.ROWKEY;
+                continue;
+            }
+            // the comparator decides about the order, it must be one of the known (non-extended) implementations
+            final Class<?> compClass = comparators[i].getClass();
+            final DataType type = spec.getColumnSpec(indices[i]).getType();
+            if (compClass == IntValueComparator.class) {
+                kinds[i] = Kind.INT;
+            } else if (compClass == LongValueComparator.class) {
+                kinds[i] = Kind.LONG;
+            } else if (compClass == DoubleValueComparator.class) {
+                kinds[i] = Kind.DOUBLE;
+            } else if (compClass == StringValueComparator.class) {
+                kinds[i] = Kind.STRING;
+            } else if (type.getPreferredValueClass() == BooleanValue.class) {
+                kinds[i] = Kind.BOOLEAN;
+            } else {
+                return null;
+            }
+        }
+        return new NormalizedKeyEncoder(indices, kinds, sortAscending, sortMissingsToEnd);
+    }
+
+    /**
+     * Encodes the sort columns of the row.
+     *
+     * @param row the row
+     * @return the key
+     */
+    byte[] encode(final DataRow row) {
+        final KeyBuilder key = new KeyBuilder();
+        for (int i = 0; i < m_indices.length; i++) {
+            final boolean ascending = m_sortAscending[i];
+            if (m_kinds[i] == Kind.ROWKEY) {
+                key.writeString(row.getKey().getString(), ascending);
+                continue;
+            }
+            final DataCell cell = row.getCell(m_indices[i]);
+            if (cell.isMissing()) {
+                // the tag is not inverted, it already accounts for the sort order
+                key.write(ascending ? m_missingTagAscending : TAG_MISSING_LAST, true);
+                continue;
+            }
+            key.write(TAG_VALUE, true);
+            switch (m_kinds[i]) {
+                case INT:
+                    key.writeInt(((IntValue)cell).getIntValue() ^ Integer.MIN_VALUE, ascending);
+                    break;
+                case LONG:
+                    key.writeLong(((LongValue)cell).getLongValue() ^ Long.MIN_VALUE, ascending);
+                    break;
+                case DOUBLE:
+                    // doubleToLongBits collapses all NaNs, negative values are ordered reversed in their bits
+                    final long bits = Double.doubleToLongBits(((DoubleValue)cell).getDoubleValue());
+                    key.writeLong(bits < 0 ? ~bits : bits ^ Long.MIN_VALUE, ascending);
+                    break;
+                case BOOLEAN:
+                    key.write(((BooleanValue)cell).getBooleanValue() ? 1 : 0, ascending);
+                    break;
+                case STRING:
+                    key.writeString(((StringValue)cell).getStringValue(), ascending);
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected column kind: " + m_kinds[i]);
+            }
+        }
+        return key.toByteArray();
+    }
+
+    /**
+     * Compares two keys as unsigned bytes in lexicographic order.
+     *
+     * @param key1 first key
+     * @param key2 second key
+     * @return a negative number, zero, or a positive number if the first key is less than, equal to, or greater than
+     *         the second
+     */
+    static int compare(final byte[] key1, final byte[] key2) {
+        final int length = Math.min(key1.length, key2.length);
+        for (int i = 0; i < length; i++) {
+            if (key1[i] != key2[i]) {
+                return (key1[i] & 0xFF) - (key2[i] & 0xFF);
+            }
+        }
+        return key1.length - key2.length;
+    }
+
+    /** Growable byte array, inverting the bytes of descending columns. */
+    private static final class KeyBuilder {
+
+        private byte[] m_bytes = new byte[32];
+
+        private int m_length;
+
+        void write(final int b, final boolean ascending) {
+            if (m_length == m_bytes.length) {
+                m_bytes = Arrays.copyOf(m_bytes, 2 * m_length);
+            }
+            m_bytes[m_length++] = (byte)(ascending ? b : ~b);
+        }
+
+        void writeInt(final int v, final boolean ascending) {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                write(v >>> shift, ascending);
+            }
+        }
+
+        void writeLong(final long v, final boolean ascending) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int)(v >>> shift), ascending);
+            }
+        }
+
+        void writeString(final String s, final boolean ascending) {
+            for (int i = 0; i < s.length(); i++) {
+                final char c = s.charAt(i);
+                writeEscaped(c >>> 8, ascending);
+                writeEscaped(c & 0xFF, ascending);
+            }
+            // terminator, sorts before any (escaped) content byte
+            write(0, ascending);
+            write(0, ascending);
+        }
+
+        private void writeEscaped(final int b, final boolean ascending) {
+            write(b, ascending);
+            if (b == 0) {
+                write(0xFF, ascending);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(m_bytes, m_length);
+        }
+    }
+
+}
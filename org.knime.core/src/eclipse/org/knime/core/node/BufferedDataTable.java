@@ -379,14 +379,29 @@ public RowIteratorBuilder<? extends CloseableRowIterator> iteratorBuilder() {
      *          method is called or while the iteration is in progress).
      */
     public CloseableRowIterator iteratorFailProve() {
+        return iteratorFailProve(0L);
+    }
+
+    /**
+     * Get an iterator instance that starts at the given row and will return missing values when the table is cleared
+     * as part of a node reset. Rows before the start index are skipped by the underlying storage, where possible
+     * without reading them. See {@link #iteratorFailProve()} for details.
+     *
+     * @param fromRowIndex the index of the first row to return
+     * @return Such an iterator.
+     * @since 3.8
+     */
+    public CloseableRowIterator iteratorFailProve(final long fromRowIndex) {
         synchronized (m_isCleared) {
             CloseableRowIterator baseIterator;
             if (m_isCleared.booleanValue()) {
                 baseIterator = null;
-            } else {
+            } else if (fromRowIndex == 0L) {
                 baseIterator = iterator();
+            } else {
+                baseIterator = iteratorBuilder().fromRow(fromRowIndex).build();
             }
-            return new CloseableFailProveRowIterator(baseIterator);
+            return new CloseableFailProveRowIterator(baseIterator, fromRowIndex);
         }
 
     }
@@ -430,10 +445,11 @@ public Integer getBufferedTableId() {
         private final CloseableRowIterator m_it;
         private long m_rowIndex;
 
-        private CloseableFailProveRowIterator(final CloseableRowIterator it) {
+        private CloseableFailProveRowIterator(final CloseableRowIterator it, final long fromRowIndex) {
             m_it = it;
             m_cellCount = getDataTableSpec().getNumColumns();
             m_maxRows = size();
+            m_rowIndex = fromRowIndex;
         }
 
         @Override
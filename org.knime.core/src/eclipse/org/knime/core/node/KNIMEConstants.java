@@ -169,6 +169,16 @@ public final class KNIMEConstants {
      */
     public static final String PROPERTY_TABLE_CACHE = "knime.table.cache";
 
+    /**
+     * Java property to specify the amount of heap memory (in MB) that tables which are no longer needed but have been
+     * used recently may occupy in the {@code LRU} table cache (see {@link #PROPERTY_TABLE_CACHE}). Least recently used
+     * tables exceeding this budget are left to the garbage collector. The size of a table is estimated from a sample of
+     * its rows. The default is half of the maximum heap size.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_TABLE_CACHE_MEMORY = "knime.table.cache.memory";
+
     /**
      * Java property to enable/disable table stream compression. Compression results in smaller temp-file sizes but also
      * (sometimes significant) longer runtime. By default {@code Gzip} is used.
@@ -186,6 +196,42 @@ public final class KNIMEConstants {
     @Deprecated
     public static final String PROPERTY_TABLE_GZIP_COMPRESSION = PROPERTY_TABLE_COMPRESSION;
 
+    /**
+     * Java property to specify the compression level of the table stream compression (see
+     * {@link #PROPERTY_TABLE_COMPRESSION}), 1-9 for {@code Gzip} and 1-17 for {@code LZ4}. Higher levels result in
+     * smaller temp-files but take more time to write; reading is not affected. By default the codec's default level is
+     * used.
+     * @since 3.8
+     */
+    public static final String PROPERTY_TABLE_COMPRESSION_LEVEL = "knime.compress.io.level";
+
+    /**
+     * Java property to specify the number of threads serializing and compressing the rows of a single table when it is
+     * written to disc. Values larger than 1 enable a pipelined writer, which serializes and compresses blocks of rows
+     * in parallel and writes them in order (the file format is unaffected). The default is 1 (sequential write).
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_TABLE_WRITER_THREADS = "knime.table.writerthreads";
+
+    /**
+     * Java property to specify the size (in MB) of the off-heap store holding the decompressed content of recently read
+     * table files in direct memory. Reading a table again then avoids decompressing the file. Note that the JVM limits
+     * the amount of direct memory (-XX:MaxDirectMemorySize). The default is 0 (disabled).
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_TABLE_OFFHEAP_CACHE_SIZE = "knime.table.offheapcache";
+
+    /**
+     * Java property to enable reading uncompressed tables (compression format {@code NONE}) by memory-mapping the
+     * table file rather than streaming it. Mapped files can't be deleted on Windows until the mapping has been garbage
+     * collected, hence the default is {@code false}.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_TABLE_MEMORY_MAPPED_READ = "knime.table.mmapread";
+
     /** Java property to enable/disable row ID duplicate checks on tables.
      * Tables in KNIME are supposed to have unique IDs, whereby the uniqueness
      * is asserted using a duplicate checker. This property will disable this
@@ -195,6 +241,42 @@ public final class KNIMEConstants {
     public static final String PROPERTY_DISABLE_ROWID_DUPLICATE_CHECK =
         "knime.disable.rowid.duplicatecheck";
 
+    /**
+     * Java property to switch the row ID duplicate check back to the sort-based
+     * {@link org.knime.core.util.DuplicateChecker}. By default the hash-based
+     * {@link org.knime.core.util.HashDuplicateChecker} is used.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_ROWID_DUPLICATE_CHECK_SORT = "knime.rowid.duplicatecheck.sort";
+
+    /**
+     * Java property to enable critical path scheduling of queued nodes. If set, nodes submitted to the threaded job
+     * manager are ranked by the longest downstream path in their workflow (weighted by historic execution durations)
+     * and nodes on the critical path are executed first. By default queued nodes are executed in FIFO order.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_CRITICAL_PATH_SCHEDULING = "knime.scheduler.criticalpath";
+
+    /**
+     * Java property to enable wait and hold time statistics on workflow locks. If set, long lock holds are logged
+     * (debug level) and a summary per project is logged when the project is closed. The locking itself is not
+     * affected, there is still a single lock per project.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_WORKFLOW_LOCK_STATISTICS = "knime.workflow.lock.statistics";
+
+    /**
+     * Java property to enable asynchronous delivery of node state, message and progress events sent to the user
+     * interface. If set, these events are delivered in batches on a separate thread so that node execution threads do
+     * not run listener code; progress events of a node are merged within a short time window.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_NODE_EVENT_COALESCING = "knime.node.events.coalesce";
+
     /** Java property to enable/disable workflow locks. As of KNIME v2.4
      * workflows will be locked when opened; this property will disable the
      * locking (allowing multiple instances to have the same workflow open).
@@ -67,6 +67,11 @@ public class ThreadNodeExecutionJobManager extends AbstractNodeExecutionJobManag
     public static final ThreadNodeExecutionJobManager INSTANCE =
             new ThreadNodeExecutionJobManager();
 
+    /** Whether to rank queued nodes by their critical path, see
+     * {@link KNIMEConstants#PROPERTY_CRITICAL_PATH_SCHEDULING}. */
+    private static final boolean CRITICAL_PATH_SCHEDULING =
+        Boolean.getBoolean(KNIMEConstants.PROPERTY_CRITICAL_PATH_SCHEDULING);
+
     private final ThreadPool m_pool;
 
     public ThreadNodeExecutionJobManager() {
@@ -88,7 +93,12 @@ public NodeExecutionJob submitJob(final NodeContainer nc, final PortObject[] dat
                     + " is not able to execute a metanode: " + nc.getNameWithID());
         }
         LocalNodeExecutionJob job = new LocalNodeExecutionJob((SingleNodeContainer)nc, data);
-        Future<?> future = m_pool.enqueue(job);
+        Future<?> future;
+        if (CRITICAL_PATH_SCHEDULING) {
+            future = m_pool.enqueue(job, getCriticalPathRank(nc));
+        } else {
+            future = m_pool.enqueue(job);
+        }
         job.setFuture(future);
         return job;
     }
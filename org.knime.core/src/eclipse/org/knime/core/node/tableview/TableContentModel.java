@@ -1088,8 +1088,14 @@ protected DataRow getRow(final int row) {
         }
 
         /* row is not in cache */
-        // row already released from cache
-        if (row < (m_rowCountOfInterestInIterator - cacheSize)) {
+        final boolean isFarFromIterator = row < (m_rowCountOfInterestInIterator - cacheSize)
+            || row >= (m_rowCountOfInterestInIterator + cacheSize);
+        if (isFarFromIterator && !m_tableFilter.performsFiltering()) {
+            // all rows are of interest - position a new iterator so that
+            // the requested row and its chunk end up in the cache
+            clearCacheAndSeek(Math.max(0, row + m_chunkSize + 1 - cacheSize));
+        } else if (row < (m_rowCountOfInterestInIterator - cacheSize)) {
+            // row already released from cache
             // clear cache, init new iterator
             clearCache();
         }
@@ -1158,30 +1164,45 @@ private boolean cacheNextRow() {
     } // cacheNextRow()
 
     /** Get new iterator, only to be called when data is set. Gets an
-     * {@link BufferedDataTable#iteratorFailProve() fail prove iterator} if
-     * the table is an instance of {@link BufferedDataTable}. */
-    private RowIterator getNewDataIterator() {
+     * {@link BufferedDataTable#iteratorFailProve(long) fail prove iterator} if
+     * the table is an instance of {@link BufferedDataTable}.
+     * @param fromRowIndex index of the first row the iterator returns */
+    private RowIterator getNewDataIterator(final int fromRowIndex) {
         assert hasData();
         if (m_data instanceof BufferedDataTable) {
-            return ((BufferedDataTable)m_data).iteratorFailProve();
+            return ((BufferedDataTable)m_data).iteratorFailProve(fromRowIndex);
         }
-        return m_data.iterator();
+        if (fromRowIndex == 0) {
+            return m_data.iterator();
+        }
+        return m_data.iteratorBuilder().fromRow(fromRowIndex).build();
     }
 
     /**
      * Clears cache, instantiates new Iterator.
      */
     protected void clearCache() {
+        clearCacheAndSeek(0);
+    }
+
+    /**
+     * Clears cache, instantiates new Iterator that starts at the given row. Must only be called with a row index
+     * other than 0 if the table filter does not filter rows, i.e. all rows are of interest.
+     *
+     * @param fromRowIndex index of the first row returned by the new iterator
+     */
+    private void clearCacheAndSeek(final int fromRowIndex) {
         if (!hasData() || m_cachedRows == null) {
             return;
         }
+        assert fromRowIndex == 0 || !m_tableFilter.performsFiltering();
         if (m_iterator instanceof CloseableRowIterator) {
             ((CloseableRowIterator)m_iterator).close();
         }
-        m_iterator = getNewDataIterator();
-        m_rowCountInIterator = 0;
+        m_iterator = getNewDataIterator(fromRowIndex);
+        m_rowCountInIterator = fromRowIndex;
         // all updated in nextBlock()
-        m_rowCountOfInterestInIterator = 0;
+        m_rowCountOfInterestInIterator = fromRowIndex;
         // clear cache
         Arrays.fill(m_cachedRows, null);
         m_hilitSet.clear();
@@ -1288,7 +1309,7 @@ private void processHiLiteEvent(
             // #rows that changed up to m_rowCountOfInterest
             int changedCount = 0;
             Set<RowKey> keySet = e.keys();
-            for (RowIterator it = getNewDataIterator(); it.hasNext()
+            for (RowIterator it = getNewDataIterator(0); it.hasNext()
                 && c < m_rowCountOfInterest;) {
                 RowKey currentRowKey = it.next().getKey();
                 boolean isNowOfInterest =
@@ -1405,7 +1426,7 @@ private void processHiLiteRequest(
             }
         } else { // iteration necessary: use new (private) iterator
             // TODO: check for correctness when m_showOnlyHilited is set
-            final RowIterator it = getNewDataIterator();
+            final RowIterator it = getNewDataIterator(0);
             for (int i = 0; it.hasNext() && i <= lastSelected; i++) {
                 RowKey key = it.next().getKey();
                 if (i >= firstSelected && selModel.isSelectedIndex(i)) {
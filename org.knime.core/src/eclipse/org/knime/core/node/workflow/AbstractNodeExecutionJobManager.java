@@ -99,6 +99,24 @@ public URL getIconForChild(final NodeContainer child) {
         return null;
     }
 
+    /** Rank of the argument node when queued for execution: the length of the longest path from the node to any sink
+     * of its workflow, weighted by the historic execution durations of the nodes on that path. Job managers can use it
+     * to execute nodes on the critical path first. Paths are only followed within the node's parent workflow.
+     *
+     * @param nc the node about to be submitted
+     * @return a non-negative rank, nodes with larger values should be executed first
+     * @since 3.8
+     */
+    protected static long getCriticalPathRank(final NodeContainer nc) {
+        WorkflowManager parent = nc.getParent();
+        if (parent == null) {
+            return 0L;
+        }
+        try (WorkflowLock lock = parent.lock()) {
+            return parent.getWorkflow().getCriticalPathLength(nc.getID());
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void saveReconnectSettings(final NodeExecutionJob job, final NodeSettingsWO settings) {
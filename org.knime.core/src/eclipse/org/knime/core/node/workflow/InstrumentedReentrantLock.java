@@ -0,0 +1,313 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.node.workflow;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * A {@link ReentrantLock} that records how often and how long it's held and how long threads wait for it. Used as
+ * the lock underlying the {@link WorkflowLock} of a workflow project (and all its contained metanodes and
+ * components) if {@link KNIMEConstants#PROPERTY_WORKFLOW_LOCK_STATISTICS} is set.
+ *
+ * <p>Only the outermost lock/unlock of a thread is measured, nested (reentrant) acquisitions are not counted. Waiting
+ * on a {@link Condition} of this lock releases it and hence ends the current hold, a new hold starts once the
+ * waiting thread has reacquired the lock (the time spent waiting is not counted as wait time either).
+ *
+ * <p>This only measures, it doesn't change the locking: a project and all its metanodes and components still share
+ * this one lock, which also keeps the rule that a child is never locked before its parent (bug 1755).
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ */
+@SuppressWarnings("serial")
+final class InstrumentedReentrantLock extends ReentrantLock {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(InstrumentedReentrantLock.class);
+
+    /** Whether workflow locks are to be instrumented, see {@link KNIMEConstants#PROPERTY_WORKFLOW_LOCK_STATISTICS}. */
+    static final boolean IS_ENABLED = Boolean.getBoolean(KNIMEConstants.PROPERTY_WORKFLOW_LOCK_STATISTICS);
+
+    /** Holds longer than this are reported in the log (debug level). */
+    private static final long LONG_HOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final String m_name;
+
+    private final AtomicLong m_nrAcquisitions = new AtomicLong();
+    private final AtomicLong m_nrContendedAcquisitions = new AtomicLong();
+    private final AtomicLong m_totalWaitNanos = new AtomicLong();
+    private final AtomicLong m_totalHoldNanos = new AtomicLong();
+    private final AtomicLong m_maxHoldNanos = new AtomicLong();
+
+    /** Start of the current (outermost) hold, only accessed by the thread holding the lock. Threads that release the
+     * lock without {@link #unlock()} (in {@link Condition#await()}) end their hold before and restart it after. */
+    private long m_holdStartNanos;
+
+    /** @param name the name used in log messages, usually the project's name and ID */
+    InstrumentedReentrantLock(final String name) {
+        m_name = name;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void lock() {
+        if (isHeldByCurrentThread()) {
+            super.lock();
+            return;
+        }
+        final long waitStart = System.nanoTime();
+        if (!super.tryLock()) {
+            m_nrContendedAcquisitions.incrementAndGet();
+            super.lock();
+        }
+        onAcquire(waitStart);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (isHeldByCurrentThread()) {
+            super.lockInterruptibly();
+            return;
+        }
+        final long waitStart = System.nanoTime();
+        if (!super.tryLock()) {
+            m_nrContendedAcquisitions.incrementAndGet();
+            super.lockInterruptibly();
+        }
+        onAcquire(waitStart);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean tryLock() {
+        if (isHeldByCurrentThread()) {
+            return super.tryLock();
+        }
+        final long waitStart = System.nanoTime();
+        if (!super.tryLock()) {
+            return false;
+        }
+        onAcquire(waitStart);
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean tryLock(final long timeout, final TimeUnit unit) throws InterruptedException {
+        if (isHeldByCurrentThread()) {
+            return super.tryLock(timeout, unit);
+        }
+        final long waitStart = System.nanoTime();
+        if (!super.tryLock()) {
+            m_nrContendedAcquisitions.incrementAndGet();
+            if (!super.tryLock(timeout, unit)) {
+                m_totalWaitNanos.addAndGet(System.nanoTime() - waitStart);
+                return false;
+            }
+        }
+        onAcquire(waitStart);
+        return true;
+    }
+
+    private void onAcquire(final long waitStart) {
+        m_holdStartNanos = System.nanoTime();
+        m_nrAcquisitions.incrementAndGet();
+        m_totalWaitNanos.addAndGet(m_holdStartNanos - waitStart);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void unlock() {
+        if (getHoldCount() == 1) {
+            endHold();
+        }
+        super.unlock();
+    }
+
+    /** Records the hold of the current thread, which is about to release the lock. */
+    private void endHold() {
+        final long holdNanos = System.nanoTime() - m_holdStartNanos;
+        m_totalHoldNanos.addAndGet(holdNanos);
+        m_maxHoldNanos.accumulateAndGet(holdNanos, Math::max);
+        if (holdNanos > LONG_HOLD_NANOS) {
+            LOGGER.debugWithFormat("Workflow lock of %s held for %d ms by thread \"%s\"", m_name,
+                TimeUnit.NANOSECONDS.toMillis(holdNanos), Thread.currentThread().getName());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Condition newCondition() {
+        return new InstrumentedCondition(super.newCondition());
+    }
+
+    /** @return number of (outermost) acquisitions */
+    long getNrAcquisitions() {
+        return m_nrAcquisitions.get();
+    }
+
+    /** @return number of acquisitions where the calling thread had to wait for another thread */
+    long getNrContendedAcquisitions() {
+        return m_nrContendedAcquisitions.get();
+    }
+
+    /** @return accumulated time threads waited to get the lock, in ms */
+    long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(m_totalWaitNanos.get());
+    }
+
+    /** @return accumulated time the lock was held, in ms */
+    long getTotalHoldMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(m_totalHoldNanos.get());
+    }
+
+    /** @return the longest time the lock was held at once, in ms */
+    long getMaxHoldMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(m_maxHoldNanos.get());
+    }
+
+    /** @return a one-line summary of the statistics, used for logging. */
+    String getStatisticsSummary() {
+        return String.format("Workflow lock of %s: %d acquisitions (%d contended), waited %d ms, held %d ms "
+            + "(max %d ms)", m_name, getNrAcquisitions(), getNrContendedAcquisitions(), getTotalWaitMillis(),
+            getTotalHoldMillis(), getMaxHoldMillis());
+    }
+
+    /** Condition that ends the hold of the waiting thread (await releases the lock) and restarts it on return. */
+    private final class InstrumentedCondition implements Condition {
+
+        private final Condition m_delegate;
+
+        InstrumentedCondition(final Condition delegate) {
+            m_delegate = delegate;
+        }
+
+        /** Ends the current hold, unless the lock isn't held (the delegate throws an exception then). */
+        private boolean beforeAwait() {
+            if (isHeldByCurrentThread()) {
+                endHold();
+                return true;
+            }
+            return false;
+        }
+
+        /** Starts a new hold, the lock is reacquired (also if await throws). */
+        private void afterAwait(final boolean isHoldEnded) {
+            if (isHoldEnded) {
+                m_holdStartNanos = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            final boolean isHoldEnded = beforeAwait();
+            try {
+                m_delegate.await();
+            } finally {
+                afterAwait(isHoldEnded);
+            }
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            final boolean isHoldEnded = beforeAwait();
+            try {
+                m_delegate.awaitUninterruptibly();
+            } finally {
+                afterAwait(isHoldEnded);
+            }
+        }
+
+        @Override
+        public long awaitNanos(final long nanosTimeout) throws InterruptedException {
+            final boolean isHoldEnded = beforeAwait();
+            try {
+                return m_delegate.awaitNanos(nanosTimeout);
+            } finally {
+                afterAwait(isHoldEnded);
+            }
+        }
+
+        @Override
+        public boolean await(final long time, final TimeUnit unit) throws InterruptedException {
+            final boolean isHoldEnded = beforeAwait();
+            try {
+                return m_delegate.await(time, unit);
+            } finally {
+                afterAwait(isHoldEnded);
+            }
+        }
+
+        @Override
+        public boolean awaitUntil(final Date deadline) throws InterruptedException {
+            final boolean isHoldEnded = beforeAwait();
+            try {
+                return m_delegate.awaitUntil(deadline);
+            } finally {
+                afterAwait(isHoldEnded);
+            }
+        }
+
+        @Override
+        public void signal() {
+            m_delegate.signal();
+        }
+
+        @Override
+        public void signalAll() {
+            m_delegate.signalAll();
+        }
+    }
+
+}
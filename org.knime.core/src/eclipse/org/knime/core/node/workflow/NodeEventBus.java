@@ -0,0 +1,377 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.node.workflow;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * Delivers node state, message and progress events in batches on a separate dispatcher thread. Listeners that are
+ * registered via one of the static <code>coalescing</code> methods receive their events after a short time window,
+ * and the node execution thread firing the event never runs (or blocks on) the listener code. Progress events are
+ * coalesced: a listener receives at most one progress event per node within a window (the most recent one). State
+ * and message events are never coalesced or dropped, they are delivered in the order they were fired. Only progress
+ * events are dropped (and counted) if too many events are pending.
+ *
+ * <p>This is meant for listeners that only reflect the node status, such as the workflow editor, and is enabled via
+ * {@link KNIMEConstants#PROPERTY_NODE_EVENT_COALESCING}. If disabled the <code>coalescing</code> methods return the
+ * argument listener. Listeners in the core (ports, components, etc.) rely on synchronous notification and must not be
+ * wrapped.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class NodeEventBus {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(NodeEventBus.class);
+
+    /** Whether events are coalesced, see {@link KNIMEConstants#PROPERTY_NODE_EVENT_COALESCING}. */
+    static final boolean IS_ENABLED = Boolean.getBoolean(KNIMEConstants.PROPERTY_NODE_EVENT_COALESCING);
+
+    /** Time (in ms) events are collected before they are delivered. */
+    static final long DEFAULT_WINDOW_MS = 100L;
+
+    /** Maximum number of pending events; beyond that new progress events are dropped. */
+    static final int DEFAULT_MAX_PENDING = 10000;
+
+    private static final NodeEventBus INSTANCE = new NodeEventBus(
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "KNIME Node Event Dispatcher");
+            t.setDaemon(true);
+            return t;
+        }), DEFAULT_WINDOW_MS, DEFAULT_MAX_PENDING);
+
+    private final ScheduledExecutorService m_executor;
+
+    private final long m_windowMS;
+
+    private final int m_maxPending;
+
+    /** Pending deliveries in order, for progress events the latest event wins (at the position of the latest event);
+     * also the lock for the other fields used when enqueuing. */
+    private final Map<PendingKey, Runnable> m_pending = new LinkedHashMap<>();
+
+    private boolean m_isFlushScheduled;
+
+    /** Makes the keys of state and message events unique so that they are not coalesced. */
+    private long m_sequence;
+
+    private final AtomicLong m_nrCoalesced = new AtomicLong();
+
+    private final AtomicLong m_nrDropped = new AtomicLong();
+
+    /**
+     * @param executor the executor delivering the events, must be single-threaded to retain the order of events
+     * @param windowMS time events are collected before they are delivered
+     * @param maxPending maximum number of pending deliveries, further progress events are dropped
+     */
+    NodeEventBus(final ScheduledExecutorService executor, final long windowMS, final int maxPending) {
+        m_executor = executor;
+        m_windowMS = windowMS;
+        m_maxPending = maxPending;
+    }
+
+    /**
+     * Wraps the argument so that it receives coalesced events off the notifying thread, if enabled. The returned
+     * object is equal to any other wrapper of the same listener so that it can be used for removal.
+     *
+     * @param l the listener to wrap
+     * @return the wrapper or the argument if coalescing is disabled or the argument is null
+     */
+    public static NodeStateChangeListener coalescing(final NodeStateChangeListener l) {
+        return IS_ENABLED && l != null ? INSTANCE.wrap(l) : l;
+    }
+
+    /**
+     * Wraps the argument so that it receives coalesced events off the notifying thread, if enabled.
+     *
+     * @param l the listener to wrap
+     * @return the wrapper or the argument if coalescing is disabled or the argument is null
+     * @see #coalescing(NodeStateChangeListener)
+     */
+    public static NodeMessageListener coalescing(final NodeMessageListener l) {
+        return IS_ENABLED && l != null ? INSTANCE.wrap(l) : l;
+    }
+
+    /**
+     * Wraps the argument so that it receives coalesced events off the notifying thread, if enabled.
+     *
+     * @param l the listener to wrap
+     * @return the wrapper or the argument if coalescing is disabled or the argument is null
+     * @see #coalescing(NodeStateChangeListener)
+     */
+    public static NodeProgressListener coalescing(final NodeProgressListener l) {
+        return IS_ENABLED && l != null ? INSTANCE.wrap(l) : l;
+    }
+
+    /**
+     * Discards the events of the given node that are pending for the argument listener. To be called when a listener
+     * registered via one of the <code>coalescing</code> methods is removed from a node, so that it doesn't receive
+     * events of that node after its removal (except the one that may be delivered concurrently). Events of other
+     * nodes the listener is still registered with are retained.
+     *
+     * @param source the ID of the node the listener was removed from
+     * @param l the listener that was passed to the <code>coalescing</code> method (not the wrapper)
+     */
+    public static void discardPendingEvents(final NodeID source, final Object l) {
+        if (IS_ENABLED && l != null) {
+            INSTANCE.discard(source, l);
+        }
+    }
+
+    NodeStateChangeListener wrap(final NodeStateChangeListener l) {
+        return new StateChangeListenerWrapper(l);
+    }
+
+    NodeMessageListener wrap(final NodeMessageListener l) {
+        return new MessageListenerWrapper(l);
+    }
+
+    NodeProgressListener wrap(final NodeProgressListener l) {
+        return new ProgressListenerWrapper(l);
+    }
+
+    /** @return number of events that were replaced by a more recent event before delivery */
+    long getNrCoalescedEvents() {
+        return m_nrCoalesced.get();
+    }
+
+    /** @return number of progress events that were dropped because the queue was full */
+    long getNrDroppedEvents() {
+        return m_nrDropped.get();
+    }
+
+    /** @return number of pending deliveries */
+    int getNrPendingEvents() {
+        synchronized (m_pending) {
+            return m_pending.size();
+        }
+    }
+
+    /**
+     * Adds the delivery to the queue, never blocks on listener code.
+     *
+     * @param isProgress whether it's a progress event, which replaces a pending progress event of the same source
+     *            and listener (and is moved to the end of the queue so that it isn't delivered before events that
+     *            were fired earlier) and which is dropped if the queue is full
+     */
+    private void enqueue(final Object source, final AbstractListenerWrapper<?> listener, final boolean isProgress,
+        final Runnable delivery) {
+        synchronized (m_pending) {
+            if (isProgress) {
+                PendingKey key = new PendingKey(source, listener, 0L);
+                if (m_pending.remove(key) != null) {
+                    m_nrCoalesced.incrementAndGet();
+                } else if (m_pending.size() >= m_maxPending) {
+                    if (m_nrDropped.getAndIncrement() == 0L) {
+                        LOGGER.warnWithFormat("More than %d node events pending, dropping progress events",
+                            m_maxPending);
+                    }
+                    return;
+                }
+                m_pending.put(key, delivery);
+            } else {
+                m_pending.put(new PendingKey(source, listener, ++m_sequence), delivery);
+            }
+            if (!m_isFlushScheduled) {
+                m_isFlushScheduled = true;
+                m_executor.schedule(this::flush, m_windowMS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /** Removes all pending deliveries of events of the given source to the wrapper(s) of the argument listener. */
+    void discard(final NodeID source, final Object l) {
+        synchronized (m_pending) {
+            m_pending.keySet().removeIf(k -> k.m_listener.getDelegate() == l && k.m_source.equals(source));
+        }
+    }
+
+    private void flush() {
+        final int nrToDeliver;
+        synchronized (m_pending) {
+            nrToDeliver = m_pending.size();
+            m_isFlushScheduled = false;
+        }
+        // take events one at a time so that events discarded in the meantime are not delivered
+        for (int i = 0; i < nrToDeliver; i++) {
+            final Runnable delivery;
+            synchronized (m_pending) {
+                Iterator<Runnable> it = m_pending.values().iterator();
+                if (!it.hasNext()) {
+                    return;
+                }
+                delivery = it.next();
+                it.remove();
+            }
+            try {
+                delivery.run();
+            } catch (Exception e) {
+                LOGGER.error("Node event listener failed: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Identifies a pending delivery: the event source, the (wrapped) listener and, unless it's a progress event
+     * (which are coalesced), a sequence number. */
+    private static final class PendingKey {
+
+        private final Object m_source;
+
+        private final AbstractListenerWrapper<?> m_listener;
+
+        private final long m_sequence;
+
+        PendingKey(final Object source, final AbstractListenerWrapper<?> listener, final long sequence) {
+            m_source = source;
+            m_listener = listener;
+            m_sequence = sequence;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * m_source.hashCode() + m_listener.hashCode()) + Long.hashCode(m_sequence);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof PendingKey)) {
+                return false;
+            }
+            PendingKey other = (PendingKey)obj;
+            return m_sequence == other.m_sequence && m_source.equals(other.m_source)
+                && m_listener.equals(other.m_listener);
+        }
+    }
+
+    /** Base class of the listener wrappers, equal if they wrap the same listener. */
+    private abstract class AbstractListenerWrapper<L> {
+
+        private final L m_delegate;
+
+        AbstractListenerWrapper(final L delegate) {
+            m_delegate = CheckUtils.checkArgumentNotNull(delegate, "Listener must not be null");
+        }
+
+        final L getDelegate() {
+            return m_delegate;
+        }
+
+        final void enqueue(final Object source, final boolean isProgress, final Runnable delivery) {
+            NodeEventBus.this.enqueue(source, this, isProgress, delivery);
+        }
+
+        @Override
+        public final int hashCode() {
+            return System.identityHashCode(m_delegate);
+        }
+
+        @Override
+        public final boolean equals(final Object obj) {
+            return obj != null && obj.getClass() == getClass()
+                && ((AbstractListenerWrapper<?>)obj).m_delegate == m_delegate;
+        }
+
+        @Override
+        public String toString() {
+            return "Coalescing " + m_delegate;
+        }
+    }
+
+    private final class StateChangeListenerWrapper extends AbstractListenerWrapper<NodeStateChangeListener>
+        implements NodeStateChangeListener {
+
+        StateChangeListenerWrapper(final NodeStateChangeListener delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void stateChanged(final NodeStateEvent state) {
+            enqueue(state.getSource(), false, () -> getDelegate().stateChanged(state));
+        }
+    }
+
+    private final class MessageListenerWrapper extends AbstractListenerWrapper<NodeMessageListener>
+        implements NodeMessageListener {
+
+        MessageListenerWrapper(final NodeMessageListener delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void messageChanged(final NodeMessageEvent messageEvent) {
+            enqueue(messageEvent.getSource(), false, () -> getDelegate().messageChanged(messageEvent));
+        }
+    }
+
+    private final class ProgressListenerWrapper extends AbstractListenerWrapper<NodeProgressListener>
+        implements NodeProgressListener {
+
+        ProgressListenerWrapper(final NodeProgressListener delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void progressChanged(final NodeProgressEvent pe) {
+            enqueue(pe.getSource(), true, () -> getDelegate().progressChanged(pe));
+        }
+    }
+
+}
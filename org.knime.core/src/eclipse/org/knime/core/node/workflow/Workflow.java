@@ -349,6 +349,27 @@ LinkedHashMap<NodeID, Set<Integer>> getBreadthFirstListOfPortSuccessors(
     LinkedHashMap<NodeID, Set<Integer>> createBreadthFirstSortedList(
             final Set<NodeID> ids,
             final boolean skipWFM) {
+        LinkedHashMap<NodeID, Set<Integer>> bfsSortedNodes;
+        if (ids.size() == m_nodes.size() && m_nodes.keySet().containsAll(ids)) {
+            // sorting the entire workflow (common case on load, reset, configure) - use cached order
+            if (m_bfsSortedNodesCache == null) {
+                m_bfsSortedNodesCache = createBreadthFirstSortedList(ids);
+            }
+            bfsSortedNodes = new LinkedHashMap<NodeID, Set<Integer>>();
+            for (Map.Entry<NodeID, Set<Integer>> e : m_bfsSortedNodesCache.entrySet()) {
+                bfsSortedNodes.put(e.getKey(), new HashSet<Integer>(e.getValue()));
+            }
+        } else {
+            bfsSortedNodes = createBreadthFirstSortedList(ids);
+        }
+        // if wanted (and contained): remove WFM itself
+        if (skipWFM && bfsSortedNodes.containsKey(this.getID())) {
+            bfsSortedNodes.remove(this.getID());
+        }
+        return bfsSortedNodes;
+    }
+
+    private LinkedHashMap<NodeID, Set<Integer>> createBreadthFirstSortedList(final Set<NodeID> ids) {
         // first create list of nodes without predecessor or only the WFM
         // itself (i.e. connected to outside "world" only.
         Set<NodeID> sources = getSourceNodes(ids);
@@ -361,10 +382,6 @@ LinkedHashMap<NodeID, Set<Integer>> createBreadthFirstSortedList(
         }
         // and finally complete this list by adding all successors...
         expandListBreadthFirst(bfsSortedNodes, ids);
-        // if wanted (and contained): remove WFM itself
-        if (skipWFM && bfsSortedNodes.containsKey(this.getID())) {
-            bfsSortedNodes.remove(this.getID());
-        }
         return bfsSortedNodes;
     }
 
@@ -445,12 +462,11 @@ private void expandListBreadthFirst(
         // infinite loops (i.e. starting with incoming connections again
         // but if encountered remember to node&ports at the end of the search:
         Set<Integer> parentOutgoingPorts = new HashSet<Integer>();
+        // keys of the map in insertion order (we constantly add to the map in this loop)
+        ArrayList<NodeID> bfsSortedIDs = new ArrayList<NodeID>(bfsSortedNodes.keySet());
         // keep adding nodes until we can't find new ones anymore
-        for (int i = 0; i < bfsSortedNodes.size(); i++) {
-            // Not a very nice way to iterate over the keys of a map...
-            //   (but since we constantly add to it in this loop?!)
-            Object[] ani = bfsSortedNodes.keySet().toArray();
-            NodeID currNode = (NodeID)(ani[i]);
+        for (int i = 0; i < bfsSortedIDs.size(); i++) {
+            NodeID currNode = bfsSortedIDs.get(i);
             Set<Integer> currInPorts = bfsSortedNodes.get(currNode);
             Set<Integer> currOutPorts = new HashSet<Integer>();
             NodeContainer currNC = getNode(currNode);
@@ -498,6 +514,7 @@ private void expandListBreadthFirst(
                                 // if all predecessors are already in the BFS list
                                 // (or not to be considered): add it!
                                 bfsSortedNodes.put(succNode, incomingPorts);
+                                bfsSortedIDs.add(succNode);
                             }
                         }
                     }
@@ -705,6 +722,8 @@ private ArrayList<NodeAndInports> findAllNodesInbetween(
             final NodeID endID) {
         // prepare the result list
         ArrayList<NodeAndInports> tempOutput = new ArrayList<NodeAndInports>();
+        // same elements as the result list, for fast look-up
+        HashMap<NodeID, NodeAndInports> tempOutputIndex = new HashMap<NodeID, NodeAndInports>();
         // find everything that is connected to an output port of the
         // "startNode" (which can be the WFM itself or a LoopStartNode or
         // any other "start" node) with a port index contained in the set
@@ -721,18 +740,14 @@ private ArrayList<NodeAndInports> findAllNodesInbetween(
                         assert cc.getType().equals(ConnectionContainer.ConnectionType.WFMOUT);
                     }
                 } else {
-                    int ix = 0;
-                    for (ix = 0; ix < tempOutput.size(); ix++) {
-                        if (tempOutput.get(ix).m_nodeId.equals(cc.getDest())) {
-                            break;
-                        }
-                    }
-                    if (ix >= tempOutput.size()) {
+                    NodeAndInports nai = tempOutputIndex.get(nextID);
+                    if (nai == null) {
                         // ...it's a node not yet in our list: add it
-                        tempOutput.add(new NodeAndInports(cc.getDest(), cc.getDestPort(), /*depth=*/0));
+                        nai = new NodeAndInports(nextID, cc.getDestPort(), /*depth=*/0);
+                        tempOutput.add(nai);
+                        tempOutputIndex.put(nextID, nai);
                     } else {
                         // node is already in list. Add port if not already contained:
-                        NodeAndInports nai = tempOutput.get(ix);
                         if (!nai.getInports().contains(cc.getDestPort())) {
                             nai.addInport(cc.getDestPort());
                         } else {
@@ -774,20 +789,15 @@ private ArrayList<NodeAndInports> findAllNodesInbetween(
                     if ((!destID.equals(this.getID())) && (!destID.equals(endID))) {
                         // only if we have not yet reached an outport or the "end" node
                         // try to find node in existing list:
-                        int ix = 0;
-                        for (ix = 0; ix < tempOutput.size(); ix++) {
-                            if (tempOutput.get(ix).m_nodeId.equals(destID)) {
-                                break;
-                            }
-                        }
-                        if (ix >= tempOutput.size()) {
+                        NodeAndInports nai = tempOutputIndex.get(destID);
+                        if (nai == null) {
                             // ...it's a node not yet in our list: add it
-                            tempOutput.add(new NodeAndInports(destID, cc.getDestPort(), currDepth + 1));
+                            nai = new NodeAndInports(destID, cc.getDestPort(), currDepth + 1);
+                            tempOutput.add(nai);
+                            tempOutputIndex.put(destID, nai);
                         } else {
-                            assert ix != currIndex;
                             // node is already in list, adjust depth to new
                             // maximum and add port if not already contained:
-                            NodeAndInports nai = tempOutput.get(ix);
                             if (!nai.getInports().contains(cc.getDestPort())) {
                                 nai.addInport(cc.getDestPort());
                             } else {
@@ -796,6 +806,8 @@ private ArrayList<NodeAndInports> findAllNodesInbetween(
                             if (nai.getDepth() <= currDepth) {
                                 // fix depth if smaller or equal
                                 nai.setDepth(currDepth + 1);
+                                int ix = indexOf(tempOutput, destID);
+                                assert ix != currIndex;
                                 if (ix < currIndex) {
                                     // move this node to end of list if it was
                                     // already "touched" so that depth of
@@ -822,6 +834,16 @@ private ArrayList<NodeAndInports> findAllNodesInbetween(
         return tempOutput;
     }
 
+    /** Position of the node in the list or -1 (not using {@link NodeAndInports#equals(Object)}). */
+    private static int indexOf(final List<NodeAndInports> list, final NodeID id) {
+        for (int ix = 0; ix < list.size(); ix++) {
+            if (list.get(ix).m_nodeId.equals(id)) {
+                return ix;
+            }
+        }
+        return -1;
+    }
+
     /** Determine inports which are connected (directly or indirectly) to
      * the given outport in this workflow.
      *
@@ -977,6 +999,59 @@ public Set<NodeID> getPredecessors(final NodeID id) {
         return result;
     }
 
+    /** Weight (in ms) of a node in {@link #getCriticalPathLength(NodeID)} if it has no execution history. */
+    static final long DEFAULT_NODE_DURATION = 1L;
+
+    /** Length of the longest path from the given node to any sink of this workflow, weighted by the historic
+     * execution durations as recorded by each node's {@link NodeTimer}. The node itself is included, nodes
+     * that have never been executed count with {@link #DEFAULT_NODE_DURATION}. The search does not follow
+     * connections leaving this workflow and treats metanodes as a single node. Used to rank queued nodes so that
+     * nodes on the critical path are executed first.
+     *
+     * @param id the node to start from
+     * @return the weighted length of the longest downstream path (in ms)
+     */
+    long getCriticalPathLength(final NodeID id) {
+        return getCriticalPathLength(id, new HashMap<NodeID, Long>());
+    }
+
+    private long getCriticalPathLength(final NodeID id, final Map<NodeID, Long> lengthCache) {
+        Long cached = lengthCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        // guard against cycles (not expected in a valid workflow)
+        lengthCache.put(id, 0L);
+        long longestSuccessorPath = 0L;
+        Set<ConnectionContainer> outgoing = m_connectionsBySource.get(id);
+        if (outgoing != null) {
+            for (ConnectionContainer cc : outgoing) {
+                NodeID nextNodeID = cc.getDest();
+                if (!nextNodeID.equals(getID())) {
+                    // don't follow connections leaving the workflow
+                    longestSuccessorPath =
+                        Math.max(longestSuccessorPath, getCriticalPathLength(nextNodeID, lengthCache));
+                }
+            }
+        }
+        NodeContainer nc = m_nodes.get(id);
+        long length = longestSuccessorPath + (nc == null ? 0L : getEstimatedDuration(nc));
+        lengthCache.put(id, length);
+        return length;
+    }
+
+    /** Average duration of previous executions of the node or {@link #DEFAULT_NODE_DURATION} if not available. */
+    private static long getEstimatedDuration(final NodeContainer nc) {
+        NodeTimer timer = nc.getNodeTimer();
+        long duration;
+        if (timer.getNrExecsSinceStart() > 0) {
+            duration = timer.getExecutionDurationSinceStart() / timer.getNrExecsSinceStart();
+        } else {
+            duration = timer.getLastExecutionDuration();
+        }
+        return Math.max(duration, DEFAULT_NODE_DURATION);
+    }
+
     /** Complete set of nodes backwards depth-first starting with node id.
      * Note that this function does not pursue connections leaving this
      * workflow. We will only add our own ID (the workflow) in that case.
@@ -1492,22 +1567,26 @@ public List<NodeContainer> getNodesInScope(final SingleNodeContainer anchor) {
             updateGraphAnnotationCache();
         }
         NodeID scope = null;
-        for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
-            if (nga.getID().equals(anchor.getID())) {
-                scope = nga.peekStartNodeStack();
-                break;
-            }
+        List<NodeGraphAnnotation> anchorNGAs = m_nodeAnnotationIndex.get(anchor.getID());
+        if (anchorNGAs != null && !anchorNGAs.isEmpty()) {
+            scope = anchorNGAs.get(0).peekStartNodeStack();
         }
         ArrayList<NodeContainer> result = new ArrayList<NodeContainer>();
         if (scope == null) {
             // no scope - return anchor only
             result.add(anchor);
         } else {
-            for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
-                if (nga.startNodeStackContains(scope)) {
-                    result.add(m_nodes.get(nga.getID()));
+            List<NodeContainer> members = m_scopeMembersCache.get(scope);
+            if (members == null) {
+                members = new ArrayList<NodeContainer>();
+                for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
+                    if (nga.startNodeStackContains(scope)) {
+                        members.add(m_nodes.get(nga.getID()));
+                    }
                 }
+                m_scopeMembersCache.put(scope, members);
             }
+            result.addAll(members);
         }
         return result;
     }
@@ -1526,10 +1605,9 @@ public Set<NodeGraphAnnotation> getNodeGraphAnnotations(final NodeID id) {
             updateGraphAnnotationCache();
         }
         HashSet<NodeGraphAnnotation> output = new HashSet<NodeGraphAnnotation>();
-        for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
-            if (nga.getID().equals(id)) {
-                output.add(nga);
-            }
+        List<NodeGraphAnnotation> ngas = m_nodeAnnotationIndex.get(id);
+        if (ngas != null) {
+            output.addAll(ngas);
         }
         return output;
     }
@@ -1548,10 +1626,9 @@ public NodeGraphAnnotation getSingleNodeGraphAnnotation(final NodeID id)
         if (m_nodeAnnotationCache == null) {
             updateGraphAnnotationCache();
         }
-        for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
-            if (nga.getID().equals(id)) {
-                return nga;
-            }
+        List<NodeGraphAnnotation> ngas = m_nodeAnnotationIndex.get(id);
+        if (ngas != null && !ngas.isEmpty()) {
+            return ngas.get(0);
         }
         throw new IllegalArgumentException("No NodeGraphAnnotation found for " + id);
     }
@@ -1559,9 +1636,23 @@ public NodeGraphAnnotation getSingleNodeGraphAnnotation(final NodeID id)
     /** hold graph based annotations for all nodes. */
     private ArrayList<NodeGraphAnnotation> m_nodeAnnotationCache = null;
 
-    /** clean cache - called internally whenever the structure (connections/nodes) are altered. */
-    private void clearGraphAnnotationCache() {
+    /** graph annotations of {@link #m_nodeAnnotationCache} by node ID (in the same order), built along with it. */
+    private final Map<NodeID, List<NodeGraphAnnotation>> m_nodeAnnotationIndex =
+        new HashMap<NodeID, List<NodeGraphAnnotation>>();
+
+    /** members of a scope by scope start node, filled lazily by {@link #getNodesInScope(SingleNodeContainer)}. */
+    private final Map<NodeID, List<NodeContainer>> m_scopeMembersCache = new HashMap<NodeID, List<NodeContainer>>();
+
+    /** breadth first order of all nodes of this workflow (including WFM if reached), null if not yet computed. */
+    private LinkedHashMap<NodeID, Set<Integer>> m_bfsSortedNodesCache = null;
+
+    /** clean caches - called internally whenever the structure (connections/nodes) are altered
+     * (package scope for tests comparing cached against freshly computed results). */
+    void clearGraphAnnotationCache() {
         m_nodeAnnotationCache = null;
+        m_nodeAnnotationIndex.clear();
+        m_scopeMembersCache.clear();
+        m_bfsSortedNodesCache = null;
         // also clear cache in parent - changes here may affect the connectivity outside as well.
         if (m_wfm != null && m_wfm.getParent() != null && m_wfm.getParent().getWorkflow() != null) {
             m_wfm.getParent().getWorkflow().clearGraphAnnotationCache();
@@ -1701,5 +1792,13 @@ private void updateGraphAnnotationCache() {
         }
         // and finally sort node again:
         Collections.reverse(m_nodeAnnotationCache);
+        for (NodeGraphAnnotation nga : m_nodeAnnotationCache) {
+            List<NodeGraphAnnotation> ngas = m_nodeAnnotationIndex.get(nga.getID());
+            if (ngas == null) {
+                ngas = new ArrayList<NodeGraphAnnotation>(1);
+                m_nodeAnnotationIndex.put(nga.getID(), ngas);
+            }
+            ngas.add(nga);
+        }
     }
 }
@@ -66,6 +66,10 @@
  * {@link ReentrantLock} but are still distinct {@link WorkflowLock} instances to properly isolate the status
  * update request.
  *
+ * <p/>
+ * If {@link KNIMEConstants#PROPERTY_WORKFLOW_LOCK_STATISTICS} is set the lock of each project records wait and hold
+ * times (see {@link InstrumentedReentrantLock}).
+ *
  * @noreference This class is not intended to be referenced by clients.
  * @author Bernd Wiswedel, KNIME AG, Zurich, Switzerland
  */
@@ -91,7 +95,8 @@ public final class WorkflowLock implements AutoCloseable {
      */
     WorkflowLock(final WorkflowManager wfm) {
         m_wfm = CheckUtils.checkArgumentNotNull(wfm);
-        m_reentrantLock = new ReentrantLock();
+        m_reentrantLock = InstrumentedReentrantLock.IS_ENABLED
+            ? new InstrumentedReentrantLock("project " + wfm.getID()) : new ReentrantLock();
     }
 
     /** An instance for a contained metanode or sub node.
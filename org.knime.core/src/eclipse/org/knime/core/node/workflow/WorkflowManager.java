@@ -675,6 +675,10 @@ public void removeProject(final NodeID id) {
                 final String nameAndID = "\"" + nc.getNameWithID() + "\"";
                 LOGGER.debug("Removing project " + nameAndID);
                 ((WorkflowManager)nc).shutdown();
+                ReentrantLock projectLock = ((WorkflowManager)nc).getReentrantLockInstance();
+                if (projectLock instanceof InstrumentedReentrantLock) {
+                    LOGGER.debug(((InstrumentedReentrantLock)projectLock).getStatisticsSummary());
+                }
                 removeNode(id);
                 LOGGER.debug("Project " + nameAndID + " removed (" + m_workflow.getNrNodes() + " remaining)");
             } else {
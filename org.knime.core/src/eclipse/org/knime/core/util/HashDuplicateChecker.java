@@ -0,0 +1,612 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (agent, KNIME AG, Zurich, Switzerland): created
+ */
+package org.knime.core.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Duplicate checker that keeps 128-bit hashes of the keys in an open-addressing hash table in direct (off-heap)
+ * memory, rather than sorting the keys. Two keys with the same hash are only reported as duplicates after their
+ * strings have been compared, for which all keys are appended to a key log (in memory for small tables, on disk
+ * otherwise) that is only read if hashes collide.
+ *
+ * <p>
+ * If the hash table exceeds its memory budget its hashes are spilled into partition files (by the leading bits of the
+ * hash) and the table is reused. {@link #checkForDuplicates()} then checks each partition separately, partitions that
+ * don't fit into the budget are split further by the next bits of the hash. Compared to the
+ * {@link DuplicateChecker} this avoids the external merge sort of all keys, each key is written once and only read
+ * again in case of a (suspected) duplicate.
+ *
+ * <p>
+ * The direct memory of the hash table is only allocated once the first key is added and it is released explicitly
+ * by {@link #checkForDuplicates()} and {@link #clear()}. Besides the budget of each instance, the hash tables of all
+ * instances share {@link #MAX_TOTAL_TABLE_BYTES}: a table that can't grow within that budget is spilled to disk
+ * instead.
+ *
+ * <p>
+ * Note: This implementation is not thread-safe, it's supposed to be used by a single thread only.
+ *
+ * @author agent, KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public class HashDuplicateChecker implements IDuplicateChecker {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(HashDuplicateChecker.class);
+
+    /** The default memory budget of the hash table in bytes. */
+    public static final long DEF_MAX_TABLE_BYTES = 64L << 20;
+
+    /**
+     * The memory budget of the hash tables of all instances in bytes (an eighth of the maximum heap size, but at least
+     * {@link #DEF_MAX_TABLE_BYTES}). Tables are always allowed their initial size (16kB), so the budget may be exceeded
+     * by that amount per instance.
+     */
+    public static final long MAX_TOTAL_TABLE_BYTES =
+        Math.max(DEF_MAX_TABLE_BYTES, Runtime.getRuntime().maxMemory() / 8);
+
+    /** Bytes currently allocated by the hash tables of all instances. */
+    private static final AtomicLong TOTAL_TABLE_BYTES = new AtomicLong();
+
+    /** Bytes per slot (two longs). */
+    private static final int SLOT_BYTES = 16;
+
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    /** Number of leading hash bits used to assign spilled hashes to partitions. */
+    private static final int PARTITION_BITS = 6;
+
+    /** Number of keys kept in the in-memory key log before it is written to disk. */
+    private static final int MAX_KEYS_IN_MEMORY = DuplicateChecker.MAX_CHUNK_SIZE;
+
+    private static final boolean DISABLE_DUPLICATE_CHECK =
+        Boolean.getBoolean(KNIMEConstants.PROPERTY_DISABLE_ROWID_DUPLICATE_CHECK);
+
+    /** Temp files of all instances, deleted on shutdown (see {@link DuplicateChecker} for why not deleteOnExit). */
+    private static final Collection<File> ALL_FILES = new HashSet<File>();
+
+    static {
+        ShutdownHelper.getInstance().appendShutdownHook(() -> removeTempFiles());
+    }
+
+    private static void removeTempFiles() {
+        synchronized (ALL_FILES) {
+            for (File f : ALL_FILES) {
+                f.delete();
+            }
+            ALL_FILES.clear();
+        }
+    }
+
+    private final int m_maxCapacity;
+
+    /** The hash table, <code>null</code> until the first key is added and after it has been released. */
+    private HashTable m_table;
+
+    private final List<String> m_keyLog = new ArrayList<String>();
+
+    private File m_keyLogFile;
+
+    private DataOutputStream m_keyLogOut;
+
+    private long m_keyCount;
+
+    private File[] m_partitionFiles;
+
+    private DataOutputStream[] m_partitionOuts;
+
+    /**
+     * Creates a new duplicate checker with the default memory budget ({@link #DEF_MAX_TABLE_BYTES}).
+     */
+    public HashDuplicateChecker() {
+        this(DEF_MAX_TABLE_BYTES);
+    }
+
+    /**
+     * Creates a new duplicate checker.
+     *
+     * @param maxTableBytes the memory budget of the hash table, the table holds up to a quarter of this value divided
+     *            by 16 keys before it is spilled to disk
+     * @throws IllegalArgumentException if the budget is smaller than the initial table size (16kB)
+     */
+    public HashDuplicateChecker(final long maxTableBytes) {
+        if (maxTableBytes < (long)INITIAL_CAPACITY * SLOT_BYTES) {
+            throw new IllegalArgumentException("Memory budget too small: " + maxTableBytes);
+        }
+        // largest power of two within the budget (and addressable by a byte buffer)
+        m_maxCapacity =
+            Integer.highestOneBit((int)Math.min(maxTableBytes / SLOT_BYTES, Integer.MAX_VALUE / SLOT_BYTES));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addKey(final String s) throws DuplicateKeyException, IOException {
+        if (DISABLE_DUPLICATE_CHECK) {
+            return;
+        }
+        final long hi = hashHigh(s);
+        final long lo = hashLow(s);
+        if (m_table == null) {
+            m_table = new HashTable(INITIAL_CAPACITY);
+        }
+        if (!m_table.add(hi, lo)) {
+            // the key has been seen or the hashes collide, compare the strings
+            final Set<Long> suspects = new HashSet<Long>();
+            suspects.add(hi);
+            final String duplicate = findDuplicate(suspects, s);
+            if (duplicate != null) {
+                throw new DuplicateKeyException(duplicate);
+            }
+            LOGGER.debug("Hash collision of different row IDs, key \"" + s + "\"");
+        }
+        appendToKeyLog(s);
+        if (m_table.size() > m_table.capacity() / 2) {
+            if (m_table.capacity() < getMaxCapacity()) {
+                m_table = m_table.grow();
+            } else {
+                spillTable();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void checkForDuplicates() throws DuplicateKeyException, IOException {
+        if (m_partitionFiles == null) {
+            // no spill, the check has already been done in addKey
+            if (m_table != null) {
+                m_table.free();
+                m_table = null;
+            }
+            return;
+        }
+        // the remaining hashes go to the partitions too, each partition is then checked on its own
+        if (m_table != null) {
+            m_table.spillTo(m_partitionOuts);
+            m_table.free();
+            m_table = null;
+        }
+        for (DataOutputStream out : m_partitionOuts) {
+            out.close();
+        }
+        final Set<Long> suspects = new HashSet<Long>();
+        for (File partitionFile : m_partitionFiles) {
+            checkPartition(partitionFile, PARTITION_BITS, suspects);
+        }
+        if (!suspects.isEmpty()) {
+            final String duplicate = findDuplicate(suspects, null);
+            if (duplicate != null) {
+                throw new DuplicateKeyException(duplicate);
+            }
+            LOGGER.debug("Hash collision of different row IDs, " + suspects.size() + " hash value(s)");
+        }
+    }
+
+    /**
+     * Checks the hashes of a partition file in a hash table within the memory budget. If the partition is too large
+     * it is split into sub-partitions by the next (at most {@link #PARTITION_BITS}) bits of the hash, which are
+     * checked recursively.
+     *
+     * @param partitionFile the file with the hashes
+     * @param usedBits the number of leading hash bits the partition has been determined by
+     * @param suspects to add the high hash values of hashes occurring twice to
+     */
+    private void checkPartition(final File partitionFile, final int usedBits, final Set<Long> suspects)
+        throws IOException {
+        final long count = partitionFile.length() / SLOT_BYTES;
+        final int maxCapacity = getMaxCapacity();
+        if (2 * count > maxCapacity && usedBits < Long.SIZE) {
+            // as many bits as needed for the sub-partitions to fit (plus one for uneven distributions)
+            final int bits = Math.min(Math.min(PARTITION_BITS, Long.SIZE - usedBits),
+                Long.SIZE - Long.numberOfLeadingZeros((2 * count - 1) / maxCapacity) + 1);
+            LOGGER.debug("Splitting partition of " + count + " row ID hashes into " + (1 << bits));
+            final File[] subPartitionFiles = new File[1 << bits];
+            final DataOutputStream[] subPartitionOuts = new DataOutputStream[subPartitionFiles.length];
+            try {
+                for (int p = 0; p < subPartitionFiles.length; p++) {
+                    subPartitionFiles[p] = createTempFile();
+                    subPartitionOuts[p] =
+                        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(subPartitionFiles[p])));
+                }
+                try (DataInputStream in =
+                    new DataInputStream(new BufferedInputStream(new FileInputStream(partitionFile)))) {
+                    for (long i = 0; i < count; i++) {
+                        final long hi = in.readLong();
+                        final DataOutputStream out = subPartitionOuts[partitionOf(hi, usedBits, bits)];
+                        out.writeLong(hi);
+                        out.writeLong(in.readLong());
+                    }
+                }
+                for (int p = 0; p < subPartitionFiles.length; p++) {
+                    subPartitionOuts[p].close();
+                    checkPartition(subPartitionFiles[p], usedBits + bits, suspects);
+                    deleteTempFile(subPartitionFiles[p]);
+                }
+            } finally {
+                for (int p = 0; p < subPartitionFiles.length && subPartitionFiles[p] != null; p++) {
+                    if (subPartitionOuts[p] != null) {
+                        closeQuietly(subPartitionOuts[p]);
+                    }
+                    deleteTempFile(subPartitionFiles[p]);
+                }
+            }
+            return;
+        }
+        final HashTable partition = new HashTable(Math.max(INITIAL_CAPACITY, tableSizeFor(2 * count)));
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(partitionFile)))) {
+            for (long i = 0; i < count; i++) {
+                final long hi = in.readLong();
+                if (!partition.add(hi, in.readLong())) {
+                    suspects.add(hi);
+                }
+            }
+        } finally {
+            partition.free();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        if (m_table != null) {
+            m_table.free();
+            m_table = null;
+        }
+        m_keyLog.clear();
+        m_keyCount = 0;
+        if (m_keyLogOut != null) {
+            closeQuietly(m_keyLogOut);
+            m_keyLogOut = null;
+        }
+        if (m_keyLogFile != null) {
+            deleteTempFile(m_keyLogFile);
+            m_keyLogFile = null;
+        }
+        if (m_partitionFiles != null) {
+            for (int p = 0; p < m_partitionFiles.length; p++) {
+                closeQuietly(m_partitionOuts[p]);
+                deleteTempFile(m_partitionFiles[p]);
+            }
+            m_partitionFiles = null;
+            m_partitionOuts = null;
+        }
+    }
+
+    /**
+     * Appends the key to the key log, which is written to disk once it gets larger than {@link #MAX_KEYS_IN_MEMORY}.
+     */
+    private void appendToKeyLog(final String s) throws IOException {
+        if (m_keyLogOut != null) {
+            m_keyLogOut.writeUTF(s);
+        } else if (m_keyLog.size() < MAX_KEYS_IN_MEMORY) {
+            // bug fix #1737: keys may be just wrappers of very large strings ...
+            m_keyLog.add(new String(s));
+        } else {
+            m_keyLogFile = createTempFile();
+            m_keyLogOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_keyLogFile)));
+            for (String key : m_keyLog) {
+                m_keyLogOut.writeUTF(key);
+            }
+            m_keyLog.clear();
+            m_keyLogOut.writeUTF(s);
+        }
+        m_keyCount++;
+    }
+
+    /**
+     * Reads the key log and returns the first key that occurs twice among the keys whose (high) hash is in the
+     * argument set.
+     *
+     * @param suspects the high 64 bits of the suspicious hashes
+     * @param newKey a key not yet in the log to be considered as well, or <code>null</code>
+     * @return the duplicate key or <code>null</code> if the hashes collide only
+     */
+    private String findDuplicate(final Set<Long> suspects, final String newKey) throws IOException {
+        final Map<Long, Set<String>> keys = new HashMap<Long, Set<String>>();
+        if (newKey != null) {
+            keys.computeIfAbsent(hashHigh(newKey), h -> new HashSet<>())
+                .add(newKey);
+        }
+        if (m_keyLogOut != null) {
+            m_keyLogOut.flush();
+            try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(new FileInputStream(m_keyLogFile)))) {
+                for (long i = 0; i < m_keyCount; i++) {
+                    final String key = in.readUTF();
+                    if (isDuplicate(key, suspects, keys)) {
+                        return key;
+                    }
+                }
+            }
+        } else {
+            for (String key : m_keyLog) {
+                if (isDuplicate(key, suspects, keys)) {
+                    return key;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isDuplicate(final String key, final Set<Long> suspects, final Map<Long, Set<String>> keys) {
+        final long hi = hashHigh(key);
+        return suspects.contains(hi) && !keys.computeIfAbsent(hi, h -> new HashSet<>()).add(key);
+    }
+
+    /**
+     * The capacity the hash table may grow to: the budget of this instance, limited by what is left of
+     * {@link #MAX_TOTAL_TABLE_BYTES} (but at least the initial capacity).
+     */
+    private int getMaxCapacity() {
+        final long availableSlots = (MAX_TOTAL_TABLE_BYTES - TOTAL_TABLE_BYTES.get()) / SLOT_BYTES;
+        if (availableSlots >= m_maxCapacity) {
+            return m_maxCapacity;
+        }
+        return Math.max(INITIAL_CAPACITY, Integer.highestOneBit((int)Math.max(1L, availableSlots)));
+    }
+
+    /** @return the number of bytes currently allocated by the hash tables of all instances */
+    // package scope for tests
+    static long getTotalTableBytes() {
+        return TOTAL_TABLE_BYTES.get();
+    }
+
+    /** Writes the hashes of the table to the partition files and clears the table. */
+    private void spillTable() throws IOException {
+        if (m_partitionFiles == null) {
+            m_partitionFiles = new File[1 << PARTITION_BITS];
+            m_partitionOuts = new DataOutputStream[m_partitionFiles.length];
+            for (int p = 0; p < m_partitionFiles.length; p++) {
+                m_partitionFiles[p] = createTempFile();
+                m_partitionOuts[p] =
+                    new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_partitionFiles[p])));
+            }
+        }
+        LOGGER.debug("Spilling " + m_table.size() + " row ID hashes to disk (" + m_keyCount + " row IDs so far)");
+        m_table.spillTo(m_partitionOuts);
+        m_table.clear();
+    }
+
+    private static File createTempFile() throws IOException {
+        final File f = FileUtil.createTempFile("KNIME_DuplicateChecker", ".bin", false);
+        synchronized (ALL_FILES) {
+            ALL_FILES.add(f);
+        }
+        return f;
+    }
+
+    private static void deleteTempFile(final File f) {
+        f.delete();
+        synchronized (ALL_FILES) {
+            ALL_FILES.remove(f);
+        }
+    }
+
+    private static void closeQuietly(final DataOutputStream out) {
+        try {
+            out.close();
+        } catch (IOException ex) {
+            LOGGER.debug("Unable to close temp file: " + ex.getMessage(), ex);
+        }
+    }
+
+    /** The partition of a hash, determined by the given number of bits following the leading used bits. */
+    private static int partitionOf(final long hi, final int usedBits, final int bits) {
+        return (int)(hi >>> (Long.SIZE - usedBits - bits)) & ((1 << bits) - 1);
+    }
+
+    private static int tableSizeFor(final long count) {
+        if (count >= Integer.MAX_VALUE / SLOT_BYTES) {
+            throw new IllegalStateException("Too many row IDs in a single partition: " + count);
+        }
+        return Integer.highestOneBit((int)Math.max(1, count - 1)) << 1;
+    }
+
+    /** The high 64 bits of the hash of a key, also used to assign it to a partition. */
+    static long hashHigh(final String s) {
+        return hash(s, 0x9E3779B97F4A7C15L, 0xBF58476D1CE4E5B9L);
+    }
+
+    /** The low 64 bits of the hash of a key, also used as slot index in the hash table. */
+    static long hashLow(final String s) {
+        return hash(s, 0xC2B2AE3D27D4EB4FL, 0x94D049BB133111EBL);
+    }
+
+    /** 64-bit hash of the chars of a string, see {@link #hashHigh(String)} and {@link #hashLow(String)}. */
+    private static long hash(final String s, final long seed, final long multiplier) {
+        long h = seed ^ s.length();
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * multiplier;
+        }
+        // finalizer of MurmurHash3
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void finalize() throws Throwable {
+        super.finalize();
+        clear();
+    }
+
+    /**
+     * Releases the memory of a direct buffer right away rather than when the buffer is garbage collected. Falls back
+     * to the garbage collector if the JVM doesn't allow it. The buffer must not be used afterwards.
+     */
+    private static void freeDirectBuffer(final ByteBuffer buffer) {
+        try {
+            final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            final Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                final Method cleanMethod = cleaner.getClass().getMethod("clean");
+                cleanMethod.setAccessible(true);
+                cleanMethod.invoke(cleaner);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Unable to release direct buffer, leaving it to the garbage collector: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Open-addressing (linear probing) set of 128-bit hashes in a direct byte buffer. A slot with both longs zero is
+     * empty, the hash (0, 0) is stored as (0, 1). The buffer is accounted in {@link #TOTAL_TABLE_BYTES} until the
+     * table is freed.
+     */
+    private static final class HashTable {
+
+        private final ByteBuffer m_slots;
+
+        private final int m_mask;
+
+        private int m_size;
+
+        HashTable(final int capacity) {
+            m_slots = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+            m_mask = capacity - 1;
+            TOTAL_TABLE_BYTES.addAndGet(m_slots.capacity());
+        }
+
+        int capacity() {
+            return m_mask + 1;
+        }
+
+        int size() {
+            return m_size;
+        }
+
+        /** @return <code>false</code> if the hash is already contained */
+        boolean add(final long hi, final long lo0) {
+            final long lo = (hi == 0 && lo0 == 0) ? 1 : lo0;
+            int slot = (int)lo & m_mask;
+            while (true) {
+                final int pos = slot * SLOT_BYTES;
+                final long slotHi = m_slots.getLong(pos);
+                final long slotLo = m_slots.getLong(pos + 8);
+                if (slotHi == 0 && slotLo == 0) {
+                    m_slots.putLong(pos, hi);
+                    m_slots.putLong(pos + 8, lo);
+                    m_size++;
+                    return true;
+                }
+                if (slotHi == hi && slotLo == lo) {
+                    return false;
+                }
+                slot = (slot + 1) & m_mask;
+            }
+        }
+
+        /** @return a table of twice the capacity with the same hashes, this table is freed */
+        HashTable grow() {
+            final HashTable larger = new HashTable(2 * capacity());
+            for (int slot = 0; slot <= m_mask; slot++) {
+                final int pos = slot * SLOT_BYTES;
+                final long hi = m_slots.getLong(pos);
+                final long lo = m_slots.getLong(pos + 8);
+                if (hi != 0 || lo != 0) {
+                    larger.add(hi, lo);
+                }
+            }
+            free();
+            return larger;
+        }
+
+        /** Releases the direct memory, the table must not be used afterwards. */
+        void free() {
+            freeDirectBuffer(m_slots);
+            TOTAL_TABLE_BYTES.addAndGet(-m_slots.capacity());
+            m_size = 0;
+        }
+
+        void clear() {
+            for (int pos = 0; pos < m_slots.capacity(); pos += 8) {
+                m_slots.putLong(pos, 0L);
+            }
+            m_size = 0;
+        }
+
+        void spillTo(final DataOutputStream[] partitions) throws IOException {
+            for (int slot = 0; slot <= m_mask; slot++) {
+                final int pos = slot * SLOT_BYTES;
+                final long hi = m_slots.getLong(pos);
+                final long lo = m_slots.getLong(pos + 8);
+                if (hi != 0 || lo != 0) {
+                    final DataOutputStream out = partitions[partitionOf(hi, 0, PARTITION_BITS)];
+                    out.writeLong(hi);
+                    out.writeLong(lo);
+                }
+            }
+        }
+    }
+}
@@ -51,6 +51,7 @@
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.ListIterator;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -77,6 +78,8 @@ public class ThreadPool {
     private class MyFuture<T> extends FutureTask<T> {
         private final CountDownLatch m_startWaiter = new CountDownLatch(1);
         private final ClassLoader m_contextClassloader = Thread.currentThread().getContextClassLoader();
+        /** The priority, <code>null</code> for tasks submitted without one, see {@link #addToQueue(MyFuture)}. */
+        private Long m_priority;
 
         /**
          * @see FutureTask#FutureTask(Callable)
@@ -301,7 +304,8 @@ public boolean wakeup(final MyFuture<?> r, final ThreadPool pool) {
 
     private final ThreadPool m_parent;
 
-    private final Queue<MyFuture<?>> m_queuedFutures;
+    /** Queued futures in FIFO order, except that tasks with a priority are ordered among themselves. */
+    private final LinkedList<MyFuture<?>> m_queuedFutures;
 
     private final Set<Worker> m_runningWorkers = new HashSet<Worker>();
 
@@ -409,13 +413,60 @@ public <T> Future<T> enqueue(final Callable<T> task) {
         synchronized (m_queuedFutures) {
             incrementPendingJobs();
             if (wakeupWorker(ftask, this) == null) {
-                m_queuedFutures.add(ftask);
+                addToQueue(ftask);
             }
         }
 
         return ftask;
     }
 
+    /**
+     * Submits a Runnable task for execution with the given priority. If no thread is available the task is queued
+     * ahead of the tasks with a lower priority that were queued after the last task without priority; tasks with
+     * equal priority are run in the order they were queued. Tasks submitted without priority (e.g. via
+     * {@link #enqueue(Runnable)}) are never overtaken, so that prioritized jobs can't starve tasks that running jobs
+     * are waiting for.
+     *
+     * @param r the task to submit
+     * @param priority the priority of the task, larger values are run first
+     * @return a Future representing pending completion of the task, and whose <tt>get()</tt> method will return
+     *         <tt>null</tt> upon completion.
+     * @see #enqueue(Runnable)
+     * @since 3.8
+     */
+    public Future<?> enqueue(final Runnable r, final long priority) {
+        MyFuture<?> ftask = new MyFuture<Object>(r, null);
+        ftask.m_priority = priority;
+
+        synchronized (m_queuedFutures) {
+            incrementPendingJobs();
+            if (wakeupWorker(ftask, this) == null) {
+                addToQueue(ftask);
+            }
+        }
+
+        return ftask;
+    }
+
+    /** Inserts a future with priority behind the last queued future with same or higher priority or without
+     * priority, futures without priority are appended. Must be called while holding the lock on
+     * {@link #m_queuedFutures}. */
+    private void addToQueue(final MyFuture<?> ftask) {
+        if (ftask.m_priority == null) {
+            m_queuedFutures.addLast(ftask);
+            return;
+        }
+        ListIterator<MyFuture<?>> it = m_queuedFutures.listIterator(m_queuedFutures.size());
+        while (it.hasPrevious()) {
+            final Long previous = it.previous().m_priority;
+            if (previous == null || previous >= ftask.m_priority) {
+                it.next();
+                break;
+            }
+        }
+        it.add(ftask);
+    }
+
     private void incrementPendingJobs() {
         m_pendingJobs.incrementAndGet();
         if (m_parent != null) {
@@ -451,7 +502,7 @@ public Future<?> enqueue(final Runnable r) {
         synchronized (m_queuedFutures) {
             incrementPendingJobs();
             if (wakeupWorker(ftask, this) == null) {
-                m_queuedFutures.add(ftask);
+                addToQueue(ftask);
             }
         }
 